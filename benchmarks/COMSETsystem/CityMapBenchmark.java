@@ -0,0 +1,122 @@
+package COMSETsystem;
+
+import MapCreation.SyntheticCity;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.ZoneId;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Travel time queries on the pre-computed path table of a synthetic grid.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+@State(Scope.Thread)
+public class CityMapBenchmark {
+
+    private static final int QUERIES = 4096;
+
+    // side of the grid in intersections
+    @Param({"30", "60"})
+    public int side;
+
+    private CityMap map;
+    private final Intersection[] sources = new Intersection[QUERIES];
+    private final Intersection[] destinations = new Intersection[QUERIES];
+    private final LocationOnRoad[] origins = new LocationOnRoad[QUERIES];
+    private final LocationOnRoad[] targets = new LocationOnRoad[QUERIES];
+    private final Route route = new Route();
+    private final ReachableIntersections reachable = new ReachableIntersections();
+    private int next;
+
+    @Setup
+    public void setUp() {
+        map = new SyntheticCity(40.75, -73.99, ZoneId.of("America/New_York"), 1).grid(side, side, 100);
+        map.calcTravelTimes();
+        Random random = new Random(2);
+        Intersection[] intersections = map.intersections().values().toArray(new Intersection[0]);
+        List<Road> roads = map.roads();
+        for (int q = 0; q < QUERIES; q++) {
+            sources[q] = intersections[random.nextInt(intersections.length)];
+            destinations[q] = intersections[random.nextInt(intersections.length)];
+            Road origin = roads.get(random.nextInt(roads.size()));
+            Road target = roads.get(random.nextInt(roads.size()));
+            origins[q] = new LocationOnRoad(origin, random.nextDouble() * origin.length);
+            targets[q] = new LocationOnRoad(target, random.nextDouble() * target.length);
+        }
+    }
+
+    private int nextQuery() {
+        next = (next + 1) & (QUERIES - 1);
+        return next;
+    }
+
+    @Benchmark
+    public double travelTimeBetweenIntersections() {
+        int q = nextQuery();
+        return map.travelTimeBetween(sources[q], destinations[q]);
+    }
+
+    @Benchmark
+    public long travelTimeBetweenLocations() {
+        int q = nextQuery();
+        return map.travelTimeBetween(origins[q], targets[q]);
+    }
+
+    /**
+     * Planning a shortest path as a list and consuming it one intersection at a time, as an agent does.
+     */
+    @Benchmark
+    public Intersection shortestTravelTimePath() {
+        int q = nextQuery();
+        LinkedList<Intersection> path = map.shortestTravelTimePath(sources[q], destinations[q]);
+        Intersection last = null;
+        while (!path.isEmpty()) {
+            last = path.poll();
+        }
+        return last;
+    }
+
+    /**
+     * The same with a route that is refilled for every path.
+     */
+    @Benchmark
+    public Intersection shortestTravelTimeRoute() {
+        int q = nextQuery();
+        map.shortestTravelTimeRoute(sources[q], destinations[q], route);
+        Intersection last = null;
+        while (!route.isEmpty()) {
+            last = route.poll();
+        }
+        return last;
+    }
+
+    /**
+     * The intersections from which a destination can be reached within ten minutes, as a dispatcher asks for the
+     * agents that can reach a resource before it expires.
+     */
+    @Benchmark
+    public int intersectionsReaching() {
+        int q = nextQuery();
+        return map.intersectionsReaching(destinations[q], 600 * Configuration.timeResolution, reachable).size();
+    }
+
+    /**
+     * Pre-computing the all pairs path table.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 3)
+    public CityMap calcTravelTimes() {
+        map.calcTravelTimes();
+        return map;
+    }
+}
@@ -0,0 +1,72 @@
+package COMSETsystem;
+
+import MapCreation.SyntheticCity;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.ZoneId;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ordering of events, and the event queue of the simulator in a hold model: every step polls the earliest
+ * event and adds it back at a later time, as triggered agent events do.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EventBenchmark {
+
+    private static final int PAIRS = 4096;
+
+    // number of events in the queue
+    @Param({"1000", "100000"})
+    public int queueSize;
+
+    private final Event[] left = new Event[PAIRS];
+    private final Event[] right = new Event[PAIRS];
+    private PriorityQueue<Event> events;
+    private Random random;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        CityMap map = new SyntheticCity(40.75, -73.99, ZoneId.of("America/New_York"), 1).grid(10, 10, 100);
+        LocationOnRoad location = new LocationOnRoad(map.roads().get(0), 0);
+        random = new Random(4);
+        for (int p = 0; p < PAIRS; p++) {
+            // few distinct times, so that ties on time are frequent
+            left[p] = makeEvent(location, random.nextInt(64));
+            right[p] = makeEvent(location, random.nextInt(64));
+        }
+        events = new PriorityQueue<>();
+        for (int e = 0; e < queueSize; e++) {
+            events.add(makeEvent(location, random.nextInt(1000000)));
+        }
+    }
+
+    private Event makeEvent(LocationOnRoad location, long time) {
+        if (random.nextBoolean()) {
+            return new AgentEvent(location, time, null, null);
+        } else {
+            return new ResourceEvent(location, location, time, 0, null, null, 0);
+        }
+    }
+
+    @Benchmark
+    public int compareTo() {
+        next = (next + 1) & (PAIRS - 1);
+        return left[next].compareTo(right[next]);
+    }
+
+    @Benchmark
+    public Event pollAndAdd() {
+        Event event = events.poll();
+        event.setTime(event.getTime() + 1 + random.nextInt(1000));
+        events.add(event);
+        return event;
+    }
+}
@@ -0,0 +1,98 @@
+package COMSETsystem;
+
+import MapCreation.SyntheticCity;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The dispatch loops of the example fleet managers: assigning an agent to a new resource (and freeing it again
+ * by expiring the resource), and choosing the next intersection of a cruising agent.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+@State(Scope.Thread)
+public class FleetManagerBenchmark {
+
+    private static final long RESOLUTION = Configuration.timeResolution;
+    private static final long TIME = 1464782400L * RESOLUTION;
+    private static final int QUERIES = 4096;
+
+    @Param({"UserExamples.RandomDestinationFleetManager", "UserExamples.FleetManagerForUtilization",
+            "UserExamples.FleetManagerForExperience"})
+    public String fleetManagerClass;
+
+    @Param({"1000"})
+    public int numberOfAgents;
+
+    private FleetManager fleetManager;
+    private final LocationOnRoad[] locations = new LocationOnRoad[QUERIES];
+    private LocationOnRoad[] agentLocations;
+    private final int[] agents = new int[QUERIES];
+    private long nextResourceId;
+    private int next;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        CityMap map = new SyntheticCity(40.75, -73.99, ZoneId.of("America/New_York"), 1).grid(40, 40, 100);
+        map.calcTravelTimes();
+        fleetManager = (FleetManager) Class.forName(fleetManagerClass).getConstructor(CityMap.class)
+                .newInstance(map);
+        TrafficPattern trafficPattern = new TrafficPattern(60 * RESOLUTION);
+        trafficPattern.addTrafficPatternItem(TIME, 1.0);
+        fleetManager.setTrafficPattern(trafficPattern);
+
+        Random random = new Random(5);
+        List<Road> roads = map.roads();
+        agentLocations = new LocationOnRoad[numberOfAgents];
+        for (int agentId = 0; agentId < numberOfAgents; agentId++) {
+            Road road = roads.get(random.nextInt(roads.size()));
+            fleetManager.onAgentIntroduced(agentId, new LocationOnRoad(road, random.nextDouble() * road.length), TIME);
+            agentLocations[agentId] = new LocationOnRoad(road, road.length);
+        }
+        for (int q = 0; q < QUERIES; q++) {
+            Road road = roads.get(random.nextInt(roads.size()));
+            locations[q] = new LocationOnRoad(road, random.nextDouble() * road.length);
+            agents[q] = random.nextInt(numberOfAgents);
+        }
+    }
+
+    private int nextQuery() {
+        next = (next + 1) & (QUERIES - 1);
+        return next;
+    }
+
+    /**
+     * A resource becomes available, and expires right after, which frees the agent assigned to it, if any.
+     */
+    @Benchmark
+    public long assignAndExpire() {
+        int q = nextQuery();
+        long expirationTime = TIME + 600 * RESOLUTION;
+        Resource resource = new Resource(nextResourceId++, expirationTime, -1, locations[q], locations[q]);
+        AgentAction action = fleetManager.onResourceAvailabilityChange(resource, FleetManager.ResourceState.AVAILABLE,
+                locations[q], TIME);
+        Resource expired = new Resource(resource.id, expirationTime, action.agentId, locations[q], locations[q]);
+        fleetManager.onResourceAvailabilityChange(expired, FleetManager.ResourceState.EXPIRED, locations[q], TIME);
+        return action.agentId;
+    }
+
+    /**
+     * A cruising agent reaches the end of its road, and then follows the road to the intersection it is sent to.
+     */
+    @Benchmark
+    public Intersection onReachIntersection() {
+        int agent = agents[nextQuery()];
+        LocationOnRoad location = agentLocations[agent];
+        Intersection nextIntersection = fleetManager.onReachIntersection(agent, TIME, location);
+        Road road = location.road.to.roadTo(nextIntersection);
+        agentLocations[agent] = new LocationOnRoad(road, road.length);
+        return nextIntersection;
+    }
+}
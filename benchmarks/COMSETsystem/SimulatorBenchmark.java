@@ -0,0 +1,61 @@
+package COMSETsystem;
+
+import DataParsing.Resource;
+import DataParsing.SyntheticDemand;
+import MapCreation.SyntheticCity;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end simulation of a fixed synthetic scenario: a 30 x 30 grid with an hour of demand around a few
+ * hotspots. Setting up the simulator (map matching, agent placement) is not measured.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+@State(Scope.Benchmark)
+public class SimulatorBenchmark {
+
+    private static final long START = 1464782400L;
+
+    @Param({"UserExamples.RandomDestinationFleetManager", "UserExamples.FleetManagerForUtilization",
+            "UserExamples.FleetManagerForExperience", "UserExamples.BatchAssignmentFleetManager"})
+    public String fleetManagerClass;
+
+    @Param({"2000"})
+    public int tripsPerHour;
+
+    @Param({"300"})
+    public long numberOfAgents;
+
+    private Simulator simulator;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setUpTrial() throws ClassNotFoundException {
+        CityMap map = new SyntheticCity(40.75, -73.99, ZoneId.of("America/New_York"), 1).grid(30, 30, 100);
+        SyntheticDemand demand = new SyntheticDemand(map, 2);
+        demand.addRandomHotspots(4, 200, 0.5);
+        ArrayList<Resource> resources = demand.generate(START, 3600, tripsPerHour, Configuration.timeResolution);
+        // the configuration is a singleton, and each trial may use another fleet manager
+        Configuration.singletonConfiguration = null;
+        Configuration.make((Class<? extends FleetManager>) Class.forName(fleetManagerClass), map, resources,
+                numberOfAgents, 600, 3, true, 900, 60);
+    }
+
+    @Setup(Level.Invocation)
+    public void setUpInvocation() {
+        simulator = new Simulator(Configuration.get());
+    }
+
+    @Benchmark
+    public Simulator run() {
+        simulator.run();
+        return simulator;
+    }
+}
@@ -0,0 +1,71 @@
+package COMSETsystem;
+
+import MapCreation.SyntheticCity;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Speed factor lookups and travel time computations of TrafficPattern over a day of one-minute steps.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TrafficPatternBenchmark {
+
+    private static final long RESOLUTION = Configuration.timeResolution;
+    private static final long START = 1464782400L * RESOLUTION;
+    private static final long STEP = 60 * RESOLUTION;
+    private static final int QUERIES = 4096;
+
+    private TrafficPattern trafficPattern;
+    private final long[] times = new long[QUERIES];
+    private final LocationOnRoad[] locations = new LocationOnRoad[QUERIES];
+    private final long[] travelTimes = new long[QUERIES];
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(1);
+        trafficPattern = new TrafficPattern(STEP);
+        for (int k = 0; k < 24 * 60; k++) {
+            trafficPattern.addTrafficPatternItem(START + k * STEP, 0.2 + 0.8 * random.nextDouble());
+        }
+        CityMap map = new SyntheticCity(40.75, -73.99, ZoneId.of("America/New_York"), 1).grid(20, 20, 100);
+        List<Road> roads = map.roads();
+        for (int q = 0; q < QUERIES; q++) {
+            times[q] = START + (long) (random.nextDouble() * 23 * 3600 * RESOLUTION);
+            Road road = roads.get(random.nextInt(roads.size()));
+            locations[q] = new LocationOnRoad(road, random.nextDouble() * road.length);
+            travelTimes[q] = (long) (random.nextDouble() * 30 * RESOLUTION);
+        }
+    }
+
+    private int nextQuery() {
+        next = (next + 1) & (QUERIES - 1);
+        return next;
+    }
+
+    @Benchmark
+    public double getSpeedFactor() {
+        return trafficPattern.getSpeedFactor(times[nextQuery()]);
+    }
+
+    @Benchmark
+    public long roadTravelTimeToEndIntersection() {
+        int q = nextQuery();
+        return trafficPattern.roadTravelTimeToEndIntersection(times[q], locations[q]);
+    }
+
+    @Benchmark
+    public LocationOnRoad travelRoadForTime() {
+        int q = nextQuery();
+        return trafficPattern.travelRoadForTime(times[q], locations[q], travelTimes[q]);
+    }
+}
@@ -0,0 +1,93 @@
+package DataParsing;
+
+import COMSETsystem.CityMap;
+import COMSETsystem.Link;
+import COMSETsystem.Road;
+import MapCreation.SyntheticCity;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Nearest link queries, as done to map match every pickup and dropoff, and building the KdTree.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+@State(Scope.Thread)
+public class KdTreeBenchmark {
+
+    private static final int QUERIES = 4096;
+
+    // approximate number of intersections of the map
+    @Param({"10000", "200000"})
+    public int intersections;
+
+    private CityMap map;
+    private final double[] xs = new double[QUERIES];
+    private final double[] ys = new double[QUERIES];
+    private final LinkCandidates candidates = new LinkCandidates(64);
+    private int next;
+
+    @Setup
+    public void setUp() {
+        map = new SyntheticCity(40.75, -73.99, ZoneId.of("America/New_York"), 1).randomPlanar(intersections, 100);
+        double extent = Math.sqrt(intersections) * 100;
+        Random random = new Random(3);
+        for (int q = 0; q < QUERIES; q++) {
+            xs[q] = (random.nextDouble() - 0.5) * extent;
+            ys[q] = (random.nextDouble() - 0.5) * extent;
+        }
+    }
+
+    private int nextQuery() {
+        next = (next + 1) & (QUERIES - 1);
+        return next;
+    }
+
+    @Benchmark
+    public Link nearest() {
+        int q = nextQuery();
+        return map.kdTree().nearest(xs[q], ys[q]);
+    }
+
+    @Benchmark
+    public LinkCandidates kNearest() {
+        int q = nextQuery();
+        map.kdTree().kNearest(xs[q], ys[q], 8, candidates);
+        return candidates;
+    }
+
+    @Benchmark
+    public LinkCandidates withinRadius() {
+        int q = nextQuery();
+        map.kdTree().withinRadius(xs[q], ys[q], 100, candidates);
+        return candidates;
+    }
+
+    /**
+     * Inserting all the links of the map, road by road.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 3)
+    public KdTree build() {
+        List<Link> links = new ArrayList<>();
+        for (Road road : map.roads()) {
+            links.addAll(road.links);
+        }
+        KdTree kdTree = new KdTree();
+        for (Link link : links) {
+            kdTree.insert(link);
+        }
+        return kdTree;
+    }
+}
@@ -0,0 +1,85 @@
+package MapCreation;
+
+import COMSETsystem.CityMap;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Map creation on large synthetic maps: the whole pipeline from vertices to a CityMap (clearing, strongly
+ * connected components, intersections, roads and KdTree), Tarjan's algorithm alone, and reading a compiled map.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgs = "-Xmx8g")
+@State(Scope.Benchmark)
+public class MapCreatorBenchmark {
+
+    // side of the grid in intersections
+    @Param({"200", "450"})
+    public int side;
+
+    private int[] successorStarts;
+    private int[] successors;
+    private File compiledMap;
+
+    @Setup
+    public void setUp() throws IOException {
+        // a torus: each vertex is linked to its right and upper neighbors, wrapping around at the edges,
+        // so that there is a single component spanning all the vertices
+        int n = side * side;
+        successorStarts = new int[n + 1];
+        successors = new int[2 * n];
+        int count = 0;
+        for (int v = 0; v < n; v++) {
+            successorStarts[v] = count;
+            int i = v / side;
+            int j = v % side;
+            successors[count++] = i * side + (j + 1) % side;
+            successors[count++] = ((i + 1) % side) * side + j;
+        }
+        successorStarts[n] = count;
+
+        CityMap map = newCity().grid(side, side, 100);
+        List<double[]> boundingPolygon = Arrays.asList(new double[] {-74.1, 40.6}, new double[] {-73.8, 40.6},
+                new double[] {-73.8, 40.9}, new double[] {-74.1, 40.9});
+        compiledMap = File.createTempFile("benchmark", CompiledMap.FILE_EXTENSION);
+        CompiledMap.write(map, boundingPolygon, "map.json", "polygon.kml", compiledMap);
+    }
+
+    @TearDown
+    public void tearDown() {
+        compiledMap.delete();
+    }
+
+    private static SyntheticCity newCity() {
+        return new SyntheticCity(40.75, -73.99, ZoneId.of("America/New_York"), 1);
+    }
+
+    @Benchmark
+    public CityMap createGrid() {
+        return newCity().grid(side, side, 100);
+    }
+
+    @Benchmark
+    public CityMap createRandomPlanar() {
+        return newCity().randomPlanar(side * side, 100);
+    }
+
+    @Benchmark
+    public int[] stronglyConnectedComponents() {
+        return MapCreator.stronglyConnectedComponents(successorStarts, successors);
+    }
+
+    @Benchmark
+    public CityMap readCompiledMap() throws IOException {
+        return CompiledMap.read(compiledMap, true);
+    }
+}
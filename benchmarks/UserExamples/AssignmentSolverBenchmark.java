@@ -0,0 +1,52 @@
+package UserExamples;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of the batch assignment solver against the size of the batch: resources and agents are random points
+ * in a square, and the cost of a pair is their distance, in the range of travel times in simulation units.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AssignmentSolverBenchmark {
+
+    // number of waiting resources in the batch
+    @Param({"10", "50", "200", "500"})
+    public int batchSize;
+
+    // number of candidate agents per resource
+    @Param({"1", "4"})
+    public int agentsPerResource;
+
+    private long[][] cost;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(6);
+        int agents = batchSize * agentsPerResource;
+        double[][] agentLocations = new double[agents][];
+        for (int a = 0; a < agents; a++) {
+            agentLocations[a] = new double[] {random.nextDouble(), random.nextDouble()};
+        }
+        cost = new long[batchSize][agents];
+        for (int r = 0; r < batchSize; r++) {
+            double x = random.nextDouble();
+            double y = random.nextDouble();
+            for (int a = 0; a < agents; a++) {
+                cost[r][a] = (long) (Math.hypot(x - agentLocations[a][0], y - agentLocations[a][1]) * 600e6);
+            }
+        }
+    }
+
+    @Benchmark
+    public int[] solve() {
+        return AssignmentSolver.solve(cost);
+    }
+}
@@ -0,0 +1,69 @@
+package UserExamples;
+
+import COMSETsystem.CityMap;
+import COMSETsystem.Configuration;
+import COMSETsystem.Intersection;
+import MapCreation.SyntheticCity;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of a rebalancing of the idle agents against the number of zones and the size of the fleet, on a grid
+ * with a demand concentrated around a few hotspots.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RebalancerBenchmark {
+
+    // 64 or 256 zones
+    @Param({"8", "16"})
+    public int zonesPerSide;
+
+    @Param({"1000", "10000"})
+    public int agents;
+
+    private Rebalancer rebalancer;
+    private DemandForecaster forecaster;
+    private List<Rebalancer.IdleAgent> idleAgents;
+    private long time;
+
+    @Setup
+    public void setUp() {
+        CityMap map = new SyntheticCity(40.75, -73.99, ZoneId.of("America/New_York"), 1).grid(40, 40, 100);
+        map.calcTravelTimes();
+        Intersection[] intersections = map.intersections().values().toArray(new Intersection[0]);
+        Random random = new Random(8);
+        rebalancer = new Rebalancer(map, zonesPerSide, 600);
+        forecaster = new DemandForecaster(map, 1800, 1);
+        Intersection[] hotspots = new Intersection[4];
+        for (int h = 0; h < hotspots.length; h++) {
+            hotspots[h] = intersections[random.nextInt(intersections.length)];
+        }
+        time = 1464782400L * Configuration.timeResolution;
+        for (int q = 0; q < 20000; q++) {
+            Intersection intersection = random.nextBoolean() ? hotspots[random.nextInt(hotspots.length)]
+                    : intersections[random.nextInt(intersections.length)];
+            forecaster.addArrival(intersection, time);
+            time += Configuration.timeResolution / 4;
+        }
+        idleAgents = new ArrayList<>();
+        for (long agentId = 0; agentId < agents; agentId++) {
+            idleAgents.add(new Rebalancer.IdleAgent(agentId, intersections[random.nextInt(intersections.length)]));
+        }
+    }
+
+    @Benchmark
+    public Map<Long, Intersection> rebalance() {
+        return rebalancer.rebalance(time, idleAgents, forecaster);
+    }
+}
@@ -10,6 +10,7 @@ import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.google.common.collect.ImmutableList;
 import net.iakovlev.timeshape.TimeZoneEngine;
@@ -19,6 +20,7 @@ import org.apache.log4j.Logger;
 
 import DataParsing.GeoProjector;
 import DataParsing.KdTree;
+import DataParsing.LinkCandidates;
 
 import java.util.PriorityQueue;
 import java.awt.geom.Point2D;
@@ -46,9 +48,18 @@ public class CityMap {
 
 	// Shortest travel-time path table.
 	private ImmutableList<ImmutableList<PathTableEntry>> immutablePathTable;
+
+	// Shortest travel times and paths by tiles, in place of the path table (see calcTiledTravelTimes()).
+	private TiledPathTable tiledPathTable;
 	
-	// A map from an intersection's path table index to the intersection itself.
-	private HashMap<Integer, Intersection> intersectionsByPathTableIndex;
+	// The intersections by path table index.
+	private Intersection[] intersectionsByPathTableIndex;
+
+	// Time zone of the map; null until computed (see computeZoneId()).
+	private ZoneId zoneId;
+
+	// Time zones resolved in this process, by "latitude,longitude" of the location they were resolved for.
+	private static final ConcurrentHashMap<String, ZoneId> resolvedZoneIds = new ConcurrentHashMap<>();
 
 	/*
 	 * Constructor of CityMap
@@ -61,11 +72,11 @@ public class CityMap {
 		this.roads = roads;
 
 		// setup pathTableIndex for every intersection
-		intersectionsByPathTableIndex = new HashMap<Integer, Intersection>();
+		intersectionsByPathTableIndex = new Intersection[intersections.size()];
 		int index = 0;
 		for (Intersection intersection : intersections.values()) {
 			intersection.pathTableIndex = index++;
-			intersectionsByPathTableIndex.put(intersection.pathTableIndex, intersection);
+			intersectionsByPathTableIndex[intersection.pathTableIndex] = intersection;
 		}
 
 	}
@@ -89,6 +100,9 @@ public class CityMap {
 	 * @return the time in seconds it takes to go from source to destination
 	 */
 	public double travelTimeBetween (Intersection source, Intersection destination) {
+		if (tiledPathTable != null) {
+			return tiledPathTable.travelTime(source.pathTableIndex, destination.pathTableIndex);
+		}
 		return immutablePathTable.get(source.pathTableIndex).get(destination.pathTableIndex).travelTime;
 	}
 
@@ -128,6 +142,13 @@ public class CityMap {
 		return projector;
 	}
 
+	/**
+	 * @return { @code kdTree }
+	 */
+	public KdTree kdTree() {
+		return kdTree;
+	}
+
 	/**
 	 * Finds nearest link of a point defined by the
 	 * { @code longitude, latitude }.
@@ -137,9 +158,45 @@ public class CityMap {
 	 * @return The closest link to the given point
 	 */
 	public Link getNearestLink(double longitude, double latitude){
-		double[] xy = projector.fromLatLon(latitude, longitude);
-		Point2D p = new Point2D.Double(xy[0], xy[1]);
-		return kdTree.nearest(p);    	
+		return kdTree.nearest(projector.xFromLon(longitude), projector.yFromLat(latitude));
+	}
+
+	/**
+	 * Finds nearest link of a point given by its projected coordinates
+	 * (see projector()).
+	 *
+	 * @param x The projected x-coordinate of the point
+	 * @param y The projected y-coordinate of the point
+	 * @return The closest link to the given point
+	 */
+	public Link getNearestLinkXY(double x, double y){
+		return kdTree.nearest(x, y);
+	}
+
+	/**
+	 * Finds the k nearest links of a point defined by the
+	 * { @code longitude, latitude }, sorted by ascending distance.
+	 *
+	 * @param longitude The longitude of the point
+	 * @param latitude The latitude of the point
+	 * @param k The number of links to find
+	 * @param result A reusable buffer that receives the links
+	 */
+	public void getNearestLinks(double longitude, double latitude, int k, LinkCandidates result) {
+		kdTree.kNearest(projector.xFromLon(longitude), projector.yFromLat(latitude), k, result);
+	}
+
+	/**
+	 * Finds all the links within a given distance of a point defined by the
+	 * { @code longitude, latitude }, in no particular order.
+	 *
+	 * @param longitude The longitude of the point
+	 * @param latitude The latitude of the point
+	 * @param radius The search radius in meters
+	 * @param result A reusable buffer that receives the links
+	 */
+	public void getLinksWithinRadius(double longitude, double latitude, double radius, LinkCandidates result) {
+		kdTree.withinRadius(projector.xFromLon(longitude), projector.yFromLat(latitude), radius, result);
 	}
 
 	/**
@@ -199,6 +256,30 @@ public class CityMap {
 
 		// Make the path table unmodifiable
 		makePathTableUnmodifiable(pathTable);
+		tiledPathTable = null;
+	}
+
+	/**
+	 * Partition the map into square tiles to compute shortest travel times and paths, instead of computing the
+	 * all-pair path table, whose size grows with the square of the number of intersections. Only the travel
+	 * times between the border intersections of each tile and the roads between tiles are kept for the whole
+	 * map; the path table of a tile is computed when a query needs it, and at most maxResidentTiles of them
+	 * are kept in memory. The travel times and paths are the same as with calcTravelTimes(), at the cost of a
+	 * search over the border intersections for each query.
+	 *
+	 * @param tileSize side of a tile in meters
+	 * @param maxResidentTiles the maximum number of path tables of tiles kept in memory
+	 */
+	public void calcTiledTravelTimes(double tileSize, int maxResidentTiles) {
+		tiledPathTable = new TiledPathTable(intersectionsByPathTableIndex, tileSize, maxResidentTiles);
+		immutablePathTable = null;
+	}
+
+	/**
+	 * @return the tiles of the map, or null if the map has an all-pair path table (see calcTiledTravelTimes())
+	 */
+	TiledPathTable tiledPathTable() {
+		return tiledPathTable;
 	}
 
 	/**
@@ -224,15 +305,72 @@ public class CityMap {
 	 * @return LinkedList<Intersection> an ordered list of intersections forming the path
 	 */
 	public LinkedList<Intersection> shortestTravelTimePath(Intersection source, Intersection destination) {
-		LinkedList<Intersection> path = new LinkedList<Intersection>();
-		path.addFirst(destination);
+		return shortestTravelTimeRoute(source, destination, new Route()).toLinkedList();
+	}
+
+	/**
+	 * Get the shortest path between a given source and a given destination as a route, which can be consumed
+	 * without allocation. The route is filled in place, so that its array is reused.
+	 * @param source the source intersection
+	 * @param destination the destination intersection
+	 * @param route the route to fill; its remaining intersections are replaced
+	 * @return the route, along the intersections of the path from source to destination
+	 */
+	public Route shortestTravelTimeRoute(Intersection source, Intersection destination, Route route) {
+		if (tiledPathTable != null) {
+			tiledPathTable.fillRoute(source.pathTableIndex, destination.pathTableIndex,
+					intersectionsByPathTableIndex, route);
+			return route;
+		}
+		route.clear();
+		route.addFirst(destination);
+		ImmutableList<PathTableEntry> predecessors = immutablePathTable.get(source.pathTableIndex);
 		int current = destination.pathTableIndex;
 		while (current != source.pathTableIndex) {
-			int pred = immutablePathTable.get(source.pathTableIndex).get(current).predecessor;
-			path.addFirst(intersectionsByPathTableIndex.get(pred));
+			int pred = predecessors.get(current).predecessor;
+			route.addFirst(intersectionsByPathTableIndex[pred]);
 			current = pred;
 		}
-		return path;
+		return route;
+	}
+
+	/**
+	 * Find the intersections from which a destination can be reached within a travel time, by a Dijkstra search
+	 * backward from the destination along the roads that lead into each intersection. The cost of the search
+	 * grows with the number of intersections found, not with the size of the map.
+	 *
+	 * Warning: This function assumes traversal at the speed limits of the roads, as travelTimeBetween() does.
+	 * The travel times are summed from the destination backward, so they may differ from the path table in the
+	 * last bits.
+	 *
+	 * @param destination the intersection to arrive at
+	 * @param maxTravelTime the longest travel time to the destination
+	 * @param result a reusable buffer that receives the intersections, with their travel times to the destination
+	 * @return result
+	 */
+	public ReachableIntersections intersectionsReaching(Intersection destination, double maxTravelTime,
+			ReachableIntersections result) {
+		startIntersectionsReaching(destination, maxTravelTime, result);
+		while (result.next()) {
+			// reach all the intersections
+		}
+		return result;
+	}
+
+	/**
+	 * Start the search of intersectionsReaching() without running it. Each call to result.next() reaches one
+	 * more intersection, in ascending travel time, so a caller that only needs the closest intersections can
+	 * stop early.
+	 *
+	 * @param destination the intersection to arrive at
+	 * @param maxTravelTime the longest travel time to the destination
+	 * @param result a reusable buffer that holds the search, empty until result.next() is called
+	 * @return result
+	 */
+	public ReachableIntersections startIntersectionsReaching(Intersection destination, double maxTravelTime,
+			ReachableIntersections result) {
+		result.start(intersections.size(), destination, maxTravelTime);
+		return result;
 	}
 
 	private class DijkstraQueueEntry implements Comparable<DijkstraQueueEntry> {
@@ -284,6 +422,29 @@ public class CityMap {
 		return intersections;
 	}
 
+	/**
+	 * Release the vertex graph of the map once it is built: the geometry of the links of each
+	 * road is moved into a packed coordinate array of the road (see Road.compact()) and the
+	 * intersections no longer refer to their vertices. Links, roads, the KdTree and map matching
+	 * keep working; only the Vertex objects and their link maps are gone. A compacted map cannot be
+	 * written as a compiled map.
+	 */
+	public void compact() {
+		for (Road road : roads) {
+			road.compact();
+		}
+		for (Intersection intersection : intersections.values()) {
+			intersection.vertex = null;
+		}
+	}
+
+	/**
+	 * @return true if the map has been compacted (see compact())
+	 */
+	public boolean isCompacted() {
+		return !roads.isEmpty() && roads.get(0).coordinates != null;
+	}
+
 	/**
 	 * 
 	 * @return a deep copy of the map
@@ -296,6 +457,11 @@ public class CityMap {
 			for (Road road : intersection.roadsMapFrom.values()) {
 				ArrayList<Link> linksCopy = new ArrayList<Link>();
 				for (Link link : road.links) {
+					if (link.from == null) {
+						// compacted road: the geometry is in the shared coordinates of the road
+						linksCopy.add(new Link(link, null, null));
+						continue;
+					}
 					// create start vertex if not existing yet
 					if (!verticesCopy.containsKey(link.from.id)) {
 						// create a new vertex
@@ -322,8 +488,10 @@ public class CityMap {
 				if (!intersectionsCopy.containsKey(road.from.id)) {
 					// create a new intersection
 					Intersection intersectionFrom = new Intersection(road.from);
-					intersectionFrom.vertex = firstLink.from;
-					firstLink.from.intersection = intersectionFrom;
+					if (firstLink.from != null) {
+						intersectionFrom.vertex = firstLink.from;
+						firstLink.from.intersection = intersectionFrom;
+					}
 					intersectionsCopy.put(intersectionFrom.id, intersectionFrom);
 				}
 				Link lastLink = linksCopy.get(linksCopy.size()-1);
@@ -331,8 +499,10 @@ public class CityMap {
 				if (!intersectionsCopy.containsKey(road.to.id)) {
 					// create a new intersection
 					Intersection intersectionTo = new Intersection(road.to);
-					intersectionTo.vertex = lastLink.to;
-					lastLink.to.intersection = intersectionTo;
+					if (lastLink.to != null) {
+						intersectionTo.vertex = lastLink.to;
+						lastLink.to.intersection = intersectionTo;
+					}
 					intersectionsCopy.put(intersectionTo.id,  intersectionTo);
 				}
 				// create a road
@@ -359,12 +529,14 @@ public class CityMap {
 		cityMap.intersections = intersectionsCopy;
 		cityMap.roads = roadsCopy;
 		cityMap.immutablePathTable = immutablePathTable;
+		cityMap.tiledPathTable = tiledPathTable;
 		cityMap.projector = projector;
 		cityMap.kdTree = kdTree;
+		cityMap.zoneId = zoneId;
 		
-		cityMap.intersectionsByPathTableIndex = new HashMap<Integer, Intersection>();
+		cityMap.intersectionsByPathTableIndex = new Intersection[cityMap.intersections.size()];
 		for (Intersection intersection : cityMap.intersections.values()) {
-			cityMap.intersectionsByPathTableIndex.put(intersection.pathTableIndex, intersection);
+			cityMap.intersectionsByPathTableIndex[intersection.pathTableIndex] = intersection;
 		}
 		
 		return cityMap;
@@ -374,17 +546,35 @@ public class CityMap {
 	 * Compute the time zone ID of the map based on an arbitrary location of the map.
 	 * It is assumed that the entire map falls into a single time zone. In other words,
 	 * the map should not cross more than one time zones.
+	 *
+	 * Initializing the time zone engine takes seconds and hundreds of MB, so the result is
+	 * remembered by the map, shared by all maps of this process that are located at the same
+	 * place, and stored in compiled maps (see MapCreation.CompiledMap); the engine is thus needed
+	 * at most once per map.
 	 * @return the time zone ID of the map
 	 */
 	public ZoneId computeZoneId() {
-		// get an arbitrary location of the map
-		Intersection intersection = intersections.values().toArray(new Intersection[intersections.size()])[0];
-		// get the time zone id
-		Logger.getRootLogger().setLevel(Level.OFF); // Do this just so that there is no warning message. 
-		TimeZoneEngine engine = TimeZoneEngine.initialize();
-		Optional<ZoneId> zoneId = engine.query(intersection.latitude, intersection.longitude);
-
-		return zoneId.get();
+		if (zoneId == null) {
+			// get an arbitrary location of the map
+			Intersection intersection = intersections.values().iterator().next();
+			zoneId = resolvedZoneIds.computeIfAbsent(intersection.latitude + "," + intersection.longitude, location -> {
+				// get the time zone id
+				Logger.getRootLogger().setLevel(Level.OFF); // Do this just so that there is no warning message. 
+				TimeZoneEngine engine = TimeZoneEngine.initialize();
+				Optional<ZoneId> zoneId = engine.query(intersection.latitude, intersection.longitude);
+				return zoneId.get();
+			});
+		}
+		return zoneId;
+	}
+
+	/**
+	 * Set the time zone ID of the map, e.g., when it is already known from a compiled map,
+	 * so that computeZoneId() does not need the time zone engine.
+	 * @param zoneId the time zone ID of the map
+	 */
+	public void setZoneId(ZoneId zoneId) {
+		this.zoneId = zoneId;
 	}
 
 }
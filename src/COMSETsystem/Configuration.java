@@ -1,7 +1,13 @@
 package COMSETsystem;
 
+import DataParsing.Resource;
+import MapCreation.CompiledMap;
 import MapCreation.MapCreator;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+
 /**
  * Class to hold the configuration parameters of the simulation. Call static method Configuration.make() first to
  * create a singleton configuration object, then call Configuration.get() to retrieve the singleton.
@@ -41,6 +47,9 @@ public class Configuration {
     // The map that everything will happen on.
     final CityMap map;
 
+    // Resources given in place of a resource file, e.g., generated by DataParsing.SyntheticDemand; null otherwise.
+    final ArrayList<Resource> resources;
+
     private Configuration(Class<? extends FleetManager> fleetManagerClass,
                           String mapJSONFile,
                           String resourceFile,
@@ -50,7 +59,9 @@ public class Configuration {
                           long agentPlacementRandomSeed,
                           boolean dynamicTrafficEnabled,
                           long trafficPatternEpoch,
-                          long trafficPatternStep) {
+                          long trafficPatternStep,
+                          CityMap map,
+                          ArrayList<Resource> resources) {
         this.fleetManagerClass = fleetManagerClass;
         this.mapJSONFile = mapJSONFile;
         this.resourceFile = resourceFile;
@@ -66,11 +77,32 @@ public class Configuration {
         trafficPatternStepInSeconds = trafficPatternStep;
         this.trafficPatternStep = trafficPatternStepInSeconds * timeResolution;
 
-        map = makeCityMap();
+        this.map = map != null ? map : makeCityMap();
+        this.resources = resources;
+
+        // The map is partitioned into tiles of comset.tile_size meters instead of pre-computing the all-pair
+        // path table when the property is set; comset.resident_tiles bounds the path tables of tiles in memory.
+        long tileSize = Long.getLong("comset.tile_size", 0);
+        if (tileSize > 0) {
+            System.out.println("Partitioning the map into tiles of " + tileSize + " meters...");
+            this.map.calcTiledTravelTimes(tileSize, Integer.getInteger("comset.resident_tiles", 256));
+        }
+
+        // Only the roads and the geometry of their links are needed from now on. The heap in use before and
+        // after is reported when the system property comset.report_heap is true; it costs two full collections.
+        boolean reportHeap = Boolean.getBoolean("comset.report_heap");
+        long heapBeforeCompaction = reportHeap ? usedHeap() : 0;
+        this.map.compact();
+        if (reportHeap) {
+            System.out.println("Compacted the map; heap in use went from " + heapBeforeCompaction / (1024 * 1024)
+                    + " MB to " + usedHeap() / (1024 * 1024) + " MB");
+        }
 
-        // Pre-compute shortest travel times between all pairs of intersections.
-        System.out.println("Pre-computing all pair travel times...");
-        map.calcTravelTimes();
+        if (tileSize <= 0) {
+            // Pre-compute shortest travel times between all pairs of intersections.
+            System.out.println("Pre-computing all pair travel times...");
+            this.map.calcTravelTimes();
+        }
     }
 
     public static void make(Class<? extends FleetManager> fleetManagerClass,
@@ -94,7 +126,40 @@ public class Configuration {
                     agentPlacementRandomSeed,
                     dynamicTraffic,
                     trafficPatternEpoch,
-                    trafficPatternStep);
+                    trafficPatternStep,
+                    null,
+                    null);
+        }
+    }
+
+    /**
+     * Make the singleton configuration for a map and resources that are already in memory, e.g., a synthetic
+     * scenario made with MapCreation.SyntheticCity and DataParsing.SyntheticDemand, instead of files. The map
+     * is compacted and its travel times are pre-computed as for a map read from a file.
+     */
+    public static void make(Class<? extends FleetManager> fleetManagerClass,
+                            CityMap map,
+                            ArrayList<Resource> resources,
+                            long numberOfAgents,
+                            long resourceMaximumLifetime,
+                            long agentPlacementRandomSeed,
+                            boolean dynamicTraffic,
+                            long trafficPatternEpoch,
+                            long trafficPatternStep) {
+        if (singletonConfiguration == null) {
+            singletonConfiguration = new Configuration(
+                    fleetManagerClass,
+                    null,
+                    null,
+                    numberOfAgents,
+                    null,
+                    resourceMaximumLifetime,
+                    agentPlacementRandomSeed,
+                    dynamicTraffic,
+                    trafficPatternEpoch,
+                    trafficPatternStep,
+                    map,
+                    resources);
         }
     }
 
@@ -118,13 +183,49 @@ public class Configuration {
         return distancePerSecond / timeResolution;
     }
 
+    /**
+     * @return the heap in use after a garbage collection, in bytes
+     */
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
     private CityMap makeCityMap() {
+        // A compiled map can be given in place of the JSON map file.
+        if (mapJSONFile.endsWith(CompiledMap.FILE_EXTENSION)) {
+            try {
+                System.out.println("Loading the compiled map...");
+                return CompiledMap.read(new File(mapJSONFile), true);
+            } catch (IOException e) {
+                throw new RuntimeException("cannot load compiled map " + mapJSONFile, e);
+            }
+        }
+
+        // Otherwise use the compiled map cached next to the JSON map file if it is up to date.
+        File compiledFile = CompiledMap.compiledFileFor(mapJSONFile);
+        if (CompiledMap.isUpToDate(compiledFile, mapJSONFile, boundingPolygonKMLFile)) {
+            try {
+                System.out.println("Loading the compiled map " + compiledFile + "...");
+                return CompiledMap.read(compiledFile, true);
+            } catch (IOException e) {
+                System.out.println("Cannot load the compiled map; creating the map again: " + e.getMessage());
+            }
+        }
+
         MapCreator creator = new MapCreator(this);
         System.out.println("Creating the map...");
 
-        creator.createMap();
+        CityMap cityMap = creator.createMap();
+
+        try {
+            CompiledMap.write(cityMap, creator.boundingPolygon(), mapJSONFile, boundingPolygonKMLFile, compiledFile);
+        } catch (IOException | IllegalStateException e) {
+            // the map is still usable; it will be created again next time
+            System.out.println("Cannot write the compiled map " + compiledFile + ": " + e.getMessage());
+        }
 
-        // Output the map
-        return creator.outputCityMap();
+        return cityMap;
     }
 }
@@ -7,9 +7,9 @@ import java.awt.geom.Point2D;
  */
 public class Link implements Comparable<Link> {
 
-	// The start (upstream) vertex of the link
+	// The start (upstream) vertex of the link; null once the road is compacted (see Road.compact())
 	public Vertex from;
-	// The end (downstream) vertex of the link
+	// The end (downstream) vertex of the link; null once the road is compacted (see Road.compact())
 	public Vertex to;
 	// length of the link segment in meters
 	public final double length;
@@ -23,6 +23,8 @@ public class Link implements Comparable<Link> {
 	public Road road;
 	// the amount of time it takes to travel from the start of the road to the start vertex of this link 
 	public double beginTime = -1;
+	// position of the link in its road; set when the road is compacted
+	public int index = -1;
 
 	// min and max coordinates of the link
 	public double minX;
@@ -58,6 +60,31 @@ public class Link implements Comparable<Link> {
 		maxY = Math.max(from.xy.getY(), to.getY());
 	}
 	
+	/**
+	 * Restoring a link with a known id, e.g., when loading a compiled map.
+	 * Links created afterwards get larger ids.
+	 *
+	 * @param id the id of the link
+	 * @param from The start vertex
+	 * @param to The end vertex
+	 * @param length the length of the link
+	 * @param speed The speed limit on the link
+	 */
+	public Link (long id, Vertex from, Vertex to, double length, double speed) {
+		this.id = id;
+		maxId = Math.max(maxId, id + 1);
+		this.from = from;
+		this.to = to;
+		this.length = length;
+		this.speed = speed;
+		this.travelTime = length/speed;
+		this.road = null;
+		minX = Math.min(from.xy.getX(), to.getX());
+		minY = Math.min(from.xy.getY(), to.getY());
+		maxX = Math.max(from.xy.getX(), to.getX());
+		maxY = Math.max(from.xy.getY(), to.getY());
+	}
+
 	/**
 	 * Constructing from an existing link
 	 * @param aLink an existing link
@@ -72,6 +99,7 @@ public class Link implements Comparable<Link> {
 		this.speed = aLink.speed;
 		this.travelTime = aLink.travelTime;
 		this.beginTime = aLink.beginTime;
+		this.index = aLink.index;
 		this.road = null;
 		minX = aLink.minX;
 		minY = aLink.minY;
@@ -101,6 +129,9 @@ public class Link implements Comparable<Link> {
 	 * @return true is the two links are equal, false otherwise
 	 */
 	public boolean equals(Link link) { //ASK: this isnt really used anywhere??
+		if (from == null || link.from == null) {
+			return link.fromX() == fromX() && link.fromY() == fromY() && link.toX() == toX() && link.toY() == toY();
+		}
 		return (link.from.equals(this.from) && link.to.equals(this.to));
 	}
 
@@ -110,8 +141,39 @@ public class Link implements Comparable<Link> {
 	 * @return string of information
 	 */
 	public String toString() {
+		if (from == null) {
+			return "(" + fromX() + "," + fromY() + "),(" + toX() + "," + toY() + ")," + length + "," + travelTime + "," + speed;
+		}
 		return from + "," + to + "," + length + "," + travelTime + "," + speed;
 	}
+
+	/**
+	 * @return x-coordinate of the start of the link
+	 */
+	public double fromX() {
+		return from != null ? from.getX() : road.coordinates[2 * index];
+	}
+
+	/**
+	 * @return y-coordinate of the start of the link
+	 */
+	public double fromY() {
+		return from != null ? from.getY() : road.coordinates[2 * index + 1];
+	}
+
+	/**
+	 * @return x-coordinate of the end of the link
+	 */
+	public double toX() {
+		return to != null ? to.getX() : road.coordinates[2 * index + 2];
+	}
+
+	/**
+	 * @return y-coordinate of the end of the link
+	 */
+	public double toY() {
+		return to != null ? to.getY() : road.coordinates[2 * index + 3];
+	}
 	
 	/**
 	 * squared distance between a point and the link
@@ -119,13 +181,21 @@ public class Link implements Comparable<Link> {
 	 * @return distance square
 	 */
 	public double distanceSq(Point2D p) {
+		return distanceSq(p.getX(), p.getY());
+	}
+
+	/**
+	 * squared distance between a point (x, y) and the link
+	 * @param x x-coordinate of the point
+	 * @param y y-coordinate of the point
+	 * @return distance square
+	 */
+	public double distanceSq(double x, double y) {
 		double distSq;
-		double x1 = this.from.getX();
-		double y1 = this.from.getY();
-		double x2 = this.to.getX();
-		double y2 = this.to.getY();
-		double x = p.getX();
-		double y = p.getY();
+		double x1 = fromX();
+		double y1 = fromY();
+		double x2 = toX();
+		double y2 = toY();
 		double length = (x1 - x2) * (x1 - x2) + (y1 - y2) * (y1 - y2);
 
 		if (length == 0.0) {
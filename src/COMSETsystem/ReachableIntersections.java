@@ -0,0 +1,212 @@
+package COMSETsystem;
+
+import java.util.Arrays;
+
+/**
+ * A reusable buffer of the intersections from which a destination can be reached within a travel time, returned
+ * by CityMap.intersectionsReaching(). Each intersection is stored together with its shortest travel time to the
+ * destination, and the travel time of any intersection of the map can be looked up in constant time.
+ *
+ * The buffer also holds the state of the search, so a query started by CityMap.startIntersectionsReaching() can
+ * be advanced one intersection at a time with next(), and stopped as soon as the caller has found what it needs.
+ * The buffer is meant to be allocated once and passed to many queries; repeated queries do not allocate once its
+ * arrays have grown to the size of the map.
+ */
+public class ReachableIntersections {
+
+	// reached intersections, in ascending travel time
+	private Intersection[] intersections = new Intersection[16];
+
+	// shortest travel time from each reached intersection to the destination
+	private double[] travelTimes = new double[16];
+
+	// number of reached intersections
+	private int size;
+
+	// travel time by path table index of the intersections labelled by the current query; valid when the
+	// label of the intersection is the current query
+	private double[] labels = new double[0];
+	private int[] labelQueries = new int[0];
+	private boolean[] settled = new boolean[0];
+	private int query;
+
+	// longest travel time of the current query
+	private double maxTravelTime;
+
+	// binary heap of the intersections to settle, by travel time; an intersection may be queued several times
+	private double[] heapKeys = new double[16];
+	private Intersection[] heapIntersections = new Intersection[16];
+	private int heapSize;
+
+	/**
+	 * Empty the buffer and start a new query on a map of a given number of intersections.
+	 */
+	void start(int intersectionCount, Intersection destination, double maxTravelTime) {
+		if (labels.length < intersectionCount) {
+			labels = new double[intersectionCount];
+			labelQueries = new int[intersectionCount];
+			settled = new boolean[intersectionCount];
+			query = 0;
+		}
+		query++;
+		if (query == Integer.MAX_VALUE) {
+			Arrays.fill(labelQueries, 0);
+			query = 1;
+		}
+		Arrays.fill(intersections, 0, size, null);
+		size = 0;
+		Arrays.fill(heapIntersections, 0, heapSize, null);
+		heapSize = 0;
+		this.maxTravelTime = maxTravelTime;
+		if (maxTravelTime >= 0) {
+			relax(destination, 0);
+		}
+	}
+
+	/**
+	 * Reach the next intersection, the one of least travel time to the destination among those not reached yet.
+	 * @return false if every intersection within the maximum travel time has been reached
+	 */
+	public boolean next() {
+		Intersection intersection;
+		do {
+			intersection = poll();
+			if (intersection == null) {
+				return false;
+			}
+		} while (!settle(intersection));
+		double travelTime = travelTimes[size - 1];
+		for (Road road : intersection.roadsMapTo.values()) {
+			double throughRoad = travelTime + road.travelTime;
+			if (throughRoad <= maxTravelTime) {
+				relax(road.from, throughRoad);
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Lower the travel time of an intersection, and queue it if it is lowered.
+	 */
+	private void relax(Intersection intersection, double travelTime) {
+		int index = intersection.pathTableIndex;
+		if (labelQueries[index] == query && labels[index] <= travelTime) {
+			return;
+		}
+		if (labelQueries[index] != query) {
+			labelQueries[index] = query;
+			settled[index] = false;
+		}
+		labels[index] = travelTime;
+		if (heapSize == heapKeys.length) {
+			heapKeys = Arrays.copyOf(heapKeys, 2 * heapSize);
+			heapIntersections = Arrays.copyOf(heapIntersections, 2 * heapSize);
+		}
+		int i = heapSize++;
+		while (i > 0) {
+			int parent = (i - 1) / 2;
+			if (heapKeys[parent] <= travelTime) {
+				break;
+			}
+			heapKeys[i] = heapKeys[parent];
+			heapIntersections[i] = heapIntersections[parent];
+			i = parent;
+		}
+		heapKeys[i] = travelTime;
+		heapIntersections[i] = intersection;
+	}
+
+	/**
+	 * Remove the intersection of least travel time from the heap.
+	 * @return the intersection, or null if the heap is empty
+	 */
+	private Intersection poll() {
+		if (heapSize == 0) {
+			return null;
+		}
+		Intersection top = heapIntersections[0];
+		heapSize--;
+		double key = heapKeys[heapSize];
+		Intersection intersection = heapIntersections[heapSize];
+		heapIntersections[heapSize] = null;
+		int i = 0;
+		while (true) {
+			int child = 2 * i + 1;
+			if (child >= heapSize) {
+				break;
+			}
+			if (child + 1 < heapSize && heapKeys[child + 1] < heapKeys[child]) {
+				child++;
+			}
+			if (heapKeys[child] >= key) {
+				break;
+			}
+			heapKeys[i] = heapKeys[child];
+			heapIntersections[i] = heapIntersections[child];
+			i = child;
+		}
+		if (heapSize > 0) {
+			heapKeys[i] = key;
+			heapIntersections[i] = intersection;
+		}
+		return top;
+	}
+
+	/**
+	 * Settle an intersection at its current travel time.
+	 * @return false if the intersection was already settled
+	 */
+	private boolean settle(Intersection intersection) {
+		int index = intersection.pathTableIndex;
+		if (settled[index]) {
+			return false;
+		}
+		settled[index] = true;
+		if (size == intersections.length) {
+			intersections = Arrays.copyOf(intersections, 2 * size);
+			travelTimes = Arrays.copyOf(travelTimes, 2 * size);
+		}
+		intersections[size] = intersection;
+		travelTimes[size] = labels[index];
+		size++;
+		return true;
+	}
+
+	/**
+	 * @return the number of intersections reached so far
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @param i index of a reached intersection, 0 <= i < size(); the intersections are in ascending travel time
+	 * @return the i-th reached intersection
+	 */
+	public Intersection get(int i) {
+		if (i < 0 || i >= size) throw new IndexOutOfBoundsException(
+				"intersection index " + i + " out of range [0, " + size + ")");
+		return intersections[i];
+	}
+
+	/**
+	 * @param i index of a reached intersection, 0 <= i < size()
+	 * @return the shortest travel time from the i-th reached intersection to the destination
+	 */
+	public double travelTime(int i) {
+		if (i < 0 || i >= size) throw new IndexOutOfBoundsException(
+				"intersection index " + i + " out of range [0, " + size + ")");
+		return travelTimes[i];
+	}
+
+	/**
+	 * @param intersection an intersection of the map
+	 * @return the shortest travel time from the intersection to the destination, or Double.POSITIVE_INFINITY if
+	 * the intersection was not reached within the maximum travel time
+	 */
+	public double travelTime(Intersection intersection) {
+		int index = intersection.pathTableIndex;
+		return index < settled.length && labelQueries[index] == query && settled[index] ? labels[index]
+				: Double.POSITIVE_INFINITY;
+	}
+}
@@ -28,6 +28,9 @@ public class Road implements Comparable<Road> {
 	// links that constitute the road
 	public final ArrayList<Link> links;
 
+	// x,y coordinates of the vertices along the road, packed; null until the road is compacted
+	public double[] coordinates;
+
     /**
      * Constructing an "empty" road object.
      */
@@ -38,6 +41,20 @@ public class Road implements Comparable<Road> {
 		links = new ArrayList<>();
 	}
 	
+	/**
+	 * Restoring an "empty" road with a known id, e.g., when loading a compiled map.
+	 * Roads created afterwards get larger ids.
+	 *
+	 * @param id the id of the road
+	 */
+	public Road(long id) {
+		this.id = id;
+		maxId = Math.max(maxId, id + 1);
+		this.length = 0;
+		this.travelTime = 0;
+		links = new ArrayList<>();
+	}
+
 	/**
 	 * Creating a copy of a road
 	 * @param road the road to copy
@@ -53,6 +70,7 @@ public class Road implements Comparable<Road> {
 		this.from = from;
 		this.to= to;
 		this.links = links;
+		this.coordinates = road.coordinates;
 	}
 	
 	/**
@@ -74,6 +92,30 @@ public class Road implements Comparable<Road> {
 		this.speed = this.length / this.travelTime;
 	}
 
+	/**
+	 * Store the geometry of the links in a packed coordinate array and release the vertices of the
+	 * links, so that the vertex graph built by MapCreator can be garbage collected.
+	 */
+	public void compact() {
+		if (coordinates != null) {
+			return;
+		}
+		double[] packed = new double[2 * (links.size() + 1)];
+		packed[0] = links.get(0).from.getX();
+		packed[1] = links.get(0).from.getY();
+		for (int i = 0; i < links.size(); i++) {
+			Link link = links.get(i);
+			packed[2 * i + 2] = link.to.getX();
+			packed[2 * i + 3] = link.to.getY();
+			link.index = i;
+		}
+		coordinates = packed;
+		for (Link link : links) {
+			link.from = null;
+			link.to = null;
+		}
+	}
+
 	/**
 	 * checks whether this is the same road as some specified road
 	 * 
@@ -0,0 +1,114 @@
+package COMSETsystem;
+
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * A route along a sequence of intersections, consumed from its first intersection to its last one. The
+ * intersections are kept in an array, last first, with a cursor that moves toward the start of the array, so
+ * taking the next intersection is O(1) and allocates nothing. A route can be refilled once consumed (see
+ * CityMap.shortestTravelTimeRoute()), which reuses its array, so a fleet manager can keep one route per agent
+ * for the whole simulation.
+ */
+public class Route {
+
+	private static final int INITIAL_CAPACITY = 16;
+
+	// the intersections of the route, last first; the next intersection is intersections[remaining - 1]
+	private Intersection[] intersections;
+
+	// number of intersections not consumed yet
+	private int remaining;
+
+	/**
+	 * Create an empty route.
+	 */
+	public Route() {
+		intersections = new Intersection[INITIAL_CAPACITY];
+	}
+
+	/**
+	 * Create a route along a list of intersections.
+	 * @param path the intersections, first first
+	 */
+	public Route(List<Intersection> path) {
+		intersections = new Intersection[Math.max(path.size(), INITIAL_CAPACITY)];
+		for (Intersection intersection : path) {
+			intersections[remaining++] = intersection;
+		}
+		reverse();
+	}
+
+	/**
+	 * Empty the route, e.g., so that a new route is planned.
+	 */
+	public void clear() {
+		Arrays.fill(intersections, 0, remaining, null);
+		remaining = 0;
+	}
+
+	/**
+	 * Add an intersection before the first intersection of the route.
+	 * @param intersection the new first intersection
+	 */
+	void addFirst(Intersection intersection) {
+		if (remaining == intersections.length) {
+			intersections = Arrays.copyOf(intersections, 2 * remaining);
+		}
+		intersections[remaining++] = intersection;
+	}
+
+	private void reverse() {
+		for (int i = 0, j = remaining - 1; i < j; i++, j--) {
+			Intersection intersection = intersections[i];
+			intersections[i] = intersections[j];
+			intersections[j] = intersection;
+		}
+	}
+
+	/**
+	 * @return true if all the intersections of the route have been consumed
+	 */
+	public boolean isEmpty() {
+		return remaining == 0;
+	}
+
+	/**
+	 * @return the number of intersections not consumed yet
+	 */
+	public int size() {
+		return remaining;
+	}
+
+	/**
+	 * @return the next intersection of the route without consuming it, or null if the route is empty
+	 */
+	public Intersection peek() {
+		return remaining == 0 ? null : intersections[remaining - 1];
+	}
+
+	/**
+	 * Consume the next intersection of the route.
+	 * @return the next intersection of the route, or null if the route is empty
+	 */
+	public Intersection poll() {
+		if (remaining == 0) {
+			return null;
+		}
+		Intersection intersection = intersections[--remaining];
+		intersections[remaining] = null;
+		return intersection;
+	}
+
+	/**
+	 * @return the intersections not consumed yet, first first
+	 */
+	public LinkedList<Intersection> toLinkedList() {
+		LinkedList<Intersection> path = new LinkedList<Intersection>();
+		for (int i = remaining - 1; i >= 0; i--) {
+			path.add(intersections[i]);
+		}
+		return path;
+	}
+}
@@ -105,7 +105,9 @@ public class Simulator {
 		// the simulator
 		mapForAgents = map.makeCopy();
 
-		MapWithData mapWD = new MapWithData(map, configuration.resourceFile, configuration.agentPlacementRandomSeed);
+		MapWithData mapWD = configuration.resources != null
+				? new MapWithData(map, configuration.resources, configuration.agentPlacementRandomSeed)
+				: new MapWithData(map, configuration.resourceFile, configuration.agentPlacementRandomSeed);
 
 		// map match resources
 		System.out.println("Loading and map-matching resources...");
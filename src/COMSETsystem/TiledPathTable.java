@@ -0,0 +1,546 @@
+package COMSETsystem;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Shortest travel times and paths of a map partitioned into square tiles, used by CityMap in place of the
+ * all-pairs path table when that table would not fit in memory (see CityMap.calcTiledTravelTimes()).
+ *
+ * Each intersection belongs to the tile that contains it. The intersections with a road to or from another tile
+ * are the border intersections. Three kinds of tables are kept:
+ *  - the path table of a tile, between all the intersections of the tile along the roads inside it. It is
+ *    computed when the tile is needed, and at most a given number of them are kept in memory, the least recently
+ *    used being dropped first;
+ *  - the overlay of each tile: the travel times along the roads inside the tile between its border intersections;
+ *  - the roads between tiles.
+ * The overlays and the roads between tiles form a graph of the border intersections, much smaller than the map,
+ * whose size grows with the number of border intersections of each tile rather than with the square of the size
+ * of the map. A shortest path leaves the tile of its source at a border intersection, crosses this graph and
+ * enters the tile of its destination at a border intersection, so a query is a Dijkstra search of the graph from
+ * the border intersections of the tile of the source, which gives the same travel time as the all-pairs table.
+ *
+ * Intersections are designated by their path table index only, so the table is shared by a map and its copies
+ * (see CityMap.makeCopy()). Queries reuse the buffers of the table and are not thread-safe.
+ */
+class TiledPathTable {
+
+	// the tile of each intersection and its index among the intersections of the tile, by path table index
+	private final int[] tileOf;
+	private final int[] localIndexOf;
+
+	// the path table indices of the intersections of each tile, by index in the tile
+	private final int[][] tileIntersections;
+
+	// the roads inside each tile, from each intersection of the tile by index in the tile
+	private final int[][] tileRoadStarts;
+	private final int[][] tileRoadEnds;
+	private final double[][] tileRoadTravelTimes;
+
+	// the path table index of each border intersection, by border index
+	private final int[] borderIntersections;
+	// the border index of each intersection, -1 if it is not a border intersection, by path table index
+	private final int[] borderOf;
+	// the border indices of the border intersections of each tile, and the position of each in its tile
+	private final int[][] tileBorders;
+	private final int[] borderPositions;
+
+	// the travel times inside each tile between its border intersections, by position in the tile
+	private final double[][] overlays;
+
+	// the roads between tiles, from each border intersection
+	private final int[] crossingStarts;
+	private final int[] crossingEnds;
+	private final double[] crossingTravelTimes;
+
+	// path tables of the tiles in memory, in least recently used order
+	private final LinkedHashMap<Integer, TilePathTable> residentTiles;
+	private long tileComputations;
+
+	// buffers of the queries: the travel time from the source to each border intersection labelled by the
+	// current query, and the border intersection it is reached from (-1 from the source inside its tile)
+	private final double[] labels;
+	private final int[] labelQueries;
+	private final int[] predecessors;
+	private final boolean[] settled;
+	private int query;
+	private final Heap heap = new Heap();
+	// the border index through which the destination of the last query is entered, -1 if it is reached inside
+	// the tile of the source
+	private int entry;
+	// the travel times inside the tile of the destination from its border intersections to the destination
+	private final double[] toDestination;
+
+	/**
+	 * The shortest travel times and paths inside a tile between all pairs of its intersections, by index in the
+	 * tile.
+	 */
+	private static class TilePathTable {
+		final int size;
+		// travel times, infinite if there is no path inside the tile, and predecessors, by source * size + target
+		final double[] travelTimes;
+		final int[] predecessors;
+
+		TilePathTable(int size) {
+			this.size = size;
+			travelTimes = new double[size * size];
+			predecessors = new int[size * size];
+		}
+
+		double travelTime(int source, int target) {
+			return travelTimes[source * size + target];
+		}
+	}
+
+	/**
+	 * A binary heap of indices by travel time. An index may be queued several times; the outdated entries are
+	 * skipped by the caller.
+	 */
+	private static class Heap {
+		private double[] keys = new double[16];
+		private int[] values = new int[16];
+		private int size;
+
+		void clear() {
+			size = 0;
+		}
+
+		boolean isEmpty() {
+			return size == 0;
+		}
+
+		double peekKey() {
+			return keys[0];
+		}
+
+		void add(double key, int value) {
+			if (size == keys.length) {
+				keys = Arrays.copyOf(keys, 2 * size);
+				values = Arrays.copyOf(values, 2 * size);
+			}
+			int i = size++;
+			while (i > 0) {
+				int parent = (i - 1) / 2;
+				if (keys[parent] <= key) {
+					break;
+				}
+				keys[i] = keys[parent];
+				values[i] = values[parent];
+				i = parent;
+			}
+			keys[i] = key;
+			values[i] = value;
+		}
+
+		int poll() {
+			int top = values[0];
+			size--;
+			double key = keys[size];
+			int value = values[size];
+			int i = 0;
+			while (true) {
+				int child = 2 * i + 1;
+				if (child >= size) {
+					break;
+				}
+				if (child + 1 < size && keys[child + 1] < keys[child]) {
+					child++;
+				}
+				if (keys[child] >= key) {
+					break;
+				}
+				keys[i] = keys[child];
+				values[i] = values[child];
+				i = child;
+			}
+			if (size > 0) {
+				keys[i] = key;
+				values[i] = value;
+			}
+			return top;
+		}
+	}
+
+	/**
+	 * Partition a map into tiles and compute the overlays.
+	 *
+	 * @param intersectionsByPathTableIndex the intersections of the map, by path table index
+	 * @param tileSize side of a tile in meters
+	 * @param maxResidentTiles the maximum number of path tables of tiles kept in memory
+	 */
+	TiledPathTable(Intersection[] intersectionsByPathTableIndex, double tileSize, int maxResidentTiles) {
+		int n = intersectionsByPathTableIndex.length;
+		int residentLimit = Math.max(1, maxResidentTiles);
+		residentTiles = new LinkedHashMap<Integer, TilePathTable>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Integer, TilePathTable> eldest) {
+				return size() > residentLimit;
+			}
+		};
+
+		// number the tiles in the order of their grid cells
+		TreeMap<Long, List<Integer>> intersectionsByCell = new TreeMap<>();
+		for (Intersection intersection : intersectionsByPathTableIndex) {
+			long cellX = (long) Math.floor(intersection.getX() / tileSize);
+			long cellY = (long) Math.floor(intersection.getY() / tileSize);
+			long cell = ((cellX - Integer.MIN_VALUE) << 32) | (cellY - Integer.MIN_VALUE);
+			intersectionsByCell.computeIfAbsent(cell, c -> new ArrayList<>()).add(intersection.pathTableIndex);
+		}
+		tileOf = new int[n];
+		localIndexOf = new int[n];
+		tileIntersections = new int[intersectionsByCell.size()][];
+		int tile = 0;
+		for (List<Integer> intersections : intersectionsByCell.values()) {
+			tileIntersections[tile] = new int[intersections.size()];
+			for (int i = 0; i < intersections.size(); i++) {
+				int index = intersections.get(i);
+				tileIntersections[tile][i] = index;
+				tileOf[index] = tile;
+				localIndexOf[index] = i;
+			}
+			tile++;
+		}
+		int tiles = tileIntersections.length;
+
+		// the roads inside the tiles, and the border intersections
+		tileRoadStarts = new int[tiles][];
+		tileRoadEnds = new int[tiles][];
+		tileRoadTravelTimes = new double[tiles][];
+		boolean[] border = new boolean[n];
+		int crossings = 0;
+		for (int t = 0; t < tiles; t++) {
+			int[] intersections = tileIntersections[t];
+			int roads = 0;
+			for (int index : intersections) {
+				for (Road road : intersectionsByPathTableIndex[index].roadsMapFrom.values()) {
+					if (tileOf[road.to.pathTableIndex] == t) {
+						roads++;
+					} else {
+						border[index] = true;
+						border[road.to.pathTableIndex] = true;
+						crossings++;
+					}
+				}
+			}
+			tileRoadStarts[t] = new int[intersections.length + 1];
+			tileRoadEnds[t] = new int[roads];
+			tileRoadTravelTimes[t] = new double[roads];
+			int r = 0;
+			for (int i = 0; i < intersections.length; i++) {
+				tileRoadStarts[t][i] = r;
+				for (Road road : intersectionsByPathTableIndex[intersections[i]].roadsMapFrom.values()) {
+					if (tileOf[road.to.pathTableIndex] == t) {
+						tileRoadEnds[t][r] = localIndexOf[road.to.pathTableIndex];
+						tileRoadTravelTimes[t][r] = road.travelTime;
+						r++;
+					}
+				}
+			}
+			tileRoadStarts[t][intersections.length] = r;
+		}
+
+		borderOf = new int[n];
+		Arrays.fill(borderOf, -1);
+		List<List<Integer>> bordersOfTiles = new ArrayList<>();
+		for (int t = 0; t < tiles; t++) {
+			bordersOfTiles.add(new ArrayList<>());
+		}
+		int borders = 0;
+		for (int index = 0; index < n; index++) {
+			if (border[index]) {
+				borderOf[index] = borders++;
+				bordersOfTiles.get(tileOf[index]).add(borderOf[index]);
+			}
+		}
+		borderIntersections = new int[borders];
+		borderPositions = new int[borders];
+		tileBorders = new int[tiles][];
+		for (int t = 0; t < tiles; t++) {
+			List<Integer> tileBorderList = bordersOfTiles.get(t);
+			tileBorders[t] = new int[tileBorderList.size()];
+			for (int position = 0; position < tileBorderList.size(); position++) {
+				tileBorders[t][position] = tileBorderList.get(position);
+				borderPositions[tileBorderList.get(position)] = position;
+			}
+		}
+		for (int index = 0; index < n; index++) {
+			if (borderOf[index] != -1) {
+				borderIntersections[borderOf[index]] = index;
+			}
+		}
+
+		// the roads between tiles, from each border intersection
+		crossingStarts = new int[borders + 1];
+		crossingEnds = new int[crossings];
+		crossingTravelTimes = new double[crossings];
+		int c = 0;
+		for (int b = 0; b < borders; b++) {
+			crossingStarts[b] = c;
+			Intersection intersection = intersectionsByPathTableIndex[borderIntersections[b]];
+			for (Road road : intersection.roadsMapFrom.values()) {
+				if (tileOf[road.to.pathTableIndex] != tileOf[intersection.pathTableIndex]) {
+					crossingEnds[c] = borderOf[road.to.pathTableIndex];
+					crossingTravelTimes[c] = road.travelTime;
+					c++;
+				}
+			}
+		}
+		crossingStarts[borders] = c;
+
+		// the overlays, from the path table of each tile
+		overlays = new double[tiles][];
+		int maxBorders = 0;
+		for (int t = 0; t < tiles; t++) {
+			int[] tileBorderIndices = tileBorders[t];
+			maxBorders = Math.max(maxBorders, tileBorderIndices.length);
+			TilePathTable pathTable = tilePathTable(t);
+			overlays[t] = new double[tileBorderIndices.length * tileBorderIndices.length];
+			for (int i = 0; i < tileBorderIndices.length; i++) {
+				int from = localIndexOf[borderIntersections[tileBorderIndices[i]]];
+				for (int j = 0; j < tileBorderIndices.length; j++) {
+					int to = localIndexOf[borderIntersections[tileBorderIndices[j]]];
+					overlays[t][i * tileBorderIndices.length + j] = pathTable.travelTime(from, to);
+				}
+			}
+		}
+
+		labels = new double[borders];
+		labelQueries = new int[borders];
+		predecessors = new int[borders];
+		settled = new boolean[borders];
+		toDestination = new double[maxBorders];
+	}
+
+	/**
+	 * Get the path table of a tile, computing it (and dropping the least recently used one if needed) if it is
+	 * not in memory.
+	 */
+	private TilePathTable tilePathTable(int tile) {
+		TilePathTable pathTable = residentTiles.get(tile);
+		if (pathTable == null) {
+			pathTable = computeTilePathTable(tile);
+			tileComputations++;
+			residentTiles.put(tile, pathTable);
+		}
+		return pathTable;
+	}
+
+	/**
+	 * Compute the path table of a tile by Dijkstra from each of its intersections along the roads inside it.
+	 */
+	private TilePathTable computeTilePathTable(int tile) {
+		int size = tileIntersections[tile].length;
+		int[] roadStarts = tileRoadStarts[tile];
+		int[] roadEnds = tileRoadEnds[tile];
+		double[] roadTravelTimes = tileRoadTravelTimes[tile];
+		TilePathTable pathTable = new TilePathTable(size);
+		boolean[] tileSettled = new boolean[size];
+		for (int source = 0; source < size; source++) {
+			int row = source * size;
+			Arrays.fill(pathTable.travelTimes, row, row + size, Double.POSITIVE_INFINITY);
+			Arrays.fill(tileSettled, false);
+			pathTable.travelTimes[row + source] = 0;
+			pathTable.predecessors[row + source] = source;
+			heap.clear();
+			heap.add(0, source);
+			while (!heap.isEmpty()) {
+				int i = heap.poll();
+				if (tileSettled[i]) {
+					continue;
+				}
+				tileSettled[i] = true;
+				double travelTime = pathTable.travelTimes[row + i];
+				for (int r = roadStarts[i]; r < roadStarts[i + 1]; r++) {
+					int j = roadEnds[r];
+					double throughRoad = travelTime + roadTravelTimes[r];
+					if (throughRoad < pathTable.travelTimes[row + j]) {
+						pathTable.travelTimes[row + j] = throughRoad;
+						pathTable.predecessors[row + j] = i;
+						heap.add(throughRoad, j);
+					}
+				}
+			}
+		}
+		return pathTable;
+	}
+
+	/**
+	 * Search the graph of the border intersections from the source, until the destination cannot be reached
+	 * sooner through the border intersections not settled yet.
+	 *
+	 * @param source path table index of the source
+	 * @param destination path table index of the destination
+	 * @return the shortest travel time from the source to the destination; the border intersection through
+	 * which the destination is entered is left in entry
+	 */
+	private double search(int source, int destination) {
+		int sourceTile = tileOf[source];
+		int destinationTile = tileOf[destination];
+		// the destination tile is looked up first, so that the source tile is the most recently used
+		TilePathTable destinationTable = tilePathTable(destinationTile);
+		TilePathTable sourceTable = tilePathTable(sourceTile);
+		int sourceLocal = localIndexOf[source];
+		int destinationLocal = localIndexOf[destination];
+
+		double best = sourceTile == destinationTile ? sourceTable.travelTime(sourceLocal, destinationLocal)
+				: Double.POSITIVE_INFINITY;
+		int bestEntry = -1;
+
+		int[] destinationBorders = tileBorders[destinationTile];
+		for (int position = 0; position < destinationBorders.length; position++) {
+			toDestination[position] = destinationTable.travelTime(
+					localIndexOf[borderIntersections[destinationBorders[position]]], destinationLocal);
+		}
+
+		query++;
+		if (query == Integer.MAX_VALUE) {
+			Arrays.fill(labelQueries, 0);
+			query = 1;
+		}
+		heap.clear();
+		for (int b : tileBorders[sourceTile]) {
+			relax(b, sourceTable.travelTime(sourceLocal, localIndexOf[borderIntersections[b]]), -1);
+		}
+		while (!heap.isEmpty() && heap.peekKey() < best) {
+			int b = heap.poll();
+			if (settled[b]) {
+				continue;
+			}
+			settled[b] = true;
+			double travelTime = labels[b];
+			int tile = tileOf[borderIntersections[b]];
+			if (tile == destinationTile) {
+				double throughBorder = travelTime + toDestination[borderPositions[b]];
+				if (throughBorder < best) {
+					best = throughBorder;
+					bestEntry = b;
+				}
+			}
+			int[] bordersOfTile = tileBorders[tile];
+			double[] overlay = overlays[tile];
+			int row = borderPositions[b] * bordersOfTile.length;
+			for (int position = 0; position < bordersOfTile.length; position++) {
+				relax(bordersOfTile[position], travelTime + overlay[row + position], b);
+			}
+			for (int c = crossingStarts[b]; c < crossingStarts[b + 1]; c++) {
+				relax(crossingEnds[c], travelTime + crossingTravelTimes[c], b);
+			}
+		}
+		entry = bestEntry;
+		return best;
+	}
+
+	/**
+	 * Lower the travel time of a border intersection, and queue it if it is lowered.
+	 */
+	private void relax(int border, double travelTime, int predecessor) {
+		if (travelTime == Double.POSITIVE_INFINITY
+				|| (labelQueries[border] == query && labels[border] <= travelTime)) {
+			return;
+		}
+		if (labelQueries[border] != query) {
+			labelQueries[border] = query;
+			settled[border] = false;
+		}
+		labels[border] = travelTime;
+		predecessors[border] = predecessor;
+		heap.add(travelTime, border);
+	}
+
+	/**
+	 * @param source path table index of the source
+	 * @param destination path table index of the destination
+	 * @return the shortest travel time from the source to the destination
+	 */
+	double travelTime(int source, int destination) {
+		return search(source, destination);
+	}
+
+	/**
+	 * Fill a route with the intersections of the shortest path from the source to the destination.
+	 *
+	 * @param source path table index of the source
+	 * @param destination path table index of the destination
+	 * @param intersectionsByPathTableIndex the intersections of the map the route is on
+	 * @param route the route to fill; its remaining intersections are replaced
+	 */
+	void fillRoute(int source, int destination, Intersection[] intersectionsByPathTableIndex, Route route) {
+		search(source, destination);
+
+		route.clear();
+		if (entry == -1) {
+			addPathInTile(source, destination, intersectionsByPathTableIndex, route);
+		} else {
+			addPathInTile(borderIntersections[entry], destination, intersectionsByPathTableIndex, route);
+			int b = entry;
+			while (predecessors[b] != -1) {
+				int predecessor = predecessors[b];
+				if (tileOf[borderIntersections[predecessor]] == tileOf[borderIntersections[b]]) {
+					addPathInTile(borderIntersections[predecessor], borderIntersections[b],
+							intersectionsByPathTableIndex, route);
+				} else {
+					route.addFirst(intersectionsByPathTableIndex[borderIntersections[b]]);
+				}
+				b = predecessor;
+			}
+			addPathInTile(source, borderIntersections[b], intersectionsByPathTableIndex, route);
+		}
+		route.addFirst(intersectionsByPathTableIndex[source]);
+	}
+
+	/**
+	 * Add the intersections of the shortest path inside a tile from one intersection to another, except the first
+	 * one, at the front of a route.
+	 */
+	private void addPathInTile(int from, int to, Intersection[] intersectionsByPathTableIndex, Route route) {
+		int tile = tileOf[from];
+		TilePathTable pathTable = tilePathTable(tile);
+		int[] intersections = tileIntersections[tile];
+		int source = localIndexOf[from];
+		int current = localIndexOf[to];
+		while (current != source) {
+			route.addFirst(intersectionsByPathTableIndex[intersections[current]]);
+			current = pathTable.predecessors[source * pathTable.size + current];
+		}
+	}
+
+	/**
+	 * @return the number of tiles
+	 */
+	int numberOfTiles() {
+		return tileIntersections.length;
+	}
+
+	/**
+	 * @param intersection path table index of an intersection
+	 * @return the tile of the intersection
+	 */
+	int tileOf(int intersection) {
+		return tileOf[intersection];
+	}
+
+	/**
+	 * @return the number of border intersections
+	 */
+	int numberOfBorderIntersections() {
+		return borderIntersections.length;
+	}
+
+	/**
+	 * @return the number of path tables of tiles currently in memory
+	 */
+	int numberOfResidentTiles() {
+		return residentTiles.size();
+	}
+
+	/**
+	 * @return the number of times the path table of a tile has been computed
+	 */
+	long tileComputations() {
+		return tileComputations;
+	}
+}
@@ -1,10 +1,19 @@
 package COMSETsystem;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 
 /**
  * TrafficPattern is a data structure that represents how the traffic condition changes over the time
  * of a day.
+ *
+ * The pattern is a sequence of epochs of equal length (step), each with a speed factor that is applied to
+ * the speed limits of the roads. The speed factor of the first epoch also applies before the first epoch,
+ * and the speed factor of the last epoch applies after the last epoch begins.
+ *
+ * Besides the speed factors, the pattern keeps the cumulative integral of the speed factor over time, i.e.,
+ * the distance covered at a unit unadjusted speed since the beginning of the first epoch. A time-dependent
+ * travel distance is then the difference of the integral at two times, and a time-dependent travel time is
+ * found by inverting the integral with a binary search, instead of walking forward one epoch at a time.
  */
 public class TrafficPattern {
     public long step;
@@ -13,17 +22,32 @@ public class TrafficPattern {
     private double firstEpochSpeedFactor;
     private double lastEpochSpeedFactor;
 
-    private final ArrayList<TrafficPatternItem> trafficPattern;
+    // speed factor of each epoch; epoch i begins at firstEpochBeginTime + i * step
+    private double[] speedFactors;
+
+    // cumulativeDistances[i] is the integral of the speed factor from the beginning of the first epoch to
+    // the beginning of epoch i
+    private double[] cumulativeDistances;
+
+    // number of epochs
+    private int size;
 
     public TrafficPattern(long step) {
         this.step = step;
-        this.trafficPattern = new ArrayList<TrafficPatternItem>();
+        this.speedFactors = new double[16];
+        this.cumulativeDistances = new double[16];
+        this.size = 0;
     }
 
     public void addTrafficPatternItem(long epochBeginTime, double speedFactor) {
-        TrafficPatternItem trafficPatternItem = new TrafficPatternItem(epochBeginTime, speedFactor);
-        trafficPattern.add(trafficPatternItem);
-        if (trafficPattern.size() == 1) {
+        if (size == speedFactors.length) {
+            speedFactors = Arrays.copyOf(speedFactors, size * 2);
+            cumulativeDistances = Arrays.copyOf(cumulativeDistances, size * 2);
+        }
+        speedFactors[size] = speedFactor;
+        cumulativeDistances[size] = size == 0 ? 0.0 : cumulativeDistances[size - 1] + speedFactors[size - 1] * step;
+        size++;
+        if (size == 1) {
             firstEpochBeginTime = epochBeginTime;
             firstEpochSpeedFactor = speedFactor;
         }
@@ -31,19 +55,7 @@ public class TrafficPattern {
         lastEpochSpeedFactor = speedFactor;
     }
 
-    class TrafficPatternItem {
-        public long epochBeginTime;
-        public double speed_factor;
-        public TrafficPatternItem(long epochBeginTime, double speed_factor) {
-            this.epochBeginTime = epochBeginTime;
-            this.speed_factor = speed_factor;
-        }
-        public String toString() {
-            return this.epochBeginTime +","+ this.speed_factor;
-        }
-    }
-
-    double getSpeedFactor(long time) {
+    public double getSpeedFactor(long time) {
         if (time < this.firstEpochBeginTime) {
             return this.firstEpochSpeedFactor;
         }
@@ -51,54 +63,66 @@ public class TrafficPattern {
             return this.lastEpochSpeedFactor;
         }
         int patternIndex = (int) ((time - this.firstEpochBeginTime) / step);
-        return this.trafficPattern.get(patternIndex).speed_factor;
+        return this.speedFactors[patternIndex];
     }
 
-    // compute the dynamic travel time to travel a certain distance of a link starting at a certain time
-    public double dynamicForwardTravelTime(double time, double unadjustedSpeed, double distance) {
+    /**
+     * The integral of the speed factor from the beginning of the first epoch to a given time, i.e., the
+     * distance covered at a unit unadjusted speed. Negative for times before the first epoch.
+     *
+     * @param relativeTime time relative to the beginning of the first epoch
+     * @return the integral of the speed factor up to the given time
+     */
+    private double distanceIntegral(double relativeTime) {
+        if (relativeTime < 0) {
+            return relativeTime * firstEpochSpeedFactor;
+        }
+        double lastRelativeTime = (double) (lastEpochBeginTime - firstEpochBeginTime);
+        if (relativeTime >= lastRelativeTime) {
+            return cumulativeDistances[size - 1] + (relativeTime - lastRelativeTime) * lastEpochSpeedFactor;
+        }
+        int patternIndex = (int) (relativeTime / step);
+        return cumulativeDistances[patternIndex] + (relativeTime - (double) patternIndex * step) * speedFactors[patternIndex];
+    }
 
-        double totalDistance = 0.0;
-        double totalTime = 0.0;
-        double currentTime = time;
-
-        double speedFactor;
-        double adjustedSpeed;
-
-        while (true) {
-            double stepTime = -1.0;
-            // travel for one step
-            if (currentTime >= this.lastEpochBeginTime) {
-                speedFactor = this.lastEpochSpeedFactor;
-                adjustedSpeed = unadjustedSpeed * speedFactor;
-                stepTime = (distance - totalDistance) / adjustedSpeed;
-                totalTime += stepTime;
-                break;
+    /**
+     * The inverse of distanceIntegral: the earliest time at which the integral of the speed factor reaches
+     * a given value.
+     *
+     * @param integral the value of the integral
+     * @return time relative to the beginning of the first epoch
+     */
+    private double timeAtDistanceIntegral(double integral) {
+        double lastIntegral = cumulativeDistances[size - 1];
+        if (integral >= lastIntegral) {
+            double lastRelativeTime = (double) (lastEpochBeginTime - firstEpochBeginTime);
+            return lastRelativeTime + (integral - lastIntegral) / lastEpochSpeedFactor;
+        }
+        if (integral < 0) {
+            return integral / firstEpochSpeedFactor;
+        }
+        // binary search for the last epoch i such that cumulativeDistances[i] <= integral
+        int low = 0;
+        int high = size - 1; // cumulativeDistances[high] > integral
+        while (high - low > 1) {
+            int mid = (low + high) >>> 1;
+            if (cumulativeDistances[mid] <= integral) {
+                low = mid;
             } else {
-                if (currentTime < this.firstEpochBeginTime) {
-                    stepTime = this.firstEpochBeginTime - currentTime;
-                    speedFactor = this.firstEpochSpeedFactor;
-                } else {
-                    int patternIndex = (int) ((currentTime - this.firstEpochBeginTime) / step);
-                    stepTime = trafficPattern.get(patternIndex).epochBeginTime + step - currentTime;
-                    speedFactor = this.trafficPattern.get(patternIndex).speed_factor;
-                }
-                adjustedSpeed = unadjustedSpeed * speedFactor;
-                double stepDistance = adjustedSpeed * stepTime;
-                if (totalDistance + stepDistance < distance) {
-                    // finish a full step
-                    totalDistance += stepDistance;
-                    totalTime += stepTime;
-                    currentTime += stepTime;
-                } else {
-                    // finish a partial step
-                    double remainingDistance = distance - totalDistance;
-                    double remainingTime = remainingDistance / adjustedSpeed;
-                    totalTime += remainingTime;
-                    break;
-                }
+                high = mid;
             }
         }
-        return totalTime;
+        return (double) low * step + (integral - cumulativeDistances[low]) / speedFactors[low];
+    }
+
+    // compute the dynamic travel time to travel a certain distance of a link starting at a certain time
+    public double dynamicForwardTravelTime(double time, double unadjustedSpeed, double distance) {
+        if (distance == 0.0) {
+            return 0.0;
+        }
+        double relativeTime = time - firstEpochBeginTime;
+        double arrivalIntegral = distanceIntegral(relativeTime) + distance / unadjustedSpeed;
+        return Math.max(0.0, timeAtDistanceIntegral(arrivalIntegral) - relativeTime);
     }
 
     // dynamic travel time from a location on a road to the end of the road starting at a given time (long type)
@@ -139,60 +163,14 @@ public class TrafficPattern {
 
     // compute the travel distance along a link for a certain time starting at a given time
     public double[] dynamicTravelDistance(double time, double unadjustedSpeed, double travelTime, double maxDistance) {
-        double totalDistance = 0.0;
-        double totalTime = 0.0;
-        double currentTime = time;
-
-        double speedFactor;
-        double adjustedSpeed;
-        double distance;
-
-        while (true) {
-            double stepTime = -1.0;
-            // travel for one step
-            if (currentTime >= this.lastEpochBeginTime) {
-                speedFactor = this.lastEpochSpeedFactor;
-                adjustedSpeed = unadjustedSpeed * speedFactor;
-                distance = (travelTime - totalTime) * adjustedSpeed;
-                if (totalDistance + distance > maxDistance) {
-                    double remainingDistance = maxDistance - totalDistance;
-                    totalTime += remainingDistance / adjustedSpeed;
-                    totalDistance = maxDistance;
-                } else {
-                    totalDistance += distance;
-                    totalTime = travelTime;
-                }
-                break;
-            } else {
-                if (currentTime < this.firstEpochBeginTime) {
-                    stepTime = this.firstEpochBeginTime - currentTime;
-                    speedFactor = this.firstEpochSpeedFactor;
-                } else {
-                    int patternIndex = (int) ((currentTime - this.firstEpochBeginTime) / step);
-                    stepTime = trafficPattern.get(patternIndex).epochBeginTime + step - currentTime;
-                    speedFactor = trafficPattern.get(patternIndex).speed_factor;
-                }
-                adjustedSpeed = unadjustedSpeed * speedFactor;
-                if (totalTime + stepTime > travelTime) {
-                    double remainingTime = travelTime - totalTime;
-                    distance = adjustedSpeed * remainingTime;
-                    totalDistance += distance;
-                    totalTime = travelTime;
-                    break;
-                } else {
-                    distance = adjustedSpeed * stepTime;
-                    if (totalDistance + distance > maxDistance) {
-                        double remainingDistance = maxDistance - totalDistance;
-                        totalTime += remainingDistance / adjustedSpeed;
-                        totalDistance = maxDistance;
-                        break;
-                    } else {
-                        totalDistance += distance;
-                        totalTime += stepTime;
-                        currentTime += stepTime;
-                    }
-                }
-            }
+        double relativeTime = time - firstEpochBeginTime;
+        double startIntegral = distanceIntegral(relativeTime);
+        double totalDistance = unadjustedSpeed * (distanceIntegral(relativeTime + travelTime) - startIntegral);
+        double totalTime = travelTime;
+        if (totalDistance > maxDistance) {
+            // maxDistance is reached before travel time is used out
+            totalTime = timeAtDistanceIntegral(startIntegral + maxDistance / unadjustedSpeed) - relativeTime;
+            totalDistance = maxDistance;
         }
         double[] returnValue = {totalDistance, totalTime};
         return returnValue;
@@ -34,6 +34,20 @@ public class GeoProjector {
 		metersPerLonDegree = distanceGreatCircle(ref_lat, ref_lon, ref_lat, ref_lon + 1.0);
 	}
 
+	/**
+	 * @return latitude of the reference location
+	 */
+	public double referenceLatitude() {
+		return ref_lat;
+	}
+
+	/**
+	 * @return longitude of the reference location
+	 */
+	public double referenceLongitude() {
+		return ref_lon;
+	}
+
 	/**
 	 * Project a lat,lon location to 2D space
 	 * @param lat latitude 
@@ -41,12 +55,58 @@ public class GeoProjector {
 	 * @return projected 2D point 
 	 */		
 	public double[] fromLatLon(double lat, double lon) {
-		double x = (lon - ref_lon) * metersPerLonDegree;
-		double y = (lat - ref_lat) * metersPerLatDegree;
-		double[] xy = {x, y};
+		double[] xy = new double[2];
+		fromLatLon(lat, lon, xy);
 		return xy;
 	}
 
+	/**
+	 * Project a lat,lon location to 2D space without allocating.
+	 * @param lat latitude 
+	 * @param lon longitude
+	 * @param xy a buffer of at least two elements that receives the projected x and y
+	 */		
+	public void fromLatLon(double lat, double lon, double[] xy) {
+		xy[0] = xFromLon(lon);
+		xy[1] = yFromLat(lat);
+	}
+
+	/**
+	 * Project a longitude to the x-coordinate in 2D space
+	 * @param lon longitude
+	 * @return projected x-coordinate
+	 */		
+	public double xFromLon(double lon) {
+		return (lon - ref_lon) * metersPerLonDegree;
+	}
+
+	/**
+	 * Project a latitude to the y-coordinate in 2D space
+	 * @param lat latitude
+	 * @return projected y-coordinate
+	 */		
+	public double yFromLat(double lat) {
+		return (lat - ref_lat) * metersPerLatDegree;
+	}
+
+	/**
+	 * Project a batch of lat,lon locations to 2D space in place. The locations are stored as
+	 * consecutive (lat, lon) pairs starting at the given offset; each pair is overwritten by
+	 * the projected (x, y) pair.
+	 * @param coordinates array of interleaved lat,lon pairs
+	 * @param offset index of the latitude of the first location
+	 * @param numberOfLocations number of locations to project
+	 */		
+	public void fromLatLonInPlace(double[] coordinates, int offset, int numberOfLocations) {
+		int end = offset + 2 * numberOfLocations;
+		for (int i = offset; i < end; i += 2) {
+			double lat = coordinates[i];
+			double lon = coordinates[i + 1];
+			coordinates[i] = xFromLon(lon);
+			coordinates[i + 1] = yFromLat(lat);
+		}
+	}
+
 	/**
 	 * Project a lat,lon location to 2D space
 	 * @param lat latitude 
@@ -1,7 +1,12 @@
 package DataParsing;
 
 import java.awt.geom.Point2D;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.function.ToIntFunction;
 
 import COMSETsystem.*;
 
@@ -108,6 +113,9 @@ public class KdTree {
 			return new Node(link);
 		}
 
+		// the new link ends up in the subtree of n
+		n.extendBox(link);
+
 		double cmp = directionLinkToBand(link, n, evenLevel);
 
 		/**
@@ -169,18 +177,31 @@ public class KdTree {
 	public Link nearest(Point2D p) {
 		if (p == null) throw new java.lang.NullPointerException(
 				"called contains() with a null Point2D");
+		return nearest(p.getX(), p.getY());
+	}
+
+	/**
+	 * A nearest neighbor in the group to point (x, y); null if the group is empty.
+	 * Same as nearest(Point2D) but does not require a Point2D object.
+	 * 
+	 * @param x x-coordinate of the point from which to search for a neighbor
+	 * @param y y-coordinate of the point from which to search for a neighbor
+	 * @return the nearest neighbor to the given point,
+	 *         {@code null} otherwise.
+	 */
+	public Link nearest(double x, double y) {
 		if (isEmpty()) return null;
-		return nearest(root, p, root.link, true);
+		return nearest(root, x, y, root.link, true);
 	}
 
-	private Link nearest(Node n, Point2D p, Link champion,
+	private Link nearest(Node n, double x, double y, Link champion,
 			boolean evenLevel) {
 
 		// Handle reaching the end of the tree
 		if (n == null) return champion;
 
 		// Determine if the current Node's link beats the existing champion
-		if (n.link.distanceSq(p) < champion.distanceSq(p))
+		if (n.link.distanceSq(x, y) < champion.distanceSq(x, y))
 			champion = n.link;
 
 		/**
@@ -197,19 +218,19 @@ public class KdTree {
 		 * of the links on the other side of that partition band, because none
 		 * can be closer.
 		 */
-		double toPartitionLine = distancePointToBand(p, n, evenLevel);
+		double toPartitionLine = distancePointToBand(x, y, n, evenLevel);
 
 		/**
 		 * Handle the search point being to the left of or below
 		 * the current Node's partition band.
 		 */
 		if (toPartitionLine < 0) {
-			champion = nearest(n.lb, p, champion, !evenLevel);
+			champion = nearest(n.lb, x, y, champion, !evenLevel);
 
 			// Since champion may have changed, recalculate distance
-			if (champion.distanceSq(p) >=
+			if (champion.distanceSq(x, y) >=
 					toPartitionLine * toPartitionLine) {
-				champion = nearest(n.rt, p, champion, !evenLevel);
+				champion = nearest(n.rt, x, y, champion, !evenLevel);
 			}
 		}
 
@@ -224,18 +245,127 @@ public class KdTree {
 		 * the level of the current Node).
 		 */
 		else {
-			champion = nearest(n.rt, p, champion, !evenLevel);
+			champion = nearest(n.rt, x, y, champion, !evenLevel);
 
 			// Since champion may have changed, recalculate distance
-			if (champion.distanceSq(p) >=
+			if (champion.distanceSq(x, y) >=
 					toPartitionLine * toPartitionLine) {
-				champion = nearest(n.lb, p, champion, !evenLevel);
+				champion = nearest(n.lb, x, y, champion, !evenLevel);
 			}
 		}
 
 		return champion;
 	}
 
+	/**
+	 * The k nearest links to point p, sorted by ascending distance. Fewer than k links are
+	 * returned if the group holds fewer than k links.
+	 *
+	 * The result is written into the given buffer, which is cleared first, so that the same
+	 * buffer can be reused across queries without allocation.
+	 *
+	 * @param p the point from which to search for neighbors
+	 * @param k the number of neighbors to find
+	 * @param result the buffer to fill with the neighbors
+	 * @throws NullPointerException if {@code p} or {@code result} is {@code null}
+	 * @throws IllegalArgumentException if {@code k} is not positive
+	 */
+	public void kNearest(Point2D p, int k, LinkCandidates result) {
+		if (p == null) throw new java.lang.NullPointerException(
+				"called kNearest() with a null Point2D");
+		kNearest(p.getX(), p.getY(), k, result);
+	}
+
+	/**
+	 * Same as kNearest(Point2D, int, LinkCandidates) but does not require a Point2D object.
+	 *
+	 * @param x x-coordinate of the point from which to search for neighbors
+	 * @param y y-coordinate of the point from which to search for neighbors
+	 * @param k the number of neighbors to find
+	 * @param result the buffer to fill with the neighbors
+	 */
+	public void kNearest(double x, double y, int k, LinkCandidates result) {
+		if (result == null) throw new java.lang.NullPointerException(
+				"called kNearest() with a null result buffer");
+		if (k <= 0) throw new java.lang.IllegalArgumentException(
+				"called kNearest() with k = " + k);
+		result.clear();
+		if (isEmpty()) return;
+		result.ensureCapacity(Math.min(k, size));
+		kNearest(root, x, y, k, result, true);
+		result.sortHeap();
+	}
+
+	private void kNearest(Node n, double x, double y, int k, LinkCandidates result,
+			boolean evenLevel) {
+
+		// Handle reaching the end of the tree
+		if (n == null) return;
+
+		// Prune the subtree if no link in it can beat the current k-th champion
+		if (result.size() == k && n.boxDistanceSq(x, y) >= result.heapTopDistanceSq()) return;
+
+		result.offer(n.link, n.link.distanceSq(x, y), k);
+
+		// Visit first the side of the partition band where the point lies, as in nearest()
+		if (distancePointToBand(x, y, n, evenLevel) < 0) {
+			kNearest(n.lb, x, y, k, result, !evenLevel);
+			kNearest(n.rt, x, y, k, result, !evenLevel);
+		} else {
+			kNearest(n.rt, x, y, k, result, !evenLevel);
+			kNearest(n.lb, x, y, k, result, !evenLevel);
+		}
+	}
+
+	/**
+	 * All links whose distance to point p is at most r, in no particular order.
+	 *
+	 * The result is written into the given buffer, which is cleared first, so that the same
+	 * buffer can be reused across queries without allocation (the buffer only grows when it
+	 * is too small for a query).
+	 *
+	 * @param p the point from which to search
+	 * @param r the search radius in meters
+	 * @param result the buffer to fill with the links within the radius
+	 * @throws NullPointerException if {@code p} or {@code result} is {@code null}
+	 * @throws IllegalArgumentException if {@code r} is negative
+	 */
+	public void withinRadius(Point2D p, double r, LinkCandidates result) {
+		if (p == null) throw new java.lang.NullPointerException(
+				"called withinRadius() with a null Point2D");
+		withinRadius(p.getX(), p.getY(), r, result);
+	}
+
+	/**
+	 * Same as withinRadius(Point2D, double, LinkCandidates) but does not require a Point2D object.
+	 *
+	 * @param x x-coordinate of the point from which to search
+	 * @param y y-coordinate of the point from which to search
+	 * @param r the search radius in meters
+	 * @param result the buffer to fill with the links within the radius
+	 */
+	public void withinRadius(double x, double y, double r, LinkCandidates result) {
+		if (result == null) throw new java.lang.NullPointerException(
+				"called withinRadius() with a null result buffer");
+		if (r < 0) throw new java.lang.IllegalArgumentException(
+				"called withinRadius() with r = " + r);
+		result.clear();
+		if (isEmpty()) return;
+		withinRadius(root, x, y, r * r, result);
+	}
+
+	private void withinRadius(Node n, double x, double y, double rSq, LinkCandidates result) {
+		// Handle reaching the end of the tree, or a subtree entirely outside the radius
+		if (n == null || n.boxDistanceSq(x, y) > rSq) return;
+
+		double distSq = n.link.distanceSq(x, y);
+		if (distSq <= rSq) {
+			result.add(n.link, distSq);
+		}
+		withinRadius(n.lb, x, y, rSq, result);
+		withinRadius(n.rt, x, y, rSq, result);
+	}
+
 	/**
 	 * The direction from the given link to the given Node's partition band.
 	 * 
@@ -283,7 +413,8 @@ public class KdTree {
 	 * Otherwise (including where the difference is exactly 0), then the
 	 * given point lies or should lie on the right branch of the given Node.
 	 * 
-	 * @param p the point in question
+	 * @param x x-coordinate of the point in question
+	 * @param y y-coordinate of the point in question
 	 * @param n the Node in question
 	 * @param evenLevel is the current level even?  If so, then the Node's
 	 *        partition band is vertical, so the point will be to the left
@@ -294,21 +425,110 @@ public class KdTree {
 	 *         1 right; 
 	 *         0 if the point is inside the node's partition band.
 	 */	
-	private double distancePointToBand(Point2D p, Node n, boolean evenLevel) {
+	private double distancePointToBand(double x, double y, Node n, boolean evenLevel) {
 		if (evenLevel) { // compare x coordinates
-			if (p.getX() <= n.minX || p.getX() >= n.maxX) 
-				return p.getX() - n.minX;
+			if (x <= n.minX || x >= n.maxX) 
+				return x - n.minX;
 			else 
 				return 0;
 		}
 		else { // compare y coordinates
-			if (p.getY() <= n.minY || p.getY() >= n.maxY) 
-				return p.getY() - n.minY;
+			if (y <= n.minY || y >= n.maxY) 
+				return y - n.minY;
 			else 
 				return 0;
 		}		
 	}
 
+	/**
+	 * Write the structure of the tree in preorder, so that readFrom() restores exactly the same
+	 * tree without repeating the insertions. Links are written as indices given by linkIndex.
+	 *
+	 * @param out the output to write to
+	 * @param linkIndex gives the index of each link in the array later passed to readFrom()
+	 * @throws IOException if writing fails
+	 */
+	public void writeTo(DataOutput out, ToIntFunction<Link> linkIndex) throws IOException {
+		out.writeInt(size);
+		if (root == null) {
+			return;
+		}
+		// iterative preorder traversal
+		ArrayDeque<Node> stack = new ArrayDeque<>();
+		stack.push(root);
+		while (!stack.isEmpty()) {
+			Node n = stack.pop();
+			out.writeByte((n.lb != null ? 1 : 0) | (n.rt != null ? 2 : 0));
+			out.writeInt(linkIndex.applyAsInt(n.link));
+			out.writeDouble(n.minX);
+			out.writeDouble(n.minY);
+			out.writeDouble(n.maxX);
+			out.writeDouble(n.maxY);
+			out.writeDouble(n.boxMinX);
+			out.writeDouble(n.boxMinY);
+			out.writeDouble(n.boxMaxX);
+			out.writeDouble(n.boxMaxY);
+			if (n.rt != null) stack.push(n.rt);
+			if (n.lb != null) stack.push(n.lb);
+		}
+	}
+
+	/**
+	 * Restore a tree written by writeTo().
+	 *
+	 * @param in the buffer to read from, positioned at the start of the tree
+	 * @param links the links indexed as they were when the tree was written
+	 * @return the restored tree
+	 */
+	public static KdTree readFrom(ByteBuffer in, Link[] links) {
+		KdTree tree = new KdTree();
+		int size = in.getInt();
+		if (size == 0) {
+			return tree;
+		}
+		// nodes whose subtree is being restored, with a flag telling which children are still to be attached
+		ArrayDeque<Node> parents = new ArrayDeque<>();
+		ArrayDeque<Integer> pendingChildren = new ArrayDeque<>();
+		for (int i = 0; i < size; i++) {
+			int flags = in.get();
+			Node n = new Node(links[in.getInt()]);
+			n.minX = in.getDouble();
+			n.minY = in.getDouble();
+			n.maxX = in.getDouble();
+			n.maxY = in.getDouble();
+			n.boxMinX = in.getDouble();
+			n.boxMinY = in.getDouble();
+			n.boxMaxX = in.getDouble();
+			n.boxMaxY = in.getDouble();
+
+			if (parents.isEmpty()) {
+				tree.root = n;
+			} else {
+				// attach to the deepest node that still misses a child; the left child comes first
+				Node parent = parents.peek();
+				int pending = pendingChildren.pop();
+				if ((pending & 1) != 0) {
+					parent.lb = n;
+					pending &= ~1;
+				} else {
+					parent.rt = n;
+					pending &= ~2;
+				}
+				if (pending != 0) {
+					pendingChildren.push(pending);
+				} else {
+					parents.pop();
+				}
+			}
+			if (flags != 0) {
+				parents.push(n);
+				pendingChildren.push(flags);
+			}
+		}
+		tree.size = size;
+		return tree;
+	}
+
 	/**
 	 * The data structure from which a KdTree is created.
 	 */
@@ -320,6 +540,12 @@ public class KdTree {
 		private double maxX;
 		private double maxY;
 
+		// bounding box of all the links in the subtree rooted at this node (including this node)
+		private double boxMinX;
+		private double boxMinY;
+		private double boxMaxX;
+		private double boxMaxY;
+
 		// the left/bottom subtree
 		private Node lb;
 
@@ -333,6 +559,10 @@ public class KdTree {
 			minY = link.minY;
 			maxX = link.maxX;
 			maxY = link.maxY;
+			boxMinX = link.minX;
+			boxMinY = link.minY;
+			boxMaxX = link.maxX;
+			boxMaxY = link.maxY;
 			lb = null;
 			rt = null;
 			
@@ -344,5 +574,22 @@ public class KdTree {
 			maxX = Math.max(maxX, link.maxX);
 			maxY = Math.max(maxY, link.maxY);			
 		}
+
+		private void extendBox(Link link) {
+			boxMinX = Math.min(boxMinX, link.minX);
+			boxMinY = Math.min(boxMinY, link.minY);
+			boxMaxX = Math.max(boxMaxX, link.maxX);
+			boxMaxY = Math.max(boxMaxY, link.maxY);
+		}
+
+		/**
+		 * Squared distance from a point to the bounding box of the subtree; a lower bound
+		 * of the squared distance from the point to any link in the subtree.
+		 */
+		private double boxDistanceSq(double x, double y) {
+			double dx = x < boxMinX ? boxMinX - x : (x > boxMaxX ? x - boxMaxX : 0);
+			double dy = y < boxMinY ? boxMinY - y : (y > boxMaxY ? y - boxMaxY : 0);
+			return dx * dx + dy * dy;
+		}
 	}
 }
\ No newline at end of file
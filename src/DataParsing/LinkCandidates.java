@@ -0,0 +1,173 @@
+package DataParsing;
+
+import COMSETsystem.Link;
+
+/**
+ * A reusable buffer of candidate links returned by the spatial queries of KdTree
+ * (see KdTree.kNearest and KdTree.withinRadius). Each candidate is stored together with
+ * its squared distance to the query point.
+ *
+ * The buffer is meant to be allocated once and passed to many queries; its arrays only
+ * grow when a query returns more candidates than the current capacity, so repeated
+ * queries do not allocate.
+ */
+public class LinkCandidates {
+
+	// candidate links
+	private Link[] links;
+
+	// squared distance from the query point to each candidate link
+	private double[] distancesSq;
+
+	// number of candidates currently held
+	private int size;
+
+	/**
+	 * Constructor of LinkCandidates.
+	 * @param capacity initial number of candidates the buffer can hold without growing
+	 */
+	public LinkCandidates(int capacity) {
+		if (capacity < 1) {
+			capacity = 1;
+		}
+		links = new Link[capacity];
+		distancesSq = new double[capacity];
+		size = 0;
+	}
+
+	/**
+	 * @return the number of candidates in the buffer
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @return {@code true} if the buffer holds no candidates
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * @param i index of a candidate, 0 <= i < size()
+	 * @return the i-th candidate link
+	 */
+	public Link get(int i) {
+		if (i < 0 || i >= size) throw new IndexOutOfBoundsException(
+				"candidate index " + i + " out of range [0, " + size + ")");
+		return links[i];
+	}
+
+	/**
+	 * @param i index of a candidate, 0 <= i < size()
+	 * @return the squared distance from the query point to the i-th candidate link
+	 */
+	public double distanceSq(int i) {
+		if (i < 0 || i >= size) throw new IndexOutOfBoundsException(
+				"candidate index " + i + " out of range [0, " + size + ")");
+		return distancesSq[i];
+	}
+
+	/**
+	 * Remove all candidates. References to links are released so that the buffer
+	 * does not keep a discarded map alive.
+	 */
+	public void clear() {
+		for (int i = 0; i < size; i++) {
+			links[i] = null;
+		}
+		size = 0;
+	}
+
+	/**
+	 * Make sure the buffer can hold at least the given number of candidates.
+	 */
+	void ensureCapacity(int capacity) {
+		if (capacity <= links.length) {
+			return;
+		}
+		int newCapacity = Math.max(capacity, links.length * 2);
+		Link[] newLinks = new Link[newCapacity];
+		double[] newDistancesSq = new double[newCapacity];
+		System.arraycopy(links, 0, newLinks, 0, size);
+		System.arraycopy(distancesSq, 0, newDistancesSq, 0, size);
+		links = newLinks;
+		distancesSq = newDistancesSq;
+	}
+
+	/**
+	 * Append a candidate (used by radius queries).
+	 */
+	void add(Link link, double distanceSq) {
+		ensureCapacity(size + 1);
+		links[size] = link;
+		distancesSq[size] = distanceSq;
+		size++;
+	}
+
+	/**
+	 * The largest squared distance in the buffer when it is maintained as a max-heap
+	 * (used by k-nearest queries).
+	 */
+	double heapTopDistanceSq() {
+		return distancesSq[0];
+	}
+
+	/**
+	 * Offer a candidate to a max-heap of at most k candidates ordered by distance. If the
+	 * heap is full, the candidate replaces the farthest one when it is closer.
+	 */
+	void offer(Link link, double distanceSq, int k) {
+		if (size < k) {
+			// sift up
+			int i = size++;
+			while (i > 0) {
+				int parent = (i - 1) >>> 1;
+				if (distancesSq[parent] >= distanceSq) {
+					break;
+				}
+				links[i] = links[parent];
+				distancesSq[i] = distancesSq[parent];
+				i = parent;
+			}
+			links[i] = link;
+			distancesSq[i] = distanceSq;
+		} else if (distanceSq < distancesSq[0]) {
+			siftDown(0, link, distanceSq, size);
+		}
+	}
+
+	/**
+	 * Turn the max-heap into a list sorted by ascending distance (in-place heap sort).
+	 */
+	void sortHeap() {
+		for (int end = size - 1; end > 0; end--) {
+			Link topLink = links[0];
+			double topDistanceSq = distancesSq[0];
+			siftDown(0, links[end], distancesSq[end], end);
+			links[end] = topLink;
+			distancesSq[end] = topDistanceSq;
+		}
+	}
+
+	private void siftDown(int i, Link link, double distanceSq, int heapSize) {
+		while (true) {
+			int child = 2 * i + 1;
+			if (child >= heapSize) {
+				break;
+			}
+			if (child + 1 < heapSize && distancesSq[child + 1] > distancesSq[child]) {
+				child++;
+			}
+			if (distancesSq[child] <= distanceSq) {
+				break;
+			}
+			links[i] = links[child];
+			distancesSq[i] = distancesSq[child];
+			i = child;
+		}
+		links[i] = link;
+		distancesSq[i] = distanceSq;
+	}
+}
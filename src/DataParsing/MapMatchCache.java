@@ -0,0 +1,174 @@
+package DataParsing;
+
+import COMSETsystem.LocationOnRoad;
+import COMSETsystem.Road;
+
+/**
+ * The MapMatchCache class memorizes the result of map matching a (longitude, latitude) point so
+ * that points which appear many times in a resource dataset (e.g., hotspots such as train stations,
+ * airports and hotels) are projected and matched against the KdTree only once.
+ *
+ * Points are keyed by their coordinates quantized to 1e-7 degree and stored in an open-addressing
+ * hash table of primitive arrays. The exact coordinates are kept alongside the key and compared on
+ * lookup, so a hit always returns the result computed for exactly the same point, i.e., caching
+ * never changes the result of map matching.
+ */
+public class MapMatchCache {
+
+	// Coordinates are quantized to this many units per degree to build the key.
+	private static final double UNITS_PER_DEGREE = 1e7;
+
+	// The table is grown when it becomes more than half full.
+	private static final double MAX_LOAD_FACTOR = 0.5;
+
+	private long[] keys;
+	private double[] longitudes;
+	private double[] latitudes;
+	// road of the matched location; null marks an empty slot
+	private Road[] roads;
+	// distance from the start intersection of the road of the matched location
+	private double[] distances;
+
+	private int size;
+	private int mask;
+
+	private long hits;
+	private long misses;
+
+	/**
+	 * Constructor of MapMatchCache.
+	 * @param expectedSize expected number of distinct points to be cached
+	 */
+	public MapMatchCache(int expectedSize) {
+		int capacity = 16;
+		while (capacity * MAX_LOAD_FACTOR < expectedSize) {
+			capacity <<= 1;
+		}
+		allocate(capacity);
+	}
+
+	private void allocate(int capacity) {
+		keys = new long[capacity];
+		longitudes = new double[capacity];
+		latitudes = new double[capacity];
+		roads = new Road[capacity];
+		distances = new double[capacity];
+		mask = capacity - 1;
+		size = 0;
+	}
+
+	/**
+	 * Look up the cached match of a point.
+	 *
+	 * @param longitude longitude of the point
+	 * @param latitude latitude of the point
+	 * @return the matched location if the point has been cached; null otherwise
+	 */
+	public LocationOnRoad get(double longitude, double latitude) {
+		long key = key(longitude, latitude);
+		int slot = hash(key) & mask;
+		while (roads[slot] != null) {
+			if (keys[slot] == key && longitudes[slot] == longitude && latitudes[slot] == latitude) {
+				hits++;
+				return new LocationOnRoad(roads[slot], distances[slot]);
+			}
+			slot = (slot + 1) & mask;
+		}
+		misses++;
+		return null;
+	}
+
+	/**
+	 * Cache the match of a point.
+	 *
+	 * @param longitude longitude of the point
+	 * @param latitude latitude of the point
+	 * @param road the road of the matched location
+	 * @param distanceFromStartIntersection the distance of the matched location from the start intersection of the road
+	 */
+	public void put(double longitude, double latitude, Road road, double distanceFromStartIntersection) {
+		if (size + 1 > keys.length * MAX_LOAD_FACTOR) {
+			rehash(keys.length << 1);
+		}
+		insert(key(longitude, latitude), longitude, latitude, road, distanceFromStartIntersection);
+	}
+
+	private void insert(long key, double longitude, double latitude, Road road, double distance) {
+		int slot = hash(key) & mask;
+		while (roads[slot] != null) {
+			if (keys[slot] == key && longitudes[slot] == longitude && latitudes[slot] == latitude) {
+				// overwrite an existing entry
+				roads[slot] = road;
+				distances[slot] = distance;
+				return;
+			}
+			slot = (slot + 1) & mask;
+		}
+		keys[slot] = key;
+		longitudes[slot] = longitude;
+		latitudes[slot] = latitude;
+		roads[slot] = road;
+		distances[slot] = distance;
+		size++;
+	}
+
+	private void rehash(int capacity) {
+		long[] oldKeys = keys;
+		double[] oldLongitudes = longitudes;
+		double[] oldLatitudes = latitudes;
+		Road[] oldRoads = roads;
+		double[] oldDistances = distances;
+		allocate(capacity);
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldRoads[i] != null) {
+				insert(oldKeys[i], oldLongitudes[i], oldLatitudes[i], oldRoads[i], oldDistances[i]);
+			}
+		}
+	}
+
+	/**
+	 * Pack the quantized latitude and longitude into a single long.
+	 */
+	static long key(double longitude, double latitude) {
+		long lat = Math.round(latitude * UNITS_PER_DEGREE);
+		long lon = Math.round(longitude * UNITS_PER_DEGREE);
+		return (lat << 32) ^ (lon & 0xffffffffL);
+	}
+
+	private static int hash(long key) {
+		// mix the bits (from MurmurHash3's finalizer) so that nearby points spread over the table
+		key ^= key >>> 33;
+		key *= 0xff51afd7ed558ccdL;
+		key ^= key >>> 33;
+		return (int) key;
+	}
+
+	/**
+	 * @return the number of distinct points in the cache
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @return the number of lookups that found a cached match
+	 */
+	public long hits() {
+		return hits;
+	}
+
+	/**
+	 * @return the number of lookups that did not find a cached match
+	 */
+	public long misses() {
+		return misses;
+	}
+
+	/**
+	 * @return the fraction of lookups that found a cached match; 0 if there was no lookup
+	 */
+	public double hitRate() {
+		long lookups = hits + misses;
+		return lookups == 0 ? 0.0 : (double) hits / lookups;
+	}
+}
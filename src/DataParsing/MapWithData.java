@@ -36,6 +36,12 @@ public class MapWithData {
 
 	private ArrayList<Resource> resourcesParsed;
 
+	// Cache of map matching results; trip records reuse the same coordinates heavily at hotspots.
+	private final MapMatchCache matchCache = new MapMatchCache(1 << 16);
+
+	// Reusable buffer for the result of snap() in map matching
+	private final double[] snapBuffer = new double[3];
+
 	/**
 	 * Constructor of MapWithData
 	 * @param map reference to the map
@@ -50,6 +56,18 @@ public class MapWithData {
 		zoneId = map.computeZoneId();
 	}
 
+	/**
+	 * Constructor of MapWithData for resources that are already loaded, e.g., generated by
+	 * SyntheticDemand, instead of parsed from a resource file.
+	 * @param map reference to the map
+	 * @param resources the resources, with times in simulation time units
+	 * @param agentPlacementRandomSeed Seed for randome number that generates agent placements
+	 */
+	public MapWithData(CityMap map, ArrayList<Resource> resources, long agentPlacementRandomSeed) {
+		this(map, (String) null, agentPlacementRandomSeed);
+		this.resourcesParsed = resources;
+	}
+
 	/**
 	 * Maps each agent and each resource onto the nearest location on the map
 	 * according to the agent/resource's longitude and latitude. Creates resource events 
@@ -65,13 +83,30 @@ public class MapWithData {
 	public long createMapWithData(Configuration configuration, Simulator simulator, FleetManager fleetManager) {
 
 
-		CSVNewYorkParser parser = new CSVNewYorkParser(resourceFile, zoneId);
-		resourcesParsed = parser.parse(Configuration.timeResolution);
+		if (resourcesParsed == null) {
+			CSVNewYorkParser parser = new CSVNewYorkParser(resourceFile, zoneId);
+			resourcesParsed = parser.parse(Configuration.timeResolution);
+		}
+
+		// project the pickup and dropoff locations of all resources in one batch
+		double[] coordinates = new double[resourcesParsed.size() * 4];
+		for (int i = 0; i < resourcesParsed.size(); i++) {
+			Resource resource = resourcesParsed.get(i);
+			coordinates[4 * i] = resource.getPickupLat();
+			coordinates[4 * i + 1] = resource.getPickupLon();
+			coordinates[4 * i + 2] = resource.getDropoffLat();
+			coordinates[4 * i + 3] = resource.getDropoffLon();
+		}
+		map.projector().fromLatLonInPlace(coordinates, 0, resourcesParsed.size() * 2);
+
 		try {
-            for (Resource resource : resourcesParsed) {
+			for (int i = 0; i < resourcesParsed.size(); i++) {
+				Resource resource = resourcesParsed.get(i);
 				// map matching
-				LocationOnRoad pickupMatch = mapMatch(resource.getPickupLon(), resource.getPickupLat());
-				LocationOnRoad dropoffMatch = mapMatch(resource.getDropoffLon(), resource.getDropoffLat());
+				LocationOnRoad pickupMatch = mapMatch(resource.getPickupLon(), resource.getPickupLat(),
+						coordinates[4 * i], coordinates[4 * i + 1]);
+				LocationOnRoad dropoffMatch = mapMatch(resource.getDropoffLon(), resource.getDropoffLat(),
+						coordinates[4 * i + 2], coordinates[4 * i + 3]);
 
 				// TODO: won't need trip time
 				long staticTripTime = simulator.mapForAgents.travelTimeBetween(pickupMatch, dropoffMatch);
@@ -97,6 +132,8 @@ public class MapWithData {
 		} catch (Exception e) {
 			e.printStackTrace();
 		}
+		System.out.println("Map matching cache: " + matchCache.size() + " distinct points, hit rate "
+				+ String.format("%.1f%%", matchCache.hitRate() * 100));
 
 		return latestResourceTime;
 	}
@@ -110,13 +147,29 @@ public class MapWithData {
 	}
 
 	/**
-	 * Match a point to the closest location on the map
+	 * Match a point to the closest location on the map. Results are cached by coordinates
+	 * (see MapMatchCache) so that a repeated point is matched only once.
 	 */
 	public LocationOnRoad mapMatch(double longitude, double latitude) {
-		Link link = map.getNearestLink(longitude, latitude);
-		double [] xy = map.projector().fromLatLon(latitude, longitude);
-		double [] snapResult = snap(link.from.getX(), link.from.getY(), link.to.getX(), link.to.getY(), xy[0], xy[1]);
-		double distanceFromStartVertex = this.distance(snapResult[0], snapResult[1], link.from.getX(), link.from.getY());
+		GeoProjector projector = map.projector();
+		return mapMatch(longitude, latitude, projector.xFromLon(longitude), projector.yFromLat(latitude));
+	}
+
+	/**
+	 * Match a point to the closest location on the map, given both its longitude and latitude
+	 * (used as the cache key) and its projected coordinates (used for matching). Apart from the
+	 * returned location, no object is allocated.
+	 */
+	private LocationOnRoad mapMatch(double longitude, double latitude, double x, double y) {
+		LocationOnRoad cached = matchCache.get(longitude, latitude);
+		if (cached != null) {
+			return cached;
+		}
+
+		Link link = map.getNearestLinkXY(x, y);
+		double [] snapResult = snapBuffer;
+		snap(link.fromX(), link.fromY(), link.toX(), link.toY(), x, y, snapResult);
+		double distanceFromStartVertex = this.distance(snapResult[0], snapResult[1], link.fromX(), link.fromY());
 
 		// find the begin distance of link
 		double distanceFromStartIntersection = 0;
@@ -128,6 +181,7 @@ public class MapWithData {
 				distanceFromStartIntersection += aLink.length;
 			}
 		}
+		matchCache.put(longitude, latitude, link.road, distanceFromStartIntersection);
 		return new LocationOnRoad(link.road, distanceFromStartIntersection);
 	}
 
@@ -146,6 +200,15 @@ public class MapWithData {
 	 */
 	public double[] snap(double x1, double y1, double x2, double y2, double x, double y) {
 		double[] snapResult = new double[3];
+		snap(x1, y1, x2, y2, x, y, snapResult);
+		return snapResult;
+	}
+
+	/**
+	 * Same as snap(x1, y1, x2, y2, x, y) but writes the closest point and its distance to (x, y)
+	 * into a caller-supplied buffer of at least three elements instead of allocating one.
+	 */
+	public void snap(double x1, double y1, double x2, double y2, double x, double y, double[] snapResult) {
 		double dist;
 		double length = (x1 - x2) * (x1 - x2) + (y1 - y2) * (y1 - y2);
 
@@ -175,7 +238,6 @@ public class MapWithData {
 				snapResult[2] = dist;
 			}
 		}
-		return snapResult;
 	}
 
 	/**
@@ -230,6 +292,9 @@ public class MapWithData {
 	 *
 	 * In other words, we adjust the travel speeds so that the average trip time produced by COMSET is consistent with that of the real data.
 	 *
+	 * The shortest travel time of each trip is computed only once, and the sums over consecutive windows are
+	 * maintained incrementally, so that building the pattern takes time linear in the number of trips and windows.
+	 *
 	 * @param resources set of resources that will be used to compute speed factors.
 	 * @param epoch the window of time that determines the speed factor
 	 * @param step the resolution of the time-of-day speed depenence.
@@ -241,47 +306,74 @@ public class MapWithData {
 		// sort resources by pickup
 		resources.sort(Comparator.comparingLong(TimestampAbstract::getTime));
 		TrafficPattern trafficPattern = new TrafficPattern(step);
-		long epochBeginTime = resources.get(0).getPickupTime();
-		int beginResourceIndex = 0;
-		double lastKnownSpeedFactor = 0.3; // default to 0.3 if no trip data available
-		while (true) {
-			ArrayList<Resource> epochResources = new ArrayList<>();
-			long epochEndTime = epochBeginTime + epoch;
-			int resourceIndex = beginResourceIndex;
-			while (resourceIndex < resources.size() && resources.get(resourceIndex).getPickupTime() < epochEndTime) {
-				if (resources.get(resourceIndex).getDropoffTime() < epochEndTime) {
-					epochResources.add(resources.get(resourceIndex));
-				}
-				resourceIndex += 1;
+		long firstEpochBeginTime = resources.get(0).getPickupTime();
+		long lastPickupTime = resources.get(resources.size() - 1).getPickupTime();
+
+		// The k-th window spans [firstEpochBeginTime + k * step, firstEpochBeginTime + k * step + epoch).
+		// Windows are added until one ends after the last pickup.
+		long firstEpochEndTime = firstEpochBeginTime + epoch;
+		int lastWindow = lastPickupTime < firstEpochEndTime ? 0 :
+				(int) ((lastPickupTime - firstEpochEndTime) / step) + 1;
+		int numberOfWindows = lastWindow + 1;
+
+		if (!dynamicTraffic) {
+			for (int k = 0; k < numberOfWindows; k++) {
+				trafficPattern.addTrafficPatternItem(firstEpochBeginTime + k * step, 1.0);
 			}
+			return trafficPattern;
+		}
+
+		// A trip belongs to every window that contains both its pickup time and its dropoff time, i.e.,
+		// to a contiguous range of windows. Each trip's actual and simulated travel times are computed
+		// once and added to the first window of its range and subtracted after the last one; the
+		// window sums are then obtained with one running sum over the windows.
+		long[] actualTravelTimeDelta = new long[numberOfWindows + 1];
+		long[] simulatedTravelTimeDelta = new long[numberOfWindows + 1];
+		int[] countDelta = new int[numberOfWindows + 1];
+		for (Resource r : resources) {
+			long pickupTime = r.getPickupTime();
+			long dropoffTime = r.getDropoffTime();
+			// first window whose end time is after both the pickup and the dropoff
+			long enteringTime = Math.max(pickupTime, dropoffTime);
+			long firstWindow = enteringTime < firstEpochEndTime ? 0 : (enteringTime - firstEpochEndTime) / step + 1;
+			// first window that begins after the pickup
+			long endWindow = Math.min((pickupTime - firstEpochBeginTime) / step + 1, numberOfWindows);
+			if (firstWindow >= endWindow) {
+				continue;
+			}
+			long simulatedTravelTime = map.travelTimeBetween(r.getPickupLocation(), r.getDropoffLocation());
+			actualTravelTimeDelta[(int) firstWindow] += dropoffTime - pickupTime;
+			actualTravelTimeDelta[(int) endWindow] -= dropoffTime - pickupTime;
+			simulatedTravelTimeDelta[(int) firstWindow] += simulatedTravelTime;
+			simulatedTravelTimeDelta[(int) endWindow] -= simulatedTravelTime;
+			countDelta[(int) firstWindow]++;
+			countDelta[(int) endWindow]--;
+		}
 
-			if (dynamicTraffic) {
-				if (epochResources.size() == 0) {
-					// use the previous epoch if available
+		double lastKnownSpeedFactor = 0.3; // default to 0.3 if no trip data available
+		long totalActualTravelTime = 0;
+		long totalSimulatedTravelTime = 0;
+		int count = 0;
+		for (int k = 0; k < numberOfWindows; k++) {
+			long epochBeginTime = firstEpochBeginTime + k * step;
+			totalActualTravelTime += actualTravelTimeDelta[k];
+			totalSimulatedTravelTime += simulatedTravelTimeDelta[k];
+			count += countDelta[k];
+
+			if (count == 0 || totalActualTravelTime == 0) {
+				// no trip or no valid speed factor; use the previous epoch if available
+				trafficPattern.addTrafficPatternItem(epochBeginTime, lastKnownSpeedFactor);
+			} else {
+				double speedFactor = ((double) totalSimulatedTravelTime) / totalActualTravelTime;
+				if (speedFactor < 0.0) { // didn't get a valid speed factor
 					trafficPattern.addTrafficPatternItem(epochBeginTime, lastKnownSpeedFactor);
 				} else {
-					double speedFactor = getSpeedFactor(epochResources);
-					if (speedFactor < 0.0) { // didn't get a valid speed factor
-						trafficPattern.addTrafficPatternItem(epochBeginTime, lastKnownSpeedFactor);
-					} else {
-						if (speedFactor > 1.0) { // cap speed factor to 1
-							speedFactor = 1.0;
-						}
-						trafficPattern.addTrafficPatternItem(epochBeginTime, speedFactor);
-						lastKnownSpeedFactor = speedFactor;
+					if (speedFactor > 1.0) { // cap speed factor to 1
+						speedFactor = 1.0;
 					}
+					trafficPattern.addTrafficPatternItem(epochBeginTime, speedFactor);
+					lastKnownSpeedFactor = speedFactor;
 				}
-			} else {
-				trafficPattern.addTrafficPatternItem(epochBeginTime, 1.0);
-			}
-
-			epochBeginTime += step;
-			while (beginResourceIndex < resources.size() && resources.get(beginResourceIndex).getPickupTime() < epochBeginTime) {
-				beginResourceIndex += 1;
-			}
-
-			if (resourceIndex == resources.size()) {
-				break;
 			}
 		}
 		return trafficPattern;
@@ -0,0 +1,140 @@
+package DataParsing;
+
+import COMSETsystem.CityMap;
+import COMSETsystem.Intersection;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates synthetic trip records on a map, in place of the TLC trip records read by
+ * CSVNewYorkParser. The records can be given to MapWithData, which map matches them as usual.
+ *
+ * Pickups follow a Poisson process of a given rate. Pickup and dropoff locations are drawn
+ * independently from a mixture of a uniform background (a random intersection, moved randomly by a
+ * few tens of meters) and of hotspots (normally distributed around a center); a hotspot of weight w
+ * attracts w times as many trip ends as the whole background. Without hotspots, the demand is
+ * uniform over the intersections of the map. Trip durations follow from the straight line distance
+ * between pickup and dropoff, a detour factor and an average speed.
+ *
+ * The same map, hotspots, parameters and seed always give the same trips.
+ */
+public class SyntheticDemand {
+
+	// standard deviation of the distance between a background trip end and its intersection, in meters
+	static final double BACKGROUND_SPREAD = 30;
+
+	// ratio of the driven distance to the straight line distance of a trip
+	static final double DETOUR_FACTOR = 1.3;
+
+	private final CityMap map;
+
+	private final Intersection[] intersections;
+
+	private final Random random;
+
+	// hotspots: center x, center y, radius and cumulative weight (background included)
+	private final List<double[]> hotspots = new ArrayList<>();
+	private double totalWeight = 1.0;
+
+	// average speed of trips in meters per second; about the average taxi speed in Manhattan
+	private double averageSpeed = 5.0;
+
+	/**
+	 * Constructor of SyntheticDemand.
+	 *
+	 * @param map the map on which the trips take place
+	 * @param seed seed of the random number generator
+	 */
+	public SyntheticDemand(CityMap map, long seed) {
+		this.map = map;
+		this.intersections = map.intersections().values().toArray(new Intersection[0]);
+		this.random = new Random(seed);
+	}
+
+	/**
+	 * Add a hotspot of demand.
+	 *
+	 * @param longitude longitude of the center of the hotspot
+	 * @param latitude latitude of the center of the hotspot
+	 * @param radius standard deviation of the distance of trip ends to the center, in meters
+	 * @param weight share of trip ends attracted by the hotspot, relative to the background
+	 */
+	public void addHotspot(double longitude, double latitude, double radius, double weight) {
+		totalWeight += weight;
+		hotspots.add(new double[] {map.projector().xFromLon(longitude), map.projector().yFromLat(latitude),
+				radius, totalWeight});
+	}
+
+	/**
+	 * Add hotspots centered at random intersections of the map.
+	 *
+	 * @param numberOfHotspots number of hotspots to add
+	 * @param radius standard deviation of the distance of trip ends to the center, in meters
+	 * @param weight share of trip ends attracted by each hotspot, relative to the background
+	 */
+	public void addRandomHotspots(int numberOfHotspots, double radius, double weight) {
+		for (int h = 0; h < numberOfHotspots; h++) {
+			Intersection center = intersections[random.nextInt(intersections.length)];
+			addHotspot(center.longitude, center.latitude, radius, weight);
+		}
+	}
+
+	/**
+	 * @param averageSpeed average speed of trips in meters per second
+	 */
+	public void setAverageSpeed(double averageSpeed) {
+		this.averageSpeed = averageSpeed;
+	}
+
+	/**
+	 * Generate trips whose pickups occur over a period of time.
+	 *
+	 * @param startTime beginning of the period as a Linux epoch in seconds
+	 * @param duration length of the period in seconds
+	 * @param tripsPerHour average number of pickups per hour
+	 * @param timeResolution number of simulation time units per second (see Configuration.timeResolution)
+	 * @return the trips sorted by pickup time, with times in simulation time units
+	 */
+	public ArrayList<Resource> generate(long startTime, long duration, double tripsPerHour, long timeResolution) {
+		ArrayList<Resource> resources = new ArrayList<>();
+		double ratePerSecond = tripsPerHour / 3600;
+		double[] pickup = new double[2];
+		double[] dropoff = new double[2];
+		double time = -Math.log(1 - random.nextDouble()) / ratePerSecond;
+		while (time < duration) {
+			tripEnd(pickup);
+			tripEnd(dropoff);
+			double distance = Math.hypot(dropoff[0] - pickup[0], dropoff[1] - pickup[1]) * DETOUR_FACTOR;
+			long pickupTime = (startTime + (long) time) * timeResolution;
+			long dropoffTime = pickupTime + Math.round(distance / averageSpeed) * timeResolution;
+			double[] pickupLatLon = map.projector().toLatLon(pickup[0], pickup[1]);
+			double[] dropoffLatLon = map.projector().toLatLon(dropoff[0], dropoff[1]);
+			resources.add(new Resource(pickupLatLon[0], pickupLatLon[1], dropoffLatLon[0], dropoffLatLon[1],
+					pickupTime, dropoffTime));
+			time += -Math.log(1 - random.nextDouble()) / ratePerSecond;
+		}
+		return resources;
+	}
+
+	/**
+	 * Draw the projected coordinates of a pickup or dropoff location.
+	 */
+	private void tripEnd(double[] xy) {
+		// the background has weight 1, i.e., [0, 1); hotspots follow
+		double u = random.nextDouble() * totalWeight;
+		if (u >= 1.0) {
+			for (double[] hotspot : hotspots) {
+				if (u < hotspot[3]) {
+					xy[0] = hotspot[0] + random.nextGaussian() * hotspot[2];
+					xy[1] = hotspot[1] + random.nextGaussian() * hotspot[2];
+					return;
+				}
+			}
+		}
+		Intersection intersection = intersections[random.nextInt(intersections.length)];
+		xy[0] = intersection.getX() + random.nextGaussian() * BACKGROUND_SPREAD;
+		xy[1] = intersection.getY() + random.nextGaussian() * BACKGROUND_SPREAD;
+	}
+}
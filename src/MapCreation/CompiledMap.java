@@ -0,0 +1,331 @@
+package MapCreation;
+
+import COMSETsystem.CityMap;
+import COMSETsystem.Configuration;
+import COMSETsystem.Intersection;
+import COMSETsystem.Link;
+import COMSETsystem.Road;
+import COMSETsystem.Vertex;
+import DataParsing.GeoProjector;
+import DataParsing.KdTree;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Reads and writes a finished CityMap in a compact, versioned binary format, so that a map only
+ * needs to be created from the OpenStreetMaps JSON file (see MapCreator) once. Loading a compiled
+ * map skips parsing, cropping, clearing, creating intersections and roads, and building the KdTree.
+ *
+ * The file contains, in this order:
+ *  - a header: magic number, format version, Configuration.timeResolution the speeds were
+ *    computed with, and the paths of the JSON and KML files the map was created from;
+ *  - the time zone of the map (see CityMap.computeZoneId), so that loading a compiled map does not
+ *    need the time zone engine;
+ *  - the reference location of the projector;
+ *  - the bounding polygon used to crop the map;
+ *  - the vertices of all the links (id, longitude, latitude, x, y);
+ *  - the intersections, as indices of vertices, in the order of their ids;
+ *  - the roads, each with its id, start and end intersections, and links (id, start and end
+ *    vertices, length, speed), in the order of CityMap.roads();
+ *  - the KdTree, written node by node (see KdTree.writeTo).
+ *
+ * All numbers are big-endian. Ids of intersections, roads and links are kept, so that a loaded
+ * map behaves exactly like the map it was written from.
+ */
+public class CompiledMap {
+
+	// "CMAP"
+	static final int MAGIC = 0x434D4150;
+
+	// Format version; increase whenever the layout of the file changes.
+	// Version 2 added the time zone of the map.
+	static final int VERSION = 2;
+
+	// File name extension of compiled maps
+	public static final String FILE_EXTENSION = ".cmap";
+
+	/**
+	 * Write a map to a file.
+	 *
+	 * @param map the map to write
+	 * @param boundingPolygon the bounding polygon the map was cropped with
+	 * @param mapJSONFile the JSON file the map was created from
+	 * @param boundingPolygonKMLFile the KML file defining the bounding polygon
+	 * @param file the file to write
+	 * @throws IOException if the file cannot be written
+	 * @throws IllegalStateException if the map has been compacted (see CityMap.compact())
+	 */
+	public static void write(CityMap map, List<double[]> boundingPolygon, String mapJSONFile,
+			String boundingPolygonKMLFile, File file) throws IOException {
+		if (map.isCompacted()) {
+			throw new IllegalStateException("a compacted map has no vertices to write");
+		}
+		// number the vertices and links in the order they appear in the roads
+		Map<Vertex, Integer> vertexIndex = new HashMap<>();
+		List<Vertex> vertices = new ArrayList<>();
+		Map<Link, Integer> linkIndex = new HashMap<>();
+		for (Road road : map.roads()) {
+			for (Link link : road.links) {
+				linkIndex.put(link, linkIndex.size());
+				for (Vertex vertex : new Vertex[] {link.from, link.to}) {
+					if (!vertexIndex.containsKey(vertex)) {
+						vertexIndex.put(vertex, vertices.size());
+						vertices.add(vertex);
+					}
+				}
+			}
+		}
+		Map<Intersection, Integer> intersectionIndex = new HashMap<>();
+		for (Intersection intersection : map.intersections().values()) {
+			intersectionIndex.put(intersection, intersectionIndex.size());
+		}
+
+		File temporaryFile = new File(file.getPath() + ".tmp");
+		try {
+			writeTo(temporaryFile, map, boundingPolygon, mapJSONFile, boundingPolygonKMLFile,
+					vertices, vertexIndex, intersectionIndex, linkIndex);
+		} catch (IOException | RuntimeException e) {
+			temporaryFile.delete();
+			throw e;
+		}
+		// replace the file at once so that a concurrent reader never sees a partial file
+		if (file.exists() && !file.delete() || !temporaryFile.renameTo(file)) {
+			throw new IOException("cannot replace " + file);
+		}
+	}
+
+	private static void writeTo(File temporaryFile, CityMap map, List<double[]> boundingPolygon, String mapJSONFile,
+			String boundingPolygonKMLFile, List<Vertex> vertices, Map<Vertex, Integer> vertexIndex,
+			Map<Intersection, Integer> intersectionIndex, Map<Link, Integer> linkIndex) throws IOException {
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporaryFile), 1 << 16))) {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeLong(Configuration.timeResolution);
+			out.writeUTF(mapJSONFile);
+			out.writeUTF(boundingPolygonKMLFile);
+			out.writeUTF(map.computeZoneId().getId());
+
+			GeoProjector projector = map.projector();
+			out.writeDouble(projector.referenceLatitude());
+			out.writeDouble(projector.referenceLongitude());
+
+			out.writeInt(boundingPolygon.size());
+			for (double[] point : boundingPolygon) {
+				out.writeDouble(point[0]);
+				out.writeDouble(point[1]);
+			}
+
+			out.writeInt(vertices.size());
+			for (Vertex vertex : vertices) {
+				out.writeLong(vertex.id);
+				out.writeDouble(vertex.longitude);
+				out.writeDouble(vertex.latitude);
+				out.writeDouble(vertex.getX());
+				out.writeDouble(vertex.getY());
+			}
+
+			out.writeInt(intersectionIndex.size());
+			for (Intersection intersection : map.intersections().values()) {
+				Integer index = vertexIndex.get(intersection.vertex);
+				if (index == null) {
+					throw new IllegalStateException("intersection " + intersection.id + " is not on any road");
+				}
+				out.writeInt(index);
+			}
+
+			out.writeInt(map.roads().size());
+			for (Road road : map.roads()) {
+				out.writeLong(road.id);
+				out.writeInt(intersectionIndex.get(road.from));
+				out.writeInt(intersectionIndex.get(road.to));
+				out.writeInt(road.links.size());
+				for (Link link : road.links) {
+					out.writeLong(link.id);
+					out.writeInt(vertexIndex.get(link.from));
+					out.writeInt(vertexIndex.get(link.to));
+					out.writeDouble(link.length);
+					out.writeDouble(link.speed);
+				}
+			}
+
+			map.kdTree().writeTo(out, link -> {
+				Integer index = linkIndex.get(link);
+				if (index == null) {
+					throw new IllegalStateException("link " + link.id + " of the KdTree is not on any road");
+				}
+				return index;
+			});
+		}
+	}
+
+	/**
+	 * Load a map from a file written by write(). The bounding polygon stored in the file becomes
+	 * the bounding polygon of MapCreator (see MapCreator.insidePolygon).
+	 *
+	 * @param file the file to read
+	 * @param memoryMapped if true, the file is mapped into memory; otherwise it is read sequentially
+	 * @return the map
+	 * @throws IOException if the file cannot be read, or is not a compiled map of the current version
+	 */
+	public static CityMap read(File file, boolean memoryMapped) throws IOException {
+		ByteBuffer in;
+		if (memoryMapped) {
+			try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+					FileChannel channel = randomAccessFile.getChannel()) {
+				in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			}
+		} else {
+			in = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+		}
+		try {
+			return read(in);
+		} catch (RuntimeException e) {
+			// e.g., BufferUnderflowException on a truncated file
+			throw new IOException("corrupted compiled map " + file, e);
+		}
+	}
+
+	private static void readHeader(ByteBuffer in) throws IOException {
+		if (in.getInt() != MAGIC) {
+			throw new IOException("not a compiled map");
+		}
+		int version = in.getInt();
+		if (version != VERSION) {
+			throw new IOException("compiled map version " + version + " is not supported; expected " + VERSION);
+		}
+		long timeResolution = in.getLong();
+		if (timeResolution != Configuration.timeResolution) {
+			throw new IOException("compiled map has time resolution " + timeResolution + "; expected " + Configuration.timeResolution);
+		}
+	}
+
+	private static CityMap read(ByteBuffer in) throws IOException {
+		readHeader(in);
+		readUTF(in); // mapJSONFile
+		readUTF(in); // boundingPolygonKMLFile
+		ZoneId zoneId = ZoneId.of(readUTF(in));
+
+		GeoProjector projector = new GeoProjector(in.getDouble(), in.getDouble());
+
+		int numberOfPolygonPoints = in.getInt();
+		List<double[]> boundingPolygon = new ArrayList<>(numberOfPolygonPoints);
+		for (int i = 0; i < numberOfPolygonPoints; i++) {
+			boundingPolygon.add(new double[] {in.getDouble(), in.getDouble()});
+		}
+		MapCreator.boundingPolygon = boundingPolygon;
+
+		Vertex[] vertices = new Vertex[in.getInt()];
+		for (int i = 0; i < vertices.length; i++) {
+			long id = in.getLong();
+			double longitude = in.getDouble();
+			double latitude = in.getDouble();
+			double x = in.getDouble();
+			double y = in.getDouble();
+			vertices[i] = new Vertex(longitude, latitude, x, y, id);
+		}
+
+		Map<Long, Intersection> intersections = new TreeMap<>();
+		Intersection[] intersectionArray = new Intersection[in.getInt()];
+		for (int i = 0; i < intersectionArray.length; i++) {
+			Vertex vertex = vertices[in.getInt()];
+			Intersection intersection = new Intersection(vertex);
+			vertex.intersection = intersection;
+			intersectionArray[i] = intersection;
+			intersections.put(intersection.id, intersection);
+		}
+
+		int numberOfRoads = in.getInt();
+		List<Road> roads = new ArrayList<>(numberOfRoads);
+		List<Link> links = new ArrayList<>();
+		for (int r = 0; r < numberOfRoads; r++) {
+			Road road = new Road(in.getLong());
+			road.from = intersectionArray[in.getInt()];
+			road.to = intersectionArray[in.getInt()];
+			int numberOfLinks = in.getInt();
+			for (int l = 0; l < numberOfLinks; l++) {
+				long id = in.getLong();
+				Vertex from = vertices[in.getInt()];
+				Vertex to = vertices[in.getInt()];
+				double length = in.getDouble();
+				double speed = in.getDouble();
+				Link link = new Link(id, from, to, length, speed);
+				from.linksMapFrom.put(to, link);
+				to.linksMapTo.put(from, link);
+				// sets the road of the link and its begin time
+				road.addLink(link);
+				links.add(link);
+			}
+			road.setSpeed();
+			road.from.roadsMapFrom.put(road.to, road);
+			road.to.roadsMapTo.put(road.from, road);
+			roads.add(road);
+		}
+
+		KdTree kdTree = KdTree.readFrom(in, links.toArray(new Link[0]));
+
+		CityMap map = new CityMap(intersections, roads, projector, kdTree);
+		map.setZoneId(zoneId);
+		return map;
+	}
+
+	/**
+	 * Check if a compiled map was created from the given files and is up to date, i.e., it is
+	 * newer than both files and has the current format version and time resolution.
+	 *
+	 * @param file the compiled map
+	 * @param mapJSONFile the JSON map file
+	 * @param boundingPolygonKMLFile the KML file defining the bounding polygon
+	 * @return true if the compiled map can be used instead of creating the map from the files
+	 */
+	public static boolean isUpToDate(File file, String mapJSONFile, String boundingPolygonKMLFile) {
+		if (!file.isFile()
+				|| file.lastModified() < new File(mapJSONFile).lastModified()
+				|| file.lastModified() < new File(boundingPolygonKMLFile).lastModified()) {
+			return false;
+		}
+		try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r")) {
+			// the header is small; read enough bytes for it
+			byte[] bytes = new byte[(int) Math.min(randomAccessFile.length(), 1 << 16)];
+			randomAccessFile.readFully(bytes);
+			ByteBuffer in = ByteBuffer.wrap(bytes);
+			readHeader(in);
+			return readUTF(in).equals(mapJSONFile) && readUTF(in).equals(boundingPolygonKMLFile);
+		} catch (IOException | RuntimeException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * @param mapJSONFile a JSON map file
+	 * @return the file where the compiled version of the map is cached
+	 */
+	public static File compiledFileFor(String mapJSONFile) {
+		return new File(mapJSONFile + FILE_EXTENSION);
+	}
+
+	/**
+	 * Read a string written by DataOutput.writeUTF (only ASCII and two-byte characters are
+	 * expected in file paths; the modified UTF-8 encoding is otherwise the same as UTF-8).
+	 */
+	private static String readUTF(ByteBuffer in) {
+		int length = in.getShort() & 0xffff;
+		byte[] bytes = new byte[length];
+		in.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+}
@@ -9,16 +9,16 @@ import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.Reader;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Set;
 import java.util.TreeMap;
-import java.util.TreeSet;
 import java.io.IOException;
 import java.util.Map;
+import java.util.stream.IntStream;
 
-import org.json.simple.JSONArray;
-import org.json.simple.JSONObject;
-import org.json.simple.parser.JSONParser;
 import org.json.simple.parser.ParseException;
 
 /**
@@ -81,6 +81,12 @@ public class MapCreator {
 	// Used to project from lat,lon to x,y in meters
 	GeoProjector projector;
 
+	// Whether the per-vertex scans of the map creation run in parallel.
+	boolean parallel = true;
+
+	// The time in nanoseconds taken by each stage of createMap().
+	private final Map<String, Long> stageTimes = new LinkedHashMap<>();
+
 	// The bounding polygon for cropping the map.
 	// Created from boundingPolygonKMLFile
 	static List<double[]> boundingPolygon;
@@ -88,7 +94,8 @@ public class MapCreator {
 	/**
 	 * Constructor of the MapCreator class. Reads the JSON file defined by fileName and
 	 * converts it into a map represented by { @code vertices ).
-	 * Uses Json.simple package
+	 * The file is streamed by OSMJSONReader (built on the Json.simple package) rather than
+	 * parsed into a DOM, so that large OpenStreetMaps exports can be read.
 	 *
 	 * @param configuration  where we get the JSON file that will be read, and
 	 *                       KML file defining a bounding polygon of the simulated area
@@ -105,123 +112,15 @@ public class MapCreator {
 		// Initialize vertices to be a TreeMap.
 		vertices = new TreeMap<>(); 
 
-		JSONParser parser = new JSONParser();
-		try {
-			// read file
-			Reader reader = new FileReader(configuration.mapJSONFile);
-			// create JSONObject based on the file
-			Object obj = parser.parse(reader);
-			JSONObject jsonObject = (JSONObject) obj;
-
-			// loop over all the elements in the JSON file to set all the vertices
-			JSONArray elements = (JSONArray) jsonObject.get("elements");
-			boolean firstVertex = true;
-			for (Object elementObject : elements) {
-				JSONObject element = (JSONObject) elementObject;
-				String type = (String) element.get("type");
-				// if the type is a vertex, then create an Vertex
-				if (type.equals("node")) {
-					long id = (long) element.get("id");
-					double latitude = (double) element.get("lat");
-					double longitude = (double) element.get("lon");
-					if (firstVertex) {
-						this.projector = new GeoProjector(latitude, longitude);
-						firstVertex = false;
-					}
-					double [] xy = projector.fromLatLon(latitude, longitude);
-					vertices.put(id, new Vertex(longitude, latitude, xy[0], xy[1], id));
-				}
-			}
+		try (Reader reader = new BufferedReader(new FileReader(configuration.mapJSONFile))) {
+			// stream the elements in the JSON file: vertices are created as the nodes are read,
+			// while the ways are buffered compactly because they may refer to nodes appearing later
+			// in the file.
+			ElementCollector collector = new ElementCollector();
+			OSMJSONReader.read(reader, collector);
 
-			// loop over all the elements again to set the roads
-			for (Object elementObject : elements) {
-				JSONObject element = (JSONObject) elementObject;
-				String type = (String) element.get("type");
-				if (type.equals("way")) { // check if it's a road
-					String highway;
-					double maxSpeed; // speed limit in km/h
-					boolean oneway = false;
-					Object tagsObject = element.get("tags");
-					JSONObject tags = (JSONObject) tagsObject;
-					highway = (String)tags.get("highway");
-					// set speed limit
-					if (tags.containsKey("maxspeed")) {
-						String speedString = (String) tags.get("maxspeed");
-						if( speedString.contains(" mph")) {
-							speedString = speedString.replace(" mph", "");
-							maxSpeed = Integer.parseInt(speedString) * kilometersPerMile; // convert from mph to kmph
-						} else {
-							// default unit is km/h
-							maxSpeed = Integer.parseInt(speedString);
-						}
-					} else {
-						switch(highway) {
-						case "motorway":
-							maxSpeed = speedMotorway;
-							break;
-						case "motorway_link":
-							maxSpeed = speedMotorwayLink;
-							break;
-						case "trunk":
-							maxSpeed = speedTrunk;
-							break;
-						case "trunk_link":
-							maxSpeed = speedTrunkLink;
-							break;
-						case "primary":
-							maxSpeed = speedPrimary;
-							break;
-						case "primary_link":
-							maxSpeed = speedPrimaryLink;
-							break;
-						case "secondary":
-							maxSpeed = speedSecondary;
-							break;
-						case "secondary_link":
-							maxSpeed = speedSecondaryLink;
-							break;
-						case "tertiary":
-							maxSpeed = speedTertiary;
-							break;
-						case "tertiary_link":
-							maxSpeed = speedTertiaryLink;
-							break;
-						case "unclassified":
-							maxSpeed = speedUnclassified;
-							break;
-						case "residential":
-							maxSpeed = speedResidential;
-							break;
-						case "living_street":
-							maxSpeed = speedLivingStreet;
-							break;
-						default:
-							maxSpeed = speedDefault;
-							break;
-						}
-					}
-					// check if it's a one way street
-					if(tags.containsKey("oneway") && tags.get("oneway").equals("yes")) {
-						oneway = true;
-					}
-					// set roads
-					JSONArray jsonvertices = (JSONArray) element.get("nodes");
-					int length = jsonvertices.size();
-					for (int i = 0; i < length - 1; i++) {
-						long id1 = (long)jsonvertices.get(i);
-						long id2 = (long)jsonvertices.get(i+1);
-
-						double distance = vertices.get(id1).xy.distance(vertices.get(id2).xy);
-						// Convert km/h to meters per second; apply speed reduction
-						vertices.get(id1).addEdge(vertices.get(id2), distance,
-								configuration.toSimulatedSpeed(maxSpeed * 1000 / 3600));
-						if (!oneway) {
-							vertices.get(id2).addEdge(vertices.get(id1), distance,
-									configuration.toSimulatedSpeed(maxSpeed * 1000 / 3600));
-						}
-					}
-				}
-			}
+			// set the roads in the order the ways appear in the file
+			collector.addLinks(configuration);
 
 		// handle exceptions
 		} catch (FileNotFoundException e) {
@@ -238,25 +137,226 @@ public class MapCreator {
 		setIdCounter();
 	}
 
+	/**
+	 * Constructor of the MapCreator class from vertices and links that have already been built,
+	 * e.g., a synthetic map.
+	 *
+	 * @param vertices map from id's to vertices, with their links
+	 * @param projector the projector used to compute the x,y coordinates of the vertices
+	 */
+	MapCreator(Map<Long, Vertex> vertices, GeoProjector projector) {
+		this.intersections = new TreeMap<>();
+		this.vertices = vertices;
+		this.projector = projector;
+		setIdCounter();
+	}
+
+	/**
+	 * Receives the elements streamed by OSMJSONReader. Nodes are turned into vertices right away;
+	 * ways are kept in primitive arrays (node ids, speed limit and direction) until all nodes are
+	 * read, so that the memory used is proportional to the graph rather than to the JSON file.
+	 */
+	private class ElementCollector implements OSMJSONReader.ElementHandler {
+
+		// node ids of all the ways, concatenated
+		private long[] wayNodeIds = new long[1024];
+		private int numberOfWayNodeIds = 0;
+
+		// for each way, the index of its first node id in wayNodeIds, its speed limit in km/h and direction
+		private int[] wayStarts = new int[256];
+		private double[] wayMaxSpeeds = new double[256];
+		private boolean[] wayOneways = new boolean[256];
+		private int numberOfWays = 0;
+
+		private final double[] xy = new double[2];
+
+		@Override
+		public void node(long id, double latitude, double longitude) {
+			// the first vertex is the reference point of the projection
+			if (projector == null) {
+				projector = new GeoProjector(latitude, longitude);
+			}
+			projector.fromLatLon(latitude, longitude, xy);
+			vertices.put(id, new Vertex(longitude, latitude, xy[0], xy[1], id));
+		}
+
+		@Override
+		public void way(long id, long[] nodeIds, int numberOfNodes, Map<String, String> tags) {
+			if (numberOfWays == wayStarts.length) {
+				int capacity = numberOfWays * 2;
+				wayStarts = Arrays.copyOf(wayStarts, capacity);
+				wayMaxSpeeds = Arrays.copyOf(wayMaxSpeeds, capacity);
+				wayOneways = Arrays.copyOf(wayOneways, capacity);
+			}
+			if (numberOfWayNodeIds + numberOfNodes > wayNodeIds.length) {
+				wayNodeIds = Arrays.copyOf(wayNodeIds, Math.max(wayNodeIds.length * 2, numberOfWayNodeIds + numberOfNodes));
+			}
+			wayStarts[numberOfWays] = numberOfWayNodeIds;
+			wayMaxSpeeds[numberOfWays] = maxSpeed(tags);
+			// check if it's a one way street
+			wayOneways[numberOfWays] = tags.containsKey("oneway") && tags.get("oneway").equals("yes");
+			numberOfWays++;
+			System.arraycopy(nodeIds, 0, wayNodeIds, numberOfWayNodeIds, numberOfNodes);
+			numberOfWayNodeIds += numberOfNodes;
+		}
+
+		/**
+		 * Create the links of all the buffered ways.
+		 */
+		void addLinks(Configuration configuration) {
+			for (int w = 0; w < numberOfWays; w++) {
+				int end = w + 1 < numberOfWays ? wayStarts[w + 1] : numberOfWayNodeIds;
+				// Convert km/h to meters per second; apply speed reduction
+				double speed = configuration.toSimulatedSpeed(wayMaxSpeeds[w] * 1000 / 3600);
+				for (int i = wayStarts[w]; i < end - 1; i++) {
+					Vertex vertex1 = vertices.get(wayNodeIds[i]);
+					Vertex vertex2 = vertices.get(wayNodeIds[i + 1]);
+
+					double distance = vertex1.xy.distance(vertex2.xy);
+					vertex1.addEdge(vertex2, distance, speed);
+					if (!wayOneways[w]) {
+						vertex2.addEdge(vertex1, distance, speed);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Get the speed limit of a way from its tags.
+	 *
+	 * @param tags tags of the way
+	 * @return the speed limit in km/h
+	 */
+	static double maxSpeed(Map<String, String> tags) {
+		double maxSpeed; // speed limit in km/h
+		if (tags.containsKey("maxspeed")) {
+			String speedString = tags.get("maxspeed");
+			if( speedString.contains(" mph")) {
+				speedString = speedString.replace(" mph", "");
+				maxSpeed = Integer.parseInt(speedString) * kilometersPerMile; // convert from mph to kmph
+			} else {
+				// default unit is km/h
+				maxSpeed = Integer.parseInt(speedString);
+			}
+		} else {
+			String highway = tags.get("highway");
+			switch(highway == null ? "" : highway) {
+			case "motorway":
+				maxSpeed = speedMotorway;
+				break;
+			case "motorway_link":
+				maxSpeed = speedMotorwayLink;
+				break;
+			case "trunk":
+				maxSpeed = speedTrunk;
+				break;
+			case "trunk_link":
+				maxSpeed = speedTrunkLink;
+				break;
+			case "primary":
+				maxSpeed = speedPrimary;
+				break;
+			case "primary_link":
+				maxSpeed = speedPrimaryLink;
+				break;
+			case "secondary":
+				maxSpeed = speedSecondary;
+				break;
+			case "secondary_link":
+				maxSpeed = speedSecondaryLink;
+				break;
+			case "tertiary":
+				maxSpeed = speedTertiary;
+				break;
+			case "tertiary_link":
+				maxSpeed = speedTertiaryLink;
+				break;
+			case "unclassified":
+				maxSpeed = speedUnclassified;
+				break;
+			case "residential":
+				maxSpeed = speedResidential;
+				break;
+			case "living_street":
+				maxSpeed = speedLivingStreet;
+				break;
+			default:
+				maxSpeed = speedDefault;
+				break;
+			}
+		}
+		return maxSpeed;
+	}
+
 	/**
 	 * Create a map.
 	 * @return map
 	 */
 	public CityMap createMap() {
+		stageTimes.clear();
+
 		// Crop the map using the bounding polygon
-		cropMap();
+		timeStage("crop", this::cropMap);
 
 		// Consolidate the map by removing dead-end vertices and aggregating close-by vertices.
-		clearAndGroup();
+		timeStage("clear and group", this::clearAndGroup);
 
 		// Create intersections from vertices that connect different streets.
-		createIntersections();
+		timeStage("create intersections", this::createIntersections);
 		
 		// Create roads from links to connect intersections.
-		createRoads();
+		timeStage("create roads", this::createRoads);
 
 		// Output the map
-		return outputCityMap();
+		CityMap[] cityMap = new CityMap[1];
+		timeStage("output", () -> cityMap[0] = outputCityMap());
+
+		// The stage times are always available from stageTimes(), and printed on request.
+		if (Boolean.getBoolean("comset.report_map_stages")) {
+			for (Map.Entry<String, Long> stage : stageTimes.entrySet()) {
+				System.out.println("Map creation stage " + stage.getKey() + ": " + stage.getValue() / 1000000
+						+ " ms");
+			}
+		}
+		return cityMap[0];
+	}
+
+	/**
+	 * Run a stage of the map creation and record how long it took.
+	 * @param name name of the stage
+	 * @param stage the stage to run
+	 */
+	private void timeStage(String name, Runnable stage) {
+		long start = System.nanoTime();
+		stage.run();
+		stageTimes.put(name, System.nanoTime() - start);
+	}
+
+	/**
+	 * @return the time in nanoseconds taken by each stage of the last createMap(), in the order the stages ran
+	 */
+	public Map<String, Long> stageTimes() {
+		return stageTimes;
+	}
+
+	/**
+	 * Choose whether the per-vertex scans of the map creation run in parallel. The created map is
+	 * the same either way.
+	 * @param parallel true to use all available processors
+	 */
+	public void setParallel(boolean parallel) {
+		this.parallel = parallel;
+	}
+
+	/**
+	 * A stream over the indices 0..n-1, parallel if enabled. Used to scan a snapshot of the vertices
+	 * (or intersections) in parallel while the results are stored by index and applied in index
+	 * order afterwards, so that the created map does not depend on the order of the parallel work.
+	 */
+	private IntStream indices(int n) {
+		IntStream indices = IntStream.range(0, n);
+		return parallel ? indices.parallel() : indices;
 	}
 
 
@@ -267,14 +367,15 @@ public class MapCreator {
 	 *
 	 */
 	public void cropMap() {
-		Object[] idObjects = vertices.keySet().toArray();
 		boundingPolygon.add(boundingPolygon.get(0));
-		for (Object idObj : idObjects) {
-			long id = (long) idObj;
-			Vertex vertex = vertices.get(id);
-			if (!insidePolygon(vertex.longitude, vertex.latitude)) {
-				vertex.severVertex();
-				vertices.remove(id);
+		Vertex[] snapshot = vertices.values().toArray(new Vertex[0]);
+		boolean[] outside = new boolean[snapshot.length];
+		indices(snapshot.length).forEach(i ->
+				outside[i] = !insidePolygon(snapshot[i].longitude, snapshot[i].latitude));
+		for (int i = 0; i < snapshot.length; i++) {
+			if (outside[i]) {
+				snapshot[i].severVertex();
+				vertices.remove(snapshot[i].id);
 			}
 		}
 	}
@@ -368,22 +469,18 @@ public class MapCreator {
 	 * modifies {@code vertices }
 	 */
 	public void clearMapIteration() throws IllegalStateException{
-		// set of vertices (ids) that need to be removed
-		Set<Long> toRemove = new TreeSet<>();
-		// go over every vertex
-		for (long id : vertices.keySet()) {
-			Vertex vertex = vertices.get(id);
-			Set<Link> roadsFrom = vertex.getLinksFrom();
-			Set<Link> roadsTo = vertex.getLinksTo();
-			// Remove vertices that have no outgoing roads or incoming roads. 
-			if (roadsFrom.size() == 0 || roadsTo.size() == 0) { 
-				toRemove.add(id);
-			}
-		}
+		// go over every vertex to find the vertices that need to be removed
+		Vertex[] snapshot = vertices.values().toArray(new Vertex[0]);
+		boolean[] toRemove = new boolean[snapshot.length];
+		indices(snapshot.length).forEach(i ->
+				// Remove vertices that have no outgoing roads or incoming roads. 
+				toRemove[i] = snapshot[i].linksMapFrom.isEmpty() || snapshot[i].linksMapTo.isEmpty());
 		// remove all the vertices that have to be removed
-		for (Long id : toRemove) {
-			vertices.get(id).cutVertex();
-			vertices.remove(id);
+		for (int i = 0; i < snapshot.length; i++) {
+			if (toRemove[i]) {
+				snapshot[i].cutVertex();
+				vertices.remove(snapshot[i].id);
+			}
 		}
 	}
 
@@ -391,44 +488,56 @@ public class MapCreator {
 	 * Identify vertices that connect different streets and promote them to intersections
 	 */
 	public void createIntersections() {
-
 		// go over every vertex
-		for (long id : vertices.keySet()) {
-			Vertex vertex = vertices.get(id);
-			Set<Link> roadsFrom = vertex.getLinksFrom();
-			Set<Link> roadsTo = vertex.getLinksTo();
-			// Skip vertices that connect two one way links. 
-			if ((roadsFrom.size() == 1 && roadsTo.size() == 1) && !(roadsFrom.toArray(new Link[1])[0].to == roadsTo.toArray(new Link[1])[0].from)) {
-				// do not promote
-				continue;
+		Vertex[] snapshot = vertices.values().toArray(new Vertex[0]);
+		boolean[] promote = new boolean[snapshot.length];
+		indices(snapshot.length).forEach(i -> promote[i] = connectsStreets(snapshot[i]));
+		for (int i = 0; i < snapshot.length; i++) {
+			if (promote[i]) {
+				// promote to intersection
+				promoteIntersection(snapshot[i]);
 			}
+		}
+	}
+
+	/**
+	 * Check if a vertex connects different streets and should be promoted to an intersection.
+	 * @param vertex the vertex to check
+	 * @return true if the vertex should be promoted
+	 */
+	private boolean connectsStreets(Vertex vertex) {
+		Set<Link> roadsFrom = vertex.getLinksFrom();
+		Set<Link> roadsTo = vertex.getLinksTo();
+		// Skip vertices that connect two one way links. 
+		if ((roadsFrom.size() == 1 && roadsTo.size() == 1) && !(roadsFrom.toArray(new Link[1])[0].to == roadsTo.toArray(new Link[1])[0].from)) {
+			// do not promote
+			return false;
+		}
 
 
-			// if there are two incoming and two outgoing links for a vertex
-			// then it's possible that that vertex lies in the middle of
-			// a two way street. Therefore this has to be checked, and if this is
-			// the case it has to be skipped.
-			if (roadsFrom.size() == 2 && roadsTo.size() == 2) {
-				boolean checkForAll = true;
-				for (Vertex interTo: vertex.getAdjacentTo()) {
-					boolean check = false;
-					for (Vertex interFrom : vertex.getAdjacentFrom()) {
-						if (interTo.equals(interFrom)) {
-							check = true;
-						}
-					}
-					if (!check) {
-						checkForAll = false;
+		// if there are two incoming and two outgoing links for a vertex
+		// then it's possible that that vertex lies in the middle of
+		// a two way street. Therefore this has to be checked, and if this is
+		// the case it has to be skipped.
+		if (roadsFrom.size() == 2 && roadsTo.size() == 2) {
+			boolean checkForAll = true;
+			for (Vertex interTo: vertex.getAdjacentTo()) {
+				boolean check = false;
+				for (Vertex interFrom : vertex.getAdjacentFrom()) {
+					if (interTo.equals(interFrom)) {
+						check = true;
 					}
 				}
-				if (checkForAll) {
-					// do not promote
-					continue;
+				if (!check) {
+					checkForAll = false;
 				}
 			}
-			// promote to intersection
-			promoteIntersection(vertex);
+			if (checkForAll) {
+				// do not promote
+				return false;
+			}
 		}
+		return true;
 	}
 	
 	/**
@@ -445,30 +554,33 @@ public class MapCreator {
 	 * Create roads to connect intersections
 	 */
 	public void createRoads() {
-		int duplicates = 0;
+		// follow the links from every intersection to the next intersections, in parallel as
+		// this only reads the map
+		Intersection[] snapshot = intersections.values().toArray(new Intersection[0]);
+		List<List<List<Link>>> chains = new ArrayList<>(snapshot.length);
+		for (int i = 0; i < snapshot.length; i++) {
+			chains.add(null);
+		}
+		indices(snapshot.length).forEach(i -> {
+			List<List<Link>> chainsFrom = new ArrayList<>();
+			for (Link link : snapshot[i].vertex.linksMapFrom.values()) {
+				chainsFrom.add(chain(link));
+			}
+			chains.set(i, chainsFrom);
+		});
+
+		// create the roads in the order of the intersections
 		ArrayList<Road> roadsToRemove = new ArrayList<>();
-		for (Intersection intersection : intersections.values()) {
-			Vertex vertex = intersection.vertex;
-			for (Link link : vertex.linksMapFrom.values()) {
+		for (int i = 0; i < snapshot.length; i++) {
+			Intersection intersection = snapshot[i];
+			for (List<Link> chain : chains.get(i)) {
 				// create a new road
 				Road road = new Road();
 				road.from = intersection;
-
-				// extend the road by visiting non-intersection vertices one by one until
-				// an intersection is reached
-				Link currentLink = link;
-				while (currentLink.to.intersection == null) {
-					road.addLink(currentLink);
-					for (Link linkFrom : currentLink.to.linksMapFrom.values()) {
-						if (linkFrom.to != currentLink.from) {
-							currentLink = linkFrom;
-							break;
-						}
-					}
+				for (Link link : chain) {
+					road.addLink(link);
 				}
-				// add the link that connects to the end intersection
-				road.addLink(currentLink);
-				road.to = currentLink.to.intersection;
+				road.to = chain.get(chain.size() - 1).to.intersection;
 
 				// check if there is duplicate from-to pair
 				// in the case of duplicate, keep the shorter road
@@ -500,6 +612,30 @@ public class MapCreator {
 		}
 	}
 
+	/**
+	 * The links of the road that starts with the given link.
+	 * @param link the first link of the road
+	 * @return the links of the road, in order
+	 */
+	private List<Link> chain(Link link) {
+		List<Link> chain = new ArrayList<>();
+		// extend the road by visiting non-intersection vertices one by one until
+		// an intersection is reached
+		Link currentLink = link;
+		while (currentLink.to.intersection == null) {
+			chain.add(currentLink);
+			for (Link linkFrom : currentLink.to.linksMapFrom.values()) {
+				if (linkFrom.to != currentLink.from) {
+					currentLink = linkFrom;
+					break;
+				}
+			}
+		}
+		// add the link that connects to the end intersection
+		chain.add(currentLink);
+		return chain;
+	}
+
 	public void removeRoad(Road road) {
 		// remove intermediate vertices
 		for (int link_order = 0; link_order < road.links.size() - 1; link_order++) {
@@ -587,63 +723,250 @@ public class MapCreator {
 	 * is less than minimumDistance, are replaced by a single vertex whose
 	 * incoming and outgoing vertices are the same as the combination of the grouped
 	 * vertices.
-	 * This is accomplished by running groupVerticesIteration until no additional
-	 * vertices are grouped together
+	 *
+	 * Instead of running groupVerticesIteration until no additional vertices are
+	 * grouped together (which restarts the scan after every merge), all the connected
+	 * pairs of vertices that are close enough are found in a single pass over the links
+	 * and merged into clusters with union-find. Each cluster is then replaced by one
+	 * vertex located at the average position of its members and the links are rewired
+	 * once, so the whole grouping takes time linear in the size of the map.
 	 *
 	 * modifies {@code vertices }
 	 */
 	public void groupVertices() {
-		int previousNumberVertices = vertices.size();
-		// number of vertices.size() can never be negative, therefore it
-		// always runs at least once.
-		int newNumberVertices = -2;
-		while (previousNumberVertices != newNumberVertices) {
-			groupVerticesIteration(minimumDistance);
-			previousNumberVertices = newNumberVertices;
-			newNumberVertices = vertices.size();
-		}
+		groupVertices(minimumDistance);
 	}
 
-	public void fixMap() {
-		boolean check = true;
-		while (check) {
-			check = false;
-			Object[] ids = vertices.keySet().toArray();
-			for (Object idObj : ids) {
-				long id = (long) idObj;
-				Vertex vertex = vertices.get(id);
-				if (vertex.getAdjacentFrom().isEmpty()) {
-					vertex.cutVertex();
-					vertices.remove(id);
-					check = true;
+	/**
+	 * Groups connected vertices that are at most the given distance apart; see groupVertices().
+	 *
+	 * @param distance the minimum distance such that two vertices are grouped together
+	 * modifies {@code vertices }
+	 */
+	public void groupVertices(double distance) {
+		Vertex[] members = vertices.values().toArray(new Vertex[0]);
+		int n = members.length;
+		Map<Vertex, Integer> indexOf = new HashMap<>(n * 2);
+		for (int i = 0; i < n; i++) {
+			indexOf.put(members[i], i);
+		}
+
+		// union the end vertices of every short link
+		int[] parent = new int[n];
+		for (int i = 0; i < n; i++) {
+			parent[i] = i;
+		}
+		for (int i = 0; i < n; i++) {
+			for (Link link : members[i].linksMapFrom.values()) {
+				if (link.from.distanceTo(link.to) <= distance) {
+					int root1 = find(parent, i);
+					int root2 = find(parent, indexOf.get(link.to));
+					if (root1 != root2) {
+						// keep the smaller index as the root so that the result does not depend on the union order
+						parent[Math.max(root1, root2)] = Math.min(root1, root2);
+					}
 				}
 			}
-			Set<Long> reached = new TreeSet<>();
-			long firstId = vertices.keySet().iterator().next();
-			Vertex firstVertex = vertices.get(firstId);
-			checkNeighbors(firstVertex, reached);
-			if (reached.size() != vertices.keySet().size()) {
-				ids = vertices.keySet().toArray();
-				for (Object idObj : ids) {
-					long id = (long) idObj;
-					if (!reached.contains(id)) {
-						Vertex vertex = vertices.get(id);
-						vertex.cutVertex();
-						vertices.remove(id);
-						check = true;
-					}
+		}
+
+		// average position of each cluster
+		int[] clusterSize = new int[n];
+		double[] sumLongitude = new double[n];
+		double[] sumLatitude = new double[n];
+		for (int i = 0; i < n; i++) {
+			int root = find(parent, i);
+			clusterSize[root]++;
+			sumLongitude[root] += members[i].longitude;
+			sumLatitude[root] += members[i].latitude;
+		}
+
+		// create a new vertex for every cluster of two or more vertices, in the order of the vertex ids
+		Vertex[] representative = new Vertex[n];
+		double[] xy = new double[2];
+		for (int i = 0; i < n; i++) {
+			int root = find(parent, i);
+			if (clusterSize[root] == 1) {
+				representative[i] = members[i];
+				continue;
+			}
+			if (representative[root] == null) {
+				double newLongitude = sumLongitude[root] / clusterSize[root];
+				double newLatitude = sumLatitude[root] / clusterSize[root];
+				projector.fromLatLon(newLatitude, newLongitude, xy);
+				// it is very important that the id of the new vertex is unique!
+				representative[root] = new Vertex(newLongitude, newLatitude, xy[0], xy[1], idCounter++);
+			}
+			representative[i] = representative[root];
+		}
+
+		// rewire the links of the grouped vertices to the new vertices; links inside a cluster disappear
+		for (int i = 0; i < n; i++) {
+			if (clusterSize[find(parent, i)] == 1) {
+				continue;
+			}
+			Vertex newFrom = representative[i];
+			for (Link link : members[i].linksMapFrom.values()) {
+				Vertex newTo = representative[indexOf.get(link.to)];
+				newFrom.addEdge(newTo, newFrom.distanceTo(newTo), link.speed);
+			}
+			for (Link link : members[i].linksMapTo.values()) {
+				int fromIndex = indexOf.get(link.from);
+				// links from grouped vertices are rewired by the loop over their outgoing links
+				if (clusterSize[find(parent, fromIndex)] == 1) {
+					link.from.addEdge(newFrom, newFrom.distanceTo(link.from), link.speed);
 				}
 			}
 		}
+
+		// replace the grouped vertices
+		for (int i = 0; i < n; i++) {
+			if (representative[i] != members[i]) {
+				members[i].severVertex();
+				vertices.remove(members[i].id);
+				vertices.put(representative[i].id, representative[i]);
+			}
+		}
+	}
+
+	/**
+	 * Find the root of a union-find tree, halving the path on the way.
+	 */
+	private static int find(int[] parent, int i) {
+		while (parent[i] != i) {
+			parent[i] = parent[parent[i]];
+			i = parent[i];
+		}
+		return i;
+	}
+
+	/**
+	 * Keeps only the largest strongly connected component of the map, i.e., the largest set of
+	 * vertices such that every vertex can be reached from every other vertex, so that an agent can
+	 * always find a route between any two locations. All other vertices are removed along with
+	 * their links.
+	 *
+	 * The components are found by an iterative version of Tarjan's algorithm, which takes time
+	 * linear in the size of the map and does not recurse, so deep graphs do not overflow the stack.
+	 * If several components have the largest size, the one containing the vertex with the smallest
+	 * id is kept.
+	 *
+	 * modifies {@code vertices }
+	 */
+	public void fixMap() {
+		if (vertices.isEmpty()) {
+			return;
+		}
+		Vertex[] members = vertices.values().toArray(new Vertex[0]);
+		int n = members.length;
+		Map<Vertex, Integer> indexOf = new HashMap<>(n * 2);
+		for (int i = 0; i < n; i++) {
+			indexOf.put(members[i], i);
+		}
+
+		// outgoing adjacency in compressed form: the successors of vertex i are
+		// successors[successorStarts[i]] .. successors[successorStarts[i + 1] - 1]
+		int[] successorStarts = new int[n + 1];
+		for (int i = 0; i < n; i++) {
+			successorStarts[i + 1] = successorStarts[i] + members[i].linksMapFrom.size();
+		}
+		int[] successors = new int[successorStarts[n]];
+		for (int i = 0; i < n; i++) {
+			int k = successorStarts[i];
+			for (Vertex to : members[i].linksMapFrom.keySet()) {
+				successors[k++] = indexOf.get(to);
+			}
+		}
+
+		int[] component = stronglyConnectedComponents(successorStarts, successors);
+
+		// find the largest component
+		int[] componentSize = new int[n];
+		for (int i = 0; i < n; i++) {
+			componentSize[component[i]]++;
+		}
+		int largest = component[0];
+		for (int i = 1; i < n; i++) {
+			if (componentSize[component[i]] > componentSize[largest]) {
+				largest = component[i];
+			}
+		}
+
+		// remove the vertices of all other components
+		for (int i = 0; i < n; i++) {
+			if (component[i] != largest) {
+				members[i].severVertex();
+				vertices.remove(members[i].id);
+			}
+		}
 	}
 
-	public void checkNeighbors(Vertex inter, Set<Long> reached) {
-		for (Vertex neighbor : inter.getAdjacentFrom()) {
-			if (!reached.contains(neighbor.id)) {
-				reached.add(neighbor.id);
-				checkNeighbors(neighbor, reached);
+	/**
+	 * Tarjan's strongly connected components algorithm with an explicit stack.
+	 *
+	 * @param successorStarts for each vertex, the index of its first successor in successors;
+	 *                        the last entry is the total number of successors
+	 * @param successors the successors of all the vertices, concatenated
+	 * @return the component of each vertex; components are numbered from 0 in the order they are completed
+	 */
+	static int[] stronglyConnectedComponents(int[] successorStarts, int[] successors) {
+		int n = successorStarts.length - 1;
+		int[] order = new int[n];    // discovery order of each vertex plus one; 0 if not visited yet
+		int[] lowLink = new int[n];
+		int[] component = new int[n];
+		boolean[] onStack = new boolean[n];
+		int[] stack = new int[n];    // Tarjan's stack of visited vertices without a component
+		int stackSize = 0;
+		int[] callStack = new int[n];  // vertices whose successors are being explored
+		int[] nextSuccessor = new int[n];  // for each vertex on the call stack, the next successor to explore
+		int callStackSize = 0;
+		int visited = 0;
+		int components = 0;
+
+		for (int root = 0; root < n; root++) {
+			if (order[root] != 0) {
+				continue;
+			}
+			order[root] = lowLink[root] = ++visited;
+			stack[stackSize++] = root;
+			onStack[root] = true;
+			nextSuccessor[root] = successorStarts[root];
+			callStack[callStackSize++] = root;
+
+			while (callStackSize > 0) {
+				int v = callStack[callStackSize - 1];
+				if (nextSuccessor[v] < successorStarts[v + 1]) {
+					int w = successors[nextSuccessor[v]++];
+					if (order[w] == 0) {
+						// visit w
+						order[w] = lowLink[w] = ++visited;
+						stack[stackSize++] = w;
+						onStack[w] = true;
+						nextSuccessor[w] = successorStarts[w];
+						callStack[callStackSize++] = w;
+					} else if (onStack[w]) {
+						lowLink[v] = Math.min(lowLink[v], order[w]);
+					}
+					continue;
+				}
+				// all successors of v are explored
+				callStackSize--;
+				if (lowLink[v] == order[v]) {
+					// v is the root of a component
+					int w;
+					do {
+						w = stack[--stackSize];
+						onStack[w] = false;
+						component[w] = components;
+					} while (w != v);
+					components++;
+				}
+				if (callStackSize > 0) {
+					int parent = callStack[callStackSize - 1];
+					lowLink[parent] = Math.min(lowLink[parent], lowLink[v]);
+				}
 			}
 		}
+		return component;
 	}
 
 	/**
@@ -0,0 +1,202 @@
+package MapCreation;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.json.simple.parser.ContentHandler;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+
+/**
+ * Streams the "elements" of a JSON file generated by OpenStreetMaps (Overpass API output) without
+ * building a DOM of the file.
+ *
+ * The file is tokenized incrementally by the SAX-style interface of json-simple; every "node" and
+ * "way" element is reported to an ElementHandler as soon as its closing brace is read, and only the
+ * fields of the element being read are held in memory. The memory needed to read a file is therefore
+ * independent of its size; it is up to the handler to keep what it needs to build the map.
+ */
+public class OSMJSONReader implements ContentHandler {
+
+	/**
+	 * Receives the elements of an OpenStreetMaps JSON file in the order they appear in the file.
+	 */
+	public interface ElementHandler {
+
+		/**
+		 * Called for every element of type "node".
+		 *
+		 * @param id id of the node
+		 * @param latitude latitude of the node
+		 * @param longitude longitude of the node
+		 */
+		void node(long id, double latitude, double longitude);
+
+		/**
+		 * Called for every element of type "way". The arguments are reused for the next way,
+		 * so a handler must copy whatever it wants to keep.
+		 *
+		 * @param id id of the way
+		 * @param nodeIds ids of the nodes of the way; only the first numberOfNodes entries are valid
+		 * @param numberOfNodes number of nodes of the way
+		 * @param tags tags of the way
+		 */
+		void way(long id, long[] nodeIds, int numberOfNodes, Map<String, String> tags);
+	}
+
+	// depth of the top level object, of the "elements" array and of an element
+	private static final int TOP_DEPTH = 1;
+	private static final int ELEMENTS_DEPTH = 2;
+	private static final int ELEMENT_DEPTH = 3;
+
+	private final ElementHandler handler;
+
+	// number of objects and arrays enclosing the current token
+	private int depth;
+
+	// key of the current entry of the top level object
+	private String topKey;
+
+	// true while reading the "elements" array
+	private boolean inElements;
+
+	// key of the current entry of an element, and of the current entry of its "tags" object
+	private String elementKey;
+	private String tagKey;
+
+	// fields of the element being read
+	private String type;
+	private long id;
+	private double latitude;
+	private double longitude;
+	private long[] nodeIds = new long[64];
+	private int numberOfNodes;
+	private final Map<String, String> tags = new HashMap<>();
+
+	private OSMJSONReader(ElementHandler handler) {
+		this.handler = handler;
+	}
+
+	/**
+	 * Read all the elements of an OpenStreetMaps JSON file and report them to a handler.
+	 *
+	 * @param reader reader of the JSON file; it is not closed
+	 * @param handler the handler to receive the elements
+	 * @throws IOException if the file cannot be read
+	 * @throws ParseException if the file is not valid JSON
+	 */
+	public static void read(Reader reader, ElementHandler handler) throws IOException, ParseException {
+		new JSONParser().parse(reader, new OSMJSONReader(handler));
+	}
+
+	@Override
+	public void startJSON() {
+		depth = 0;
+		inElements = false;
+	}
+
+	@Override
+	public void endJSON() {
+	}
+
+	@Override
+	public boolean startObject() {
+		depth++;
+		if (inElements && depth == ELEMENT_DEPTH) {
+			type = null;
+			numberOfNodes = 0;
+			tags.clear();
+		}
+		return true;
+	}
+
+	@Override
+	public boolean endObject() {
+		if (inElements && depth == ELEMENT_DEPTH) {
+			if ("node".equals(type)) {
+				handler.node(id, latitude, longitude);
+			} else if ("way".equals(type)) {
+				handler.way(id, nodeIds, numberOfNodes, tags);
+			}
+		}
+		depth--;
+		return true;
+	}
+
+	@Override
+	public boolean startObjectEntry(String key) {
+		if (depth == TOP_DEPTH) {
+			topKey = key;
+		} else if (inElements && depth == ELEMENT_DEPTH) {
+			elementKey = key;
+		} else if (inElements && depth == ELEMENT_DEPTH + 1 && "tags".equals(elementKey)) {
+			tagKey = key;
+		}
+		return true;
+	}
+
+	@Override
+	public boolean endObjectEntry() {
+		if (inElements && depth == ELEMENT_DEPTH) {
+			elementKey = null;
+		} else if (inElements && depth == ELEMENT_DEPTH + 1) {
+			tagKey = null;
+		}
+		return true;
+	}
+
+	@Override
+	public boolean startArray() {
+		depth++;
+		if (depth == ELEMENTS_DEPTH && "elements".equals(topKey)) {
+			inElements = true;
+		}
+		return true;
+	}
+
+	@Override
+	public boolean endArray() {
+		if (inElements && depth == ELEMENTS_DEPTH) {
+			inElements = false;
+		}
+		depth--;
+		return true;
+	}
+
+	@Override
+	public boolean primitive(Object value) {
+		if (!inElements) {
+			return true;
+		}
+		if (depth == ELEMENT_DEPTH && elementKey != null) {
+			switch (elementKey) {
+			case "type":
+				type = (String) value;
+				break;
+			case "id":
+				id = ((Number) value).longValue();
+				break;
+			case "lat":
+				latitude = ((Number) value).doubleValue();
+				break;
+			case "lon":
+				longitude = ((Number) value).doubleValue();
+				break;
+			default:
+				break;
+			}
+		} else if (depth == ELEMENT_DEPTH + 1 && "nodes".equals(elementKey)) {
+			if (numberOfNodes == nodeIds.length) {
+				long[] grown = new long[nodeIds.length * 2];
+				System.arraycopy(nodeIds, 0, grown, 0, numberOfNodes);
+				nodeIds = grown;
+			}
+			nodeIds[numberOfNodes++] = ((Number) value).longValue();
+		} else if (depth == ELEMENT_DEPTH + 1 && "tags".equals(elementKey) && tagKey != null) {
+			tags.put(tagKey, String.valueOf(value));
+		}
+		return true;
+	}
+}
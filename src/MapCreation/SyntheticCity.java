@@ -0,0 +1,262 @@
+package MapCreation;
+
+import COMSETsystem.CityMap;
+import COMSETsystem.Configuration;
+import COMSETsystem.Vertex;
+import DataParsing.GeoProjector;
+
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+ * Generates synthetic maps for controlled scaling experiments, in place of the OSM JSON map read by
+ * MapCreator. Three layouts are available:
+ *  - grid: a Manhattan-like grid with two-way avenues and one-way streets of alternating direction;
+ *  - radial: concentric rings joined by radial roads that branch outwards, as in old European cities;
+ *  - random planar: a jittered grid with random missing blocks, diagonal shortcuts and one-way streets.
+ *
+ * Roads get the default speed limits of MapCreator for their class (residential, tertiary, secondary
+ * and primary), converted to simulated speeds like the speeds of maps read from JSON. The generated
+ * vertices and links then go through the same steps as a JSON map (clearing, keeping the largest
+ * strongly connected component, creating intersections and roads), so the number of intersections
+ * can be slightly smaller than requested for random planar maps.
+ *
+ * The same parameters and seed always give the same map.
+ */
+public class SyntheticCity {
+
+	private final GeoProjector projector;
+
+	private final ZoneId zoneId;
+
+	private final long seed;
+
+	private Map<Long, Vertex> vertices;
+
+	private long nextId;
+
+	/**
+	 * Constructor of SyntheticCity.
+	 *
+	 * @param referenceLatitude latitude of the center of the generated maps
+	 * @param referenceLongitude longitude of the center of the generated maps
+	 * @param zoneId time zone of the generated maps, so that it need not be looked up
+	 * @param seed seed of the random choices of the generators
+	 */
+	public SyntheticCity(double referenceLatitude, double referenceLongitude, ZoneId zoneId, long seed) {
+		this.projector = new GeoProjector(referenceLatitude, referenceLongitude);
+		this.zoneId = zoneId;
+		this.seed = seed;
+	}
+
+	/**
+	 * Generate a grid of columns x rows intersections. Every fourth column is a two-way avenue
+	 * (primary), every fourth row a two-way cross street (secondary); the other streets are one-way
+	 * residential streets of alternating direction, and the streets on the border are two-way
+	 * tertiary streets.
+	 *
+	 * @param columns number of intersections along the x-axis
+	 * @param rows number of intersections along the y-axis
+	 * @param spacing distance between neighboring intersections in meters
+	 * @return the map
+	 */
+	public CityMap grid(int columns, int rows, double spacing) {
+		startMap();
+		Vertex[][] grid = new Vertex[columns][rows];
+		double originX = -(columns - 1) * spacing / 2;
+		double originY = -(rows - 1) * spacing / 2;
+		for (int i = 0; i < columns; i++) {
+			for (int j = 0; j < rows; j++) {
+				grid[i][j] = addVertex(originX + i * spacing, originY + j * spacing);
+			}
+		}
+		for (int i = 0; i < columns; i++) {
+			boolean border = i == 0 || i == columns - 1;
+			for (int j = 0; j + 1 < rows; j++) {
+				if (i % 4 == 0) {
+					addRoad(grid[i][j], grid[i][j + 1], MapCreator.speedPrimary, false);
+				} else if (border) {
+					addRoad(grid[i][j], grid[i][j + 1], MapCreator.speedTertiary, false);
+				} else if (i % 2 == 0) {
+					addRoad(grid[i][j], grid[i][j + 1], MapCreator.speedResidential, true);
+				} else {
+					addRoad(grid[i][j + 1], grid[i][j], MapCreator.speedResidential, true);
+				}
+			}
+		}
+		for (int j = 0; j < rows; j++) {
+			boolean border = j == 0 || j == rows - 1;
+			for (int i = 0; i + 1 < columns; i++) {
+				if (j % 4 == 0) {
+					addRoad(grid[i][j], grid[i + 1][j], MapCreator.speedSecondary, false);
+				} else if (border) {
+					addRoad(grid[i][j], grid[i + 1][j], MapCreator.speedTertiary, false);
+				} else if (j % 2 == 0) {
+					addRoad(grid[i][j], grid[i + 1][j], MapCreator.speedResidential, true);
+				} else {
+					addRoad(grid[i + 1][j], grid[i][j], MapCreator.speedResidential, true);
+				}
+			}
+		}
+		return finishMap();
+	}
+
+	/**
+	 * Generate a radial map: a center, and rings at multiples of the spacing from the center. The
+	 * first ring has eight intersections; the number of intersections of a ring doubles whenever
+	 * the segments of the ring would otherwise be twice as long as the spacing. Each intersection
+	 * of a ring is joined by a radial road to the intersection at the same angle on the next ring.
+	 * The eight radial roads from the center are primary, every fourth ring is secondary and the
+	 * rest is residential; all roads are two-way.
+	 *
+	 * A map with r rings has about 2.4 r^2 intersections (e.g., 23,600 for 100 rings and 197,000 for 300).
+	 *
+	 * @param rings number of rings
+	 * @param spacing distance between consecutive rings in meters
+	 * @return the map
+	 */
+	public CityMap radial(int rings, double spacing) {
+		startMap();
+		Vertex center = addVertex(0, 0);
+		Vertex[] previousRing = null;
+		int firstRingSize = 8;
+		for (int r = 1; r <= rings; r++) {
+			int size = previousRing == null ? firstRingSize : previousRing.length;
+			double radius = r * spacing;
+			if (2 * Math.PI * radius / size > 2 * spacing) {
+				size *= 2;
+			}
+			Vertex[] ring = new Vertex[size];
+			for (int k = 0; k < size; k++) {
+				double angle = 2 * Math.PI * k / size;
+				ring[k] = addVertex(radius * Math.cos(angle), radius * Math.sin(angle));
+			}
+			int ringSpeed = r % 4 == 0 ? MapCreator.speedSecondary : MapCreator.speedResidential;
+			for (int k = 0; k < size; k++) {
+				addRoad(ring[k], ring[(k + 1) % size], ringSpeed, false);
+			}
+			int stride = size / firstRingSize;
+			if (previousRing == null) {
+				for (int k = 0; k < size; k++) {
+					addRoad(center, ring[k], MapCreator.speedPrimary, false);
+				}
+			} else {
+				int ratio = size / previousRing.length;
+				for (int k = 0; k < previousRing.length; k++) {
+					int outer = k * ratio;
+					addRoad(previousRing[k], ring[outer],
+							outer % stride == 0 ? MapCreator.speedPrimary : MapCreator.speedResidential, false);
+				}
+			}
+			previousRing = ring;
+		}
+		return finishMap();
+	}
+
+	/**
+	 * Generate a random planar map of about the given number of intersections. The intersections
+	 * are placed on a grid and moved randomly by up to a quarter of the spacing. About 10% of the
+	 * grid segments are missing, 30% of the blocks have a diagonal shortcut (never both diagonals,
+	 * so that no roads cross), 20% of the roads are one-way, and roads are residential (70%),
+	 * tertiary (20%) or secondary (10%).
+	 *
+	 * @param numberOfIntersections the approximate number of intersections
+	 * @param spacing average distance between neighboring intersections in meters
+	 * @return the map
+	 */
+	public CityMap randomPlanar(int numberOfIntersections, double spacing) {
+		startMap();
+		Random random = new Random(seed);
+		int side = (int) Math.ceil(Math.sqrt(numberOfIntersections));
+		Vertex[][] grid = new Vertex[side][side];
+		double origin = -(side - 1) * spacing / 2;
+		for (int i = 0; i < side; i++) {
+			for (int j = 0; j < side; j++) {
+				double x = origin + (i + (random.nextDouble() - 0.5) / 2) * spacing;
+				double y = origin + (j + (random.nextDouble() - 0.5) / 2) * spacing;
+				grid[i][j] = addVertex(x, y);
+			}
+		}
+		for (int i = 0; i < side; i++) {
+			for (int j = 0; j < side; j++) {
+				if (i + 1 < side && random.nextDouble() >= 0.1) {
+					addRandomRoad(random, grid[i][j], grid[i + 1][j]);
+				}
+				if (j + 1 < side && random.nextDouble() >= 0.1) {
+					addRandomRoad(random, grid[i][j], grid[i][j + 1]);
+				}
+				if (i + 1 < side && j + 1 < side && random.nextDouble() < 0.3) {
+					if (random.nextBoolean()) {
+						addRandomRoad(random, grid[i][j], grid[i + 1][j + 1]);
+					} else {
+						addRandomRoad(random, grid[i + 1][j], grid[i][j + 1]);
+					}
+				}
+			}
+		}
+		return finishMap();
+	}
+
+	private void addRandomRoad(Random random, Vertex vertex1, Vertex vertex2) {
+		double roadClass = random.nextDouble();
+		int speed = roadClass < 0.7 ? MapCreator.speedResidential
+				: roadClass < 0.9 ? MapCreator.speedTertiary : MapCreator.speedSecondary;
+		boolean oneway = random.nextDouble() < 0.2;
+		if (oneway && random.nextBoolean()) {
+			addRoad(vertex2, vertex1, speed, true);
+		} else {
+			addRoad(vertex1, vertex2, speed, oneway);
+		}
+	}
+
+	private void startMap() {
+		vertices = new TreeMap<>();
+		nextId = 0;
+	}
+
+	/**
+	 * Add a vertex at the given projected coordinates. As for vertices read from JSON, the
+	 * coordinates are those projected from the latitude and longitude of the vertex.
+	 *
+	 * Like OSM node ids, the ids are not in spatial order: the KdTree is built by inserting the
+	 * links in the order of the ids of their vertices, and would degenerate into a long chain if
+	 * the vertices were numbered along the grid. Multiplying the counter by an odd constant modulo
+	 * 2^32 scrambles the order while keeping the ids distinct.
+	 */
+	private Vertex addVertex(double x, double y) {
+		double[] latLon = projector.toLatLon(x, y);
+		double[] xy = projector.fromLatLon(latLon[0], latLon[1]);
+		long id = (nextId++ * 0x9E3779B1L) & 0xFFFFFFFFL;
+		Vertex vertex = new Vertex(latLon[1], latLon[0], xy[0], xy[1], id);
+		vertices.put(vertex.id, vertex);
+		return vertex;
+	}
+
+	/**
+	 * Add a link from vertex1 to vertex2, and from vertex2 to vertex1 unless the road is one-way.
+	 *
+	 * @param speedLimit speed limit in km/h
+	 */
+	private void addRoad(Vertex vertex1, Vertex vertex2, int speedLimit, boolean oneway) {
+		// Convert km/h to meters per second and then to simulated speed, as MapCreator does
+		double speed = speedLimit * 1000.0 / 3600 / Configuration.timeResolution;
+		double distance = vertex1.xy.distance(vertex2.xy);
+		vertex1.addEdge(vertex2, distance, speed);
+		if (!oneway) {
+			vertex2.addEdge(vertex1, distance, speed);
+		}
+	}
+
+	private CityMap finishMap() {
+		MapCreator creator = new MapCreator(vertices, projector);
+		creator.clearAndGroup();
+		creator.createIntersections();
+		creator.createRoads();
+		CityMap map = creator.outputCityMap();
+		map.setZoneId(zoneId);
+		vertices = null;
+		return map;
+	}
+}
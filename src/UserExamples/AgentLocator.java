@@ -0,0 +1,188 @@
+package UserExamples;
+
+import COMSETsystem.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A spatial index of agents for nearest agent dispatch. Each agent is kept in a grid cell according to an
+ * anchor road: for an idle agent, the road it is on; for a busy agent, the road of the location where it will
+ * become idle. The fleet manager gives the exact cost of assigning an agent to a resource; the index uses a
+ * lower bound of the cost to skip the agents that cannot beat the best agent found so far.
+ *
+ * The lower bound assumes that the cost of an agent is at least (long) (costPerTravelTime * t), where t is
+ * the rounded travel time between a location on the anchor road and the resource, as given by
+ * CityMap.travelTimeBetween. Such a travel time is at least the travel time from the end of the anchor road to
+ * the resource, which is bounded by the straight line distance times the smallest travel time per meter of
+ * the roads of the map. So the agent found is exactly the one a scan of all the agents would find.
+ */
+public class AgentLocator {
+
+    /**
+     * The cost of assigning an agent.
+     */
+    public interface AgentCost {
+        /**
+         * @param agentId the agent
+         * @return the cost of assigning the agent, Long.MAX_VALUE if the agent cannot be assigned
+         */
+        long cost(long agentId);
+    }
+
+    /**
+     * The result of a query: the agent with the least cost, and its cost.
+     */
+    public static final class Nearest {
+        public final long agentId;
+        public final long cost;
+
+        Nearest(long agentId, long cost) {
+            this.agentId = agentId;
+            this.cost = cost;
+        }
+    }
+
+    private static final class Entry extends RoadGrid.Entry {
+        final long agentId;
+        Road road;
+
+        Entry(long agentId) {
+            this.agentId = agentId;
+        }
+    }
+
+    private final CityMap map;
+    private final Map<Long, Entry> entries = new HashMap<>();
+
+    // built the first time an agent is added, so that a locator can be made for a map that is not complete yet
+    private RoadGrid<Entry> grid;
+
+    public AgentLocator(CityMap map) {
+        this.map = map;
+    }
+
+    /**
+     * Add an agent, or move it to another anchor road.
+     *
+     * @param agentId the agent
+     * @param road the anchor road of the agent
+     */
+    public void put(long agentId, Road road) {
+        if (grid == null) {
+            grid = new RoadGrid<>(map);
+        }
+        Entry entry = entries.get(agentId);
+        if (entry == null) {
+            entry = new Entry(agentId);
+            entries.put(agentId, entry);
+        } else if (entry.road == road) {
+            return;
+        } else {
+            grid.remove(entry);
+        }
+        entry.road = road;
+        grid.add(entry, road.to);
+    }
+
+    /**
+     * Remove an agent; nothing happens if the agent is not in the locator.
+     *
+     * @param agentId the agent
+     */
+    public void remove(long agentId) {
+        Entry entry = entries.remove(agentId);
+        if (entry != null) {
+            grid.remove(entry);
+        }
+    }
+
+    /**
+     * @return the number of agents in the locator
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Find the agent of least cost for a resource. Ties are broken in favor of the smallest agent id.
+     *
+     * @param target the location of the resource
+     * @param costPerTravelTime the factor from travel times to costs, see the class comment
+     * @param maximumCost only agents whose cost is less than maximumCost are considered
+     * @param agentCost the cost of each agent
+     * @return the agent of least cost and its cost; null if no agent costs less than maximumCost
+     */
+    public Nearest nearest(LocationOnRoad target, double costPerTravelTime, long maximumCost, AgentCost agentCost) {
+        if (entries.isEmpty()) {
+            return null;
+        }
+        Search search = new Search(target, costPerTravelTime, maximumCost, agentCost);
+
+        // The agents on the road of the target may be just before it: they get no lower bound.
+        int targetEndCell = grid.cellOf(target.road.to);
+        search.visit(targetEndCell);
+
+        // Then visit the cells ring by ring around the start of the road of the target, until the cells of a ring
+        // are too far away to hold an agent of less cost than the best one.
+        grid.visitCells(target.road.from, targetEndCell, search);
+        return search.bestAgent == -1 ? null : new Nearest(search.bestAgent, search.bestCost);
+    }
+
+    /**
+     * The state of a query.
+     */
+    private final class Search implements RoadGrid.CellVisitor {
+        final LocationOnRoad target;
+        final double costPerTravelTime;
+        final AgentCost agentCost;
+        // the start of the road of the target
+        final double x, y;
+        // travel time from the start of the road of the target to the target
+        final double lastTravelTime;
+
+        long bestAgent = -1;
+        long bestCost;
+
+        Search(LocationOnRoad target, double costPerTravelTime, long maximumCost, AgentCost agentCost) {
+            this.target = target;
+            this.costPerTravelTime = costPerTravelTime;
+            this.agentCost = agentCost;
+            this.x = target.road.from.getX();
+            this.y = target.road.from.getY();
+            this.lastTravelTime = LocationOnRoad.createFromRoadStart(target.road).getDisplacementOnRoad(target)
+                    / target.road.speed;
+            // maximumCost itself is excluded
+            this.bestCost = maximumCost - 1;
+        }
+
+        /**
+         * @return a lower bound of the cost of the agents whose anchor road ends at least distance away from the
+         * start of the road of the target
+         */
+        long costBound(double distance) {
+            return (long) (costPerTravelTime * Math.round(distance * grid.minTravelTimePerMeter + lastTravelTime));
+        }
+
+        @Override
+        public boolean isWorthVisiting(double minimumDistance) {
+            return costBound(minimumDistance) <= bestCost;
+        }
+
+        @Override
+        public void visit(int cell) {
+            for (int i = 0; i < grid.size(cell); i++) {
+                Entry entry = grid.get(cell, i);
+                if (entry.road != target.road
+                        && costBound(entry.road.to.xy.distance(x, y)) > bestCost) {
+                    continue;
+                }
+                long cost = agentCost.cost(entry.agentId);
+                if (cost < bestCost || cost == bestCost && (bestAgent == -1 || entry.agentId < bestAgent)) {
+                    bestCost = cost;
+                    bestAgent = entry.agentId;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package UserExamples;
+
+import COMSETsystem.*;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * The state of the agents of a fleet manager, in columns indexed by a dense agent index rather than in maps keyed
+ * by agent id. An agent gets the next index the first time it is added, and keeps it for the whole simulation, so
+ * a callback looks its agent up once and then reads and writes the columns without boxing.
+ *
+ * The columns hold what the example fleet managers keep about an agent: when and where it was last seen, the
+ * resource it is assigned to and the next one, whether it is on its way to a pickup, its random number generator
+ * and its route.
+ */
+public class AgentStore {
+
+    // index of an agent that is not in the store
+    public static final int NONE = -1;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    // open addressing table from agent id to index + 1, 0 for an empty slot
+    private long[] tableIds = new long[2 * INITIAL_CAPACITY];
+    private int[] tableIndexes = new int[2 * INITIAL_CAPACITY];
+
+    private int size;
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private long[] lastAppearTimes = new long[INITIAL_CAPACITY];
+    private LocationOnRoad[] lastLocations = new LocationOnRoad[INITIAL_CAPACITY];
+    private Resource[] resources = new Resource[INITIAL_CAPACITY];
+    private Resource[] nextResources = new Resource[INITIAL_CAPACITY];
+    private boolean[] pickingUp = new boolean[INITIAL_CAPACITY];
+    private Random[] randoms = new Random[INITIAL_CAPACITY];
+    private Route[] routes = new Route[INITIAL_CAPACITY];
+
+    /**
+     * A set of agent indexes with constant time add, remove and membership tests.
+     */
+    public static final class IndexSet {
+        private int[] members = new int[INITIAL_CAPACITY];
+        // positions[index] is the position of index in members + 1, 0 if index is not in the set
+        private int[] positions = new int[INITIAL_CAPACITY];
+        private int size;
+
+        public boolean contains(int index) {
+            return index < positions.length && positions[index] != 0;
+        }
+
+        public void add(int index) {
+            if (contains(index)) {
+                return;
+            }
+            if (index >= positions.length) {
+                positions = Arrays.copyOf(positions, Math.max(2 * positions.length, index + 1));
+            }
+            if (size == members.length) {
+                members = Arrays.copyOf(members, 2 * size);
+            }
+            members[size++] = index;
+            positions[index] = size;
+        }
+
+        public void remove(int index) {
+            if (!contains(index)) {
+                return;
+            }
+            int position = positions[index] - 1;
+            int last = members[--size];
+            members[position] = last;
+            positions[last] = position + 1;
+            positions[index] = 0;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        /**
+         * @param position a position from 0 to size() - 1; positions change when members are removed
+         * @return the member at the position
+         */
+        public int get(int position) {
+            return members[position];
+        }
+    }
+
+    private static int hash(long agentId) {
+        long h = agentId * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * @param agentId an agent id
+     * @return the index of the agent, or NONE if it has not been added
+     */
+    public int indexOf(long agentId) {
+        int mask = tableIds.length - 1;
+        for (int slot = hash(agentId) & mask; tableIndexes[slot] != 0; slot = (slot + 1) & mask) {
+            if (tableIds[slot] == agentId) {
+                return tableIndexes[slot] - 1;
+            }
+        }
+        return NONE;
+    }
+
+    /**
+     * Add an agent if it has not been added yet.
+     * @param agentId an agent id
+     * @return the index of the agent
+     */
+    public int add(long agentId) {
+        int index = indexOf(agentId);
+        if (index != NONE) {
+            return index;
+        }
+        if (size == ids.length) {
+            grow();
+        }
+        index = size++;
+        ids[index] = agentId;
+        insert(agentId, index);
+        return index;
+    }
+
+    private void insert(long agentId, int index) {
+        int mask = tableIds.length - 1;
+        int slot = hash(agentId) & mask;
+        while (tableIndexes[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        tableIds[slot] = agentId;
+        tableIndexes[slot] = index + 1;
+    }
+
+    private void grow() {
+        int capacity = 2 * ids.length;
+        ids = Arrays.copyOf(ids, capacity);
+        lastAppearTimes = Arrays.copyOf(lastAppearTimes, capacity);
+        lastLocations = Arrays.copyOf(lastLocations, capacity);
+        resources = Arrays.copyOf(resources, capacity);
+        nextResources = Arrays.copyOf(nextResources, capacity);
+        pickingUp = Arrays.copyOf(pickingUp, capacity);
+        randoms = Arrays.copyOf(randoms, capacity);
+        routes = Arrays.copyOf(routes, capacity);
+        // keep the table at most half full
+        tableIds = new long[2 * capacity];
+        tableIndexes = new int[2 * capacity];
+        for (int index = 0; index < size; index++) {
+            insert(ids[index], index);
+        }
+    }
+
+    /**
+     * @return the number of agents
+     */
+    public int size() {
+        return size;
+    }
+
+    public long id(int index) {
+        return ids[index];
+    }
+
+    public long lastAppearTime(int index) {
+        return lastAppearTimes[index];
+    }
+
+    public void setLastAppearTime(int index, long time) {
+        lastAppearTimes[index] = time;
+    }
+
+    /**
+     * @return the location of the agent when it was last seen, or null if it has not been seen yet
+     */
+    public LocationOnRoad lastLocation(int index) {
+        return lastLocations[index];
+    }
+
+    public void setLastLocation(int index, LocationOnRoad location) {
+        lastLocations[index] = location;
+    }
+
+    /**
+     * @return the resource the agent is assigned to, or null
+     */
+    public Resource resource(int index) {
+        return resources[index];
+    }
+
+    public void setResource(int index, Resource resource) {
+        resources[index] = resource;
+    }
+
+    /**
+     * @return the resource the agent is assigned to once it is done with its current one, or null
+     */
+    public Resource nextResource(int index) {
+        return nextResources[index];
+    }
+
+    public void setNextResource(int index, Resource resource) {
+        nextResources[index] = resource;
+    }
+
+    /**
+     * @return whether the agent is on its way to pick up its resource
+     */
+    public boolean isPickingUp(int index) {
+        return pickingUp[index];
+    }
+
+    public void setPickingUp(int index, boolean isPickingUp) {
+        pickingUp[index] = isPickingUp;
+    }
+
+    /**
+     * @return the random number generator of the agent, seeded with its id when it is first used
+     */
+    public Random random(int index) {
+        if (randoms[index] == null) {
+            randoms[index] = new Random(ids[index]);
+        }
+        return randoms[index];
+    }
+
+    /**
+     * @return the rest of the route of the agent, empty if it has no route; the same route is refilled for the
+     * whole simulation
+     */
+    public Route route(int index) {
+        if (routes[index] == null) {
+            routes[index] = new Route();
+        }
+        return routes[index];
+    }
+
+    public void setRoute(int index, Route route) {
+        routes[index] = route;
+    }
+
+    /**
+     * Drop the route of the agent, so that a new one is planned at the next intersection.
+     */
+    public void clearRoute(int index) {
+        if (routes[index] != null) {
+            routes[index].clear();
+        }
+    }
+}
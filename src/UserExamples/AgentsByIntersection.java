@@ -0,0 +1,83 @@
+package UserExamples;
+
+import COMSETsystem.Intersection;
+
+import java.util.Arrays;
+
+/**
+ * Agents grouped by an intersection, e.g., the end of the road each agent is on, so that the agents at the
+ * intersections found by a search of the map can be listed without going through the whole fleet. Agents are
+ * given by their index in an AgentStore, and intersections are looked up by path table index.
+ */
+class AgentsByIntersection {
+
+    // agents[i] holds the agents at the intersection of path table index i, in its first counts[i] slots
+    private int[][] agents = new int[0][];
+    private int[] counts = new int[0];
+    // the path table index of the intersection of each agent, -1 if none, and the slot of the agent there
+    private int[] intersectionOf = new int[0];
+    private int[] slotOf = new int[0];
+
+    /**
+     * Put an agent at an intersection, removing it from its previous one.
+     */
+    void put(int agent, Intersection intersection) {
+        int index = intersection.pathTableIndex;
+        if (agent < intersectionOf.length && intersectionOf[agent] == index) {
+            return;
+        }
+        remove(agent);
+        if (agent >= intersectionOf.length) {
+            int length = Math.max(2 * intersectionOf.length, agent + 1);
+            int oldLength = intersectionOf.length;
+            intersectionOf = Arrays.copyOf(intersectionOf, length);
+            slotOf = Arrays.copyOf(slotOf, length);
+            Arrays.fill(intersectionOf, oldLength, length, -1);
+        }
+        if (index >= agents.length) {
+            int length = Math.max(2 * agents.length, index + 1);
+            agents = Arrays.copyOf(agents, length);
+            counts = Arrays.copyOf(counts, length);
+        }
+        if (agents[index] == null) {
+            agents[index] = new int[2];
+        } else if (counts[index] == agents[index].length) {
+            agents[index] = Arrays.copyOf(agents[index], 2 * counts[index]);
+        }
+        agents[index][counts[index]] = agent;
+        intersectionOf[agent] = index;
+        slotOf[agent] = counts[index]++;
+    }
+
+    /**
+     * Remove an agent from its intersection, if it has one.
+     */
+    void remove(int agent) {
+        if (agent >= intersectionOf.length || intersectionOf[agent] == -1) {
+            return;
+        }
+        int index = intersectionOf[agent];
+        int slot = slotOf[agent];
+        int last = agents[index][--counts[index]];
+        agents[index][slot] = last;
+        slotOf[last] = slot;
+        intersectionOf[agent] = -1;
+    }
+
+    /**
+     * @return the number of agents at an intersection
+     */
+    int count(Intersection intersection) {
+        int index = intersection.pathTableIndex;
+        return index < counts.length ? counts[index] : 0;
+    }
+
+    /**
+     * @param intersection an intersection
+     * @param k an index from 0 to count(intersection) - 1
+     * @return the k-th agent at the intersection
+     */
+    int get(Intersection intersection, int k) {
+        return agents[intersection.pathTableIndex][k];
+    }
+}
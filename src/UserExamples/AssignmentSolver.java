@@ -0,0 +1,107 @@
+package UserExamples;
+
+import java.util.Arrays;
+
+/**
+ * Solves the assignment problem: given the cost of assigning each row (e.g., a resource) to each column (e.g.,
+ * an agent), find the assignment of least total cost in which every row or every column, whichever are fewer,
+ * is assigned exactly once. This is the Hungarian algorithm with potentials, in O(n^2 m) time for n rows and
+ * m columns, n <= m.
+ */
+public class AssignmentSolver {
+
+    private AssignmentSolver() {
+    }
+
+    /**
+     * Find an assignment of least total cost. The sum of the costs of any assignment must not overflow.
+     *
+     * @param cost cost[i][j] is the cost of assigning row i to column j; all rows have the same length
+     * @return for each row, the column assigned to it, or -1 if the row is not assigned (only when there
+     * are more rows than columns)
+     */
+    public static int[] solve(long[][] cost) {
+        int n = cost.length;
+        int m = n == 0 ? 0 : cost[0].length;
+        if (n == 0 || m == 0) {
+            int[] assignment = new int[n];
+            Arrays.fill(assignment, -1);
+            return assignment;
+        }
+        if (n > m) {
+            // solve the transposed problem, in which every row gets a column
+            long[][] transposed = new long[m][n];
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j < m; j++) {
+                    transposed[j][i] = cost[i][j];
+                }
+            }
+            int[] columns = solve(transposed);
+            int[] assignment = new int[n];
+            Arrays.fill(assignment, -1);
+            for (int j = 0; j < m; j++) {
+                assignment[columns[j]] = j;
+            }
+            return assignment;
+        }
+
+        // Rows and columns are numbered from 1; column 0 is a sentinel to which the row being added is assigned.
+        long[] rowPotential = new long[n + 1];
+        long[] columnPotential = new long[m + 1];
+        int[] rowOfColumn = new int[m + 1];
+        int[] previousColumn = new int[m + 1];
+        long[] minimumSlack = new long[m + 1];
+        boolean[] visited = new boolean[m + 1];
+        for (int i = 1; i <= n; i++) {
+            // find a shortest augmenting path from row i to a free column
+            rowOfColumn[0] = i;
+            int column = 0;
+            Arrays.fill(minimumSlack, Long.MAX_VALUE);
+            Arrays.fill(visited, false);
+            do {
+                visited[column] = true;
+                int row = rowOfColumn[column];
+                long delta = Long.MAX_VALUE;
+                int nextColumn = 0;
+                for (int j = 1; j <= m; j++) {
+                    if (!visited[j]) {
+                        long slack = cost[row - 1][j - 1] - rowPotential[row] - columnPotential[j];
+                        if (slack < minimumSlack[j]) {
+                            minimumSlack[j] = slack;
+                            previousColumn[j] = column;
+                        }
+                        if (minimumSlack[j] < delta) {
+                            delta = minimumSlack[j];
+                            nextColumn = j;
+                        }
+                    }
+                }
+                for (int j = 0; j <= m; j++) {
+                    if (visited[j]) {
+                        rowPotential[rowOfColumn[j]] += delta;
+                        columnPotential[j] -= delta;
+                    } else {
+                        minimumSlack[j] -= delta;
+                    }
+                }
+                column = nextColumn;
+            } while (rowOfColumn[column] != 0);
+
+            // augment along the path
+            do {
+                int previous = previousColumn[column];
+                rowOfColumn[column] = rowOfColumn[previous];
+                column = previous;
+            } while (column != 0);
+        }
+
+        int[] assignment = new int[n];
+        Arrays.fill(assignment, -1);
+        for (int j = 1; j <= m; j++) {
+            if (rowOfColumn[j] != 0) {
+                assignment[rowOfColumn[j] - 1] = j - 1;
+            }
+        }
+        return assignment;
+    }
+}
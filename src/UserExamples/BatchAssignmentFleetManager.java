@@ -0,0 +1,396 @@
+package UserExamples;
+
+import COMSETsystem.*;
+
+import java.util.*;
+
+/**
+ * This fleet manager assigns resources in batches. Resources that become available are buffered, and at the end
+ * of each assignment window the waiting resources are matched with the idle agents and the agents that drop off
+ * their resource within the next window, so that the total time for the agents to reach the resources is least
+ * among the assignments that serve the most resources before they expire. The travel times come from the
+ * pre-computed travel time table of the map.
+ *
+ * The simulation takes a single assignment from each call to onResourceAvailabilityChange, so the assignments
+ * of a batch are handed out one per call, the resources that expire first first. An agent that still carries a
+ * resource gets its assignment when it drops off that resource. Assignments that are not handed out by the end
+ * of the next window are matched again with the next batch.
+ *
+ * Idle agents cruise toward intersections drawn according to the recent demand (see DemandForecaster). Once a
+ * minute, the idle agents are also rebalanced between the zones of the map in proportion to the forecast demand
+ * (see Rebalancer); an agent that is sent to another zone goes there before it cruises again.
+ *
+ * The length of the assignment window is given in seconds by the system property comset.assignment_window
+ * (30 by default).
+ */
+public class BatchAssignmentFleetManager extends FleetManager {
+    public static final long DEFAULT_ASSIGNMENT_WINDOW = 30;
+    // half-life in seconds of the arrivals in the demand forecast that cruising follows
+    static final long DEMAND_HALF_LIFE = 30 * 60;
+    // period in seconds of the rebalancing of the idle agents
+    static final long REBALANCING_PERIOD = 60;
+    static final int REBALANCING_ZONES_PER_SIDE = 16;
+    // longest travel time in seconds an idle agent is sent for
+    static final long REBALANCING_MAX_TRAVEL_TIME = 10 * 60;
+
+    private final Map<Long, Long> agentLastAppearTime = new HashMap<>();
+    private final Map<Long, LocationOnRoad> agentLastLocation = new HashMap<>();
+    private final Set<Long> idleAgents = new TreeSet<>();
+    // the resource of each agent that is on its way to a pickup or carrying a resource
+    private final Map<Long, Resource> resourceAssignment = new HashMap<>();
+    // the estimated dropoff time of each agent that carries a resource
+    private final Map<Long, Long> agentDropOffTime = new HashMap<>();
+    private final Map<Long, Resource> waitingResources = new TreeMap<>();
+    // assignments of the last batch that have not been handed out yet, the resources that expire first first
+    private final Map<Long, Resource> pendingAssignments = new LinkedHashMap<>();
+    private final Map<Long, Random> agentRnd = new HashMap<>();
+    private final DemandForecaster demandForecaster;
+    private final Rebalancer rebalancer;
+    // the intersection each rebalanced agent is on its way to
+    private final Map<Long, Intersection> rebalancingTargets = new HashMap<>();
+
+    // the route of each agent, refilled when it is consumed
+    final Map<Long, Route> agentRoutes = new HashMap<>();
+
+    private final long assignmentWindow;
+    private long nextBatchTime = Long.MIN_VALUE;
+    private long nextRebalancingTime = Long.MIN_VALUE;
+
+    /**
+     * The simulation calls onAgentIntroduced to notify the **FleetManager** that a new agent has been randomly
+     * placed and is available for assignment.
+     * @param agentId a unique id for each agent and can be used to associated information with agents.
+     * @param currentLoc the current location of the agent.
+     * @param time the simulation time.
+     */
+    @Override
+    public void onAgentIntroduced(long agentId, LocationOnRoad currentLoc, long time) {
+        agentLastAppearTime.put(agentId, time);
+        agentLastLocation.put(agentId, currentLoc);
+        idleAgents.add(agentId);
+    }
+
+    /**
+     * The simulation calls this method to notify the **FleetManager** that the resource's state has changed:
+     * + resource becomes available for pickup
+     * + resource expired
+     * + resource has been dropped off by its assigned agent
+     * + resource has been picked up by an agent.
+     * The resources are assigned when an assignment window ends.
+     * @param resource This object contains information about the Resource useful to the fleet manager
+     * @param state the new state of the resource
+     * @param currentLoc current location of the resources
+     * @param time the simulation time
+     * @return AgentAction that tells the agents what to do.
+     */
+    @Override
+    public AgentAction onResourceAvailabilityChange(Resource resource,
+                                                    ResourceState state,
+                                                    LocationOnRoad currentLoc,
+                                                    long time) {
+        if (state == ResourceState.AVAILABLE) {
+            waitingResources.put(resource.id, resource);
+            demandForecaster.addArrival(resource.pickupLoc.road.from, time);
+        } else if (state == ResourceState.PICKED_UP) {
+            // Warning: map.travelTimeBetween returns the travel time based on speed limits, not
+            // the dynamic travel time. Thus the dropoff time is only an estimate.
+            agentDropOffTime.put(resource.assignedAgentId, time + map.travelTimeBetween(currentLoc, resource.dropOffLoc));
+            clearRoute(resource.assignedAgentId);
+        } else if (state == ResourceState.DROPPED_OFF) {
+            resourceAssignment.remove(resource.assignedAgentId);
+            agentDropOffTime.remove(resource.assignedAgentId);
+            clearRoute(resource.assignedAgentId);
+            agentLastLocation.put(resource.assignedAgentId, currentLoc);
+            agentLastAppearTime.put(resource.assignedAgentId, time);
+            idleAgents.add(resource.assignedAgentId);
+        } else if (state == ResourceState.EXPIRED) {
+            waitingResources.remove(resource.id);
+            if (resource.assignedAgentId != -1) {
+                // the agent did not reach the resource in time and is free again
+                resourceAssignment.remove(resource.assignedAgentId);
+                clearRoute(resource.assignedAgentId);
+                idleAgents.add(resource.assignedAgentId);
+            }
+        }
+
+        if (time >= nextBatchTime) {
+            assignBatch(time);
+            nextBatchTime = time + assignmentWindow;
+        }
+        if (time >= nextRebalancingTime) {
+            rebalance(time);
+            nextRebalancingTime = time + REBALANCING_PERIOD * Configuration.timeResolution;
+        }
+
+        if (state == ResourceState.DROPPED_OFF) {
+            // An assignment of another agent would not free the agent that drops off, so only its own is handed out.
+            Resource pending = pendingAssignments.remove(resource.assignedAgentId);
+            if (pending != null && isWaiting(pending, time)) {
+                return assign(resource.assignedAgentId, pending);
+            }
+            return AgentAction.doNothing();
+        }
+        // The simulator aborts the expired resource of its agent after it takes the action, which would undo an
+        // assignment of that agent, so the agent gets its assignment at a later call.
+        long abortedAgent = state == ResourceState.EXPIRED ? resource.assignedAgentId : -1;
+        Iterator<Map.Entry<Long, Resource>> pendingIterator = pendingAssignments.entrySet().iterator();
+        while (pendingIterator.hasNext()) {
+            Map.Entry<Long, Resource> pending = pendingIterator.next();
+            if (!isWaiting(pending.getValue(), time)) {
+                pendingIterator.remove();
+            } else if (idleAgents.contains(pending.getKey()) && pending.getKey() != abortedAgent) {
+                pendingIterator.remove();
+                return assign(pending.getKey(), pending.getValue());
+            }
+        }
+        return AgentAction.doNothing();
+    }
+
+    /**
+     * Drop the route of an agent, so that a new one is planned at the next intersection.
+     */
+    private void clearRoute(long agentId) {
+        Route route = agentRoutes.get(agentId);
+        if (route != null) {
+            route.clear();
+        }
+    }
+
+    private boolean isWaiting(Resource resource, long time) {
+        return waitingResources.containsKey(resource.id) && resource.expirationTime > time;
+    }
+
+    private AgentAction assign(long agentId, Resource resource) {
+        waitingResources.remove(resource.id);
+        idleAgents.remove(agentId);
+        rebalancingTargets.remove(agentId);
+        resourceAssignment.put(agentId, resource);
+        clearRoute(agentId);
+        return AgentAction.assignTo(agentId, resource.id);
+    }
+
+    /**
+     * Match the waiting resources with the idle agents and the agents that drop off their resource before the
+     * end of the next window. Assigning an agent to a resource costs the time for the agent to reach the
+     * resource; the assignments in which an agent cannot reach the resource before it expires cost more than
+     * any assignment of feasible pairs, so that the matching serves as many resources as possible.
+     * @param time the simulation time
+     */
+    void assignBatch(long time) {
+        pendingAssignments.clear();
+        List<Resource> resources = new ArrayList<>();
+        for (Resource resource : waitingResources.values()) {
+            if (resource.expirationTime > time) {
+                resources.add(resource);
+            }
+        }
+        if (resources.isEmpty()) {
+            return;
+        }
+
+        // where and when each agent is ready to go to a resource
+        List<Long> agents = new ArrayList<>();
+        List<LocationOnRoad> readyLocations = new ArrayList<>();
+        List<Long> readyTimes = new ArrayList<>();
+        for (long agentId : idleAgents) {
+            agents.add(agentId);
+            readyLocations.add(getCurrentLocation(agentLastAppearTime.get(agentId), agentLastLocation.get(agentId),
+                    time));
+            readyTimes.add(time);
+        }
+        for (Map.Entry<Long, Long> dropOff : agentDropOffTime.entrySet()) {
+            if (dropOff.getValue() < time + assignmentWindow) {
+                agents.add(dropOff.getKey());
+                readyLocations.add(resourceAssignment.get(dropOff.getKey()).dropOffLoc);
+                readyTimes.add(Math.max(dropOff.getValue(), time));
+            }
+        }
+        if (agents.isEmpty()) {
+            return;
+        }
+
+        long[][] cost = new long[resources.size()][agents.size()];
+        boolean[][] feasible = new boolean[resources.size()][agents.size()];
+        long maxFeasibleCost = 0;
+        for (int r = 0; r < resources.size(); r++) {
+            Resource resource = resources.get(r);
+            for (int a = 0; a < agents.size(); a++) {
+                // Warning: map.travelTimeBetween returns the travel time based on speed limits, not
+                // the dynamic travel time. Thus the travel time returned by map.travelTimeBetween may be different
+                // than the actual travel time.
+                long arriveTime = readyTimes.get(a) + map.travelTimeBetween(readyLocations.get(a), resource.pickupLoc);
+                cost[r][a] = arriveTime - time;
+                feasible[r][a] = arriveTime <= resource.expirationTime;
+                if (feasible[r][a]) {
+                    maxFeasibleCost = Math.max(maxFeasibleCost, cost[r][a]);
+                }
+            }
+        }
+        long infeasibleCost = (Math.min(resources.size(), agents.size()) + 1) * (maxFeasibleCost + 1);
+        for (int r = 0; r < resources.size(); r++) {
+            for (int a = 0; a < agents.size(); a++) {
+                if (!feasible[r][a]) {
+                    cost[r][a] = infeasibleCost;
+                }
+            }
+        }
+
+        int[] assignment = AssignmentSolver.solve(cost);
+        List<Integer> assigned = new ArrayList<>();
+        for (int r = 0; r < resources.size(); r++) {
+            if (assignment[r] != -1 && feasible[r][assignment[r]]) {
+                assigned.add(r);
+            }
+        }
+        assigned.sort(Comparator.comparingLong((Integer r) -> resources.get(r).expirationTime));
+        for (int r : assigned) {
+            pendingAssignments.put(agents.get(assignment[r]), resources.get(r));
+        }
+    }
+
+    /**
+     * Send idle agents to the zones that lack agents. The agents that are already on their way to a zone are
+     * counted in that zone, and the agents that have a pending assignment are left alone.
+     * @param time the simulation time
+     */
+    void rebalance(long time) {
+        List<Rebalancer.IdleAgent> agents = new ArrayList<>();
+        for (long agentId : idleAgents) {
+            if (pendingAssignments.containsKey(agentId)) {
+                continue;
+            }
+            Intersection intersection = rebalancingTargets.get(agentId);
+            if (intersection == null) {
+                intersection = agentLastLocation.get(agentId).road.to;
+            }
+            agents.add(new Rebalancer.IdleAgent(agentId, intersection));
+        }
+        for (Map.Entry<Long, Intersection> move : rebalancer.rebalance(time, agents, demandForecaster).entrySet()) {
+            rebalancingTargets.put(move.getKey(), move.getValue());
+            clearRoute(move.getKey());
+        }
+    }
+
+    /**
+     * Calls to this method notifies that an agent has reach an intersection and is ready for new travel directions.
+     * This is called whenever any agent without an assigned resources reaches an intersection. This method allows
+     * the **FleetManager** to plan any agent's cruising path, the path it takes when it has no assigned resource.
+     * The intention is that the **FleetManager** will plan the cruising, to minimize the time it takes to
+     * reach resources for pickup.
+     * @param agentId unique id of the agent
+     * @param time current simulation time.
+     * @param currentLoc current location of the agent.
+     * @return the next intersection for the agent to navigate to.
+     */
+    @Override
+    public Intersection onReachIntersection(long agentId, long time, LocationOnRoad currentLoc) {
+        agentLastAppearTime.put(agentId, time);
+
+        Route route = agentRoutes.computeIfAbsent(agentId, id -> new Route());
+
+        if (rebalancingTargets.get(agentId) == currentLoc.road.to) {
+            rebalancingTargets.remove(agentId);
+        }
+        if (route.isEmpty()) {
+            planRoute(agentId, currentLoc, time, route);
+        }
+
+        Intersection nextLocation = route.poll();
+        Road nextRoad = currentLoc.road.to.roadTo(nextLocation);
+        LocationOnRoad locationOnRoad = LocationOnRoad.createFromRoadStart(nextRoad);
+        agentLastLocation.put(agentId, locationOnRoad);
+        return nextLocation;
+    }
+
+    /**
+     * Calls to this method notifies that an agent with an picked up resource reaches an intersection.
+     * This method allows the **FleetMangaer** to plan the route of the agent to the resource's dropoff point.
+     * @param agentId the unique id of the agent
+     * @param time current simulation time
+     * @param currentLoc current location of agent
+     * @param resource information of the resource associated with the agent.
+     * @return the next intersection for the agent to navigate to.
+     */
+    @Override
+    public Intersection onReachIntersectionWithResource(long agentId, long time, LocationOnRoad currentLoc,
+                                                        Resource resource) {
+        agentLastAppearTime.put(agentId, time);
+
+        Route route = agentRoutes.computeIfAbsent(agentId, id -> new Route());
+
+        if (route.isEmpty()) {
+            planRouteToTarget(currentLoc, resource.dropOffLoc, route);
+        }
+
+        Intersection nextLocation = route.poll();
+        Road nextRoad = currentLoc.road.to.roadTo(nextLocation);
+        LocationOnRoad locationOnRoad = LocationOnRoad.createFromRoadStart(nextRoad);
+        agentLastLocation.put(agentId, locationOnRoad);
+        return nextLocation;
+    }
+
+    void planRoute(long agentId, LocationOnRoad currentLocation, long time, Route route) {
+        Resource assignedRes = resourceAssignment.get(agentId);
+
+        if (assignedRes != null) {
+            Intersection sourceIntersection = currentLocation.road.to;
+            Intersection destinationIntersection = assignedRes.pickupLoc.road.from;
+            if (sourceIntersection.id == destinationIntersection.id) {
+                destinationIntersection = assignedRes.pickupLoc.road.to;
+            }
+            map.shortestTravelTimeRoute(sourceIntersection, destinationIntersection, route);
+            route.poll(); // Ensure that route.get(0) != currentLocation.road.to.
+        } else {
+            getCruisingRoute(agentId, currentLocation, time, route);
+        }
+    }
+
+    void planRouteToTarget(LocationOnRoad source, LocationOnRoad destination, Route route) {
+        Intersection sourceIntersection = source.road.to;
+        Intersection destinationIntersection = destination.road.from;
+        map.shortestTravelTimeRoute(sourceIntersection, destinationIntersection, route);
+        route.poll(); // Ensure that route.get(0) != currentLocation.road.to.
+    }
+
+    /**
+     * Go to the zone the agent was rebalanced to, or else cruise toward an intersection drawn according to the
+     * forecast demand, or a random intersection before any resource has become available.
+     */
+    void getCruisingRoute(long agentId, LocationOnRoad currentLocation, long time, Route route) {
+        Random random = agentRnd.getOrDefault(agentId, new Random(agentId));
+        agentRnd.put(agentId, random);
+
+        Intersection sourceIntersection = currentLocation.road.to;
+        Intersection destinationIntersection = rebalancingTargets.get(agentId);
+        if (destinationIntersection == null) {
+            destinationIntersection = demandForecaster.sample(time, random);
+        }
+        if (destinationIntersection == null) {
+            Intersection[] intersectionArray = map.intersections().values().toArray(new Intersection[0]);
+            destinationIntersection = intersectionArray[random.nextInt(intersectionArray.length)];
+        }
+        while (destinationIntersection == sourceIntersection) {
+            // destination cannot be the source
+            // if destination is the source, choose a neighbor to be the destination
+            Road[] roadsFrom = sourceIntersection.roadsMapFrom.values().toArray(new Road[0]);
+            destinationIntersection = roadsFrom[random.nextInt(roadsFrom.length)].to;
+        }
+        map.shortestTravelTimeRoute(sourceIntersection, destinationIntersection, route);
+        route.poll(); // Ensure that route.get(0) != currentLocation.road.to.
+    }
+
+    public BatchAssignmentFleetManager(CityMap map) {
+        this(map, Long.getLong("comset.assignment_window", DEFAULT_ASSIGNMENT_WINDOW));
+    }
+
+    /**
+     * @param map the map
+     * @param assignmentWindow the length of the assignment window in seconds
+     */
+    public BatchAssignmentFleetManager(CityMap map, long assignmentWindow) {
+        super(map);
+        this.assignmentWindow = assignmentWindow * Configuration.timeResolution;
+        demandForecaster = new DemandForecaster(map, DEMAND_HALF_LIFE, 1);
+        rebalancer = new Rebalancer(map, REBALANCING_ZONES_PER_SIDE, REBALANCING_MAX_TRAVEL_TIME);
+    }
+}
@@ -0,0 +1,228 @@
+package UserExamples;
+
+import COMSETsystem.*;
+
+import java.time.Instant;
+import java.time.zone.ZoneRules;
+import java.util.Random;
+
+/**
+ * Forecasts the demand at each intersection from the resources that have become available so far, for cruising
+ * and rebalancing decisions. The day is divided into buckets of equal length, and the forecaster keeps for each
+ * intersection and each bucket a count of the arrivals in that bucket, decayed exponentially with time. The rate
+ * of arrivals is the decayed count divided by the decayed time spent in the bucket, so that recent arrivals weigh
+ * more than old ones, and a bucket that has only just begun is not underestimated.
+ *
+ * Instead of decaying every count as time goes, the counts are kept scaled by a factor that grows exponentially
+ * with time: an arrival adds the current factor, so an update takes O(log n) time for n intersections, for the
+ * Fenwick trees that draw intersections in proportion to their rate. The counts are scaled down when the factor
+ * becomes large, which takes O(n) time once every few hundred half-lives.
+ *
+ * Times must not go backwards from a call to the next.
+ */
+public class DemandForecaster {
+
+    private static final long SECONDS_PER_DAY = 24 * 60 * 60;
+
+    // the counts are scaled down when the growth factor exceeds 2^RESCALE_EXPONENT
+    private static final double RESCALE_EXPONENT = 500;
+
+    private final Intersection[] intersections;
+    private final ZoneRules zoneRules;
+    private final int bucketsPerDay;
+    private final long bucketLength;
+    // growth rate of the scale factor, per simulation time unit
+    private final double growthRate;
+
+    // weights[b][i] is the scaled count of intersection i in bucket b; bucket bucketsPerDay is the whole day
+    private final double[][] weights;
+    // Fenwick trees of the weights of each bucket: trees[b][i] is the sum of weights[b][i - (i & -i) .. i - 1]
+    private final double[][] trees;
+    private final double[] totals;
+    // scaled time spent in each bucket, and in the whole day
+    private final double[] exposures;
+
+    private long origin;
+    private long lastTime = Long.MIN_VALUE;
+
+    /**
+     * @param map the map
+     * @param halfLife the time in seconds after which an arrival counts half
+     * @param bucketsPerDay the number of buckets the day is divided into; 1 for no time of day; it must divide
+     * the number of seconds in a day
+     */
+    public DemandForecaster(CityMap map, long halfLife, int bucketsPerDay) {
+        if (halfLife <= 0) {
+            throw new IllegalArgumentException("the half-life must be positive: " + halfLife);
+        }
+        if (bucketsPerDay <= 0 || SECONDS_PER_DAY % bucketsPerDay != 0) {
+            throw new IllegalArgumentException("the buckets do not divide a day: " + bucketsPerDay);
+        }
+        intersections = new Intersection[map.intersections().size()];
+        for (Intersection intersection : map.intersections().values()) {
+            intersections[intersection.pathTableIndex] = intersection;
+        }
+        zoneRules = map.computeZoneId().getRules();
+        this.bucketsPerDay = bucketsPerDay;
+        bucketLength = SECONDS_PER_DAY / bucketsPerDay;
+        growthRate = Math.log(2) / (halfLife * Configuration.timeResolution);
+        weights = new double[bucketsPerDay + 1][intersections.length];
+        trees = new double[bucketsPerDay + 1][intersections.length + 1];
+        totals = new double[bucketsPerDay + 1];
+        exposures = new double[bucketsPerDay + 1];
+    }
+
+    /**
+     * @return the bucket of a time
+     */
+    private int bucket(long time) {
+        long seconds = Math.floorDiv(time, Configuration.timeResolution);
+        long localSeconds = seconds + zoneRules.getOffset(Instant.ofEpochSecond(seconds)).getTotalSeconds();
+        return (int) (Math.floorMod(localSeconds, SECONDS_PER_DAY) / bucketLength);
+    }
+
+    /**
+     * @return the first time after a time at which the bucket changes
+     */
+    private long bucketEnd(long time) {
+        long seconds = Math.floorDiv(time, Configuration.timeResolution);
+        long offset = zoneRules.getOffset(Instant.ofEpochSecond(seconds)).getTotalSeconds();
+        long localSeconds = seconds + offset;
+        long end = localSeconds - Math.floorMod(localSeconds, bucketLength) + bucketLength;
+        return (end - offset) * Configuration.timeResolution;
+    }
+
+    private double growth(long time) {
+        return Math.exp((time - origin) * growthRate);
+    }
+
+    /**
+     * Add the time elapsed since the last call to the exposures of the buckets it spans.
+     */
+    private void advance(long time) {
+        if (lastTime == Long.MIN_VALUE) {
+            origin = time;
+            lastTime = time;
+            return;
+        }
+        if ((time - origin) * growthRate > RESCALE_EXPONENT * Math.log(2)) {
+            rescale(time);
+        }
+        while (lastTime < time) {
+            long end = Math.min(bucketEnd(lastTime), time);
+            double exposure = (growth(end) - growth(lastTime)) / growthRate;
+            exposures[bucket(lastTime)] += exposure;
+            exposures[bucketsPerDay] += exposure;
+            lastTime = end;
+        }
+    }
+
+    /**
+     * Scale the counts and exposures to a new origin.
+     */
+    private void rescale(long time) {
+        double factor = 1 / growth(time);
+        for (int b = 0; b <= bucketsPerDay; b++) {
+            double[] bucketWeights = weights[b];
+            double[] tree = trees[b];
+            for (int i = 0; i < bucketWeights.length; i++) {
+                bucketWeights[i] *= factor;
+            }
+            for (int i = 1; i < tree.length; i++) {
+                tree[i] *= factor;
+            }
+            totals[b] *= factor;
+            exposures[b] *= factor;
+        }
+        origin = time;
+    }
+
+    private void add(int bucket, int index, double weight) {
+        weights[bucket][index] += weight;
+        totals[bucket] += weight;
+        double[] tree = trees[bucket];
+        for (int i = index + 1; i < tree.length; i += i & -i) {
+            tree[i] += weight;
+        }
+    }
+
+    /**
+     * Record the arrival of a resource.
+     *
+     * @param intersection the intersection of the resource, e.g., the start of the road of its pickup location
+     * @param time the time of the arrival
+     */
+    public void addArrival(Intersection intersection, long time) {
+        advance(time);
+        double weight = growth(time);
+        add(bucket(time), intersection.pathTableIndex, weight);
+        add(bucketsPerDay, intersection.pathTableIndex, weight);
+    }
+
+    /**
+     * @return the bucket whose rates are used at a time: the bucket of the time, or the whole day if no time has
+     * been spent in that bucket yet
+     */
+    private int forecastBucket(long time) {
+        int bucket = bucket(time);
+        return exposures[bucket] > 0 ? bucket : bucketsPerDay;
+    }
+
+    /**
+     * @param intersection an intersection
+     * @param time the time of the forecast
+     * @return the forecast number of arrivals per second at the intersection; 0 before any time has elapsed
+     */
+    public double rate(Intersection intersection, long time) {
+        advance(time);
+        int bucket = forecastBucket(time);
+        double exposure = exposures[bucket];
+        return exposure > 0 ? weights[bucket][intersection.pathTableIndex] / exposure * Configuration.timeResolution
+                : 0;
+    }
+
+    /**
+     * @param time the time of the forecast
+     * @return the forecast number of arrivals per second over all the intersections
+     */
+    public double totalRate(long time) {
+        advance(time);
+        int bucket = forecastBucket(time);
+        double exposure = exposures[bucket];
+        return exposure > 0 ? totals[bucket] / exposure * Configuration.timeResolution : 0;
+    }
+
+    /**
+     * Draw an intersection with a probability proportional to its forecast rate, or to its rate over the whole
+     * day if no arrival has been recorded in the bucket of the time.
+     *
+     * @param time the time of the forecast
+     * @param random the random number generator
+     * @return the intersection drawn, or null if no arrival has been recorded
+     */
+    public Intersection sample(long time, Random random) {
+        advance(time);
+        int bucket = bucket(time);
+        if (totals[bucket] <= 0) {
+            bucket = bucketsPerDay;
+            if (totals[bucket] <= 0) {
+                return null;
+            }
+        }
+        double[] tree = trees[bucket];
+        double r = random.nextDouble() * totals[bucket];
+        // find the first index whose prefix sum exceeds r
+        int index = 0;
+        for (int step = Integer.highestOneBit(tree.length - 1); step > 0; step >>= 1) {
+            if (index + step < tree.length && tree[index + step] <= r) {
+                index += step;
+                r -= tree[index];
+            }
+        }
+        // rounding errors may carry r past the last intersection with a weight
+        while (index > 0 && (index >= intersections.length || weights[bucket][index] <= 0)) {
+            index--;
+        }
+        return intersections[index];
+    }
+}
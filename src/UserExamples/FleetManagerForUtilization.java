@@ -8,16 +8,11 @@ import java.util.*;
  * This fleet manager optimizes for agent utilization.
  */
 public class FleetManagerForUtilization extends FleetManager {
-    private final Map<Long, Long> agentLastAppearTime = new HashMap<>();
-    private final Map<Long, LocationOnRoad> agentLastLocation = new HashMap<>();
-    private final Map<Long, Resource> resourceAssignment = new HashMap<>();
-    private final Map<Long, Resource> nextResourceAssignment = new HashMap<>();
-    private final Set<Resource> waitingResources = new TreeSet<>(Comparator.comparingLong((Resource r) -> r.id));
-    private final Set<Long> availableAgent = new TreeSet<>(Comparator.comparingLong((Long id) -> id));
-    private final Set<Long> unavailableAgent = new TreeSet<>(Comparator.comparingLong((Long id) -> id));
-    private final Map<Long, Boolean> agentPickingUp = new HashMap<>();
-    private final Map<Long, Random> agentRnd = new HashMap<>();
-    private final Map<Long, LinkedList<Intersection>> agentRoutes = new HashMap<>();
+    private final AgentStore agents = new AgentStore();
+    private final ResourceLocator waitingResources;
+    private final AgentStore.IndexSet availableAgents = new AgentStore.IndexSet();
+    private final AgentLocator availableAgentLocator;
+    private final AgentLocator unavailableAgentLocator;
 
     private Weighting weighting;
     private Map<Long, Integer> weightingData = new HashMap<>();
@@ -33,10 +28,12 @@ public class FleetManagerForUtilization extends FleetManager {
      */
     @Override
     public void onAgentIntroduced(long agentId, LocationOnRoad currentLoc, long time) {
-        agentLastAppearTime.put(agentId, time);
-        agentLastLocation.put(agentId, currentLoc);
-        availableAgent.add(agentId);
-        agentPickingUp.put(agentId, false);
+        int agent = agents.add(agentId);
+        agents.setLastAppearTime(agent, time);
+        agents.setLastLocation(agent, currentLoc);
+        availableAgents.add(agent);
+        agents.setPickingUp(agent, false);
+        locateAgent(agent);
     }
 
     /**
@@ -70,87 +67,77 @@ public class FleetManagerForUtilization extends FleetManager {
                     weightingData.put(id, weightingData.getOrDefault(id, 0) + 180);
                 }
                 */
-                Weighting newWeighting = new Weighting(map.intersections(), weightingData);
-                weighting = new Weighting(weighting, newWeighting);
+                weighting.update(weightingData);
                 weightingData = new HashMap<>();
                 weightingDataCount = 0;
             }
 
             Long assignedAgent = getNearestAvailableAgent(resource, time);
             if (assignedAgent != null) {
-                if (resourceAssignment.get(assignedAgent) == null) {
-                    resourceAssignment.put(assignedAgent, resource);
-                    agentRoutes.put(assignedAgent, new LinkedList<>());
-                    availableAgent.remove(assignedAgent);
-                    unavailableAgent.add(assignedAgent);
-                    agentPickingUp.put(assignedAgent, true);
+                int agent = agents.add(assignedAgent);
+                if (agents.resource(agent) == null) {
+                    agents.setResource(agent, resource);
+                    agents.clearRoute(agent);
+                    availableAgents.remove(agent);
+                    agents.setPickingUp(agent, true);
+                    locateAgent(agent);
                     action = AgentAction.assignTo(assignedAgent, resource.id);
                 } else {
-                    nextResourceAssignment.put(assignedAgent, resource);
+                    agents.setNextResource(agent, resource);
                 }
             } else {
                 waitingResources.add(resource);
                 weightingData.put(fromId, weightingData.getOrDefault(fromId, 0) + 200);
             }
         } else if (state == ResourceState.DROPPED_OFF) {
-            Resource bestResource = null;
-            long earliest = Long.MAX_VALUE;
-            for (Resource res : waitingResources) {
-                // If res is in waitingResources, then it must have not expired yet
-                // testing null pointer exception
-                // Warning: map.travelTimeBetween returns the travel time based on speed limits, not
-                // the dynamic travel time. Thus the travel time returned by map.travelTimeBetween may be different
-                // than the actual travel time.
-                long travelTime = (long)(travelTimeMultiplier * map.travelTimeBetween(currentLoc, res.pickupLoc));
-
-                // if the resource is reachable before expiration
-                long arriveTime = time + travelTime;
-                if (arriveTime <= res.expirationTime && arriveTime < earliest) {
-                    earliest = arriveTime;
-                    bestResource = res;
-                }
-            }
+            // Warning: map.travelTimeBetween returns the travel time based on speed limits, not
+            // the dynamic travel time. Thus the travel time returned by map.travelTimeBetween may be different
+            // than the actual travel time.
+            int agent = agents.add(resource.assignedAgentId);
+            Resource bestResource = waitingResources.earliestReachable(currentLoc, time, travelTimeMultiplier);
 
-            if (nextResourceAssignment.get(resource.assignedAgentId) != null) {
-                bestResource = nextResourceAssignment.get(resource.assignedAgentId);
-                nextResourceAssignment.remove(resource.assignedAgentId);
-                agentPickingUp.put(resource.assignedAgentId, true);
+            if (agents.nextResource(agent) != null) {
+                bestResource = agents.nextResource(agent);
+                agents.setNextResource(agent, null);
+                agents.setPickingUp(agent, true);
                 action = AgentAction.assignTo(resource.assignedAgentId, bestResource.id);
             } else if (bestResource != null) {
                 waitingResources.remove(bestResource);
-                agentPickingUp.put(resource.assignedAgentId, true);
+                agents.setPickingUp(agent, true);
                 action = AgentAction.assignTo(resource.assignedAgentId, bestResource.id);
             } else {
-                agentRoutes.put(resource.assignedAgentId, new LinkedList<>());
-                availableAgent.add(resource.assignedAgentId);
-                unavailableAgent.remove(resource.assignedAgentId);
-                agentPickingUp.put(resource.assignedAgentId, false);
+                agents.clearRoute(agent);
+                availableAgents.add(agent);
+                agents.setPickingUp(agent, false);
             }
-            resourceAssignment.put(resource.assignedAgentId, bestResource);
-            agentLastLocation.put(resource.assignedAgentId, currentLoc);
-            agentLastAppearTime.put(resource.assignedAgentId, time);
+            agents.setResource(agent, bestResource);
+            agents.setLastLocation(agent, currentLoc);
+            agents.setLastAppearTime(agent, time);
+            locateAgent(agent);
         } else if (state == ResourceState.EXPIRED) {
             waitingResources.remove(resource);
             if (resource.assignedAgentId != -1) {
-                if (nextResourceAssignment.get(resource.assignedAgentId) == null) {
-                    agentRoutes.put(resource.assignedAgentId, new LinkedList<>());
-                    availableAgent.add(resource.assignedAgentId);
-                    unavailableAgent.remove(resource.assignedAgentId);
-                    agentPickingUp.put(resource.assignedAgentId, false);
-                    resourceAssignment.remove(resource.assignedAgentId);
+                int agent = agents.add(resource.assignedAgentId);
+                if (agents.nextResource(agent) == null) {
+                    agents.clearRoute(agent);
+                    availableAgents.add(agent);
+                    agents.setPickingUp(agent, false);
+                    agents.setResource(agent, null);
                     action = AgentAction.abort(resource.assignedAgentId);
                 } else {
-                    Resource bestResource = nextResourceAssignment.get(resource.assignedAgentId);
-                    nextResourceAssignment.remove(resource.assignedAgentId);
-                    agentRoutes.put(resource.assignedAgentId, new LinkedList<>());
-                    agentPickingUp.put(resource.assignedAgentId, true);
-                    resourceAssignment.put(resource.assignedAgentId, bestResource);
+                    Resource bestResource = agents.nextResource(agent);
+                    agents.setNextResource(agent, null);
+                    agents.clearRoute(agent);
+                    agents.setPickingUp(agent, true);
+                    agents.setResource(agent, bestResource);
                     action = AgentAction.assignTo(resource.assignedAgentId, bestResource.id);
                 }
+                locateAgent(agent);
             }
         } else if (state == ResourceState.PICKED_UP) {
-            agentRoutes.put(resource.assignedAgentId, new LinkedList<>());
-            agentPickingUp.put(resource.assignedAgentId, false);
+            int agent = agents.add(resource.assignedAgentId);
+            agents.clearRoute(agent);
+            agents.setPickingUp(agent, false);
         }
 
         return action;
@@ -172,19 +159,20 @@ public class FleetManagerForUtilization extends FleetManager {
         if (agentId == 240902L && time == 1464800008L) {
             System.out.println("here");
         }
-        agentLastAppearTime.put(agentId, time);
+        int agent = agents.add(agentId);
+        agents.setLastAppearTime(agent, time);
 
-        LinkedList<Intersection> route = agentRoutes.getOrDefault(agentId, new LinkedList<>());
+        Route route = agents.route(agent);
 
         if (route.isEmpty()) {
-            route = planRoute(agentId, currentLoc);
-            agentRoutes.put(agentId, route);
+            planRoute(agentId, currentLoc, route);
         }
 
         Intersection nextLocation = route.poll();
         Road nextRoad = currentLoc.road.to.roadTo(nextLocation);
         LocationOnRoad locationOnRoad = LocationOnRoad.createFromRoadStart(nextRoad);
-        agentLastLocation.put(agentId, locationOnRoad);
+        agents.setLastLocation(agent, locationOnRoad);
+        locateAgent(agent);
         return nextLocation;
     }
 
@@ -200,75 +188,91 @@ public class FleetManagerForUtilization extends FleetManager {
     @Override
     public Intersection onReachIntersectionWithResource(long agentId, long time, LocationOnRoad currentLoc,
                                                         Resource resource) {
-        agentLastAppearTime.put(agentId, time);
+        int agent = agents.add(agentId);
+        agents.setLastAppearTime(agent, time);
 
-        LinkedList<Intersection> route = agentRoutes.getOrDefault(agentId, new LinkedList<>());
+        Route route = agents.route(agent);
 
         if (route.isEmpty()) {
-            route = planRouteToTarget(currentLoc, resource.dropOffLoc);
-            agentRoutes.put(agentId, route);
+            planRouteToTarget(currentLoc, resource.dropOffLoc, route);
         }
 
         Intersection nextLocation = route.poll();
         Road nextRoad = currentLoc.road.to.roadTo(nextLocation);
         LocationOnRoad locationOnRoad = LocationOnRoad.createFromRoadStart(nextRoad);
-        agentLastLocation.put(agentId, locationOnRoad);
+        agents.setLastLocation(agent, locationOnRoad);
         return nextLocation;
     }
 
+    /**
+     * Find the agent that can reach the resource the earliest: an available agent, or an agent that is busy
+     * with a single resource and can reach the resource after dropping it off. Busy agents are only chosen when
+     * they arrive strictly earlier than every available agent. The agent locators skip the agents that are too
+     * far away to arrive earlier than the best agent found so far.
+     * @param resource the resource
+     * @param currentTime the simulation time
+     * @return the agent, or null if no agent can reach the resource before it expires.
+     */
     Long getNearestAvailableAgent(Resource resource, long currentTime) {
-        long earliest = Long.MAX_VALUE;
-        Long bestAgent = null;
-        for (Long id : availableAgent) {
-            if (!agentLastLocation.containsKey(id)) continue;
-
-            LocationOnRoad curLoc = getCurrentLocation(
-                    agentLastAppearTime.get(id),
-                    agentLastLocation.get(id),
-                    currentTime);
-            // Warning: map.travelTimeBetween returns the travel time based on speed limits, not
-            // the dynamic travel time. Thus the travel time returned by map.travelTimeBetween may be different
-            // than the actual travel time.
-            long travelTime = (long)(travelTimeMultiplier * map.travelTimeBetween(curLoc, resource.pickupLoc));
-            long arriveTime = travelTime + currentTime;
-            if (arriveTime < earliest) {
-                bestAgent = id;
-                earliest = arriveTime;
-            }
-        }
-        for (Long id : unavailableAgent) {
-            if (!agentLastLocation.containsKey(id) || nextResourceAssignment.get(id) != null) continue;
+        AgentLocator.Nearest nearest = availableAgentLocator.nearest(resource.pickupLoc, travelTimeMultiplier,
+                Long.MAX_VALUE, id -> {
+                    int agent = agents.indexOf(id);
+                    LocationOnRoad curLoc = getCurrentLocation(
+                            agents.lastAppearTime(agent),
+                            agents.lastLocation(agent),
+                            currentTime);
+                    // Warning: map.travelTimeBetween returns the travel time based on speed limits, not
+                    // the dynamic travel time. Thus the travel time returned by map.travelTimeBetween may be different
+                    // than the actual travel time.
+                    return (long)(travelTimeMultiplier * map.travelTimeBetween(curLoc, resource.pickupLoc));
+                });
+        AgentLocator.Nearest nearestUnavailable = unavailableAgentLocator.nearest(resource.pickupLoc,
+                travelTimeMultiplier, nearest == null ? Long.MAX_VALUE : nearest.cost, id -> {
+                    int agent = agents.indexOf(id);
+                    if (agents.nextResource(agent) != null) return Long.MAX_VALUE;
 
-            LocationOnRoad curLoc = getCurrentLocation(
-                    agentLastAppearTime.get(id),
-                    agentLastLocation.get(id),
-                    currentTime);
-            // Warning: map.travelTimeBetween returns the travel time based on speed limits, not
-            // the dynamic travel time. Thus the travel time returned by map.travelTimeBetween may be different
-            // than the actual travel time.
-            long travelTime;
-            Resource res = resourceAssignment.get(id);
-            if (agentPickingUp.get(id)) {
-                travelTime = map.travelTimeBetween(curLoc, res.pickupLoc) + map.travelTimeBetween(res.pickupLoc, res.dropOffLoc) + map.travelTimeBetween(res.dropOffLoc, resource.pickupLoc);
-            } else {
-                travelTime = map.travelTimeBetween(curLoc, res.dropOffLoc) + map.travelTimeBetween(res.dropOffLoc, resource.pickupLoc);
-            }
-            travelTime = (long)(travelTimeMultiplier * travelTime);
-            long arriveTime = travelTime + currentTime;
-            if (arriveTime < earliest) {
-                bestAgent = id;
-                earliest = arriveTime;
-            }
+                    LocationOnRoad curLoc = getCurrentLocation(
+                            agents.lastAppearTime(agent),
+                            agents.lastLocation(agent),
+                            currentTime);
+                    long travelTime;
+                    Resource res = agents.resource(agent);
+                    if (agents.isPickingUp(agent)) {
+                        travelTime = map.travelTimeBetween(curLoc, res.pickupLoc) + map.travelTimeBetween(res.pickupLoc, res.dropOffLoc) + map.travelTimeBetween(res.dropOffLoc, resource.pickupLoc);
+                    } else {
+                        travelTime = map.travelTimeBetween(curLoc, res.dropOffLoc) + map.travelTimeBetween(res.dropOffLoc, resource.pickupLoc);
+                    }
+                    return (long)(travelTimeMultiplier * travelTime);
+                });
+        if (nearestUnavailable != null) {
+            nearest = nearestUnavailable;
         }
-        if (earliest <= resource.expirationTime) {
-            return bestAgent;
+        if (nearest != null && currentTime + nearest.cost <= resource.expirationTime) {
+            return nearest.agentId;
         } else {
             return null;
         }
     }
 
-    LinkedList<Intersection> planRoute(long agentId, LocationOnRoad currentLocation) {
-        Resource assignedRes = resourceAssignment.get(agentId);
+    /**
+     * Keep the agent locators in line with the state of an agent. An available agent is located by the road it
+     * is on, and an unavailable agent by the road where it drops off its resource, after which it can serve
+     * another resource.
+     * @param agent the index of the agent
+     */
+    private void locateAgent(int agent) {
+        long agentId = agents.id(agent);
+        if (availableAgents.contains(agent)) {
+            unavailableAgentLocator.remove(agentId);
+            availableAgentLocator.put(agentId, agents.lastLocation(agent).road);
+        } else {
+            availableAgentLocator.remove(agentId);
+            unavailableAgentLocator.put(agentId, agents.resource(agent).dropOffLoc.road);
+        }
+    }
+
+    void planRoute(long agentId, LocationOnRoad currentLocation, Route route) {
+        Resource assignedRes = agents.resource(agents.add(agentId));
 
         if (assignedRes != null) {
             Intersection sourceIntersection = currentLocation.road.to;
@@ -276,27 +280,22 @@ public class FleetManagerForUtilization extends FleetManager {
             if (sourceIntersection.id == destinationIntersection.id) {
                 destinationIntersection = assignedRes.pickupLoc.road.to;
             }
-            LinkedList<Intersection> shortestTravelTimePath = map.shortestTravelTimePath(sourceIntersection,
-                    destinationIntersection);
-            shortestTravelTimePath.poll(); // Ensure that route.get(0) != currentLocation.road.to.
-            return shortestTravelTimePath;
+            map.shortestTravelTimeRoute(sourceIntersection, destinationIntersection, route);
+            route.poll(); // Ensure that route.get(0) != currentLocation.road.to.
         } else {
-            return getRandomRoute(agentId, currentLocation);
+            getRandomRoute(agentId, currentLocation, route);
         }
     }
 
-    LinkedList<Intersection> planRouteToTarget(LocationOnRoad source, LocationOnRoad destination) {
+    void planRouteToTarget(LocationOnRoad source, LocationOnRoad destination, Route route) {
         Intersection sourceIntersection = source.road.to;
         Intersection destinationIntersection = destination.road.from;
-        LinkedList<Intersection> shortestTravelTimePath = map.shortestTravelTimePath(sourceIntersection,
-                destinationIntersection);
-        shortestTravelTimePath.poll(); // Ensure that route.get(0) != currentLocation.road.to.
-        return shortestTravelTimePath;
+        map.shortestTravelTimeRoute(sourceIntersection, destinationIntersection, route);
+        route.poll(); // Ensure that route.get(0) != currentLocation.road.to.
     }
 
-    LinkedList<Intersection> getRandomRoute(long agentId, LocationOnRoad currentLocation) {
-        Random random = agentRnd.getOrDefault(agentId, new Random(agentId));
-        agentRnd.put(agentId, random);
+    void getRandomRoute(long agentId, LocationOnRoad currentLocation, Route route) {
+        Random random = agents.random(agents.add(agentId));
 
         Intersection sourceIntersection = currentLocation.road.to;
         Intersection destinationIntersection = weighting.getRandomIntersection();
@@ -317,13 +316,15 @@ public class FleetManagerForUtilization extends FleetManager {
             destinationIntersection = roadsFrom[random.nextInt(roadsFrom.length)].to;
         }
 
-        LinkedList<Intersection> shortestTravelTimePath = map.shortestTravelTimePath(sourceIntersection, destinationIntersection);
-        shortestTravelTimePath.poll(); // Ensure that route.get(0) != currentLocation.road.to.
-        return shortestTravelTimePath;
+        map.shortestTravelTimeRoute(sourceIntersection, destinationIntersection, route);
+        route.poll(); // Ensure that route.get(0) != currentLocation.road.to.
     }
 
     public FleetManagerForUtilization(CityMap map) {
         super(map);
         weighting = new Weighting(map.intersections());
+        availableAgentLocator = new AgentLocator(map);
+        unavailableAgentLocator = new AgentLocator(map);
+        waitingResources = new ResourceLocator(map);
     }
 }
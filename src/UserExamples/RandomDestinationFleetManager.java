@@ -5,15 +5,13 @@ import COMSETsystem.*;
 import java.util.*;
 
 public class RandomDestinationFleetManager extends FleetManager {
-    private final Map<Long, Long> agentLastAppearTime = new HashMap<>();
-    private final Map<Long, LocationOnRoad> agentLastLocation = new HashMap<>();
-    private final Map<Long, Resource> resourceAssignment = new HashMap<>();
     private final Set<Resource> waitingResources = new TreeSet<>(Comparator.comparingLong((Resource r) -> r.id));
-    private final Set<Long> availableAgent = new TreeSet<>(Comparator.comparingLong((Long id) -> id));
-    private final Map<Long, Random> agentRnd = new HashMap<>();
+    private final AgentStore.IndexSet availableAgents = new AgentStore.IndexSet();
+    // the available agents by the end of the road they are on
+    private final AgentsByIntersection availableAgentsByIntersection = new AgentsByIntersection();
+    private final ReachableIntersections reachable = new ReachableIntersections();
 
-
-    Map<Long, LinkedList<Intersection>> agentRoutes = new HashMap<>();
+    final AgentStore agents = new AgentStore();
 
     /**
      * The simulation calls onAgentIntroduced to notify the **FleetManager** that a new agent has been randomly
@@ -24,9 +22,11 @@ public class RandomDestinationFleetManager extends FleetManager {
      */
     @Override
     public void onAgentIntroduced(long agentId, LocationOnRoad currentLoc, long time) {
-        agentLastAppearTime.put(agentId, time);
-        agentLastLocation.put(agentId, currentLoc);
-        availableAgent.add(agentId);
+        int agent = agents.add(agentId);
+        agents.setLastAppearTime(agent, time);
+        agents.setLastLocation(agent, currentLoc);
+        availableAgents.add(agent);
+        locateAgent(agent);
     }
 
     /**
@@ -52,14 +52,17 @@ public class RandomDestinationFleetManager extends FleetManager {
         if (state == ResourceState.AVAILABLE) {
             Long assignedAgent = getNearestAvailableAgent(resource, time);
             if (assignedAgent != null) {
-                resourceAssignment.put(assignedAgent, resource);
-                agentRoutes.put(assignedAgent, new LinkedList<>());
-                availableAgent.remove(assignedAgent);
+                int agent = agents.add(assignedAgent);
+                agents.setResource(agent, resource);
+                agents.clearRoute(agent);
+                availableAgents.remove(agent);
+                locateAgent(agent);
                 action = AgentAction.assignTo(assignedAgent, resource.id);
             } else {
                 waitingResources.add(resource);
             }
         } else if (state == ResourceState.DROPPED_OFF) {
+            int agent = agents.add(resource.assignedAgentId);
             Resource bestResource =  null;
             long earliest = Long.MAX_VALUE;
             for (Resource res : waitingResources) {
@@ -83,21 +86,24 @@ public class RandomDestinationFleetManager extends FleetManager {
                 waitingResources.remove(bestResource);
                 action = AgentAction.assignTo(resource.assignedAgentId, bestResource.id);
             } else {
-                availableAgent.add(resource.assignedAgentId);
+                availableAgents.add(agent);
                 action = AgentAction.doNothing();
             }
-            resourceAssignment.put(resource.assignedAgentId, bestResource);
-            agentLastLocation.put(resource.assignedAgentId, currentLoc);
-            agentLastAppearTime.put(resource.assignedAgentId, time);
+            agents.setResource(agent, bestResource);
+            agents.setLastLocation(agent, currentLoc);
+            agents.setLastAppearTime(agent, time);
+            locateAgent(agent);
         } else if (state == ResourceState.EXPIRED) {
             waitingResources.remove(resource);
             if (resource.assignedAgentId != -1) {
-                agentRoutes.put(resource.assignedAgentId, new LinkedList<>());
-                availableAgent.add(resource.assignedAgentId);
-                resourceAssignment.remove(resource.assignedAgentId);
+                int agent = agents.add(resource.assignedAgentId);
+                agents.clearRoute(agent);
+                availableAgents.add(agent);
+                agents.setResource(agent, null);
+                locateAgent(agent);
             }
         } else if (state == ResourceState.PICKED_UP) {
-            agentRoutes.put(resource.assignedAgentId, new LinkedList<>());
+            agents.clearRoute(agents.add(resource.assignedAgentId));
         }
 
         return action;
@@ -119,19 +125,20 @@ public class RandomDestinationFleetManager extends FleetManager {
         if (agentId == 240902L && time == 1464800008L) {
             System.out.println("here");
         }
-        agentLastAppearTime.put(agentId, time);
+        int agent = agents.add(agentId);
+        agents.setLastAppearTime(agent, time);
 
-        LinkedList<Intersection> route = agentRoutes.getOrDefault(agentId, new LinkedList<>());
+        Route route = agents.route(agent);
 
         if (route.isEmpty()) {
-            route = planRoute(agentId, currentLoc);
-            agentRoutes.put(agentId, route);
+            planRoute(agentId, currentLoc, route);
         }
 
         Intersection nextLocation = route.poll();
         Road nextRoad = currentLoc.road.to.roadTo(nextLocation);
         LocationOnRoad locationOnRoad = LocationOnRoad.createFromRoadStart(nextRoad);
-        agentLastLocation.put(agentId, locationOnRoad);
+        agents.setLastLocation(agent, locationOnRoad);
+        locateAgent(agent);
         return nextLocation;
     }
 
@@ -147,42 +154,68 @@ public class RandomDestinationFleetManager extends FleetManager {
     @Override
     public Intersection onReachIntersectionWithResource(long agentId, long time, LocationOnRoad currentLoc,
                                                         Resource resource) {
-        agentLastAppearTime.put(agentId, time);
+        int agent = agents.add(agentId);
+        agents.setLastAppearTime(agent, time);
 
-        LinkedList<Intersection> route = agentRoutes.getOrDefault(agentId, new LinkedList<>());
+        Route route = agents.route(agent);
 
         if (route.isEmpty()) {
-            route = planRouteToTarget(resource.pickupLoc, resource.dropOffLoc);
-            agentRoutes.put(agentId, route);
+            planRouteToTarget(resource.pickupLoc, resource.dropOffLoc, route);
         }
 
         Intersection nextLocation = route.poll();
         Road nextRoad = currentLoc.road.to.roadTo(nextLocation);
         LocationOnRoad locationOnRoad = LocationOnRoad.createFromRoadStart(nextRoad);
-        agentLastLocation.put(agentId, locationOnRoad);
+        agents.setLastLocation(agent, locationOnRoad);
         return nextLocation;
     }
 
+    /**
+     * Find the available agent that can reach the resource the earliest, the agent of the smallest id among those
+     * that arrive the earliest. The intersections from which the resource can be reached before it expires are
+     * searched from the closest one, and only the agents on the roads that end at them are considered, until the
+     * intersections are too far for an agent to arrive before the earliest one found so far. When few agents are
+     * available the search may reach more intersections than there are agents, and then all the agents are
+     * considered instead.
+     * @param resource the resource
+     * @param currentTime the simulation time
+     * @return the agent, or null if no agent can reach the resource before it expires.
+     */
     Long getNearestAvailableAgent(Resource resource, long currentTime) {
-        long earliest = Long.MAX_VALUE;
-        Long bestAgent = null;
-        for (Long id : availableAgent) {
-            if (!agentLastLocation.containsKey(id)) continue;
-
-            LocationOnRoad curLoc = getCurrentLocation(
-                    agentLastAppearTime.get(id),
-                    agentLastLocation.get(id),
-                    currentTime);
-            // Warning: map.travelTimeBetween returns the travel time based on speed limits, not
-            // the dynamic travel time. Thus the travel time returned by map.travelTimeBetween may be different
-            // than the actual travel time.
-            long travelTime = map.travelTimeBetween(curLoc, resource.pickupLoc);
-            long arriveTime = travelTime + currentTime;
-            if (arriveTime < earliest) {
-                bestAgent = id;
-                earliest = arriveTime;
+        LocationOnRoad pickupLoc = resource.pickupLoc;
+        // Two time units more than the time left cover the rounding of the travel times and their summing in the
+        // other direction.
+        long maxTravelTime = resource.expirationTime - currentTime - pickupLoc.getStaticTravelTimeOnRoad() + 2;
+        map.startIntersectionsReaching(pickupLoc.road.from, maxTravelTime, reachable);
+
+        // The agents on the road of the resource may be ahead of the resource on the road, so those on the roads
+        // that end where it does are considered first.
+        long[] best = {Long.MAX_VALUE, -1};
+        for (int k = 0; k < availableAgentsByIntersection.count(pickupLoc.road.to); k++) {
+            considerAgent(availableAgentsByIntersection.get(pickupLoc.road.to, k), resource, currentTime, best);
+        }
+        while (reachable.next()) {
+            if (reachable.size() > availableAgents.size()) {
+                for (int position = 0; position < availableAgents.size(); position++) {
+                    considerAgent(availableAgents.get(position), resource, currentTime, best);
+                }
+                break;
+            }
+            int i = reachable.size() - 1;
+            // An agent on a road that ends at the intersection arrives no earlier than this, less the rounding.
+            double leastArriveTime = currentTime + reachable.travelTime(i) + pickupLoc.getStaticTravelTimeOnRoad();
+            if (leastArriveTime - 1 > best[0]) {
+                break;
+            }
+            Intersection intersection = reachable.get(i);
+            if (intersection != pickupLoc.road.to) {
+                for (int k = 0; k < availableAgentsByIntersection.count(intersection); k++) {
+                    considerAgent(availableAgentsByIntersection.get(intersection, k), resource, currentTime, best);
+                }
             }
         }
+        long earliest = best[0];
+        Long bestAgent = best[1] == -1 ? null : agents.id((int) best[1]);
 
         if (earliest <= resource.expirationTime) {
             return bestAgent;
@@ -191,33 +224,64 @@ public class RandomDestinationFleetManager extends FleetManager {
         }
     }
 
-    LinkedList<Intersection> planRoute(long agentId, LocationOnRoad currentLocation) {
-        Resource assignedRes = resourceAssignment.get(agentId);
+    /**
+     * Update the earliest arrival at a resource with an agent.
+     * @param best the earliest arrival time and the index of the agent, updated in place
+     */
+    private void considerAgent(int agent, Resource resource, long currentTime, long[] best) {
+        if (agents.lastLocation(agent) == null) return;
+
+        long id = agents.id(agent);
+        LocationOnRoad curLoc = getCurrentLocation(
+                agents.lastAppearTime(agent),
+                agents.lastLocation(agent),
+                currentTime);
+        // Warning: map.travelTimeBetween returns the travel time based on speed limits, not
+        // the dynamic travel time. Thus the travel time returned by map.travelTimeBetween may be different
+        // than the actual travel time.
+        long travelTime = map.travelTimeBetween(curLoc, resource.pickupLoc);
+        long arriveTime = travelTime + currentTime;
+        // the agent of the smallest id among those that arrive the earliest
+        if (arriveTime < best[0] || (arriveTime == best[0] && best[1] != -1 && id < agents.id((int) best[1]))) {
+            best[0] = arriveTime;
+            best[1] = agent;
+        }
+    }
+
+    /**
+     * Keep the index of the available agents in line with the state of an agent.
+     * @param agent the index of the agent
+     */
+    private void locateAgent(int agent) {
+        if (availableAgents.contains(agent) && agents.lastLocation(agent) != null) {
+            availableAgentsByIntersection.put(agent, agents.lastLocation(agent).road.to);
+        } else {
+            availableAgentsByIntersection.remove(agent);
+        }
+    }
+
+    void planRoute(long agentId, LocationOnRoad currentLocation, Route route) {
+        Resource assignedRes = agents.resource(agents.add(agentId));
 
         if (assignedRes != null) {
             Intersection sourceIntersection = currentLocation.road.to;
             Intersection destinationIntersection = assignedRes.pickupLoc.road.from;
-            LinkedList<Intersection> shortestTravelTimePath = map.shortestTravelTimePath(sourceIntersection,
-                    destinationIntersection);
-            shortestTravelTimePath.poll(); // Ensure that route.get(0) != currentLocation.road.to.
-            return shortestTravelTimePath;
+            map.shortestTravelTimeRoute(sourceIntersection, destinationIntersection, route);
+            route.poll(); // Ensure that route.get(0) != currentLocation.road.to.
         } else {
-            return getRandomRoute(agentId, currentLocation);
+            getRandomRoute(agentId, currentLocation, route);
         }
     }
 
-    LinkedList<Intersection> planRouteToTarget(LocationOnRoad source, LocationOnRoad destination) {
+    void planRouteToTarget(LocationOnRoad source, LocationOnRoad destination, Route route) {
         Intersection sourceIntersection = source.road.to;
         Intersection destinationIntersection = destination.road.from;
-        LinkedList<Intersection> shortestTravelTimePath = map.shortestTravelTimePath(sourceIntersection,
-                destinationIntersection);
-        shortestTravelTimePath.poll(); // Ensure that route.get(0) != currentLocation.road.to.
-        return shortestTravelTimePath;
+        map.shortestTravelTimeRoute(sourceIntersection, destinationIntersection, route);
+        route.poll(); // Ensure that route.get(0) != currentLocation.road.to.
     }
 
-    LinkedList<Intersection> getRandomRoute(long agentId, LocationOnRoad currentLocation) {
-        Random random = agentRnd.getOrDefault(agentId, new Random(agentId));
-        agentRnd.put(agentId, random);
+    void getRandomRoute(long agentId, LocationOnRoad currentLocation, Route route) {
+        Random random = agents.random(agents.add(agentId));
 
         Intersection sourceIntersection = currentLocation.road.to;
         int destinationIndex = random.nextInt(map.intersections().size());
@@ -231,10 +295,8 @@ public class RandomDestinationFleetManager extends FleetManager {
                     sourceIntersection.roadsMapFrom.values().toArray(new Road[0]);
             destinationIntersection = roadsFrom[0].to;
         }
-        LinkedList<Intersection> shortestTravelTimePath = map.shortestTravelTimePath(sourceIntersection,
-                destinationIntersection);
-        shortestTravelTimePath.poll(); // Ensure that route.get(0) != currentLocation.road.to.
-        return shortestTravelTimePath;
+        map.shortestTravelTimeRoute(sourceIntersection, destinationIntersection, route);
+        route.poll(); // Ensure that route.get(0) != currentLocation.road.to.
     }
 
     public RandomDestinationFleetManager(CityMap map) {
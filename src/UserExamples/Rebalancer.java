@@ -0,0 +1,241 @@
+package UserExamples;
+
+import COMSETsystem.*;
+
+import java.util.*;
+
+/**
+ * Moves idle agents toward the forecast demand. The map is divided into square zones; at each rebalancing, the
+ * idle agents of the whole fleet are shared among the zones in proportion to the demand forecast in each zone,
+ * and the agents in excess in some zones are sent to the zones that lack agents, so that the total travel time
+ * is least (see TransportationSolver). Zones farther apart than a maximum travel time are not paired, so an
+ * agent is never sent across the whole map for a small gain.
+ *
+ * The travel times between zones are computed once, between the intersections closest to the centers of the
+ * zones. An agent that is sent to a zone goes to the intersection of the zone with the highest forecast rate.
+ */
+public class Rebalancer {
+
+    /**
+     * An idle agent and the intersection it will be at, e.g., the end of the road it is on, or the target of a
+     * previous rebalancing.
+     */
+    public static final class IdleAgent {
+        public final long agentId;
+        public final Intersection intersection;
+
+        public IdleAgent(long agentId, Intersection intersection) {
+            this.agentId = agentId;
+            this.intersection = intersection;
+        }
+    }
+
+    private final CityMap map;
+    private final long maxTravelTime;
+
+    // the zone of each intersection, by path table index
+    private final int[] zoneOf;
+    // the intersections of each zone
+    private final Intersection[][] zoneIntersections;
+    // travelTimes[u][v] is the travel time between the centers of zones u and v
+    private final long[][] travelTimes;
+
+    /**
+     * @param map the map
+     * @param zonesPerSide the number of zones along the longer side of the map
+     * @param maxTravelTime the longest travel time in seconds between the zones an agent may be sent from and to
+     */
+    public Rebalancer(CityMap map, int zonesPerSide, long maxTravelTime) {
+        this.map = map;
+        this.maxTravelTime = maxTravelTime * Configuration.timeResolution;
+
+        double minX = Double.MAX_VALUE;
+        double minY = Double.MAX_VALUE;
+        double maxX = -Double.MAX_VALUE;
+        double maxY = -Double.MAX_VALUE;
+        for (Intersection intersection : map.intersections().values()) {
+            minX = Math.min(minX, intersection.getX());
+            minY = Math.min(minY, intersection.getY());
+            maxX = Math.max(maxX, intersection.getX());
+            maxY = Math.max(maxY, intersection.getY());
+        }
+        double zoneSize = Math.max(Math.max(maxX - minX, maxY - minY) / zonesPerSide, 1.0);
+        int columns = (int) ((maxX - minX) / zoneSize) + 1;
+
+        // number the cells that hold intersections
+        Map<Integer, Integer> zoneOfCell = new TreeMap<>();
+        Map<Integer, List<Intersection>> intersectionsOfZone = new HashMap<>();
+        zoneOf = new int[map.intersections().size()];
+        for (Intersection intersection : map.intersections().values()) {
+            int cell = (int) ((intersection.getY() - minY) / zoneSize) * columns
+                    + (int) ((intersection.getX() - minX) / zoneSize);
+            int zone = zoneOfCell.computeIfAbsent(cell, c -> zoneOfCell.size());
+            zoneOf[intersection.pathTableIndex] = zone;
+            intersectionsOfZone.computeIfAbsent(zone, z -> new ArrayList<>()).add(intersection);
+        }
+        int zones = zoneOfCell.size();
+        zoneIntersections = new Intersection[zones][];
+        Intersection[] centers = new Intersection[zones];
+        for (int zone = 0; zone < zones; zone++) {
+            List<Intersection> intersections = intersectionsOfZone.get(zone);
+            zoneIntersections[zone] = intersections.toArray(new Intersection[0]);
+            double x = 0;
+            double y = 0;
+            for (Intersection intersection : intersections) {
+                x += intersection.getX();
+                y += intersection.getY();
+            }
+            x /= intersections.size();
+            y /= intersections.size();
+            for (Intersection intersection : intersections) {
+                if (centers[zone] == null || intersection.xy.distance(x, y) < centers[zone].xy.distance(x, y)) {
+                    centers[zone] = intersection;
+                }
+            }
+        }
+        travelTimes = new long[zones][zones];
+        for (int u = 0; u < zones; u++) {
+            for (int v = 0; v < zones; v++) {
+                travelTimes[u][v] = Math.round(map.travelTimeBetween(centers[u], centers[v]));
+            }
+        }
+    }
+
+    /**
+     * @return the number of zones that hold intersections
+     */
+    public int zones() {
+        return zoneIntersections.length;
+    }
+
+    /**
+     * Find which idle agents to send to which intersections.
+     *
+     * @param time the simulation time
+     * @param idleAgents the idle agents
+     * @param forecaster the forecast demand
+     * @return the intersection each agent that moves to another zone is sent to
+     */
+    public Map<Long, Intersection> rebalance(long time, Collection<IdleAgent> idleAgents,
+                                             DemandForecaster forecaster) {
+        Map<Long, Intersection> moves = new HashMap<>();
+        int zones = zoneIntersections.length;
+        double totalRate = forecaster.totalRate(time);
+        if (idleAgents.isEmpty() || totalRate <= 0) {
+            return moves;
+        }
+
+        // the forecast demand of each zone, and the intersection of each zone with the highest rate
+        double[] zoneRates = new double[zones];
+        Intersection[] targets = new Intersection[zones];
+        double[] targetRates = new double[zones];
+        for (int zone = 0; zone < zones; zone++) {
+            for (Intersection intersection : zoneIntersections[zone]) {
+                double rate = forecaster.rate(intersection, time);
+                zoneRates[zone] += rate;
+                if (targets[zone] == null || rate > targetRates[zone]) {
+                    targets[zone] = intersection;
+                    targetRates[zone] = rate;
+                }
+            }
+        }
+
+        // the idle agents of each zone
+        List<List<IdleAgent>> zoneAgents = new ArrayList<>();
+        for (int zone = 0; zone < zones; zone++) {
+            zoneAgents.add(new ArrayList<>());
+        }
+        for (IdleAgent agent : idleAgents) {
+            zoneAgents.get(zoneOf[agent.intersection.pathTableIndex]).add(agent);
+        }
+
+        // share the agents among the zones by the largest remainder method
+        int[] shares = new int[zones];
+        double[] remainders = new double[zones];
+        int shared = 0;
+        double rateSum = 0;
+        for (double rate : zoneRates) {
+            rateSum += rate;
+        }
+        for (int zone = 0; zone < zones; zone++) {
+            double share = idleAgents.size() * zoneRates[zone] / rateSum;
+            shares[zone] = (int) share;
+            remainders[zone] = share - shares[zone];
+            shared += shares[zone];
+        }
+        Integer[] byRemainder = new Integer[zones];
+        for (int zone = 0; zone < zones; zone++) {
+            byRemainder[zone] = zone;
+        }
+        Arrays.sort(byRemainder, Comparator.comparingDouble((Integer zone) -> -remainders[zone]));
+        for (int k = 0; shared < idleAgents.size(); k++) {
+            shares[byRemainder[k]]++;
+            shared++;
+        }
+
+        // the zones with agents in excess send to the zones that lack agents
+        List<Integer> sources = new ArrayList<>();
+        List<Integer> sinks = new ArrayList<>();
+        for (int zone = 0; zone < zones; zone++) {
+            int excess = zoneAgents.get(zone).size() - shares[zone];
+            if (excess > 0) {
+                sources.add(zone);
+            } else if (excess < 0) {
+                sinks.add(zone);
+            }
+        }
+        if (sources.isEmpty() || sinks.isEmpty()) {
+            return moves;
+        }
+        int[] supply = new int[sources.size()];
+        int[] demand = new int[sinks.size()];
+        long[][] cost = new long[sources.size()][sinks.size()];
+        for (int i = 0; i < supply.length; i++) {
+            int u = sources.get(i);
+            supply[i] = zoneAgents.get(u).size() - shares[u];
+            for (int j = 0; j < demand.length; j++) {
+                long travelTime = travelTimes[u][sinks.get(j)];
+                cost[i][j] = travelTime <= maxTravelTime ? travelTime : TransportationSolver.NO_ROUTE;
+            }
+        }
+        for (int j = 0; j < demand.length; j++) {
+            demand[j] = shares[sinks.get(j)] - zoneAgents.get(sinks.get(j)).size();
+        }
+        int[][] flow = TransportationSolver.solve(supply, demand, cost);
+
+        // send the agents of each source zone that are the closest to the targets, the nearest targets first
+        for (int i = 0; i < supply.length; i++) {
+            List<IdleAgent> agents = new ArrayList<>(zoneAgents.get(sources.get(i)));
+            Integer[] sinksByCost = new Integer[demand.length];
+            for (int j = 0; j < demand.length; j++) {
+                sinksByCost[j] = j;
+            }
+            final int source = i;
+            Arrays.sort(sinksByCost, Comparator.comparingLong((Integer j) -> cost[source][j]));
+            for (int j : sinksByCost) {
+                if (flow[i][j] == 0) {
+                    continue;
+                }
+                Intersection target = targets[sinks.get(j)];
+                double[] travelTimesToTarget = new double[agents.size()];
+                Integer[] byTravelTime = new Integer[agents.size()];
+                for (int a = 0; a < agents.size(); a++) {
+                    travelTimesToTarget[a] = map.travelTimeBetween(agents.get(a).intersection, target);
+                    byTravelTime[a] = a;
+                }
+                Arrays.sort(byTravelTime, Comparator.comparingDouble((Integer a) -> travelTimesToTarget[a]));
+                List<IdleAgent> remainingAgents = new ArrayList<>();
+                for (int k = 0; k < byTravelTime.length; k++) {
+                    IdleAgent agent = agents.get(byTravelTime[k]);
+                    if (k < flow[i][j]) {
+                        moves.put(agent.agentId, target);
+                    } else {
+                        remainingAgents.add(agent);
+                    }
+                }
+                agents = remainingAgents;
+            }
+        }
+        return moves;
+    }
+}
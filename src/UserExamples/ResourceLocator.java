@@ -0,0 +1,214 @@
+package UserExamples;
+
+import COMSETsystem.*;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A spatial index of the resources waiting for an agent, to find the resource an agent can reach the earliest
+ * when it drops off a resource. Each resource is kept in a grid cell according to the start of the road of its
+ * pickup location, and each cell keeps an upper bound of the expiration times of its resources, so that a query
+ * skips the cells that are too far away to hold a resource reachable earlier than the best one found so far, or
+ * before the resources expire.
+ *
+ * Expired resources are dropped lazily when a query comes across them, so a fleet manager may still remove them
+ * when it is notified of their expiration.
+ */
+public class ResourceLocator {
+
+    private static final class Entry extends RoadGrid.Entry {
+        final Resource resource;
+        // travel time from the start of the road of the pickup location to the pickup location
+        final double lastTravelTime;
+
+        Entry(Resource resource) {
+            this.resource = resource;
+            this.lastTravelTime = LocationOnRoad.createFromRoadStart(resource.pickupLoc.road)
+                    .getDisplacementOnRoad(resource.pickupLoc) / resource.pickupLoc.road.speed;
+        }
+    }
+
+    private final CityMap map;
+    private final Map<Long, Entry> entries = new HashMap<>();
+
+    // built the first time a resource is added, so that a locator can be made for a map that is not complete yet
+    private RoadGrid<Entry> grid;
+    // upper bounds of the expiration times of the resources in each cell, and in all the cells
+    private long[] cellMaxExpiration;
+    private long maxExpiration = Long.MIN_VALUE;
+
+    public ResourceLocator(CityMap map) {
+        this.map = map;
+    }
+
+    /**
+     * Add a resource; nothing happens if the resource is in the locator already.
+     *
+     * @param resource the resource
+     */
+    public void add(Resource resource) {
+        if (grid == null) {
+            grid = new RoadGrid<>(map);
+            cellMaxExpiration = new long[grid.cellCount()];
+            Arrays.fill(cellMaxExpiration, Long.MIN_VALUE);
+        }
+        if (entries.containsKey(resource.id)) {
+            return;
+        }
+        Entry entry = new Entry(resource);
+        entries.put(resource.id, entry);
+        grid.add(entry, resource.pickupLoc.road.from);
+        cellMaxExpiration[entry.cell] = Math.max(cellMaxExpiration[entry.cell], resource.expirationTime);
+        maxExpiration = Math.max(maxExpiration, resource.expirationTime);
+    }
+
+    /**
+     * Remove a resource; nothing happens if the resource is not in the locator, e.g., because it has been
+     * dropped after its expiration.
+     *
+     * @param resource the resource
+     */
+    public void remove(Resource resource) {
+        Entry entry = entries.remove(resource.id);
+        if (entry != null) {
+            grid.remove(entry);
+        }
+        if (entries.isEmpty()) {
+            maxExpiration = Long.MIN_VALUE;
+        }
+    }
+
+    /**
+     * @return the number of resources in the locator, including the expired ones that have not been dropped yet
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Find the resource that an agent reaches the earliest before the resource expires, the travel time being
+     * (long) (travelTimeMultiplier * map.travelTimeBetween(source, resource.pickupLoc)). Ties are broken in
+     * favor of the smallest resource id, so the resource is exactly the one a scan of all the resources in
+     * ascending id order would find.
+     *
+     * @param source the location of the agent
+     * @param time the current time; resources that expired before it are dropped
+     * @param travelTimeMultiplier the factor applied to the travel times, at least 0
+     * @return the resource reachable the earliest, or null if no resource is reachable before it expires
+     */
+    public Resource earliestReachable(LocationOnRoad source, long time, double travelTimeMultiplier) {
+        if (entries.isEmpty()) {
+            return null;
+        }
+        if (maxExpiration < time) {
+            // all the resources expired
+            for (Entry entry : entries.values()) {
+                grid.remove(entry);
+            }
+            entries.clear();
+            maxExpiration = Long.MIN_VALUE;
+            return null;
+        }
+        Search search = new Search(source, time, travelTimeMultiplier);
+
+        // The resources on the road of the agent may be just ahead of it: they get no lower bound.
+        search.visit(search.sourceStartCell);
+
+        // Then visit the cells ring by ring around the end of the road of the agent, until the cells of a ring
+        // are too far away to hold a resource reachable earlier than the best one, or before any expiration.
+        grid.visitCells(source.road.to, search.sourceStartCell, search);
+        if (entries.isEmpty()) {
+            maxExpiration = Long.MIN_VALUE;
+        }
+        return search.best == null ? null : search.best.resource;
+    }
+
+    /**
+     * The state of a query.
+     */
+    private final class Search implements RoadGrid.CellVisitor {
+        final LocationOnRoad source;
+        // the cell that holds the resources on the road of the agent
+        final int sourceStartCell;
+        final long time;
+        final double travelTimeMultiplier;
+        // the end of the road of the agent
+        final double x, y;
+        // travel time from the agent to the end of its road
+        final double firstTravelTime;
+
+        Entry best;
+        long bestArriveTime = Long.MAX_VALUE;
+
+        Search(LocationOnRoad source, long time, double travelTimeMultiplier) {
+            this.source = source;
+            this.sourceStartCell = grid.cellOf(source.road.from);
+            this.time = time;
+            this.travelTimeMultiplier = travelTimeMultiplier;
+            this.x = source.road.to.getX();
+            this.y = source.road.to.getY();
+            this.firstTravelTime = source.getDisplacementOnRoad(LocationOnRoad.createFromRoadEnd(source.road))
+                    / source.road.speed;
+        }
+
+        /**
+         * @return a lower bound of the arrival time at the resources whose road starts at least distance away
+         * from the end of the road of the agent, and that are lastTravelTime away from the start of their road
+         */
+        long arriveTimeBound(double distance, double lastTravelTime) {
+            return time + (long) (travelTimeMultiplier
+                    * Math.round(firstTravelTime + distance * grid.minTravelTimePerMeter + lastTravelTime));
+        }
+
+        /**
+         * @return the latest arrival time of a resource that would replace the best one
+         */
+        long limit(long expiration) {
+            return Math.min(expiration, bestArriveTime);
+        }
+
+        @Override
+        public boolean isWorthVisiting(double minimumDistance) {
+            return arriveTimeBound(minimumDistance, 0) <= limit(maxExpiration);
+        }
+
+        @Override
+        public void visit(int cell) {
+            if (cell != sourceStartCell && arriveTimeBound(0, 0) > limit(cellMaxExpiration[cell])) {
+                return;
+            }
+            long cellMax = Long.MIN_VALUE;
+            int i = 0;
+            while (i < grid.size(cell)) {
+                Entry entry = grid.get(cell, i);
+                Resource resource = entry.resource;
+                if (resource.expirationTime < time) {
+                    // the last entry of the cell takes the slot of the dropped one
+                    entries.remove(resource.id);
+                    grid.remove(entry);
+                    continue;
+                }
+                i++;
+                cellMax = Math.max(cellMax, resource.expirationTime);
+                if (resource.pickupLoc.road != source.road && arriveTimeBound(
+                        resource.pickupLoc.road.from.xy.distance(x, y), entry.lastTravelTime)
+                        > limit(resource.expirationTime)) {
+                    continue;
+                }
+                // Warning: map.travelTimeBetween returns the travel time based on speed limits, not
+                // the dynamic travel time. Thus the travel time returned by map.travelTimeBetween may be different
+                // than the actual travel time.
+                long arriveTime = time
+                        + (long) (travelTimeMultiplier * map.travelTimeBetween(source, resource.pickupLoc));
+                if (arriveTime <= resource.expirationTime && (arriveTime < bestArriveTime
+                        || arriveTime == bestArriveTime && resource.id < best.resource.id)) {
+                    bestArriveTime = arriveTime;
+                    best = entry;
+                }
+            }
+            cellMaxExpiration[cell] = cellMax;
+        }
+    }
+}
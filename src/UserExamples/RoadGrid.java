@@ -0,0 +1,175 @@
+package UserExamples;
+
+import COMSETsystem.*;
+
+import java.util.Arrays;
+
+/**
+ * A grid over the intersections of a map, whose cells hold entries located at intersections. It is shared by
+ * the agent and resource locators, along with a lower bound of travel times: the straight line distance times
+ * the smallest travel time per meter of the roads of the map. A path is at least as long as the straight line
+ * between its ends, so the bound never exceeds the pre-computed travel time between two intersections.
+ *
+ * @param <E> the type of the entries
+ */
+class RoadGrid<E extends RoadGrid.Entry> {
+
+    // number of grid cells along the longer side of the map
+    static final int CELLS_PER_SIDE = 64;
+
+    /**
+     * An entry of the grid; subclasses add what is located.
+     */
+    static class Entry {
+        int cell;
+        int slot;
+    }
+
+    /**
+     * Decides which cells a search visits.
+     */
+    interface CellVisitor {
+        /**
+         * @param minimumDistance the distance from the center of the search to the nearest point of some cells
+         * @return whether the cells that are at least minimumDistance away may hold an entry of interest
+         */
+        boolean isWorthVisiting(double minimumDistance);
+
+        void visit(int cell);
+    }
+
+    // smallest travel time per meter of straight line distance over all the roads
+    final double minTravelTimePerMeter;
+
+    private final double minX, minY, cellSize;
+    private final int columns, rows;
+    private final Entry[][] cells;
+    private final int[] cellSizes;
+
+    RoadGrid(CityMap map) {
+        double minX = Double.MAX_VALUE;
+        double minY = Double.MAX_VALUE;
+        double maxX = -Double.MAX_VALUE;
+        double maxY = -Double.MAX_VALUE;
+        for (Intersection intersection : map.intersections().values()) {
+            minX = Math.min(minX, intersection.getX());
+            minY = Math.min(minY, intersection.getY());
+            maxX = Math.max(maxX, intersection.getX());
+            maxY = Math.max(maxY, intersection.getY());
+        }
+        this.minX = minX;
+        this.minY = minY;
+        cellSize = Math.max(Math.max(maxX - minX, maxY - minY) / CELLS_PER_SIDE, 1.0);
+        columns = (int) ((maxX - minX) / cellSize) + 1;
+        rows = (int) ((maxY - minY) / cellSize) + 1;
+        cells = new Entry[columns * rows][];
+        cellSizes = new int[columns * rows];
+
+        double minTravelTimePerMeter = Double.MAX_VALUE;
+        for (Road road : map.roads()) {
+            double distance = road.from.xy.distance(road.to.xy);
+            if (distance > 0) {
+                minTravelTimePerMeter = Math.min(minTravelTimePerMeter, road.travelTime / distance);
+            }
+        }
+        // leave room for the rounding errors of the travel times summed up along paths
+        this.minTravelTimePerMeter = minTravelTimePerMeter * (1 - 1e-9);
+    }
+
+    private int column(double x) {
+        return Math.min(Math.max((int) ((x - minX) / cellSize), 0), columns - 1);
+    }
+
+    private int row(double y) {
+        return Math.min(Math.max((int) ((y - minY) / cellSize), 0), rows - 1);
+    }
+
+    int cellOf(Intersection intersection) {
+        return row(intersection.getY()) * columns + column(intersection.getX());
+    }
+
+    void add(E entry, Intersection intersection) {
+        entry.cell = cellOf(intersection);
+        Entry[] cell = cells[entry.cell];
+        int size = cellSizes[entry.cell];
+        if (cell == null) {
+            cell = cells[entry.cell] = new Entry[4];
+        } else if (size == cell.length) {
+            cell = cells[entry.cell] = Arrays.copyOf(cell, 2 * size);
+        }
+        entry.slot = size;
+        cell[size] = entry;
+        cellSizes[entry.cell] = size + 1;
+    }
+
+    /**
+     * Remove an entry. The last entry of its cell takes its slot.
+     */
+    void remove(E entry) {
+        Entry[] cell = cells[entry.cell];
+        int last = --cellSizes[entry.cell];
+        cell[entry.slot] = cell[last];
+        cell[entry.slot].slot = entry.slot;
+        cell[last] = null;
+    }
+
+    int cellCount() {
+        return cellSizes.length;
+    }
+
+    int size(int cell) {
+        return cellSizes[cell];
+    }
+
+    @SuppressWarnings("unchecked")
+    E get(int cell, int slot) {
+        return (E) cells[cell][slot];
+    }
+
+    /**
+     * @return the distance from a point to the nearest point of a cell
+     */
+    private double distance(int cell, double x, double y) {
+        double cellMinX = minX + (cell % columns) * cellSize;
+        double cellMinY = minY + (cell / columns) * cellSize;
+        double dx = Math.max(Math.max(cellMinX - x, x - (cellMinX + cellSize)), 0);
+        double dy = Math.max(Math.max(cellMinY - y, y - (cellMinY + cellSize)), 0);
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+
+    /**
+     * Visit the cells ring by ring around an intersection, until the visitor finds the cells of a ring too far
+     * away to be worth visiting.
+     *
+     * @param center the intersection at the center of the search
+     * @param skippedCell a cell that is not visited, e.g., because it has been visited already; -1 for none
+     * @param visitor decides which cells are visited
+     */
+    void visitCells(Intersection center, int skippedCell, CellVisitor visitor) {
+        double x = center.getX();
+        double y = center.getY();
+        int centerColumn = column(x);
+        int centerRow = row(y);
+        int maxRing = Math.max(Math.max(centerColumn, columns - 1 - centerColumn),
+                Math.max(centerRow, rows - 1 - centerRow));
+        for (int ring = 0; ring <= maxRing; ring++) {
+            // the center is in the center cell, so the cells of a ring are at least ring - 1 cells away
+            if (ring > 0 && !visitor.isWorthVisiting((ring - 1) * cellSize)) {
+                break;
+            }
+            for (int r = Math.max(centerRow - ring, 0); r <= Math.min(centerRow + ring, rows - 1); r++) {
+                boolean edgeRow = r == centerRow - ring || r == centerRow + ring;
+                int step = edgeRow ? 1 : 2 * ring;
+                for (int c = centerColumn - ring; c <= centerColumn + ring; c += step) {
+                    if (c < 0 || c >= columns) {
+                        continue;
+                    }
+                    int cell = r * columns + c;
+                    if (cell != skippedCell && visitor.isWorthVisiting(distance(cell, x, y))) {
+                        visitor.visit(cell);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package UserExamples;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+
+/**
+ * Solves the transportation problem: given the supply of some sources (e.g., idle agents in zones that have more
+ * agents than they need), the demand of some sinks (e.g., zones that need more agents) and the cost of sending a
+ * unit from each source to each sink, find the flow that sends as many units as possible and, among those, costs
+ * the least. This is the successive shortest path algorithm for min-cost flow with potentials, in
+ * O(k n m log(n m)) time for n sources, m sinks and k augmenting paths; k is at most the total supply, and usually
+ * about n + m.
+ */
+public class TransportationSolver {
+
+    // cost of a pair that cannot be used
+    public static final long NO_ROUTE = Long.MAX_VALUE;
+
+    private static final long INFINITY = Long.MAX_VALUE / 4;
+
+    private TransportationSolver() {
+    }
+
+    /**
+     * Find a flow of most units and least cost. The sum of the costs along any path must not overflow.
+     *
+     * @param supply supply[i] is the number of units that source i can send, at least 0
+     * @param demand demand[j] is the number of units that sink j can receive, at least 0
+     * @param cost cost[i][j] is the cost of sending a unit from source i to sink j, at least 0, or NO_ROUTE if
+     * source i cannot send to sink j
+     * @return flow[i][j], the number of units sent from source i to sink j
+     */
+    public static int[][] solve(int[] supply, int[] demand, long[][] cost) {
+        int n = supply.length;
+        int m = demand.length;
+        int[][] flow = new int[n][m];
+        int[] remainingSupply = supply.clone();
+        int[] remainingDemand = demand.clone();
+
+        // Nodes 0..n-1 are the sources and n..n+m-1 the sinks. The costs reduced by the potentials are never
+        // negative on the arcs of the residual graph, so shortest paths can be found with Dijkstra's algorithm.
+        long[] potential = new long[n + m];
+        long[] distance = new long[n + m];
+        int[] previous = new int[n + m];
+        boolean[] done = new boolean[n + m];
+        // distance and node, the nearest first; a node may be queued again when its distance decreases
+        PriorityQueue<long[]> queue = new PriorityQueue<>(Comparator.comparingLong((long[] entry) -> entry[0]));
+        while (true) {
+            // shortest paths from all the sources with remaining supply
+            Arrays.fill(distance, INFINITY);
+            Arrays.fill(previous, -1);
+            Arrays.fill(done, false);
+            queue.clear();
+            for (int i = 0; i < n; i++) {
+                if (remainingSupply[i] > 0) {
+                    distance[i] = 0;
+                    queue.add(new long[] {0, i});
+                }
+            }
+            int target = -1;
+            while (!queue.isEmpty()) {
+                int node = (int) queue.poll()[1];
+                if (done[node]) {
+                    continue;
+                }
+                done[node] = true;
+                if (node >= n && remainingDemand[node - n] > 0) {
+                    // the nearest sink with remaining demand
+                    target = node;
+                    break;
+                }
+                if (node < n) {
+                    for (int j = 0; j < m; j++) {
+                        if (cost[node][j] != NO_ROUTE) {
+                            relax(node, n + j, cost[node][j], potential, distance, previous, done, queue);
+                        }
+                    }
+                } else {
+                    int j = node - n;
+                    for (int i = 0; i < n; i++) {
+                        if (flow[i][j] > 0) {
+                            relax(node, i, -cost[i][j], potential, distance, previous, done, queue);
+                        }
+                    }
+                }
+            }
+            if (target == -1) {
+                return flow;
+            }
+
+            // Update the potentials; the nodes beyond the target are capped at its distance, so that the reduced
+            // costs stay non-negative.
+            for (int v = 0; v < n + m; v++) {
+                potential[v] += Math.min(distance[v], distance[target]);
+            }
+
+            // augment along the path by its bottleneck
+            int amount = remainingDemand[target - n];
+            int node = target;
+            while (previous[node] != -1) {
+                int from = previous[node];
+                if (from >= n) {
+                    // a sink to source arc cancels flow
+                    amount = Math.min(amount, flow[node][from - n]);
+                }
+                node = from;
+            }
+            amount = Math.min(amount, remainingSupply[node]);
+            remainingSupply[node] -= amount;
+            remainingDemand[target - n] -= amount;
+            node = target;
+            while (previous[node] != -1) {
+                int from = previous[node];
+                if (from < n) {
+                    flow[from][node - n] += amount;
+                } else {
+                    flow[node][from - n] -= amount;
+                }
+                node = from;
+            }
+        }
+    }
+
+    private static void relax(int from, int to, long cost, long[] potential, long[] distance, int[] previous,
+                              boolean[] done, PriorityQueue<long[]> queue) {
+        if (done[to]) {
+            return;
+        }
+        long reducedDistance = distance[from] + cost + potential[from] - potential[to];
+        if (reducedDistance < distance[to]) {
+            distance[to] = reducedDistance;
+            previous[to] = from;
+            queue.add(new long[] {reducedDistance, to});
+        }
+    }
+}
@@ -4,60 +4,51 @@ import COMSETsystem.*;
 
 import java.util.*;
 
+/**
+ * Random intersections drawn in proportion to their weights. The weights are kept in a Fenwick tree, so that a
+ * draw and the update of a weight take O(log n) time for n intersections.
+ */
 public class Weighting {
     private static int seed = 0;
-    private Map<Long, Integer> data;
     private Map<Long, Intersection> intersections;
     private long[] ids;
+    private Map<Long, Integer> indexes;
     private int[] weights;
-    private int[] prefixSums;
+    // tree[i] is the sum of the weights from index i - (i & -i) to index i - 1
+    private int[] tree;
+    private int sum;
     private Random random;
     
+    /**
+     * Make a weighting from the historical demand, see WeightingPrior.
+     */
     public Weighting(Map<Long, Intersection> intersections) {
-        initDataPart1();
-        initDataPart2();
-        initDataPart3();
-        initDataPart4();
         this.intersections = intersections;
         ids = intersections.keySet().stream().mapToLong(Long::longValue).toArray();
-        weights = new int[ids.length];
-        prefixSums = new int[ids.length];
+        weights = WeightingPrior.get().counts(ids);
         for (int i = 0; i < ids.length; i++) {
-            weights[i] = data.getOrDefault(ids[i], 0) * 100 + 1;
-            prefixSums[i] = (i == 0 ? 0 : prefixSums[i - 1]) + weights[i];
+            weights[i] = weights[i] * 100 + 1;
         }
+        buildTree();
         random = new Random(seed++);
     }
     
     public Weighting(Map<Long, Intersection> intersections, Map<Long, Integer> data) {
-        this.data = data;
         this.intersections = intersections;
         ids = intersections.keySet().stream().mapToLong(Long::longValue).toArray();
         weights = new int[ids.length];
-        prefixSums = new int[ids.length];
         for (int i = 0; i < ids.length; i++) {
             weights[i] = data.getOrDefault(ids[i], 0) * 100 + 1;
-            prefixSums[i] = (i == 0 ? 0 : prefixSums[i - 1]) + weights[i];
         }
+        buildTree();
         random = new Random(seed++);
     }
     
     public Weighting(Weighting oldOne, Weighting newOne) {
-        int size = newOne.ids.length;
-        double newSum = newOne.prefixSums[size - 1];
-        double oldSum = oldOne.prefixSums[size - 1];
-        double newCoeff = 4;
-        double oldCoeff = (oldSum - newCoeff * newSum) / oldSum;
-        
-        data = newOne.data;
         intersections = newOne.intersections;
         ids = newOne.ids;
-        weights = new int[size];
-        prefixSums = new int[size];
-        for (int i = 0; i < size; i++) {
-            weights[i] = (int)Math.round(oldCoeff * oldOne.weights[i] + newCoeff * newOne.weights[i]);
-            prefixSums[i] = (i == 0 ? 0 : prefixSums[i - 1]) + weights[i];
-        }
+        weights = new int[ids.length];
+        blend(oldOne.weights, oldOne.sum, newOne.weights, newOne.sum);
         random = new Random(seed++);
     }
     
@@ -66,4408 +57,104 @@ public class Weighting {
         intersections = oldOne.intersections;
         ids = oldOne.ids;
         weights = new int[size];
-        prefixSums = new int[size];
         for (int i = 0; i < size; i++) {
             weights[i] = oldOne.weights[i] + data.getOrDefault(ids[i], 0) * 5000;
-            prefixSums[i] = (i == 0 ? 0 : prefixSums[i - 1]) + weights[i];
         }
+        buildTree();
         random = new Random(seed++);
     }
     
-    public Intersection getRandomIntersection() {
-        int size = ids.length;
-        int r = random.nextInt(prefixSums[size - 1] + 1);
-        for (int i = 0; i < size; i++) {
-            if (r <= prefixSums[i]) {
-                return intersections.get(ids[i]);
-            }
+    /**
+     * Blend the weights given by demand counts into this weighting, in place. The weighting is the same as
+     * new Weighting(this, new Weighting(intersections, data)), and it draws the same intersections.
+     * 
+     * @param data the demand count of each intersection
+     */
+    public void update(Map<Long, Integer> data) {
+        int[] newWeights = new int[ids.length];
+        int newSum = 0;
+        for (int i = 0; i < ids.length; i++) {
+            newWeights[i] = data.getOrDefault(ids[i], 0) * 100 + 1;
+            newSum += newWeights[i];
         }
-        System.out.println("r = " + r + " and sum = " + prefixSums[size - 1]);
-        return null;
+        blend(weights, sum, newWeights, newSum);
+        // skip the seed of the weighting that is not made
+        seed++;
+        random = new Random(seed++);
     }
     
-    public Intersection getRandomIntersection(Random random) {
-        int size = ids.length;
-        int r = random.nextInt(prefixSums[size - 1] + 1);
-        for (int i = 0; i < size; i++) {
-            if (r <= prefixSums[i]) {
-                return intersections.get(ids[i]);
+    /**
+     * Add to the weight of an intersection.
+     * 
+     * @param intersectionId the intersection
+     * @param weight the weight added; the weight of the intersection must stay at least 0
+     */
+    public void addWeight(long intersectionId, int weight) {
+        if (indexes == null) {
+            indexes = new HashMap<>();
+            for (int i = 0; i < ids.length; i++) {
+                indexes.put(ids[i], i);
             }
         }
-        System.out.println("r = " + r + " and sum = " + prefixSums[size - 1]);
-        return null;
+        int index = indexes.get(intersectionId);
+        weights[index] += weight;
+        sum += weight;
+        for (int i = index + 1; i < tree.length; i += i & -i) {
+            tree[i] += weight;
+        }
     }
     
-    private void initDataPart1() {
-        data = new HashMap();
-        data.put(42421728L, 10);
-        data.put(42421731L, 0);
-        data.put(42421737L, 13);
-        data.put(42421741L, 3);
-        data.put(42421745L, 6);
-        data.put(42421749L, 0);
-        data.put(42421751L, 0);
-        data.put(42421769L, 4);
-        data.put(42421772L, 4);
-        data.put(42421775L, 3);
-        data.put(42421776L, 8);
-        data.put(42421778L, 1);
-        data.put(42421783L, 0);
-        data.put(42421785L, 0);
-        data.put(42421786L, 0);
-        data.put(42421791L, 0);
-        data.put(42421800L, 10);
-        data.put(42421803L, 18);
-        data.put(42421806L, 8);
-        data.put(42421809L, 6);
-        data.put(42421810L, 11);
-        data.put(42421820L, 3);
-        data.put(42421828L, 1);
-        data.put(42421852L, 1);
-        data.put(42421857L, 11);
-        data.put(42421865L, 0);
-        data.put(42421877L, 37);
-        data.put(42421889L, 17);
-        data.put(42421941L, 10);
-        data.put(42421946L, 0);
-        data.put(42421951L, 4);
-        data.put(42421960L, 1);
-        data.put(42421965L, 0);
-        data.put(42421969L, 10);
-        data.put(42421972L, 8);
-        data.put(42421974L, 6);
-        data.put(42421982L, 8);
-        data.put(42421985L, 12);
-        data.put(42421993L, 13);
-        data.put(42421996L, 21);
-        data.put(42422000L, 4);
-        data.put(42422006L, 5);
-        data.put(42422016L, 5);
-        data.put(42422018L, 0);
-        data.put(42422026L, 24);
-        data.put(42422028L, 1);
-        data.put(42422038L, 2);
-        data.put(42422042L, 3);
-        data.put(42422050L, 3);
-        data.put(42422053L, 0);
-        data.put(42422258L, 3);
-        data.put(42422270L, 0);
-        data.put(42422283L, 6);
-        data.put(42422366L, 0);
-        data.put(42422399L, 0);
-        data.put(42422509L, 3);
-        data.put(42422530L, 0);
-        data.put(42422545L, 0);
-        data.put(42422592L, 0);
-        data.put(42422899L, 18);
-        data.put(42423020L, 4);
-        data.put(42423039L, 0);
-        data.put(42423051L, 0);
-        data.put(42423070L, 0);
-        data.put(42423101L, 0);
-        data.put(42423116L, 0);
-        data.put(42423189L, 0);
-        data.put(42423295L, 0);
-        data.put(42423296L, 0);
-        data.put(42423307L, 0);
-        data.put(42423331L, 0);
-        data.put(42423456L, 0);
-        data.put(42423549L, 0);
-        data.put(42423564L, 6);
-        data.put(42423565L, 1);
-        data.put(42423674L, 29);
-        data.put(42423752L, 6);
-        data.put(42423774L, 0);
-        data.put(42423836L, 0);
-        data.put(42423885L, 0);
-        data.put(42424025L, 0);
-        data.put(42424032L, 0);
-        data.put(42424089L, 4);
-        data.put(42424109L, 0);
-        data.put(42424117L, 0);
-        data.put(42424133L, 0);
-        data.put(42424142L, 1);
-        data.put(42424145L, 0);
-        data.put(42424218L, 0);
-        data.put(42424225L, 2);
-        data.put(42424235L, 0);
-        data.put(42424408L, 16);
-        data.put(42424427L, 8);
-        data.put(42424439L, 17);
-        data.put(42424531L, 0);
-        data.put(42424551L, 0);
-        data.put(42424576L, 0);
-        data.put(42424610L, 14);
-        data.put(42424619L, 4);
-        data.put(42424641L, 0);
-        data.put(42424672L, 1);
-        data.put(42424679L, 0);
-        data.put(42424698L, 0);
-        data.put(42424701L, 0);
-        data.put(42424703L, 0);
-        data.put(42424706L, 0);
-        data.put(42424757L, 0);
-        data.put(42424789L, 0);
-        data.put(42424823L, 0);
-        data.put(42424851L, 8);
-        data.put(42424864L, 1);
-        data.put(42424932L, 2);
-        data.put(42424937L, 0);
-        data.put(42425088L, 0);
-        data.put(42425100L, 0);
-        data.put(42425127L, 8);
-        data.put(42425188L, 0);
-        data.put(42425232L, 11);
-        data.put(42425242L, 0);
-        data.put(42425348L, 0);
-        data.put(42425417L, 0);
-        data.put(42425425L, 0);
-        data.put(42425484L, 0);
-        data.put(42425570L, 8);
-        data.put(42425758L, 0);
-        data.put(42425945L, 0);
-        data.put(42425955L, 1);
-        data.put(42425959L, 0);
-        data.put(42426089L, 0);
-        data.put(42426135L, 0);
-        data.put(42426138L, 0);
-        data.put(42426374L, 2);
-        data.put(42426665L, 0);
-        data.put(42426747L, 7);
-        data.put(42426804L, 0);
-        data.put(42426805L, 0);
-        data.put(42426810L, 0);
-        data.put(42426816L, 1);
-        data.put(42426851L, 0);
-        data.put(42426865L, 0);
-        data.put(42426875L, 4);
-        data.put(42426960L, 0);
-        data.put(42426968L, 0);
-        data.put(42426971L, 0);
-        data.put(42427009L, 0);
-        data.put(42427012L, 0);
-        data.put(42427016L, 0);
-        data.put(42427030L, 4);
-        data.put(42427036L, 3);
-        data.put(42427086L, 1);
-        data.put(42427112L, 0);
-        data.put(42427115L, 0);
-        data.put(42427122L, 1);
-        data.put(42427126L, 0);
-        data.put(42427128L, 0);
-        data.put(42427133L, 1);
-        data.put(42427136L, 0);
-        data.put(42427139L, 0);
-        data.put(42427143L, 0);
-        data.put(42427146L, 0);
-        data.put(42427150L, 0);
-        data.put(42427152L, 0);
-        data.put(42427156L, 0);
-        data.put(42427159L, 0);
-        data.put(42427164L, 0);
-        data.put(42427168L, 2);
-        data.put(42427185L, 1);
-        data.put(42427190L, 0);
-        data.put(42427196L, 0);
-        data.put(42427206L, 1);
-        data.put(42427212L, 0);
-        data.put(42427216L, 0);
-        data.put(42427236L, 0);
-        data.put(42427242L, 0);
-        data.put(42427249L, 6);
-        data.put(42427251L, 6);
-        data.put(42427254L, 0);
-        data.put(42427256L, 0);
-        data.put(42427278L, 0);
-        data.put(42427281L, 2);
-        data.put(42427290L, 5);
-        data.put(42427300L, 5);
-        data.put(42427305L, 4);
-        data.put(42427307L, 5);
-        data.put(42427311L, 6);
-        data.put(42427316L, 4);
-        data.put(42427319L, 1);
-        data.put(42427322L, 0);
-        data.put(42427324L, 9);
-        data.put(42427327L, 4);
-        data.put(42427335L, 1);
-        data.put(42427337L, 0);
-        data.put(42427340L, 0);
-        data.put(42427345L, 0);
-        data.put(42427346L, 0);
-        data.put(42427352L, 0);
-        data.put(42427358L, 2);
-        data.put(42427369L, 10);
-        data.put(42427371L, 15);
-        data.put(42427374L, 18);
-        data.put(42427381L, 10);
-        data.put(42427386L, 7);
-        data.put(42427390L, 16);
-        data.put(42427393L, 0);
-        data.put(42427411L, 12);
-        data.put(42427412L, 0);
-        data.put(42427423L, 13);
-        data.put(42427426L, 20);
-        data.put(42427427L, 9);
-        data.put(42427477L, 14);
-        data.put(42427483L, 30);
-        data.put(42427494L, 1);
-        data.put(42427504L, 0);
-        data.put(42427507L, 0);
-        data.put(42427519L, 0);
-        data.put(42427523L, 0);
-        data.put(42427531L, 0);
-        data.put(42427538L, 0);
-        data.put(42427649L, 0);
-        data.put(42427735L, 0);
-        data.put(42427742L, 1);
-        data.put(42427744L, 0);
-        data.put(42427747L, 0);
-        data.put(42427750L, 0);
-        data.put(42427762L, 11);
-        data.put(42427764L, 2);
-        data.put(42427768L, 0);
-        data.put(42427769L, 0);
-        data.put(42427773L, 0);
-        data.put(42427780L, 0);
-        data.put(42427782L, 0);
-        data.put(42427786L, 13);
-        data.put(42427787L, 5);
-        data.put(42427797L, 18);
-        data.put(42427805L, 13);
-        data.put(42427812L, 14);
-        data.put(42427817L, 1);
-        data.put(42427821L, 9);
-        data.put(42427824L, 19);
-        data.put(42427828L, 0);
-        data.put(42427834L, 0);
-        data.put(42427844L, 0);
-        data.put(42427846L, 0);
-        data.put(42427849L, 0);
-        data.put(42427852L, 0);
-        data.put(42427855L, 0);
-        data.put(42427859L, 0);
-        data.put(42427863L, 0);
-        data.put(42427867L, 0);
-        data.put(42427870L, 0);
-        data.put(42427873L, 0);
-        data.put(42427877L, 0);
-        data.put(42427881L, 0);
-        data.put(42427883L, 0);
-        data.put(42427888L, 0);
-        data.put(42427891L, 0);
-        data.put(42427894L, 0);
-        data.put(42427915L, 31);
-        data.put(42427956L, 7);
-        data.put(42427965L, 10);
-        data.put(42427968L, 7);
-        data.put(42427970L, 9);
-        data.put(42427972L, 8);
-        data.put(42427975L, 2);
-        data.put(42427979L, 7);
-        data.put(42427985L, 5);
-        data.put(42427991L, 4);
-        data.put(42427996L, 20);
-        data.put(42428003L, 17);
-        data.put(42428005L, 12);
-        data.put(42428007L, 80);
-        data.put(42428010L, 30);
-        data.put(42428012L, 11);
-        data.put(42428013L, 45);
-        data.put(42428014L, 34);
-        data.put(42428015L, 25);
-        data.put(42428016L, 23);
-        data.put(42428020L, 6);
-        data.put(42428022L, 30);
-        data.put(42428024L, 24);
-        data.put(42428027L, 17);
-        data.put(42428029L, 16);
-        data.put(42428032L, 11);
-        data.put(42428034L, 17);
-        data.put(42428037L, 15);
-        data.put(42428039L, 13);
-        data.put(42428043L, 20);
-        data.put(42428045L, 18);
-        data.put(42428047L, 15);
-        data.put(42428049L, 13);
-        data.put(42428052L, 4);
-        data.put(42428061L, 6);
-        data.put(42428063L, 17);
-        data.put(42428065L, 5);
-        data.put(42428068L, 17);
-        data.put(42428072L, 0);
-        data.put(42428080L, 0);
-        data.put(42428082L, 0);
-        data.put(42428086L, 0);
-        data.put(42428090L, 0);
-        data.put(42428094L, 1);
-        data.put(42428103L, 0);
-        data.put(42428107L, 0);
-        data.put(42428114L, 0);
-        data.put(42428124L, 0);
-        data.put(42428130L, 0);
-        data.put(42428134L, 0);
-        data.put(42428144L, 0);
-        data.put(42428170L, 4);
-        data.put(42428174L, 7);
-        data.put(42428179L, 2);
-        data.put(42428183L, 8);
-        data.put(42428192L, 7);
-        data.put(42428198L, 5);
-        data.put(42428201L, 1);
-        data.put(42428206L, 5);
-        data.put(42428212L, 16);
-        data.put(42428216L, 7);
-        data.put(42428220L, 5);
-        data.put(42428223L, 2);
-        data.put(42428227L, 1);
-        data.put(42428232L, 5);
-        data.put(42428253L, 4);
-        data.put(42428258L, 1);
-        data.put(42428264L, 6);
-        data.put(42428268L, 3);
-        data.put(42428272L, 4);
-        data.put(42428277L, 4);
-        data.put(42428283L, 5);
-        data.put(42428287L, 13);
-        data.put(42428297L, 32);
-        data.put(42428303L, 24);
-        data.put(42428305L, 4);
-        data.put(42428307L, 24);
-        data.put(42428308L, 6);
-        data.put(42428310L, 4);
-        data.put(42428312L, 9);
-        data.put(42428313L, 6);
-        data.put(42428315L, 1);
-        data.put(42428321L, 13);
-        data.put(42428328L, 11);
-        data.put(42428329L, 15);
-        data.put(42428332L, 4);
-        data.put(42428345L, 4);
-        data.put(42428365L, 4);
-        data.put(42428368L, 2);
-        data.put(42428371L, 2);
-        data.put(42428373L, 2);
-        data.put(42428374L, 0);
-        data.put(42428376L, 4);
-        data.put(42428377L, 1);
-        data.put(42428379L, 1);
-        data.put(42428385L, 8);
-        data.put(42428391L, 3);
-        data.put(42428402L, 5);
-        data.put(42428405L, 2);
-        data.put(42428408L, 2);
-        data.put(42428411L, 3);
-        data.put(42428417L, 4);
-        data.put(42428420L, 0);
-        data.put(42428425L, 0);
-        data.put(42428428L, 2);
-        data.put(42428431L, 1);
-        data.put(42428433L, 3);
-        data.put(42428434L, 0);
-        data.put(42428436L, 2);
-        data.put(42428438L, 3);
-        data.put(42428441L, 2);
-        data.put(42428444L, 4);
-        data.put(42428447L, 1);
-        data.put(42428454L, 1);
-        data.put(42428458L, 2);
-        data.put(42428460L, 9);
-        data.put(42428464L, 3);
-        data.put(42428468L, 2);
-        data.put(42428471L, 5);
-        data.put(42428473L, 22);
-        data.put(42428476L, 14);
-        data.put(42428480L, 8);
-        data.put(42428483L, 13);
-        data.put(42428489L, 15);
-        data.put(42428491L, 8);
-        data.put(42428493L, 3);
-        data.put(42428524L, 2);
-        data.put(42428529L, 0);
-        data.put(42428570L, 15);
-        data.put(42428575L, 3);
-        data.put(42428579L, 11);
-        data.put(42428588L, 4);
-        data.put(42428590L, 1);
-        data.put(42428595L, 11);
-        data.put(42428598L, 32);
-        data.put(42428601L, 12);
-        data.put(42428604L, 12);
-        data.put(42428610L, 16);
-        data.put(42428634L, 12);
-        data.put(42428637L, 7);
-        data.put(42428640L, 4);
-        data.put(42428643L, 7);
-        data.put(42428645L, 6);
-        data.put(42428648L, 11);
-        data.put(42428653L, 6);
-        data.put(42428657L, 1);
-        data.put(42428661L, 2);
-        data.put(42428663L, 5);
-        data.put(42428670L, 3);
-        data.put(42428674L, 9);
-        data.put(42428678L, 5);
-        data.put(42428682L, 6);
-        data.put(42428689L, 4);
-        data.put(42428695L, 17);
-        data.put(42428701L, 15);
-        data.put(42428705L, 11);
-        data.put(42428709L, 8);
-        data.put(42428711L, 1);
-        data.put(42428714L, 10);
-        data.put(42428716L, 11);
-        data.put(42428720L, 7);
-        data.put(42428723L, 9);
-        data.put(42428725L, 12);
-        data.put(42428728L, 10);
-        data.put(42428737L, 6);
-        data.put(42428742L, 11);
-        data.put(42428746L, 3);
-        data.put(42428751L, 9);
-        data.put(42428760L, 4);
-        data.put(42428770L, 13);
-        data.put(42428782L, 8);
-        data.put(42428790L, 14);
-        data.put(42428799L, 7);
-        data.put(42428807L, 5);
-        data.put(42428814L, 3);
-        data.put(42428833L, 2);
-        data.put(42428844L, 0);
-        data.put(42428858L, 8);
-        data.put(42428863L, 4);
-        data.put(42428867L, 0);
-        data.put(42428869L, 0);
-        data.put(42428873L, 1);
-        data.put(42428876L, 0);
-        data.put(42428880L, 0);
-        data.put(42428892L, 2);
-        data.put(42428912L, 2);
-        data.put(42428913L, 2);
-        data.put(42428914L, 0);
-        data.put(42428917L, 1);
-        data.put(42428919L, 3);
-        data.put(42428922L, 2);
-        data.put(42428926L, 0);
-        data.put(42428928L, 2);
-        data.put(42428931L, 1);
-        data.put(42428934L, 0);
-        data.put(42428936L, 0);
-        data.put(42428939L, 1);
-        data.put(42428941L, 3);
-        data.put(42428944L, 0);
-        data.put(42428947L, 5);
-        data.put(42428951L, 2);
-        data.put(42428953L, 2);
-        data.put(42428956L, 1);
-        data.put(42428958L, 2);
-        data.put(42428961L, 1);
-        data.put(42428962L, 1);
-        data.put(42428964L, 0);
-        data.put(42428965L, 2);
-        data.put(42428966L, 1);
-        data.put(42428967L, 1);
-        data.put(42428970L, 0);
-        data.put(42428973L, 0);
-        data.put(42428975L, 1);
-        data.put(42428978L, 1);
-        data.put(42428980L, 0);
-        data.put(42428984L, 0);
-        data.put(42428985L, 0);
-        data.put(42428989L, 0);
-        data.put(42428994L, 1);
-        data.put(42428998L, 0);
-        data.put(42429002L, 0);
-        data.put(42429006L, 1);
-        data.put(42429011L, 0);
-        data.put(42429013L, 1);
-        data.put(42429017L, 0);
-        data.put(42429023L, 0);
-        data.put(42429029L, 0);
-        data.put(42429032L, 0);
-        data.put(42429035L, 0);
-        data.put(42429044L, 0);
-        data.put(42429058L, 0);
-        data.put(42429072L, 1);
-        data.put(42429083L, 1);
-        data.put(42429094L, 0);
-        data.put(42429100L, 0);
-        data.put(42429104L, 0);
-        data.put(42429109L, 0);
-        data.put(42429174L, 0);
-        data.put(42429184L, 0);
-        data.put(42429211L, 1);
-        data.put(42429212L, 0);
-        data.put(42429215L, 0);
-        data.put(42429216L, 0);
-        data.put(42429217L, 0);
-        data.put(42429220L, 1);
-        data.put(42429222L, 0);
-        data.put(42429226L, 0);
-        data.put(42429228L, 0);
-        data.put(42429231L, 0);
-        data.put(42429236L, 0);
-        data.put(42429242L, 0);
-        data.put(42429244L, 0);
-        data.put(42429255L, 0);
-        data.put(42429314L, 11);
-        data.put(42429324L, 17);
-        data.put(42429330L, 30);
-        data.put(42429334L, 35);
-        data.put(42429338L, 29);
-        data.put(42429340L, 16);
-        data.put(42429342L, 37);
-        data.put(42429346L, 19);
-        data.put(42429348L, 2);
-        data.put(42429353L, 0);
-        data.put(42429354L, 5);
-        data.put(42429373L, 19);
-        data.put(42429374L, 23);
-        data.put(42429375L, 7);
-        data.put(42429378L, 4);
-        data.put(42429388L, 3);
-        data.put(42429390L, 1);
-        data.put(42429394L, 3);
-        data.put(42429412L, 11);
-        data.put(42429431L, 0);
-        data.put(42429452L, 0);
-        data.put(42429457L, 0);
-        data.put(42429466L, 0);
-        data.put(42429474L, 0);
-        data.put(42429479L, 0);
-        data.put(42429504L, 0);
-        data.put(42429507L, 0);
-        data.put(42429521L, 5);
-        data.put(42429530L, 0);
-        data.put(42429532L, 0);
-        data.put(42429536L, 0);
-        data.put(42429538L, 1);
-        data.put(42429541L, 0);
-        data.put(42429552L, 0);
-        data.put(42429557L, 3);
-        data.put(42429562L, 16);
-        data.put(42429563L, 0);
-        data.put(42429565L, 1);
-        data.put(42429570L, 4);
-        data.put(42429577L, 2);
-        data.put(42429595L, 17);
-        data.put(42429630L, 11);
-        data.put(42429633L, 10);
-        data.put(42429636L, 0);
-        data.put(42429637L, 0);
-        data.put(42429641L, 0);
-        data.put(42429643L, 0);
-        data.put(42429644L, 0);
-        data.put(42429645L, 1);
-        data.put(42429646L, 0);
-        data.put(42429647L, 0);
-        data.put(42429657L, 13);
-        data.put(42429659L, 9);
-        data.put(42429661L, 11);
-        data.put(42429662L, 11);
-        data.put(42429663L, 6);
-        data.put(42429664L, 8);
-        data.put(42429666L, 1);
-        data.put(42429680L, 8);
-        data.put(42429682L, 8);
-        data.put(42429685L, 3);
-        data.put(42429688L, 17);
-        data.put(42429690L, 22);
-        data.put(42429693L, 4);
-        data.put(42429694L, 39);
-        data.put(42429700L, 2);
-        data.put(42429701L, 0);
-        data.put(42429703L, 0);
-        data.put(42429704L, 0);
-        data.put(42429705L, 0);
-        data.put(42429707L, 0);
-        data.put(42429708L, 0);
-        data.put(42429709L, 0);
-        data.put(42429718L, 0);
-        data.put(42429727L, 0);
-        data.put(42429735L, 0);
-        data.put(42429741L, 2);
-        data.put(42429744L, 0);
-        data.put(42429747L, 0);
-        data.put(42429752L, 0);
-        data.put(42429754L, 0);
-        data.put(42429756L, 0);
-        data.put(42429762L, 0);
-        data.put(42429766L, 2);
-        data.put(42429769L, 0);
-        data.put(42429773L, 4);
-        data.put(42429782L, 5);
-        data.put(42429806L, 0);
-        data.put(42429809L, 0);
-        data.put(42429811L, 0);
-        data.put(42429812L, 0);
-        data.put(42429814L, 0);
-        data.put(42429819L, 0);
-        data.put(42429825L, 0);
-        data.put(42429827L, 0);
-        data.put(42429829L, 0);
-        data.put(42429830L, 3);
-        data.put(42429832L, 1);
-        data.put(42429833L, 2);
-        data.put(42429838L, 0);
-        data.put(42429840L, 0);
-        data.put(42429842L, 2);
-        data.put(42429844L, 5);
-        data.put(42429874L, 13);
-        data.put(42429876L, 12);
-        data.put(42429888L, 1);
-        data.put(42429890L, 11);
-        data.put(42429896L, 19);
-        data.put(42429900L, 11);
-        data.put(42429910L, 0);
-        data.put(42429918L, 15);
-        data.put(42429946L, 0);
-        data.put(42429960L, 0);
-        data.put(42429970L, 0);
-        data.put(42429971L, 17);
-        data.put(42429974L, 12);
-        data.put(42429976L, 11);
-        data.put(42429980L, 29);
-        data.put(42429981L, 15);
-        data.put(42429986L, 22);
-        data.put(42429999L, 3);
-        data.put(42430004L, 12);
-        data.put(42430007L, 5);
-        data.put(42430009L, 2);
-        data.put(42430022L, 0);
-        data.put(42430023L, 0);
-        data.put(42430030L, 0);
-        data.put(42430034L, 0);
-        data.put(42430038L, 0);
-        data.put(42430041L, 3);
-        data.put(42430044L, 0);
-        data.put(42430050L, 1);
-        data.put(42430052L, 21);
-        data.put(42430056L, 6);
-        data.put(42430060L, 13);
-        data.put(42430063L, 25);
-        data.put(42430068L, 8);
-        data.put(42430075L, 20);
-        data.put(42430102L, 1);
-        data.put(42430108L, 0);
-        data.put(42430115L, 3);
-        data.put(42430118L, 16);
-        data.put(42430122L, 13);
-        data.put(42430126L, 3);
-        data.put(42430131L, 6);
-        data.put(42430136L, 2);
-        data.put(42430143L, 7);
-        data.put(42430147L, 8);
-        data.put(42430154L, 16);
-        data.put(42430160L, 7);
-        data.put(42430164L, 13);
-        data.put(42430167L, 2);
-        data.put(42430187L, 13);
-        data.put(42430205L, 8);
-        data.put(42430217L, 8);
-        data.put(42430231L, 9);
-        data.put(42430233L, 8);
-        data.put(42430235L, 17);
-        data.put(42430237L, 9);
-        data.put(42430241L, 25);
-        data.put(42430247L, 15);
-        data.put(42430249L, 19);
-        data.put(42430253L, 23);
-        data.put(42430255L, 10);
-        data.put(42430257L, 13);
-        data.put(42430259L, 8);
-        data.put(42430263L, 17);
-        data.put(42430265L, 15);
-        data.put(42430269L, 25);
-        data.put(42430271L, 24);
-        data.put(42430274L, 27);
-        data.put(42430277L, 21);
-        data.put(42430279L, 26);
-        data.put(42430282L, 13);
-        data.put(42430288L, 5);
-        data.put(42430292L, 52);
-        data.put(42430295L, 19);
-        data.put(42430298L, 18);
-        data.put(42430304L, 19);
-        data.put(42430308L, 4);
-        data.put(42430311L, 13);
-        data.put(42430314L, 7);
-        data.put(42430317L, 12);
-        data.put(42430320L, 5);
-        data.put(42430324L, 10);
-        data.put(42430329L, 6);
-        data.put(42430333L, 8);
-        data.put(42430338L, 7);
-        data.put(42430342L, 22);
-        data.put(42430344L, 11);
-        data.put(42430347L, 9);
-        data.put(42430350L, 4);
-        data.put(42430352L, 5);
-        data.put(42430356L, 7);
-        data.put(42430358L, 4);
-        data.put(42430361L, 9);
-        data.put(42430363L, 11);
-        data.put(42430367L, 38);
-        data.put(42430371L, 24);
-        data.put(42430375L, 27);
-        data.put(42430378L, 22);
-        data.put(42430384L, 34);
-        data.put(42430390L, 20);
-        data.put(42430394L, 24);
-        data.put(42430468L, 1);
-        data.put(42430474L, 2);
-        data.put(42430477L, 0);
-        data.put(42430479L, 1);
-        data.put(42430482L, 1);
-        data.put(42430485L, 3);
-        data.put(42430488L, 1);
-        data.put(42430519L, 4);
-        data.put(42430521L, 4);
-        data.put(42430529L, 3);
-        data.put(42430535L, 1);
-        data.put(42430550L, 10);
-        data.put(42430557L, 4);
-        data.put(42430571L, 2);
-        data.put(42430589L, 21);
-        data.put(42430594L, 0);
-        data.put(42430597L, 19);
-        data.put(42430600L, 5);
-        data.put(42430603L, 15);
-        data.put(42430607L, 11);
-        data.put(42430629L, 0);
-        data.put(42430633L, 3);
-        data.put(42430639L, 1);
-        data.put(42430643L, 0);
-        data.put(42430646L, 0);
-        data.put(42430651L, 0);
-        data.put(42430664L, 0);
-        data.put(42430669L, 3);
-        data.put(42430673L, 48);
-        data.put(42430677L, 11);
-        data.put(42430680L, 6);
-        data.put(42430685L, 5);
-        data.put(42430688L, 5);
-        data.put(42430691L, 20);
-        data.put(42430694L, 4);
-        data.put(42430698L, 1);
-        data.put(42430704L, 7);
-        data.put(42430707L, 7);
-        data.put(42430713L, 8);
-        data.put(42430722L, 13);
-        data.put(42430736L, 24);
-        data.put(42430739L, 8);
-        data.put(42430742L, 5);
-        data.put(42430745L, 5);
-        data.put(42430747L, 11);
-        data.put(42430749L, 5);
-        data.put(42430761L, 0);
-        data.put(42430770L, 3);
-        data.put(42430782L, 1);
-        data.put(42430791L, 1);
-        data.put(42430796L, 3);
-        data.put(42430803L, 4);
-        data.put(42430805L, 5);
-        data.put(42430811L, 2);
-        data.put(42430813L, 7);
-        data.put(42430818L, 2);
-        data.put(42430824L, 1);
-        data.put(42430828L, 10);
-        data.put(42430848L, 0);
-        data.put(42430857L, 18);
-        data.put(42430861L, 8);
-        data.put(42430872L, 14);
-        data.put(42430886L, 1);
-        data.put(42430898L, 14);
-        data.put(42430903L, 10);
-        data.put(42430914L, 10);
-        data.put(42430924L, 6);
-        data.put(42430938L, 0);
-        data.put(42430942L, 0);
-        data.put(42430945L, 0);
-        data.put(42430951L, 0);
-        data.put(42430973L, 0);
-        data.put(42430981L, 10);
-        data.put(42430983L, 4);
-        data.put(42430984L, 9);
-        data.put(42430985L, 12);
-        data.put(42430989L, 20);
-        data.put(42431000L, 12);
-        data.put(42431002L, 3);
-        data.put(42431004L, 12);
-        data.put(42431005L, 6);
-        data.put(42431007L, 12);
-        data.put(42431008L, 6);
-        data.put(42431009L, 12);
-        data.put(42431015L, 3);
-        data.put(42431019L, 1);
-        data.put(42431024L, 14);
-        data.put(42431027L, 7);
-        data.put(42431030L, 6);
-        data.put(42431034L, 14);
-        data.put(42431037L, 7);
-        data.put(42431039L, 8);
-        data.put(42431044L, 3);
-        data.put(42431057L, 11);
-        data.put(42431067L, 6);
-        data.put(42431078L, 20);
-        data.put(42431089L, 8);
-        data.put(42431094L, 5);
-        data.put(42431096L, 1);
-        data.put(42431099L, 10);
-        data.put(42431102L, 9);
-        data.put(42431104L, 8);
-        data.put(42431106L, 10);
-        data.put(42431107L, 9);
-        data.put(42431108L, 4);
-        data.put(42431111L, 14);
-        data.put(42431113L, 8);
-        data.put(42431116L, 2);
-        data.put(42431118L, 10);
-        data.put(42431121L, 4);
-        data.put(42431151L, 2);
-        data.put(42431154L, 3);
-        data.put(42431156L, 0);
-        data.put(42431165L, 5);
-        data.put(42431168L, 2);
-        data.put(42431177L, 0);
-        data.put(42431180L, 0);
-        data.put(42431186L, 3);
-        data.put(42431193L, 0);
-        data.put(42431200L, 0);
-        data.put(42431201L, 0);
-        data.put(42431203L, 1);
-        data.put(42431207L, 0);
-        data.put(42431210L, 0);
-        data.put(42431228L, 0);
-        data.put(42431230L, 0);
-        data.put(42431234L, 0);
-        data.put(42431242L, 0);
-        data.put(42431252L, 0);
-        data.put(42431257L, 0);
-        data.put(42431260L, 0);
-        data.put(42431262L, 0);
-        data.put(42431273L, 0);
-        data.put(42431275L, 1);
-        data.put(42431293L, 0);
-        data.put(42431447L, 4);
-        data.put(42431452L, 2);
-        data.put(42431453L, 3);
-        data.put(42431459L, 23);
-        data.put(42431461L, 3);
-        data.put(42431464L, 6);
-        data.put(42431467L, 0);
-        data.put(42431470L, 11);
-        data.put(42431482L, 0);
-        data.put(42431490L, 33);
-        data.put(42431491L, 1);
-        data.put(42431497L, 3);
-        data.put(42431500L, 0);
-        data.put(42431503L, 2);
-        data.put(42431505L, 2);
-        data.put(42431508L, 13);
-        data.put(42431517L, 1);
-        data.put(42431519L, 1);
-        data.put(42431524L, 0);
-        data.put(42431528L, 2);
-        data.put(42431531L, 0);
-        data.put(42431536L, 0);
-        data.put(42431544L, 7);
-        data.put(42431549L, 35);
-        data.put(42431556L, 12);
-        data.put(42431560L, 14);
-        data.put(42431563L, 11);
-        data.put(42431602L, 0);
-        data.put(42431611L, 13);
-        data.put(42431614L, 9);
-        data.put(42431617L, 1);
-        data.put(42431626L, 5);
-        data.put(42431629L, 2);
-        data.put(42431630L, 5);
-        data.put(42431643L, 0);
-        data.put(42431649L, 1);
-        data.put(42431650L, 14);
-        data.put(42431652L, 21);
-        data.put(42431654L, 23);
-        data.put(42431656L, 27);
-        data.put(42431659L, 17);
-        data.put(42431661L, 22);
-        data.put(42431666L, 0);
-        data.put(42431671L, 12);
-        data.put(42431674L, 11);
-        data.put(42431677L, 9);
-        data.put(42431678L, 19);
-        data.put(42431680L, 59);
-        data.put(42431681L, 6);
-        data.put(42431684L, 12);
-        data.put(42431773L, 5);
-        data.put(42431777L, 2);
-        data.put(42431785L, 0);
-        data.put(42431789L, 0);
-        data.put(42431797L, 0);
-        data.put(42431802L, 1);
-        data.put(42431804L, 0);
-        data.put(42431805L, 0);
-        data.put(42431812L, 1);
-        data.put(42431814L, 1);
-        data.put(42431822L, 1);
-        data.put(42431844L, 1);
-        data.put(42431868L, 2);
-        data.put(42431875L, 3);
-        data.put(42431877L, 0);
-        data.put(42431889L, 0);
-        data.put(42431898L, 3);
-        data.put(42431902L, 0);
-        data.put(42431990L, 0);
-        data.put(42431992L, 0);
-        data.put(42432000L, 0);
-        data.put(42432002L, 0);
-        data.put(42432054L, 0);
-        data.put(42432057L, 0);
-        data.put(42432060L, 7);
-        data.put(42432063L, 0);
-        data.put(42432066L, 1);
-        data.put(42432068L, 2);
-        data.put(42432071L, 0);
-        data.put(42432073L, 0);
-        data.put(42432075L, 0);
-        data.put(42432078L, 0);
-        data.put(42432082L, 0);
-        data.put(42432083L, 0);
-        data.put(42432085L, 0);
-        data.put(42432091L, 0);
-        data.put(42432094L, 0);
-        data.put(42432095L, 0);
-        data.put(42432097L, 0);
-        data.put(42432099L, 0);
-        data.put(42432102L, 0);
-        data.put(42432103L, 0);
-        data.put(42432105L, 13);
-        data.put(42432108L, 0);
-        data.put(42432111L, 0);
-        data.put(42432127L, 1);
-        data.put(42432135L, 1);
-        data.put(42432142L, 15);
-        data.put(42432148L, 1);
-        data.put(42432152L, 2);
-        data.put(42432156L, 0);
-        data.put(42432161L, 4);
-        data.put(42432165L, 0);
-        data.put(42432171L, 1);
-        data.put(42432174L, 0);
-        data.put(42432178L, 1);
-        data.put(42432181L, 0);
-        data.put(42432184L, 3);
-        data.put(42432191L, 0);
-        data.put(42432194L, 4);
-        data.put(42432199L, 0);
-        data.put(42432201L, 0);
-        data.put(42432205L, 1);
-        data.put(42432208L, 1);
-        data.put(42432211L, 1);
-        data.put(42432214L, 16);
-        data.put(42432218L, 0);
-        data.put(42432220L, 0);
-        data.put(42432223L, 0);
-        data.put(42432226L, 0);
-        data.put(42432228L, 0);
-        data.put(42432238L, 0);
-        data.put(42432241L, 0);
-        data.put(42432244L, 0);
-        data.put(42432246L, 0);
-        data.put(42432250L, 0);
-        data.put(42432282L, 0);
-        data.put(42432302L, 0);
-        data.put(42432305L, 0);
-        data.put(42432308L, 0);
-        data.put(42432352L, 0);
-        data.put(42432376L, 0);
-        data.put(42432395L, 1);
-        data.put(42432436L, 8);
-        data.put(42432438L, 9);
-        data.put(42432444L, 15);
-        data.put(42432451L, 3);
-        data.put(42432458L, 4);
-        data.put(42432464L, 22);
-        data.put(42432540L, 1);
-        data.put(42432548L, 0);
-        data.put(42432556L, 3);
-        data.put(42432558L, 11);
-        data.put(42432564L, 9);
-        data.put(42432572L, 0);
-        data.put(42432580L, 8);
-        data.put(42432585L, 3);
-        data.put(42432589L, 24);
-        data.put(42432594L, 15);
-        data.put(42432598L, 14);
-        data.put(42432605L, 0);
-        data.put(42432659L, 0);
-        data.put(42432665L, 1);
-        data.put(42432669L, 0);
-        data.put(42432679L, 10);
-        data.put(42432693L, 11);
-        data.put(42432700L, 3);
-        data.put(42432703L, 15);
-        data.put(42432706L, 20);
-        data.put(42432720L, 0);
-        data.put(42432722L, 0);
-        data.put(42432736L, 0);
-        data.put(42432737L, 0);
-        data.put(42432744L, 10);
-        data.put(42432756L, 0);
-        data.put(42432764L, 0);
-        data.put(42432785L, 0);
-        data.put(42432789L, 0);
-        data.put(42432795L, 0);
-        data.put(42432799L, 0);
-        data.put(42432802L, 0);
-        data.put(42432805L, 0);
-        data.put(42432818L, 20);
-        data.put(42432825L, 6);
-        data.put(42432834L, 11);
-        data.put(42432847L, 28);
-        data.put(42432856L, 19);
-        data.put(42432861L, 22);
-        data.put(42432871L, 0);
-        data.put(42432875L, 0);
-        data.put(42432882L, 0);
-        data.put(42432889L, 0);
-        data.put(42432894L, 0);
-        data.put(42432897L, 0);
-        data.put(42432900L, 0);
-        data.put(42432905L, 0);
-        data.put(42432908L, 0);
-        data.put(42432917L, 0);
-        data.put(42432926L, 0);
-        data.put(42432928L, 1);
-        data.put(42432929L, 0);
-        data.put(42432931L, 0);
-        data.put(42432932L, 0);
-        data.put(42432933L, 0);
-        data.put(42432936L, 0);
-        data.put(42432949L, 0);
-        data.put(42432950L, 0);
-        data.put(42432954L, 0);
-        data.put(42432955L, 0);
-        data.put(42432956L, 0);
-        data.put(42432957L, 0);
-        data.put(42432960L, 0);
-        data.put(42432961L, 0);
-        data.put(42432963L, 0);
-        data.put(42432967L, 0);
-        data.put(42432970L, 0);
-        data.put(42432974L, 0);
-        data.put(42432980L, 0);
-        data.put(42432983L, 0);
-        data.put(42432985L, 0);
-        data.put(42432990L, 0);
-        data.put(42432992L, 0);
-        data.put(42432994L, 0);
-        data.put(42432999L, 0);
-        data.put(42433011L, 0);
-        data.put(42433014L, 0);
-        data.put(42433017L, 0);
-        data.put(42433020L, 0);
-        data.put(42433024L, 0);
-        data.put(42433027L, 0);
-        data.put(42433030L, 0);
-        data.put(42433035L, 0);
-        data.put(42433041L, 0);
-        data.put(42433043L, 0);
-        data.put(42433044L, 0);
-        data.put(42433046L, 0);
-        data.put(42433057L, 0);
-        data.put(42433058L, 0);
-        data.put(42433060L, 0);
-        data.put(42433062L, 0);
-        data.put(42433064L, 0);
-        data.put(42433066L, 0);
-        data.put(42433068L, 0);
-        data.put(42433069L, 0);
-        data.put(42433072L, 0);
-        data.put(42433075L, 0);
-        data.put(42433077L, 0);
-        data.put(42433080L, 0);
-        data.put(42433097L, 0);
-        data.put(42433107L, 0);
-        data.put(42433115L, 0);
+    /**
+     * Set the weights to a blend of old and new weights, scaling the old weights so that the sum stays about the
+     * same as the old sum, unless the new weights are heavier.
+     */
+    private void blend(int[] oldWeights, double oldSum, int[] newWeights, double newSum) {
+        double newCoeff = 4;
+        // the old weights are dropped rather than made negative
+        double oldCoeff = Math.max((oldSum - newCoeff * newSum) / oldSum, 0);
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = (int)Math.round(oldCoeff * oldWeights[i] + newCoeff * newWeights[i]);
+        }
+        buildTree();
     }
     
-    private void initDataPart2() {
-        data.put(42433138L, 0);
-        data.put(42433151L, 0);
-        data.put(42433161L, 0);
-        data.put(42433163L, 0);
-        data.put(42433165L, 0);
-        data.put(42433173L, 0);
-        data.put(42433205L, 0);
-        data.put(42433212L, 0);
-        data.put(42433218L, 0);
-        data.put(42433229L, 2);
-        data.put(42433231L, 0);
-        data.put(42433237L, 0);
-        data.put(42433243L, 0);
-        data.put(42433252L, 4);
-        data.put(42433256L, 1);
-        data.put(42433260L, 0);
-        data.put(42433261L, 1);
-        data.put(42433264L, 0);
-        data.put(42433269L, 0);
-        data.put(42433272L, 0);
-        data.put(42433275L, 0);
-        data.put(42433278L, 0);
-        data.put(42433281L, 8);
-        data.put(42433282L, 0);
-        data.put(42433286L, 1);
-        data.put(42433292L, 0);
-        data.put(42433295L, 0);
-        data.put(42433298L, 1);
-        data.put(42433302L, 0);
-        data.put(42433324L, 1);
-        data.put(42433330L, 2);
-        data.put(42433339L, 0);
-        data.put(42433346L, 0);
-        data.put(42433354L, 4);
-        data.put(42433356L, 1);
-        data.put(42433377L, 0);
-        data.put(42433385L, 0);
-        data.put(42433421L, 0);
-        data.put(42433422L, 1);
-        data.put(42433490L, 0);
-        data.put(42433513L, 0);
-        data.put(42433537L, 0);
-        data.put(42433539L, 0);
-        data.put(42433542L, 0);
-        data.put(42433543L, 0);
-        data.put(42433545L, 3);
-        data.put(42433550L, 0);
-        data.put(42433551L, 3);
-        data.put(42433553L, 0);
-        data.put(42433554L, 0);
-        data.put(42433555L, 0);
-        data.put(42433557L, 0);
-        data.put(42433564L, 0);
-        data.put(42433565L, 8);
-        data.put(42433567L, 4);
-        data.put(42433569L, 3);
-        data.put(42433573L, 3);
-        data.put(42433574L, 0);
-        data.put(42433577L, 1);
-        data.put(42433578L, 0);
-        data.put(42433581L, 5);
-        data.put(42433587L, 0);
-        data.put(42433604L, 11);
-        data.put(42433611L, 9);
-        data.put(42433620L, 17);
-        data.put(42433625L, 20);
-        data.put(42433644L, 4);
-        data.put(42433712L, 6);
-        data.put(42433715L, 7);
-        data.put(42433718L, 9);
-        data.put(42433743L, 0);
-        data.put(42433779L, 0);
-        data.put(42433781L, 1);
-        data.put(42433785L, 0);
-        data.put(42433789L, 0);
-        data.put(42433797L, 0);
-        data.put(42433800L, 0);
-        data.put(42433811L, 0);
-        data.put(42433821L, 0);
-        data.put(42433822L, 3);
-        data.put(42433834L, 1);
-        data.put(42433927L, 4);
-        data.put(42434072L, 14);
-        data.put(42434074L, 17);
-        data.put(42434077L, 2);
-        data.put(42434085L, 9);
-        data.put(42434087L, 11);
-        data.put(42434090L, 19);
-        data.put(42434092L, 1);
-        data.put(42434097L, 0);
-        data.put(42434098L, 0);
-        data.put(42434101L, 0);
-        data.put(42434105L, 1);
-        data.put(42434110L, 0);
-        data.put(42434111L, 1);
-        data.put(42434113L, 0);
-        data.put(42434117L, 1);
-        data.put(42434122L, 0);
-        data.put(42434129L, 0);
-        data.put(42434131L, 0);
-        data.put(42434134L, 0);
-        data.put(42434135L, 0);
-        data.put(42434140L, 2);
-        data.put(42434142L, 2);
-        data.put(42434145L, 10);
-        data.put(42434148L, 3);
-        data.put(42434156L, 16);
-        data.put(42434158L, 11);
-        data.put(42434160L, 4);
-        data.put(42434161L, 0);
-        data.put(42434165L, 7);
-        data.put(42434166L, 5);
-        data.put(42434168L, 3);
-        data.put(42434169L, 8);
-        data.put(42434172L, 17);
-        data.put(42434175L, 19);
-        data.put(42434179L, 9);
-        data.put(42434196L, 3);
-        data.put(42434197L, 1);
-        data.put(42434201L, 3);
-        data.put(42434205L, 4);
-        data.put(42434215L, 10);
-        data.put(42434226L, 4);
-        data.put(42434233L, 1);
-        data.put(42434237L, 0);
-        data.put(42434246L, 0);
-        data.put(42434249L, 0);
-        data.put(42434251L, 0);
-        data.put(42434255L, 0);
-        data.put(42434259L, 0);
-        data.put(42434262L, 1);
-        data.put(42434264L, 0);
-        data.put(42434268L, 10);
-        data.put(42434270L, 16);
-        data.put(42434271L, 4);
-        data.put(42434279L, 15);
-        data.put(42434285L, 6);
-        data.put(42434306L, 0);
-        data.put(42434308L, 0);
-        data.put(42434314L, 0);
-        data.put(42434338L, 0);
-        data.put(42434340L, 0);
-        data.put(42434343L, 0);
-        data.put(42434352L, 3);
-        data.put(42434354L, 5);
-        data.put(42434355L, 0);
-        data.put(42434357L, 6);
-        data.put(42434358L, 4);
-        data.put(42434360L, 2);
-        data.put(42434361L, 0);
-        data.put(42434370L, 0);
-        data.put(42434372L, 0);
-        data.put(42434377L, 0);
-        data.put(42434382L, 0);
-        data.put(42434384L, 1);
-        data.put(42434385L, 1);
-        data.put(42434386L, 2);
-        data.put(42434389L, 1);
-        data.put(42434401L, 0);
-        data.put(42434410L, 2);
-        data.put(42434412L, 1);
-        data.put(42434413L, 0);
-        data.put(42434418L, 2);
-        data.put(42434420L, 2);
-        data.put(42434427L, 0);
-        data.put(42434429L, 0);
-        data.put(42434434L, 2);
-        data.put(42434439L, 0);
-        data.put(42434465L, 0);
-        data.put(42434559L, 0);
-        data.put(42434589L, 0);
-        data.put(42434722L, 0);
-        data.put(42434780L, 0);
-        data.put(42434800L, 17);
-        data.put(42434807L, 17);
-        data.put(42434810L, 3);
-        data.put(42434821L, 9);
-        data.put(42434827L, 0);
-        data.put(42434832L, 0);
-        data.put(42434833L, 0);
-        data.put(42434839L, 2);
-        data.put(42434842L, 0);
-        data.put(42434845L, 1);
-        data.put(42434855L, 0);
-        data.put(42434871L, 7);
-        data.put(42434894L, 0);
-        data.put(42434895L, 1);
-        data.put(42434898L, 0);
-        data.put(42434904L, 7);
-        data.put(42434905L, 2);
-        data.put(42434910L, 1);
-        data.put(42434912L, 0);
-        data.put(42434935L, 0);
-        data.put(42434946L, 23);
-        data.put(42434948L, 6);
-        data.put(42434951L, 8);
-        data.put(42434954L, 17);
-        data.put(42434959L, 8);
-        data.put(42434962L, 1);
-        data.put(42434965L, 6);
-        data.put(42434969L, 2);
-        data.put(42434974L, 13);
-        data.put(42434989L, 0);
-        data.put(42434992L, 0);
-        data.put(42435002L, 0);
-        data.put(42435197L, 0);
-        data.put(42435198L, 0);
-        data.put(42435207L, 1);
-        data.put(42435211L, 0);
-        data.put(42435222L, 0);
-        data.put(42435230L, 1);
-        data.put(42435231L, 0);
-        data.put(42435234L, 3);
-        data.put(42435237L, 0);
-        data.put(42435240L, 0);
-        data.put(42435250L, 15);
-        data.put(42435253L, 27);
-        data.put(42435257L, 20);
-        data.put(42435261L, 3);
-        data.put(42435264L, 31);
-        data.put(42435265L, 13);
-        data.put(42435266L, 12);
-        data.put(42435269L, 15);
-        data.put(42435272L, 26);
-        data.put(42435275L, 6);
-        data.put(42435283L, 10);
-        data.put(42435295L, 4);
-        data.put(42435301L, 3);
-        data.put(42435308L, 25);
-        data.put(42435310L, 16);
-        data.put(42435312L, 8);
-        data.put(42435316L, 18);
-        data.put(42435317L, 2);
-        data.put(42435319L, 25);
-        data.put(42435323L, 12);
-        data.put(42435328L, 2);
-        data.put(42435331L, 5);
-        data.put(42435333L, 0);
-        data.put(42435335L, 10);
-        data.put(42435336L, 6);
-        data.put(42435337L, 1);
-        data.put(42435341L, 3);
-        data.put(42435343L, 0);
-        data.put(42435346L, 2);
-        data.put(42435359L, 12);
-        data.put(42435360L, 0);
-        data.put(42435362L, 0);
-        data.put(42435380L, 0);
-        data.put(42435387L, 1);
-        data.put(42435388L, 0);
-        data.put(42435392L, 0);
-        data.put(42435395L, 0);
-        data.put(42435396L, 0);
-        data.put(42435400L, 0);
-        data.put(42435403L, 0);
-        data.put(42435412L, 0);
-        data.put(42435415L, 0);
-        data.put(42435420L, 11);
-        data.put(42435422L, 77);
-        data.put(42435434L, 0);
-        data.put(42435435L, 0);
-        data.put(42435448L, 0);
-        data.put(42435451L, 0);
-        data.put(42435456L, 0);
-        data.put(42435470L, 0);
-        data.put(42435477L, 1);
-        data.put(42435485L, 0);
-        data.put(42435491L, 1);
-        data.put(42435497L, 17);
-        data.put(42435499L, 13);
-        data.put(42435504L, 4);
-        data.put(42435509L, 29);
-        data.put(42435514L, 20);
-        data.put(42435516L, 5);
-        data.put(42435518L, 7);
-        data.put(42435522L, 1);
-        data.put(42435534L, 0);
-        data.put(42435538L, 0);
-        data.put(42435541L, 0);
-        data.put(42435544L, 0);
-        data.put(42435550L, 0);
-        data.put(42435553L, 0);
-        data.put(42435556L, 0);
-        data.put(42435578L, 10);
-        data.put(42435581L, 8);
-        data.put(42435583L, 2);
-        data.put(42435596L, 11);
-        data.put(42435598L, 21);
-        data.put(42435599L, 12);
-        data.put(42435603L, 12);
-        data.put(42435610L, 10);
-        data.put(42435624L, 14);
-        data.put(42435629L, 12);
-        data.put(42435632L, 12);
-        data.put(42435633L, 8);
-        data.put(42435642L, 11);
-        data.put(42435644L, 42);
-        data.put(42435645L, 9);
-        data.put(42435646L, 9);
-        data.put(42435650L, 16);
-        data.put(42435654L, 65);
-        data.put(42435657L, 111);
-        data.put(42435660L, 88);
-        data.put(42435663L, 10);
-        data.put(42435671L, 16);
-        data.put(42435675L, 49);
-        data.put(42435677L, 11);
-        data.put(42435680L, 19);
-        data.put(42435684L, 10);
-        data.put(42435687L, 20);
-        data.put(42435702L, 9);
-        data.put(42435705L, 9);
-        data.put(42435707L, 16);
-        data.put(42435710L, 13);
-        data.put(42435714L, 27);
-        data.put(42435716L, 7);
-        data.put(42435736L, 4);
-        data.put(42435743L, 3);
-        data.put(42435746L, 3);
-        data.put(42435755L, 11);
-        data.put(42435761L, 3);
-        data.put(42435763L, 1);
-        data.put(42435766L, 3);
-        data.put(42435775L, 0);
-        data.put(42435785L, 1);
-        data.put(42435794L, 0);
-        data.put(42435802L, 1);
-        data.put(42435803L, 0);
-        data.put(42435805L, 1);
-        data.put(42435810L, 0);
-        data.put(42435814L, 0);
-        data.put(42435825L, 1);
-        data.put(42435837L, 0);
-        data.put(42435844L, 1);
-        data.put(42435850L, 1);
-        data.put(42435852L, 0);
-        data.put(42435856L, 1);
-        data.put(42435858L, 1);
-        data.put(42435860L, 0);
-        data.put(42435861L, 0);
-        data.put(42435863L, 0);
-        data.put(42435865L, 0);
-        data.put(42435869L, 0);
-        data.put(42435873L, 0);
-        data.put(42435876L, 0);
-        data.put(42435880L, 0);
-        data.put(42435881L, 0);
-        data.put(42435885L, 2);
-        data.put(42435891L, 1);
-        data.put(42435894L, 0);
-        data.put(42435898L, 0);
-        data.put(42435910L, 0);
-        data.put(42435916L, 0);
-        data.put(42435920L, 0);
-        data.put(42435921L, 0);
-        data.put(42435922L, 3);
-        data.put(42435923L, 0);
-        data.put(42435925L, 0);
-        data.put(42435928L, 1);
-        data.put(42435931L, 0);
-        data.put(42435940L, 0);
-        data.put(42435943L, 0);
-        data.put(42435953L, 0);
-        data.put(42435957L, 0);
-        data.put(42435967L, 1);
-        data.put(42435981L, 0);
-        data.put(42435988L, 0);
-        data.put(42435990L, 0);
-        data.put(42435993L, 0);
-        data.put(42435997L, 0);
-        data.put(42436001L, 0);
-        data.put(42436003L, 0);
-        data.put(42436014L, 12);
-        data.put(42436017L, 0);
-        data.put(42436021L, 0);
-        data.put(42436024L, 1);
-        data.put(42436050L, 6);
-        data.put(42436055L, 5);
-        data.put(42436056L, 8);
-        data.put(42436060L, 10);
-        data.put(42436064L, 1);
-        data.put(42436069L, 1);
-        data.put(42436073L, 0);
-        data.put(42436083L, 0);
-        data.put(42436088L, 2);
-        data.put(42436093L, 0);
-        data.put(42436097L, 0);
-        data.put(42436100L, 6);
-        data.put(42436109L, 2);
-        data.put(42436115L, 4);
-        data.put(42436119L, 1);
-        data.put(42436122L, 6);
-        data.put(42436126L, 37);
-        data.put(42436129L, 17);
-        data.put(42436134L, 7);
-        data.put(42436135L, 10);
-        data.put(42436139L, 6);
-        data.put(42436142L, 2);
-        data.put(42436146L, 6);
-        data.put(42436149L, 3);
-        data.put(42436152L, 2);
-        data.put(42436155L, 0);
-        data.put(42436159L, 1);
-        data.put(42436178L, 0);
-        data.put(42436181L, 1);
-        data.put(42436184L, 0);
-        data.put(42436187L, 0);
-        data.put(42436192L, 0);
-        data.put(42436202L, 0);
-        data.put(42436283L, 0);
-        data.put(42436285L, 0);
-        data.put(42436288L, 0);
-        data.put(42436293L, 0);
-        data.put(42436296L, 0);
-        data.put(42436297L, 0);
-        data.put(42436301L, 0);
-        data.put(42436308L, 7);
-        data.put(42436313L, 2);
-        data.put(42436316L, 5);
-        data.put(42436322L, 3);
-        data.put(42436326L, 1);
-        data.put(42436327L, 3);
-        data.put(42436330L, 8);
-        data.put(42436333L, 5);
-        data.put(42436335L, 13);
-        data.put(42436336L, 16);
-        data.put(42436340L, 16);
-        data.put(42436353L, 11);
-        data.put(42436355L, 2);
-        data.put(42436359L, 1);
-        data.put(42436364L, 5);
-        data.put(42436369L, 7);
-        data.put(42436371L, 5);
-        data.put(42436374L, 3);
-        data.put(42436377L, 14);
-        data.put(42436381L, 6);
-        data.put(42436384L, 24);
-        data.put(42436390L, 7);
-        data.put(42436393L, 24);
-        data.put(42436396L, 8);
-        data.put(42436400L, 10);
-        data.put(42436404L, 8);
-        data.put(42436407L, 10);
-        data.put(42436411L, 11);
-        data.put(42436414L, 0);
-        data.put(42436423L, 1);
-        data.put(42436427L, 2);
-        data.put(42436431L, 1);
-        data.put(42436439L, 7);
-        data.put(42436475L, 11);
-        data.put(42436477L, 19);
-        data.put(42436481L, 5);
-        data.put(42436484L, 40);
-        data.put(42436486L, 34);
-        data.put(42436489L, 47);
-        data.put(42436492L, 69);
-        data.put(42436510L, 4);
-        data.put(42436511L, 13);
-        data.put(42436514L, 9);
-        data.put(42436516L, 5);
-        data.put(42436519L, 16);
-        data.put(42436527L, 11);
-        data.put(42436531L, 14);
-        data.put(42436537L, 9);
-        data.put(42436539L, 17);
-        data.put(42436541L, 4);
-        data.put(42436544L, 16);
-        data.put(42436546L, 11);
-        data.put(42436549L, 18);
-        data.put(42436551L, 8);
-        data.put(42436556L, 5);
-        data.put(42436563L, 0);
-        data.put(42436567L, 0);
-        data.put(42436575L, 7);
-        data.put(42436578L, 4);
-        data.put(42436582L, 13);
-        data.put(42436586L, 34);
-        data.put(42436590L, 13);
-        data.put(42436598L, 1);
-        data.put(42436604L, 0);
-        data.put(42436610L, 3);
-        data.put(42436614L, 0);
-        data.put(42436619L, 5);
-        data.put(42436624L, 0);
-        data.put(42436627L, 2);
-        data.put(42436630L, 0);
-        data.put(42436637L, 1);
-        data.put(42436640L, 1);
-        data.put(42436641L, 0);
-        data.put(42436644L, 1);
-        data.put(42436647L, 0);
-        data.put(42436651L, 2);
-        data.put(42436653L, 0);
-        data.put(42436700L, 9);
-        data.put(42436701L, 4);
-        data.put(42436703L, 9);
-        data.put(42436705L, 9);
-        data.put(42436707L, 19);
-        data.put(42436710L, 16);
-        data.put(42436714L, 28);
-        data.put(42436716L, 2);
-        data.put(42436719L, 0);
-        data.put(42436724L, 0);
-        data.put(42436726L, 0);
-        data.put(42436728L, 1);
-        data.put(42436734L, 0);
-        data.put(42436739L, 0);
-        data.put(42436746L, 12);
-        data.put(42436748L, 1);
-        data.put(42436751L, 10);
-        data.put(42436753L, 19);
-        data.put(42436754L, 10);
-        data.put(42436756L, 12);
-        data.put(42436763L, 3);
-        data.put(42436770L, 0);
-        data.put(42436779L, 2);
-        data.put(42436784L, 2);
-        data.put(42436788L, 3);
-        data.put(42436793L, 3);
-        data.put(42436796L, 1);
-        data.put(42436806L, 0);
-        data.put(42436807L, 0);
-        data.put(42436812L, 0);
-        data.put(42436832L, 0);
-        data.put(42436848L, 0);
-        data.put(42436856L, 0);
-        data.put(42436894L, 5);
-        data.put(42436899L, 1);
-        data.put(42436903L, 0);
-        data.put(42436911L, 4);
-        data.put(42436913L, 17);
-        data.put(42436914L, 10);
-        data.put(42436917L, 21);
-        data.put(42436919L, 19);
-        data.put(42436921L, 10);
-        data.put(42436922L, 34);
-        data.put(42436929L, 0);
-        data.put(42436930L, 0);
-        data.put(42436935L, 5);
-        data.put(42436939L, 8);
-        data.put(42436941L, 14);
-        data.put(42436942L, 9);
-        data.put(42436943L, 9);
-        data.put(42436944L, 1);
-        data.put(42436947L, 0);
-        data.put(42436949L, 0);
-        data.put(42436957L, 0);
-        data.put(42436968L, 0);
-        data.put(42436971L, 0);
-        data.put(42436974L, 0);
-        data.put(42436985L, 13);
-        data.put(42436990L, 5);
-        data.put(42437005L, 0);
-        data.put(42437018L, 4);
-        data.put(42437021L, 11);
-        data.put(42437050L, 11);
-        data.put(42437052L, 10);
-        data.put(42437058L, 1);
-        data.put(42437067L, 0);
-        data.put(42437071L, 0);
-        data.put(42437074L, 0);
-        data.put(42437078L, 5);
-        data.put(42437082L, 1);
-        data.put(42437084L, 11);
-        data.put(42437096L, 0);
-        data.put(42437106L, 0);
-        data.put(42437108L, 5);
-        data.put(42437109L, 0);
-        data.put(42437111L, 0);
-        data.put(42437113L, 0);
-        data.put(42437114L, 0);
-        data.put(42437118L, 0);
-        data.put(42437124L, 1);
-        data.put(42437135L, 0);
-        data.put(42437142L, 0);
-        data.put(42437174L, 5);
-        data.put(42437177L, 2);
-        data.put(42437188L, 1);
-        data.put(42437196L, 0);
-        data.put(42437201L, 2);
-        data.put(42437204L, 0);
-        data.put(42437211L, 0);
-        data.put(42437218L, 2);
-        data.put(42437222L, 4);
-        data.put(42437223L, 1);
-        data.put(42437280L, 3);
-        data.put(42437283L, 2);
-        data.put(42437287L, 16);
-        data.put(42437289L, 28);
-        data.put(42437300L, 14);
-        data.put(42437305L, 13);
-        data.put(42437312L, 0);
-        data.put(42437316L, 0);
-        data.put(42437319L, 0);
-        data.put(42437324L, 0);
-        data.put(42437333L, 0);
-        data.put(42437339L, 10);
-        data.put(42437343L, 5);
-        data.put(42437346L, 2);
-        data.put(42437349L, 2);
-        data.put(42437354L, 0);
-        data.put(42437358L, 28);
-        data.put(42437363L, 23);
-        data.put(42437368L, 15);
-        data.put(42437371L, 21);
-        data.put(42437379L, 0);
-        data.put(42437384L, 8);
-        data.put(42437396L, 6);
-        data.put(42437401L, 33);
-        data.put(42437410L, 2);
-        data.put(42437423L, 0);
-        data.put(42437425L, 16);
-        data.put(42437428L, 3);
-        data.put(42437433L, 3);
-        data.put(42437436L, 42);
-        data.put(42437445L, 6);
-        data.put(42437451L, 16);
-        data.put(42437465L, 0);
-        data.put(42437472L, 0);
-        data.put(42437481L, 0);
-        data.put(42437490L, 0);
-        data.put(42437503L, 0);
-        data.put(42437505L, 0);
-        data.put(42437529L, 9);
-        data.put(42437530L, 0);
-        data.put(42437536L, 12);
-        data.put(42437559L, 0);
-        data.put(42437564L, 0);
-        data.put(42437580L, 0);
-        data.put(42437589L, 2);
-        data.put(42437605L, 0);
-        data.put(42437608L, 2);
-        data.put(42437612L, 0);
-        data.put(42437613L, 0);
-        data.put(42437618L, 2);
-        data.put(42437644L, 15);
-        data.put(42437654L, 69);
-        data.put(42437663L, 11);
-        data.put(42437670L, 3);
-        data.put(42437678L, 4);
-        data.put(42437686L, 13);
-        data.put(42437688L, 4);
-        data.put(42437693L, 2);
-        data.put(42437699L, 0);
-        data.put(42437749L, 0);
-        data.put(42437753L, 3);
-        data.put(42437755L, 1);
-        data.put(42437763L, 0);
-        data.put(42437768L, 0);
-        data.put(42437770L, 0);
-        data.put(42437773L, 0);
-        data.put(42437786L, 1);
-        data.put(42437801L, 0);
-        data.put(42437819L, 0);
-        data.put(42437826L, 2);
-        data.put(42437830L, 2);
-        data.put(42437841L, 0);
-        data.put(42437845L, 4);
-        data.put(42437881L, 19);
-        data.put(42437890L, 29);
-        data.put(42437909L, 43);
-        data.put(42437914L, 25);
-        data.put(42437916L, 2);
-        data.put(42437917L, 2);
-        data.put(42437918L, 2);
-        data.put(42437920L, 0);
-        data.put(42437921L, 0);
-        data.put(42437923L, 0);
-        data.put(42437925L, 0);
-        data.put(42437926L, 0);
-        data.put(42437928L, 2);
-        data.put(42437929L, 0);
-        data.put(42437930L, 0);
-        data.put(42437932L, 0);
-        data.put(42437942L, 0);
-        data.put(42437944L, 0);
-        data.put(42437949L, 8);
-        data.put(42437951L, 9);
-        data.put(42437962L, 6);
-        data.put(42437965L, 5);
-        data.put(42437967L, 6);
-        data.put(42437972L, 2);
-        data.put(42437978L, 0);
-        data.put(42437980L, 1);
-        data.put(42437988L, 0);
-        data.put(42437990L, 2);
-        data.put(42437996L, 3);
-        data.put(42438018L, 0);
-        data.put(42438024L, 0);
-        data.put(42438034L, 0);
-        data.put(42438038L, 0);
-        data.put(42438043L, 18);
-        data.put(42438045L, 9);
-        data.put(42438052L, 2);
-        data.put(42438060L, 0);
-        data.put(42438066L, 0);
-        data.put(42438068L, 1);
-        data.put(42438084L, 0);
-        data.put(42438090L, 0);
-        data.put(42438153L, 0);
-        data.put(42438155L, 3);
-        data.put(42438160L, 0);
-        data.put(42438173L, 4);
-        data.put(42438174L, 4);
-        data.put(42438186L, 0);
-        data.put(42438189L, 0);
-        data.put(42438199L, 0);
-        data.put(42438218L, 0);
-        data.put(42438228L, 0);
-        data.put(42438235L, 1);
-        data.put(42438236L, 0);
-        data.put(42438240L, 0);
-        data.put(42438246L, 0);
-        data.put(42438247L, 2);
-        data.put(42438255L, 0);
-        data.put(42438257L, 0);
-        data.put(42438271L, 0);
-        data.put(42438275L, 1);
-        data.put(42438281L, 0);
-        data.put(42438288L, 0);
-        data.put(42438291L, 0);
-        data.put(42438292L, 0);
-        data.put(42438295L, 0);
-        data.put(42438297L, 0);
-        data.put(42438300L, 1);
-        data.put(42438301L, 10);
-        data.put(42438304L, 3);
-        data.put(42438306L, 1);
-        data.put(42438362L, 11);
-        data.put(42438463L, 11);
-        data.put(42438471L, 0);
-        data.put(42438476L, 0);
-        data.put(42438485L, 4);
-        data.put(42438487L, 11);
-        data.put(42438490L, 9);
-        data.put(42438498L, 12);
-        data.put(42438503L, 22);
-        data.put(42438506L, 14);
-        data.put(42438509L, 15);
-        data.put(42438513L, 8);
-        data.put(42438529L, 0);
-        data.put(42438531L, 0);
-        data.put(42438544L, 17);
-        data.put(42438547L, 18);
-        data.put(42438672L, 12);
-        data.put(42438674L, 12);
-        data.put(42438684L, 0);
-        data.put(42438702L, 0);
-        data.put(42438704L, 0);
-        data.put(42438707L, 1);
-        data.put(42438772L, 0);
-        data.put(42438774L, 0);
-        data.put(42438777L, 0);
-        data.put(42438779L, 0);
-        data.put(42438781L, 0);
-        data.put(42438784L, 8);
-        data.put(42438788L, 3);
-        data.put(42438791L, 13);
-        data.put(42438795L, 4);
-        data.put(42438798L, 6);
-        data.put(42438800L, 20);
-        data.put(42438802L, 7);
-        data.put(42438805L, 22);
-        data.put(42438809L, 0);
-        data.put(42438819L, 0);
-        data.put(42438825L, 1);
-        data.put(42438832L, 3);
-        data.put(42438836L, 0);
-        data.put(42438839L, 0);
-        data.put(42438849L, 1);
-        data.put(42438859L, 16);
-        data.put(42438862L, 15);
-        data.put(42438867L, 0);
-        data.put(42438881L, 5);
-        data.put(42438886L, 5);
-        data.put(42438889L, 27);
-        data.put(42438891L, 10);
-        data.put(42438894L, 9);
-        data.put(42438898L, 2);
-        data.put(42438906L, 0);
-        data.put(42438908L, 0);
-        data.put(42438913L, 0);
-        data.put(42438920L, 0);
-        data.put(42438923L, 2);
-        data.put(42438928L, 3);
-        data.put(42438947L, 0);
-        data.put(42438949L, 3);
-        data.put(42438953L, 1);
-        data.put(42438961L, 2);
-        data.put(42438963L, 3);
-        data.put(42438971L, 4);
-        data.put(42438973L, 0);
-        data.put(42438984L, 1);
-        data.put(42439001L, 8);
-        data.put(42439006L, 24);
-        data.put(42439025L, 0);
-        data.put(42439029L, 0);
-        data.put(42439042L, 0);
-        data.put(42439054L, 0);
-        data.put(42439070L, 24);
-        data.put(42439073L, 6);
-        data.put(42439078L, 0);
-        data.put(42439096L, 1);
-        data.put(42439099L, 0);
-        data.put(42439115L, 0);
-        data.put(42439170L, 22);
-        data.put(42439178L, 17);
-        data.put(42439181L, 10);
-        data.put(42439191L, 0);
-        data.put(42439203L, 4);
-        data.put(42439207L, 0);
-        data.put(42439210L, 0);
-        data.put(42439213L, 0);
-        data.put(42439216L, 0);
-        data.put(42439225L, 0);
-        data.put(42439228L, 0);
-        data.put(42439236L, 8);
-        data.put(42439249L, 2);
-        data.put(42439272L, 12);
-        data.put(42439275L, 17);
-        data.put(42439280L, 10);
-        data.put(42439286L, 8);
-        data.put(42439295L, 0);
-        data.put(42439323L, 15);
-        data.put(42439335L, 4);
-        data.put(42439345L, 2);
-        data.put(42439362L, 0);
-        data.put(42439371L, 0);
-        data.put(42439384L, 0);
-        data.put(42439389L, 7);
-        data.put(42439392L, 17);
-        data.put(42439395L, 4);
-        data.put(42439399L, 12);
-        data.put(42439403L, 21);
-        data.put(42439406L, 17);
-        data.put(42439409L, 19);
-        data.put(42439416L, 40);
-        data.put(42439432L, 0);
-        data.put(42439440L, 78);
-        data.put(42439464L, 23);
-        data.put(42439485L, 0);
-        data.put(42439486L, 0);
-        data.put(42439488L, 0);
-        data.put(42439489L, 0);
-        data.put(42439490L, 2);
-        data.put(42439497L, 0);
-        data.put(42439498L, 0);
-        data.put(42439506L, 0);
-        data.put(42439514L, 0);
-        data.put(42439527L, 5);
-        data.put(42439530L, 4);
-        data.put(42439533L, 4);
-        data.put(42439537L, 1);
-        data.put(42439542L, 1);
-        data.put(42439553L, 9);
-        data.put(42439556L, 15);
-        data.put(42439557L, 15);
-        data.put(42439559L, 19);
-        data.put(42439561L, 31);
-        data.put(42439563L, 12);
-        data.put(42439567L, 21);
-        data.put(42439580L, 2);
-        data.put(42439581L, 0);
-        data.put(42439583L, 0);
-        data.put(42439588L, 1);
-        data.put(42439590L, 0);
-        data.put(42439598L, 0);
-        data.put(42439599L, 0);
-        data.put(42439601L, 0);
-        data.put(42439613L, 0);
-        data.put(42439620L, 0);
-        data.put(42439653L, 0);
-        data.put(42439673L, 0);
-        data.put(42439711L, 0);
-        data.put(42439718L, 0);
-        data.put(42439721L, 0);
-        data.put(42439724L, 0);
-        data.put(42439728L, 0);
-        data.put(42439730L, 0);
-        data.put(42439783L, 0);
-        data.put(42439802L, 0);
-        data.put(42439813L, 0);
-        data.put(42439823L, 14);
-        data.put(42439826L, 14);
-        data.put(42439830L, 10);
-        data.put(42439834L, 13);
-        data.put(42439836L, 14);
-        data.put(42439840L, 28);
-        data.put(42439842L, 22);
-        data.put(42439849L, 3);
-        data.put(42439851L, 0);
-        data.put(42439852L, 0);
-        data.put(42439855L, 0);
-        data.put(42439858L, 3);
-        data.put(42439860L, 0);
-        data.put(42439861L, 0);
-        data.put(42439864L, 0);
-        data.put(42439868L, 1);
-        data.put(42439873L, 0);
-        data.put(42439878L, 2);
-        data.put(42439887L, 0);
-        data.put(42439891L, 0);
-        data.put(42439894L, 1);
-        data.put(42439897L, 0);
-        data.put(42439899L, 0);
-        data.put(42439905L, 1);
-        data.put(42439910L, 0);
-        data.put(42439922L, 0);
-        data.put(42439924L, 0);
-        data.put(42439927L, 0);
-        data.put(42439929L, 0);
-        data.put(42439952L, 48);
-        data.put(42439955L, 12);
-        data.put(42439960L, 20);
-        data.put(42439964L, 21);
-        data.put(42439968L, 16);
-        data.put(42439972L, 78);
-        data.put(42439981L, 25);
-        data.put(42439984L, 12);
-        data.put(42439990L, 7);
-        data.put(42439994L, 12);
-        data.put(42439996L, 8);
-        data.put(42440001L, 10);
-        data.put(42440004L, 4);
-        data.put(42440009L, 13);
-        data.put(42440012L, 19);
-        data.put(42440015L, 26);
-        data.put(42440020L, 17);
-        data.put(42440022L, 23);
-        data.put(42440025L, 20);
-        data.put(42440052L, 0);
-        data.put(42440053L, 0);
-        data.put(42440056L, 0);
-        data.put(42440059L, 0);
-        data.put(42440065L, 0);
-        data.put(42440069L, 0);
-        data.put(42440072L, 0);
-        data.put(42440075L, 0);
-        data.put(42440079L, 0);
-        data.put(42440104L, 0);
-        data.put(42440108L, 0);
-        data.put(42440112L, 0);
-        data.put(42440122L, 0);
-        data.put(42440125L, 0);
-        data.put(42440131L, 0);
-        data.put(42440134L, 0);
-        data.put(42440138L, 0);
-        data.put(42440144L, 1);
-        data.put(42440146L, 0);
-        data.put(42440153L, 6);
-        data.put(42440163L, 11);
-        data.put(42440170L, 3);
-        data.put(42440253L, 0);
-        data.put(42440270L, 15);
-        data.put(42440280L, 2);
-        data.put(42440282L, 3);
-        data.put(42440287L, 0);
-        data.put(42440290L, 3);
-        data.put(42440323L, 3);
-        data.put(42440325L, 23);
-        data.put(42440326L, 22);
-        data.put(42440330L, 10);
-        data.put(42440335L, 0);
-        data.put(42440343L, 0);
-        data.put(42440345L, 2);
-        data.put(42440347L, 1);
-        data.put(42440350L, 4);
-        data.put(42440353L, 0);
-        data.put(42440356L, 0);
-        data.put(42440376L, 0);
-        data.put(42440381L, 0);
-        data.put(42440385L, 0);
-        data.put(42440397L, 12);
-        data.put(42440401L, 8);
-        data.put(42440408L, 0);
-        data.put(42440449L, 0);
-        data.put(42440452L, 8);
-        data.put(42440453L, 5);
-        data.put(42440456L, 5);
-        data.put(42440459L, 19);
-        data.put(42440463L, 5);
-        data.put(42440465L, 9);
-        data.put(42440469L, 22);
-        data.put(42440472L, 4);
-        data.put(42440476L, 0);
-        data.put(42440494L, 0);
-        data.put(42440499L, 0);
-        data.put(42440502L, 0);
-        data.put(42440527L, 0);
-        data.put(42440532L, 0);
-        data.put(42440545L, 3);
-        data.put(42440553L, 0);
-        data.put(42440565L, 9);
-        data.put(42440566L, 21);
-        data.put(42440567L, 5);
-        data.put(42440577L, 0);
-        data.put(42440628L, 11);
-        data.put(42440639L, 1);
-        data.put(42440679L, 0);
-        data.put(42440682L, 1);
-        data.put(42440686L, 0);
-        data.put(42440710L, 13);
-        data.put(42440721L, 10);
-        data.put(42440729L, 22);
-        data.put(42440737L, 7);
-        data.put(42440743L, 16);
-        data.put(42440754L, 9);
-        data.put(42440785L, 2);
-        data.put(42440792L, 0);
-        data.put(42440798L, 0);
-        data.put(42440804L, 0);
-        data.put(42440810L, 0);
-        data.put(42440815L, 6);
-        data.put(42440820L, 0);
-        data.put(42440823L, 0);
-        data.put(42440825L, 1);
-        data.put(42440829L, 16);
-        data.put(42440838L, 0);
-        data.put(42440847L, 2);
-        data.put(42440850L, 0);
-        data.put(42440854L, 0);
-        data.put(42440873L, 0);
-        data.put(42440916L, 1);
-        data.put(42440918L, 2);
-        data.put(42440934L, 19);
-        data.put(42440935L, 13);
-        data.put(42440940L, 0);
-        data.put(42440943L, 1);
-        data.put(42440946L, 0);
-        data.put(42440951L, 18);
-        data.put(42440960L, 16);
-        data.put(42440966L, 13);
-        data.put(42440973L, 0);
-        data.put(42441000L, 0);
-        data.put(42441007L, 0);
-        data.put(42441009L, 0);
-        data.put(42441077L, 0);
-        data.put(42441091L, 0);
-        data.put(42441099L, 0);
-        data.put(42441104L, 0);
-        data.put(42441111L, 0);
-        data.put(42441169L, 0);
-        data.put(42441191L, 0);
-        data.put(42441204L, 0);
-        data.put(42441251L, 0);
-        data.put(42441263L, 0);
-        data.put(42441276L, 0);
-        data.put(42441283L, 0);
-        data.put(42441299L, 0);
-        data.put(42441310L, 0);
-        data.put(42441382L, 0);
-        data.put(42441521L, 1);
-        data.put(42441526L, 2);
-        data.put(42441535L, 0);
-        data.put(42441564L, 5);
-        data.put(42441569L, 0);
-        data.put(42441587L, 0);
-        data.put(42441654L, 0);
-        data.put(42441668L, 3);
-        data.put(42441670L, 0);
-        data.put(42441695L, 0);
-        data.put(42441701L, 0);
-        data.put(42441704L, 0);
-        data.put(42441771L, 0);
-        data.put(42441774L, 0);
-        data.put(42441777L, 0);
-        data.put(42441805L, 0);
-        data.put(42441823L, 0);
-        data.put(42441889L, 0);
-        data.put(42441895L, 1);
-        data.put(42441899L, 1);
-        data.put(42441903L, 2);
-        data.put(42441907L, 1);
-        data.put(42441910L, 1);
-        data.put(42441913L, 0);
-        data.put(42441926L, 0);
-        data.put(42441942L, 0);
-        data.put(42441947L, 0);
-        data.put(42441949L, 0);
-        data.put(42441950L, 0);
-        data.put(42441951L, 0);
-        data.put(42441952L, 0);
-        data.put(42441953L, 0);
-        data.put(42441955L, 0);
-        data.put(42441956L, 0);
-        data.put(42442058L, 0);
-        data.put(42442107L, 4);
-        data.put(42442123L, 0);
-        data.put(42442128L, 0);
-        data.put(42442230L, 0);
+    private void buildTree() {
+        if (tree == null || tree.length != weights.length + 1) {
+            tree = new int[weights.length + 1];
+        }
+        sum = 0;
+        for (int i = 1; i < tree.length; i++) {
+            tree[i] = weights[i - 1];
+            sum += weights[i - 1];
+        }
+        for (int i = 1; i < tree.length; i++) {
+            int parent = i + (i & -i);
+            if (parent < tree.length) {
+                tree[parent] += tree[i];
+            }
+        }
     }
     
-    private void initDataPart3() {
-        data.put(42442247L, 10);
-        data.put(42442255L, 5);
-        data.put(42442269L, 1);
-        data.put(42442273L, 2);
-        data.put(42442276L, 0);
-        data.put(42442286L, 6);
-        data.put(42442288L, 0);
-        data.put(42442291L, 0);
-        data.put(42442294L, 0);
-        data.put(42442384L, 0);
-        data.put(42442410L, 6);
-        data.put(42442415L, 9);
-        data.put(42442417L, 6);
-        data.put(42442422L, 4);
-        data.put(42442432L, 37);
-        data.put(42442445L, 8);
-        data.put(42442451L, 12);
-        data.put(42442459L, 7);
-        data.put(42442463L, 13);
-        data.put(42442469L, 7);
-        data.put(42442475L, 9);
-        data.put(42442480L, 24);
-        data.put(42442492L, 4);
-        data.put(42442502L, 0);
-        data.put(42442514L, 2);
-        data.put(42442528L, 4);
-        data.put(42442534L, 9);
-        data.put(42442542L, 4);
-        data.put(42442549L, 0);
-        data.put(42442552L, 5);
-        data.put(42442555L, 0);
-        data.put(42442557L, 1);
-        data.put(42442559L, 1);
-        data.put(42442561L, 0);
-        data.put(42442565L, 2);
-        data.put(42442567L, 1);
-        data.put(42442569L, 4);
-        data.put(42442571L, 3);
-        data.put(42442575L, 0);
-        data.put(42442577L, 2);
-        data.put(42442578L, 0);
-        data.put(42442584L, 0);
-        data.put(42442586L, 2);
-        data.put(42442589L, 0);
-        data.put(42442592L, 0);
-        data.put(42442596L, 0);
-        data.put(42442604L, 0);
-        data.put(42442609L, 1);
-        data.put(42442613L, 0);
-        data.put(42442618L, 0);
-        data.put(42442621L, 0);
-        data.put(42442625L, 0);
-        data.put(42442628L, 0);
-        data.put(42442635L, 1);
-        data.put(42442638L, 0);
-        data.put(42442642L, 0);
-        data.put(42442645L, 0);
-        data.put(42442651L, 0);
-        data.put(42442656L, 0);
-        data.put(42442659L, 0);
-        data.put(42442664L, 0);
-        data.put(42442671L, 0);
-        data.put(42442684L, 0);
-        data.put(42442697L, 0);
-        data.put(42442702L, 0);
-        data.put(42442703L, 0);
-        data.put(42442710L, 0);
-        data.put(42442717L, 0);
-        data.put(42442722L, 0);
-        data.put(42442723L, 0);
-        data.put(42442728L, 0);
-        data.put(42442733L, 0);
-        data.put(42442734L, 0);
-        data.put(42442738L, 1);
-        data.put(42442741L, 0);
-        data.put(42442745L, 0);
-        data.put(42442755L, 0);
-        data.put(42442764L, 0);
-        data.put(42442766L, 0);
-        data.put(42442770L, 0);
-        data.put(42442788L, 0);
-        data.put(42442836L, 0);
-        data.put(42442838L, 0);
-        data.put(42442842L, 0);
-        data.put(42442843L, 3);
-        data.put(42442848L, 11);
-        data.put(42442850L, 2);
-        data.put(42442851L, 2);
-        data.put(42442857L, 4);
-        data.put(42442862L, 9);
-        data.put(42442870L, 4);
-        data.put(42442877L, 3);
-        data.put(42442881L, 13);
-        data.put(42442889L, 18);
-        data.put(42442891L, 7);
-        data.put(42442895L, 12);
-        data.put(42442898L, 12);
-        data.put(42442902L, 7);
-        data.put(42442906L, 8);
-        data.put(42442910L, 8);
-        data.put(42442913L, 13);
-        data.put(42442918L, 0);
-        data.put(42442931L, 16);
-        data.put(42442933L, 21);
-        data.put(42442935L, 8);
-        data.put(42442937L, 25);
-        data.put(42442939L, 13);
-        data.put(42442943L, 12);
-        data.put(42442947L, 11);
-        data.put(42442948L, 24);
-        data.put(42442949L, 23);
-        data.put(42442952L, 18);
-        data.put(42442955L, 22);
-        data.put(42442957L, 31);
-        data.put(42442959L, 18);
-        data.put(42442960L, 30);
-        data.put(42442961L, 15);
-        data.put(42442963L, 6);
-        data.put(42442977L, 12);
-        data.put(42442983L, 1);
-        data.put(42443000L, 8);
-        data.put(42443009L, 10);
-        data.put(42443020L, 11);
-        data.put(42443024L, 18);
-        data.put(42443027L, 15);
-        data.put(42443029L, 9);
-        data.put(42443032L, 12);
-        data.put(42443037L, 7);
-        data.put(42443040L, 10);
-        data.put(42443042L, 6);
-        data.put(42443044L, 11);
-        data.put(42443046L, 12);
-        data.put(42443048L, 18);
-        data.put(42443050L, 4);
-        data.put(42443052L, 17);
-        data.put(42443054L, 8);
-        data.put(42443056L, 3);
-        data.put(42443058L, 1);
-        data.put(42443061L, 3);
-        data.put(42443066L, 2);
-        data.put(42443068L, 1);
-        data.put(42443072L, 2);
-        data.put(42443077L, 5);
-        data.put(42443078L, 3);
-        data.put(42443081L, 0);
-        data.put(42443085L, 5);
-        data.put(42443088L, 0);
-        data.put(42443092L, 1);
-        data.put(42443096L, 1);
-        data.put(42443099L, 1);
-        data.put(42443105L, 1);
-        data.put(42443116L, 1);
-        data.put(42443118L, 0);
-        data.put(42443127L, 1);
-        data.put(42443181L, 2);
-        data.put(42443263L, 1);
-        data.put(42443264L, 14);
-        data.put(42443268L, 17);
-        data.put(42443280L, 17);
-        data.put(42443296L, 1);
-        data.put(42443298L, 2);
-        data.put(42443313L, 5);
-        data.put(42443320L, 6);
-        data.put(42443326L, 14);
-        data.put(42443329L, 9);
-        data.put(42443332L, 10);
-        data.put(42443336L, 34);
-        data.put(42443341L, 9);
-        data.put(42443344L, 13);
-        data.put(42443346L, 18);
-        data.put(42443347L, 16);
-        data.put(42443349L, 6);
-        data.put(42443353L, 17);
-        data.put(42443363L, 4);
-        data.put(42443366L, 4);
-        data.put(42443373L, 11);
-        data.put(42443381L, 15);
-        data.put(42443388L, 23);
-        data.put(42443403L, 35);
-        data.put(42443406L, 12);
-        data.put(42443413L, 4);
-        data.put(42443426L, 3);
-        data.put(42443486L, 0);
-        data.put(42443488L, 0);
-        data.put(42443492L, 0);
-        data.put(42443513L, 2);
-        data.put(42443520L, 0);
-        data.put(42443522L, 0);
-        data.put(42443524L, 0);
-        data.put(42443528L, 5);
-        data.put(42443532L, 8);
-        data.put(42443534L, 6);
-        data.put(42443549L, 0);
-        data.put(42443556L, 25);
-        data.put(42443561L, 14);
-        data.put(42443563L, 13);
-        data.put(42443570L, 0);
-        data.put(42443574L, 0);
-        data.put(42443582L, 0);
-        data.put(42443588L, 0);
-        data.put(42443612L, 1);
-        data.put(42443613L, 6);
-        data.put(42443614L, 11);
-        data.put(42443615L, 28);
-        data.put(42443618L, 25);
-        data.put(42443621L, 0);
-        data.put(42443658L, 0);
-        data.put(42443659L, 0);
-        data.put(42443666L, 7);
-        data.put(42443671L, 19);
-        data.put(42443674L, 4);
-        data.put(42443676L, 11);
-        data.put(42443677L, 0);
-        data.put(42443680L, 13);
-        data.put(42443799L, 1);
-        data.put(42443804L, 126);
-        data.put(42443807L, 7);
-        data.put(42443810L, 18);
-        data.put(42443811L, 12);
-        data.put(42443817L, 0);
-        data.put(42443818L, 1);
-        data.put(42443819L, 2);
-        data.put(42443821L, 1);
-        data.put(42443824L, 0);
-        data.put(42443826L, 0);
-        data.put(42443832L, 0);
-        data.put(42443844L, 0);
-        data.put(42443928L, 0);
-        data.put(42443950L, 18);
-        data.put(42443975L, 33);
-        data.put(42444028L, 0);
-        data.put(42444043L, 12);
-        data.put(42444049L, 28);
-        data.put(42444051L, 10);
-        data.put(42444055L, 0);
-        data.put(42444060L, 0);
-        data.put(42444069L, 0);
-        data.put(42444081L, 0);
-        data.put(42444097L, 0);
-        data.put(42444108L, 0);
-        data.put(42444116L, 1);
-        data.put(42444123L, 0);
-        data.put(42444129L, 0);
-        data.put(42444223L, 1);
-        data.put(42444230L, 8);
-        data.put(42444242L, 1);
-        data.put(42444267L, 1);
-        data.put(42444271L, 12);
-        data.put(42444305L, 0);
-        data.put(42444353L, 1);
-        data.put(42444355L, 0);
-        data.put(42444360L, 0);
-        data.put(42444414L, 16);
-        data.put(42444424L, 0);
-        data.put(42444452L, 1);
-        data.put(42444453L, 4);
-        data.put(42444456L, 1);
-        data.put(42444457L, 5);
-        data.put(42444458L, 1);
-        data.put(42444461L, 0);
-        data.put(42444479L, 0);
-        data.put(42444480L, 0);
-        data.put(42444485L, 3);
-        data.put(42444487L, 8);
-        data.put(42444491L, 4);
-        data.put(42444495L, 16);
-        data.put(42444500L, 19);
-        data.put(42444506L, 3);
-        data.put(42444581L, 0);
-        data.put(42444750L, 0);
-        data.put(42444809L, 11);
-        data.put(42444810L, 19);
-        data.put(42444812L, 12);
-        data.put(42444814L, 21);
-        data.put(42444817L, 20);
-        data.put(42444820L, 19);
-        data.put(42444827L, 12);
-        data.put(42444829L, 5);
-        data.put(42444832L, 3);
-        data.put(42444833L, 0);
-        data.put(42444835L, 1);
-        data.put(42444837L, 0);
-        data.put(42444854L, 0);
-        data.put(42444873L, 0);
-        data.put(42444880L, 0);
-        data.put(42444884L, 0);
-        data.put(42444897L, 0);
-        data.put(42444909L, 9);
-        data.put(42444916L, 9);
-        data.put(42444928L, 8);
-        data.put(42444933L, 15);
-        data.put(42444954L, 1);
-        data.put(42444960L, 1);
-        data.put(42444964L, 4);
-        data.put(42444985L, 9);
-        data.put(42444991L, 32);
-        data.put(42445001L, 19);
-        data.put(42445011L, 19);
-        data.put(42445018L, 12);
-        data.put(42445020L, 20);
-        data.put(42445025L, 11);
-        data.put(42445027L, 10);
-        data.put(42445033L, 5);
-        data.put(42445037L, 24);
-        data.put(42445039L, 25);
-        data.put(42445046L, 0);
-        data.put(42445051L, 0);
-        data.put(42445054L, 0);
-        data.put(42445171L, 0);
-        data.put(42445174L, 0);
-        data.put(42445183L, 0);
-        data.put(42445185L, 0);
-        data.put(42445189L, 2);
-        data.put(42445196L, 0);
-        data.put(42445215L, 0);
-        data.put(42445219L, 2);
-        data.put(42445225L, 0);
-        data.put(42445227L, 11);
-        data.put(42445230L, 2);
-        data.put(42445232L, 1);
-        data.put(42445236L, 47);
-        data.put(42445247L, 22);
-        data.put(42445256L, 6);
-        data.put(42445258L, 0);
-        data.put(42445259L, 3);
-        data.put(42445263L, 0);
-        data.put(42445291L, 23);
-        data.put(42445310L, 15);
-        data.put(42445314L, 3);
-        data.put(42445356L, 13);
-        data.put(42445357L, 3);
-        data.put(42445365L, 4);
-        data.put(42445374L, 28);
-        data.put(42445378L, 16);
-        data.put(42445382L, 0);
-        data.put(42445387L, 2);
-        data.put(42445390L, 35);
-        data.put(42445392L, 8);
-        data.put(42445404L, 11);
-        data.put(42445409L, 4);
-        data.put(42445411L, 18);
-        data.put(42445413L, 10);
-        data.put(42445417L, 40);
-        data.put(42445426L, 0);
-        data.put(42445430L, 0);
-        data.put(42445466L, 2);
-        data.put(42445474L, 1);
-        data.put(42445479L, 1);
-        data.put(42445481L, 1);
-        data.put(42445484L, 2);
-        data.put(42445489L, 5);
-        data.put(42445498L, 6);
-        data.put(42445505L, 5);
-        data.put(42445511L, 12);
-        data.put(42445520L, 10);
-        data.put(42445534L, 13);
-        data.put(42445543L, 4);
-        data.put(42445548L, 6);
-        data.put(42445558L, 3);
-        data.put(42445561L, 0);
-        data.put(42445562L, 0);
-        data.put(42445563L, 0);
-        data.put(42445574L, 2);
-        data.put(42445585L, 1);
-        data.put(42445587L, 1);
-        data.put(42445603L, 0);
-        data.put(42445606L, 0);
-        data.put(42445612L, 0);
-        data.put(42445617L, 0);
-        data.put(42445620L, 0);
-        data.put(42445630L, 1);
-        data.put(42445634L, 0);
-        data.put(42445635L, 0);
-        data.put(42445637L, 0);
-        data.put(42445640L, 0);
-        data.put(42445644L, 0);
-        data.put(42445649L, 12);
-        data.put(42445651L, 2);
-        data.put(42445653L, 0);
-        data.put(42445656L, 20);
-        data.put(42445661L, 13);
-        data.put(42445664L, 1);
-        data.put(42445666L, 5);
-        data.put(42445667L, 5);
-        data.put(42445672L, 0);
-        data.put(42445675L, 0);
-        data.put(42445680L, 0);
-        data.put(42445689L, 0);
-        data.put(42445700L, 1);
-        data.put(42445702L, 1);
-        data.put(42445731L, 5);
-        data.put(42445733L, 17);
-        data.put(42445736L, 6);
-        data.put(42445738L, 13);
-        data.put(42445740L, 20);
-        data.put(42445748L, 12);
-        data.put(42445757L, 4);
-        data.put(42445766L, 6);
-        data.put(42445769L, 0);
-        data.put(42445773L, 0);
-        data.put(42445780L, 0);
-        data.put(42445804L, 2);
-        data.put(42445817L, 0);
-        data.put(42445823L, 1);
-        data.put(42445827L, 0);
-        data.put(42445840L, 0);
-        data.put(42445843L, 1);
-        data.put(42445867L, 11);
-        data.put(42445879L, 5);
-        data.put(42445885L, 15);
-        data.put(42445888L, 21);
-        data.put(42445896L, 8);
-        data.put(42445899L, 10);
-        data.put(42445903L, 8);
-        data.put(42445908L, 2);
-        data.put(42445909L, 4);
-        data.put(42445910L, 7);
-        data.put(42445914L, 10);
-        data.put(42445916L, 8);
-        data.put(42445917L, 10);
-        data.put(42445920L, 25);
-        data.put(42445924L, 42);
-        data.put(42445926L, 30);
-        data.put(42445928L, 16);
-        data.put(42445930L, 9);
-        data.put(42445936L, 6);
-        data.put(42445941L, 10);
-        data.put(42445947L, 6);
-        data.put(42445950L, 9);
-        data.put(42445953L, 16);
-        data.put(42445961L, 8);
-        data.put(42445972L, 16);
-        data.put(42445976L, 15);
-        data.put(42445994L, 11);
-        data.put(42446013L, 16);
-        data.put(42446016L, 24);
-        data.put(42446021L, 25);
-        data.put(42446026L, 15);
-        data.put(42446031L, 16);
-        data.put(42446036L, 34);
-        data.put(42446041L, 11);
-        data.put(42446066L, 22);
-        data.put(42446070L, 23);
-        data.put(42446072L, 12);
-        data.put(42446086L, 4);
-        data.put(42446093L, 7);
-        data.put(42446099L, 3);
-        data.put(42446132L, 1);
-        data.put(42446138L, 3);
-        data.put(42446147L, 0);
-        data.put(42446152L, 0);
-        data.put(42446155L, 0);
-        data.put(42446161L, 0);
-        data.put(42446164L, 0);
-        data.put(42446169L, 0);
-        data.put(42446171L, 0);
-        data.put(42446177L, 0);
-        data.put(42446182L, 0);
-        data.put(42446184L, 0);
-        data.put(42446187L, 0);
-        data.put(42446190L, 0);
-        data.put(42446203L, 1);
-        data.put(42446218L, 0);
-        data.put(42446228L, 0);
-        data.put(42446231L, 0);
-        data.put(42446245L, 0);
-        data.put(42446266L, 11);
-        data.put(42446270L, 17);
-        data.put(42446275L, 23);
-        data.put(42446293L, 1);
-        data.put(42446331L, 0);
-        data.put(42446337L, 0);
-        data.put(42446353L, 8);
-        data.put(42446363L, 7);
-        data.put(42446386L, 0);
-        data.put(42446398L, 0);
-        data.put(42446424L, 0);
-        data.put(42446455L, 5);
-        data.put(42446461L, 2);
-        data.put(42446466L, 19);
-        data.put(42446472L, 27);
-        data.put(42446478L, 18);
-        data.put(42446488L, 13);
-        data.put(42446504L, 3);
-        data.put(42446506L, 0);
-        data.put(42446521L, 2);
-        data.put(42446528L, 22);
-        data.put(42446533L, 8);
-        data.put(42446547L, 8);
-        data.put(42446552L, 12);
-        data.put(42446562L, 0);
-        data.put(42446571L, 0);
-        data.put(42446584L, 0);
-        data.put(42446604L, 0);
-        data.put(42446609L, 0);
-        data.put(42446617L, 0);
-        data.put(42446622L, 1);
-        data.put(42446632L, 0);
-        data.put(42446640L, 3);
-        data.put(42446668L, 2);
-        data.put(42446678L, 0);
-        data.put(42446701L, 23);
-        data.put(42446721L, 4);
-        data.put(42446723L, 0);
-        data.put(42446728L, 2);
-        data.put(42446733L, 0);
-        data.put(42446772L, 0);
-        data.put(42446775L, 1);
-        data.put(42446778L, 0);
-        data.put(42446797L, 0);
-        data.put(42446800L, 16);
-        data.put(42446814L, 18);
-        data.put(42446825L, 17);
-        data.put(42446849L, 26);
-        data.put(42446875L, 30);
-        data.put(42446879L, 0);
-        data.put(42446885L, 1);
-        data.put(42446889L, 5);
-        data.put(42446902L, 0);
-        data.put(42446919L, 0);
-        data.put(42446925L, 10);
-        data.put(42446932L, 12);
-        data.put(42446933L, 14);
-        data.put(42446934L, 32);
-        data.put(42446935L, 13);
-        data.put(42446941L, 16);
-        data.put(42446942L, 19);
-        data.put(42446945L, 23);
-        data.put(42446949L, 16);
-        data.put(42446959L, 26);
-        data.put(42446971L, 39);
-        data.put(42446977L, 102);
-        data.put(42446986L, 8);
-        data.put(42446987L, 30);
-        data.put(42446991L, 16);
-        data.put(42446994L, 17);
-        data.put(42446998L, 13);
-        data.put(42447007L, 24);
-        data.put(42447009L, 9);
-        data.put(42447020L, 10);
-        data.put(42447030L, 13);
-        data.put(42447060L, 19);
-        data.put(42447069L, 4);
-        data.put(42447076L, 1);
-        data.put(42447084L, 16);
-        data.put(42447105L, 31);
-        data.put(42447115L, 3);
-        data.put(42447126L, 10);
-        data.put(42447132L, 27);
-        data.put(42447136L, 12);
-        data.put(42447144L, 7);
-        data.put(42447149L, 18);
-        data.put(42447166L, 20);
-        data.put(42447169L, 5);
-        data.put(42447174L, 6);
-        data.put(42447176L, 0);
-        data.put(42447179L, 1);
-        data.put(42447182L, 1);
-        data.put(42447187L, 0);
-        data.put(42447192L, 0);
-        data.put(42447196L, 2);
-        data.put(42447199L, 1);
-        data.put(42447201L, 1);
-        data.put(42447206L, 0);
-        data.put(42447207L, 2);
-        data.put(42447208L, 0);
-        data.put(42447209L, 0);
-        data.put(42447210L, 0);
-        data.put(42447228L, 1);
-        data.put(42447230L, 7);
-        data.put(42447235L, 32);
-        data.put(42447237L, 19);
-        data.put(42447246L, 1);
-        data.put(42447249L, 0);
-        data.put(42447255L, 0);
-        data.put(42447273L, 2);
-        data.put(42447275L, 0);
-        data.put(42447278L, 1);
-        data.put(42447281L, 0);
-        data.put(42447285L, 0);
-        data.put(42447295L, 0);
-        data.put(42447303L, 0);
-        data.put(42447317L, 0);
-        data.put(42447323L, 0);
-        data.put(42447326L, 0);
-        data.put(42447330L, 0);
-        data.put(42447336L, 0);
-        data.put(42447346L, 0);
-        data.put(42447389L, 0);
-        data.put(42447399L, 0);
-        data.put(42447404L, 0);
-        data.put(42447418L, 0);
-        data.put(42447419L, 1);
-        data.put(42447428L, 1);
-        data.put(42447435L, 0);
-        data.put(42448141L, 0);
-        data.put(42448162L, 1);
-        data.put(42448171L, 6);
-        data.put(42448203L, 12);
-        data.put(42448216L, 7);
-        data.put(42448238L, 28);
-        data.put(42448254L, 15);
-        data.put(42448257L, 23);
-        data.put(42448278L, 0);
-        data.put(42448283L, 1);
-        data.put(42448317L, 2);
-        data.put(42448326L, 8);
-        data.put(42448329L, 2);
-        data.put(42448338L, 1);
-        data.put(42448379L, 15);
-        data.put(42448390L, 35);
-        data.put(42448406L, 0);
-        data.put(42448430L, 0);
-        data.put(42448440L, 0);
-        data.put(42448469L, 0);
-        data.put(42448483L, 0);
-        data.put(42448506L, 0);
-        data.put(42448549L, 0);
-        data.put(42448552L, 4);
-        data.put(42448554L, 2);
-        data.put(42448558L, 8);
-        data.put(42448563L, 3);
-        data.put(42448568L, 0);
-        data.put(42448570L, 0);
-        data.put(42448578L, 5);
-        data.put(42448583L, 2);
-        data.put(42448593L, 0);
-        data.put(42448605L, 0);
-        data.put(42448607L, 0);
-        data.put(42448611L, 0);
-        data.put(42448655L, 0);
-        data.put(42448661L, 0);
-        data.put(42448674L, 0);
-        data.put(42448693L, 7);
-        data.put(42448701L, 7);
-        data.put(42448707L, 10);
-        data.put(42448714L, 9);
-        data.put(42448726L, 24);
-        data.put(42448729L, 7);
-        data.put(42448735L, 15);
-        data.put(42448745L, 21);
-        data.put(42448811L, 26);
-        data.put(42448813L, 16);
-        data.put(42448930L, 0);
-        data.put(42448979L, 0);
-        data.put(42448996L, 0);
-        data.put(42449005L, 0);
-        data.put(42449007L, 4);
-        data.put(42449010L, 0);
-        data.put(42449017L, 4);
-        data.put(42449021L, 5);
-        data.put(42449023L, 6);
-        data.put(42449027L, 2);
-        data.put(42449029L, 2);
-        data.put(42449038L, 0);
-        data.put(42449045L, 14);
-        data.put(42449067L, 26);
-        data.put(42449076L, 0);
-        data.put(42449089L, 4);
-        data.put(42449098L, 0);
-        data.put(42449127L, 0);
-        data.put(42449139L, 0);
-        data.put(42449163L, 0);
-        data.put(42449166L, 0);
-        data.put(42449187L, 8);
-        data.put(42449308L, 13);
-        data.put(42449314L, 12);
-        data.put(42449333L, 19);
-        data.put(42449341L, 17);
-        data.put(42449345L, 2);
-        data.put(42449390L, 0);
-        data.put(42449413L, 0);
-        data.put(42449422L, 1);
-        data.put(42449427L, 0);
-        data.put(42449550L, 4);
-        data.put(42449570L, 0);
-        data.put(42449576L, 2);
-        data.put(42449580L, 2);
-        data.put(42449582L, 0);
-        data.put(42449589L, 6);
-        data.put(42449593L, 0);
-        data.put(42449597L, 9);
-        data.put(42449600L, 5);
-        data.put(42449613L, 8);
-        data.put(42449627L, 0);
-        data.put(42449631L, 0);
-        data.put(42449634L, 0);
-        data.put(42449637L, 0);
-        data.put(42449639L, 0);
-        data.put(42449641L, 0);
-        data.put(42449644L, 0);
-        data.put(42449653L, 0);
-        data.put(42449654L, 0);
-        data.put(42449656L, 0);
-        data.put(42449683L, 8);
-        data.put(42449685L, 9);
-        data.put(42449689L, 2);
-        data.put(42449801L, 0);
-        data.put(42449804L, 1);
-        data.put(42449817L, 0);
-        data.put(42449828L, 0);
-        data.put(42449833L, 0);
-        data.put(42449840L, 0);
-        data.put(42449843L, 0);
-        data.put(42449874L, 0);
-        data.put(42449886L, 4);
-        data.put(42449890L, 3);
-        data.put(42449893L, 23);
-        data.put(42449918L, 14);
-        data.put(42449926L, 12);
-        data.put(42449928L, 29);
-        data.put(42449932L, 4);
-        data.put(42449938L, 8);
-        data.put(42449942L, 7);
-        data.put(42449945L, 18);
-        data.put(42449947L, 24);
-        data.put(42449948L, 7);
-        data.put(42449954L, 15);
-        data.put(42449956L, 17);
-        data.put(42449961L, 22);
-        data.put(42449963L, 21);
-        data.put(42449971L, 13);
-        data.put(42449982L, 28);
-        data.put(42449985L, 40);
-        data.put(42449991L, 27);
-        data.put(42450009L, 27);
-        data.put(42450015L, 35);
-        data.put(42450025L, 25);
-        data.put(42450028L, 13);
-        data.put(42450030L, 12);
-        data.put(42450035L, 14);
-        data.put(42450037L, 8);
-        data.put(42450044L, 14);
-        data.put(42450048L, 1);
-        data.put(42450052L, 0);
-        data.put(42450055L, 1);
-        data.put(42450057L, 1);
-        data.put(42450061L, 1);
-        data.put(42450066L, 1);
-        data.put(42450071L, 2);
-        data.put(42450080L, 0);
-        data.put(42450083L, 0);
-        data.put(42450089L, 0);
-        data.put(42450275L, 0);
-        data.put(42450290L, 0);
-        data.put(42450325L, 0);
-        data.put(42450341L, 6);
-        data.put(42450352L, 1);
-        data.put(42450426L, 10);
-        data.put(42450434L, 13);
-        data.put(42450456L, 0);
-        data.put(42450460L, 0);
-        data.put(42450468L, 0);
-        data.put(42450634L, 0);
-        data.put(42450641L, 0);
-        data.put(42450814L, 0);
-        data.put(42450820L, 0);
-        data.put(42451018L, 4);
-        data.put(42451126L, 0);
-        data.put(42451332L, 0);
-        data.put(42451370L, 0);
-        data.put(42451375L, 3);
-        data.put(42451564L, 0);
-        data.put(42451593L, 0);
-        data.put(42451604L, 3);
-        data.put(42451650L, 0);
-        data.put(42451660L, 0);
-        data.put(42451665L, 0);
-        data.put(42451674L, 9);
-        data.put(42451695L, 1);
-        data.put(42451712L, 0);
-        data.put(42451736L, 0);
-        data.put(42451744L, 18);
-        data.put(42451754L, 4);
-        data.put(42451766L, 19);
-        data.put(42451773L, 2);
-        data.put(42451787L, 11);
-        data.put(42451932L, 0);
-        data.put(42451987L, 0);
-        data.put(42452006L, 3);
-        data.put(42452008L, 0);
-        data.put(42452015L, 0);
-        data.put(42452026L, 1);
-        data.put(42452040L, 0);
-        data.put(42452048L, 3);
-        data.put(42452056L, 0);
-        data.put(42452067L, 0);
-        data.put(42452076L, 0);
-        data.put(42452084L, 0);
-        data.put(42452107L, 1);
-        data.put(42452117L, 0);
-        data.put(42452130L, 0);
-        data.put(42452147L, 0);
-        data.put(42452276L, 0);
-        data.put(42452290L, 0);
-        data.put(42452310L, 0);
-        data.put(42452314L, 2);
-        data.put(42452330L, 0);
-        data.put(42452353L, 5);
-        data.put(42452365L, 18);
-        data.put(42452396L, 1);
-        data.put(42452485L, 0);
-        data.put(42452495L, 0);
-        data.put(42452556L, 0);
-        data.put(42452564L, 1);
-        data.put(42452598L, 1);
-        data.put(42452610L, 3);
-        data.put(42452613L, 0);
-        data.put(42452620L, 0);
-        data.put(42452630L, 8);
-        data.put(42452700L, 0);
-        data.put(42452708L, 1);
-        data.put(42452809L, 7);
-        data.put(42452812L, 9);
-        data.put(42452814L, 3);
-        data.put(42452816L, 2);
-        data.put(42452817L, 10);
-        data.put(42452875L, 9);
-        data.put(42452882L, 25);
-        data.put(42452936L, 0);
-        data.put(42452951L, 12);
-        data.put(42452954L, 1);
-        data.put(42452956L, 33);
-        data.put(42452973L, 8);
-        data.put(42452975L, 12);
-        data.put(42452994L, 2);
-        data.put(42453000L, 2);
-        data.put(42453005L, 9);
-        data.put(42453007L, 3);
-        data.put(42453008L, 1);
-        data.put(42453011L, 0);
-        data.put(42453038L, 1);
-        data.put(42453059L, 2);
-        data.put(42453087L, 1);
-        data.put(42453104L, 11);
-        data.put(42453156L, 1);
-        data.put(42453158L, 2);
-        data.put(42453160L, 0);
-        data.put(42453166L, 7);
-        data.put(42453175L, 3);
-        data.put(42453177L, 0);
-        data.put(42453187L, 16);
-        data.put(42453216L, 0);
-        data.put(42453220L, 0);
-        data.put(42453226L, 0);
-        data.put(42453236L, 0);
-        data.put(42453241L, 0);
-        data.put(42453246L, 0);
-        data.put(42453251L, 0);
-        data.put(42453253L, 0);
-        data.put(42453258L, 0);
-        data.put(42453310L, 8);
-        data.put(42453327L, 1);
-        data.put(42453349L, 0);
-        data.put(42453354L, 0);
-        data.put(42453365L, 0);
-        data.put(42453395L, 1);
-        data.put(42453398L, 1);
-        data.put(42453417L, 0);
-        data.put(42453442L, 1);
-        data.put(42453457L, 1);
-        data.put(42453468L, 0);
-        data.put(42453472L, 0);
-        data.put(42453545L, 0);
-        data.put(42453548L, 0);
-        data.put(42453555L, 0);
-        data.put(42453564L, 0);
-        data.put(42453575L, 22);
-        data.put(42453577L, 1);
-        data.put(42453586L, 0);
-        data.put(42453591L, 0);
-        data.put(42453601L, 8);
-        data.put(42453604L, 9);
-        data.put(42453607L, 2);
-        data.put(42453610L, 2);
-        data.put(42453613L, 9);
-        data.put(42453624L, 1);
-        data.put(42453630L, 25);
-        data.put(42453638L, 0);
-        data.put(42453669L, 0);
-        data.put(42453691L, 1);
-        data.put(42453700L, 0);
-        data.put(42453709L, 0);
-        data.put(42453714L, 0);
-        data.put(42453717L, 0);
-        data.put(42453757L, 0);
-        data.put(42453773L, 0);
-        data.put(42453777L, 2);
-        data.put(42453902L, 7);
-        data.put(42453934L, 2);
-        data.put(42453943L, 15);
-        data.put(42453952L, 10);
-        data.put(42453986L, 8);
-        data.put(42453999L, 6);
-        data.put(42454006L, 35);
-        data.put(42454010L, 15);
-        data.put(42454042L, 7);
-        data.put(42454089L, 0);
-        data.put(42454102L, 0);
-        data.put(42454120L, 1);
-        data.put(42454189L, 5);
-        data.put(42454192L, 7);
-        data.put(42454196L, 11);
-        data.put(42454214L, 0);
-        data.put(42454240L, 0);
-        data.put(42454300L, 0);
-        data.put(42454325L, 5);
-        data.put(42454328L, 2);
-        data.put(42454368L, 0);
-        data.put(42454378L, 19);
-        data.put(42454381L, 12);
-        data.put(42454391L, 0);
-        data.put(42454401L, 2);
-        data.put(42454423L, 1);
-        data.put(42454428L, 26);
-        data.put(42454433L, 9);
-        data.put(42454495L, 5);
-        data.put(42454522L, 3);
-        data.put(42454538L, 0);
-        data.put(42454551L, 0);
-        data.put(42454553L, 0);
-        data.put(42454611L, 0);
-        data.put(42454622L, 0);
-        data.put(42454642L, 3);
-        data.put(42454660L, 15);
-        data.put(42454679L, 13);
-        data.put(42454691L, 15);
-        data.put(42454701L, 23);
-        data.put(42454742L, 0);
-        data.put(42454758L, 9);
-        data.put(42454795L, 4);
-        data.put(42454798L, 3);
-        data.put(42454893L, 0);
-        data.put(42454994L, 4);
-        data.put(42454997L, 1);
-        data.put(42455007L, 3);
-        data.put(42455013L, 5);
-        data.put(42455026L, 3);
-        data.put(42455039L, 7);
-        data.put(42455051L, 8);
-        data.put(42455059L, 0);
-        data.put(42455083L, 3);
-        data.put(42455175L, 1);
-        data.put(42455181L, 2);
-        data.put(42455200L, 3);
-        data.put(42455234L, 0);
-        data.put(42455238L, 0);
-        data.put(42455245L, 0);
-        data.put(42455252L, 0);
-        data.put(42455259L, 0);
-        data.put(42455335L, 0);
-        data.put(42455337L, 0);
-        data.put(42455357L, 21);
-        data.put(42455396L, 0);
-        data.put(42455412L, 0);
-        data.put(42455452L, 0);
-        data.put(42455465L, 0);
-        data.put(42455493L, 0);
-        data.put(42455509L, 0);
-        data.put(42455643L, 28);
-        data.put(42455662L, 8);
-        data.put(42455666L, 9);
-        data.put(42455675L, 21);
-        data.put(42455693L, 7);
-        data.put(42455694L, 2);
-        data.put(42455695L, 26);
-        data.put(42455705L, 0);
-        data.put(42455735L, 4);
-        data.put(42455751L, 22);
-        data.put(42455761L, 6);
-        data.put(42455867L, 11);
-        data.put(42455887L, 5);
-        data.put(42455897L, 8);
-        data.put(42455915L, 7);
-        data.put(42455929L, 1);
-        data.put(42455932L, 18);
-        data.put(42455933L, 0);
-        data.put(42455934L, 16);
-        data.put(42455963L, 30);
-        data.put(42456041L, 9);
-        data.put(42456049L, 28);
-        data.put(42456060L, 54);
-        data.put(42456066L, 10);
-        data.put(42456076L, 17);
-        data.put(42456091L, 0);
-        data.put(42456101L, 0);
-        data.put(42456107L, 1);
-        data.put(42456110L, 0);
-        data.put(42456115L, 2);
-        data.put(42456162L, 0);
-        data.put(42456197L, 6);
-        data.put(42456205L, 0);
-        data.put(42456206L, 0);
-        data.put(42456211L, 2);
-        data.put(42456297L, 0);
-        data.put(42456303L, 3);
-        data.put(42456331L, 0);
-        data.put(42456335L, 5);
-        data.put(42456336L, 0);
-        data.put(42456492L, 1);
-        data.put(42456543L, 5);
-        data.put(42456555L, 0);
-        data.put(42456568L, 5);
-        data.put(42456575L, 7);
-        data.put(42456578L, 5);
-        data.put(42456598L, 6);
-        data.put(42456611L, 6);
-        data.put(42456683L, 4);
-        data.put(42456708L, 1);
-        data.put(42456711L, 1);
-        data.put(42456831L, 0);
-        data.put(42456888L, 0);
-        data.put(42456979L, 0);
-        data.put(42456986L, 0);
-        data.put(42457209L, 1);
-        data.put(42457282L, 0);
-        data.put(42457292L, 1);
-        data.put(42457311L, 0);
-        data.put(42457319L, 1);
-        data.put(42457325L, 2);
-        data.put(42457401L, 0);
-        data.put(42457421L, 0);
-        data.put(42457426L, 4);
-        data.put(42457476L, 11);
-        data.put(42457660L, 2);
-        data.put(42457728L, 0);
-        data.put(42457735L, 8);
-        data.put(42457788L, 0);
-        data.put(42457821L, 1);
-        data.put(42457925L, 0);
-        data.put(42457940L, 0);
-        data.put(42458112L, 0);
-        data.put(42458267L, 3);
-        data.put(42458313L, 0);
-        data.put(42458333L, 9);
-        data.put(42458342L, 0);
-        data.put(42458435L, 0);
-        data.put(42458670L, 0);
-        data.put(42458728L, 0);
-        data.put(42458766L, 9);
-        data.put(42458936L, 0);
-        data.put(42458943L, 0);
-        data.put(42458960L, 0);
-        data.put(42459041L, 0);
-        data.put(42459098L, 13);
-        data.put(42459114L, 6);
-        data.put(42459137L, 11);
-        data.put(42459180L, 0);
-        data.put(42459436L, 2);
-        data.put(42459579L, 0);
-        data.put(42459636L, 0);
-        data.put(42459820L, 1);
-        data.put(60915682L, 0);
-        data.put(60916829L, 0);
-        data.put(60917021L, 0);
-        data.put(60918586L, 1);
-        data.put(60921163L, 0);
-        data.put(60925101L, 0);
-        data.put(60925389L, 0);
-        data.put(60925555L, 0);
-        data.put(60925950L, 0);
-        data.put(60925991L, 0);
-        data.put(60926009L, 0);
-        data.put(60926076L, 0);
-        data.put(60926616L, 0);
-        data.put(60926787L, 0);
-        data.put(60926791L, 0);
-        data.put(60926905L, 0);
-        data.put(60927291L, 0);
-        data.put(60927487L, 0);
-        data.put(60927650L, 0);
-        data.put(60927817L, 0);
-        data.put(60927819L, 0);
-        data.put(60927822L, 0);
-        data.put(60927823L, 0);
-        data.put(60927825L, 0);
-        data.put(60927827L, 0);
-        data.put(60927832L, 0);
-        data.put(60927836L, 0);
-        data.put(60927837L, 0);
-        data.put(60928040L, 0);
-        data.put(60928137L, 0);
-        data.put(60928402L, 0);
-        data.put(60928432L, 0);
-        data.put(60928596L, 0);
-        data.put(60928608L, 0);
-        data.put(60929249L, 0);
-        data.put(60929261L, 0);
-        data.put(60929278L, 0);
-        data.put(60929894L, 0);
+    /**
+     * @return the first index whose prefix sum of the weights is at least r
+     */
+    private int find(int r) {
+        int index = 0;
+        for (int step = Integer.highestOneBit(tree.length - 1); step > 0; step >>= 1) {
+            if (index + step < tree.length && tree[index + step] < r) {
+                index += step;
+                r -= tree[index];
+            }
+        }
+        return index;
+    }
+    
+    public Intersection getRandomIntersection() {
+        return getRandomIntersection(random);
     }
     
-    private void initDataPart4() {
-        data.put(61261100L, 0);
-        data.put(61261104L, 0);
-        data.put(61269400L, 0);
-        data.put(61269797L, 0);
-        data.put(61271527L, 0);
-        data.put(61271722L, 0);
-        data.put(61272284L, 1);
-        data.put(61272887L, 0);
-        data.put(61272997L, 0);
-        data.put(61273001L, 0);
-        data.put(61273004L, 0);
-        data.put(61275380L, 0);
-        data.put(61275600L, 1);
-        data.put(61275601L, 0);
-        data.put(61275605L, 0);
-        data.put(62915509L, 1);
-        data.put(62915514L, 2);
-        data.put(62915516L, 2);
-        data.put(62915521L, 0);
-        data.put(62915525L, 0);
-        data.put(62915527L, 0);
-        data.put(62915531L, 0);
-        data.put(62915536L, 0);
-        data.put(62915549L, 8);
-        data.put(100522728L, 6);
-        data.put(100522741L, 12);
-        data.put(205019740L, 6);
-        data.put(205020852L, 4);
-        data.put(205024444L, 0);
-        data.put(205025778L, 0);
-        data.put(246579597L, 0);
-        data.put(246579753L, 3);
-        data.put(246580346L, 0);
-        data.put(246580444L, 16);
-        data.put(246580466L, 0);
-        data.put(246580736L, 0);
-        data.put(246580758L, 1);
-        data.put(246580797L, 1);
-        data.put(246580982L, 0);
-        data.put(246648063L, 0);
-        data.put(246648219L, 0);
-        data.put(246649427L, 0);
-        data.put(246649429L, 0);
-        data.put(246650510L, 0);
-        data.put(246857084L, 1);
-        data.put(246858431L, 10);
-        data.put(246858433L, 3);
-        data.put(246858435L, 9);
-        data.put(246858445L, 0);
-        data.put(246858448L, 0);
-        data.put(246858449L, 5);
-        data.put(246858654L, 0);
-        data.put(246889362L, 0);
-        data.put(246889572L, 0);
-        data.put(246890098L, 0);
-        data.put(246890279L, 0);
-        data.put(246890579L, 0);
-        data.put(246901366L, 11);
-        data.put(246909454L, 1);
-        data.put(246913431L, 0);
-        data.put(246923513L, 0);
-        data.put(247081122L, 0);
-        data.put(247085867L, 52);
-        data.put(247120300L, 0);
-        data.put(247120348L, 0);
-        data.put(247123611L, 0);
-        data.put(247123612L, 3);
-        data.put(247123615L, 1);
-        data.put(247123651L, 0);
-        data.put(247124101L, 0);
-        data.put(247222929L, 2);
-        data.put(247223720L, 1);
-        data.put(248708582L, 1);
-        data.put(248708583L, 0);
-        data.put(254342115L, 0);
-        data.put(254342293L, 0);
-        data.put(254484327L, 1);
-        data.put(272194254L, 6);
-        data.put(272195270L, 5);
-        data.put(272195271L, 2);
-        data.put(272196096L, 5);
-        data.put(274342021L, 0);
-        data.put(274342024L, 0);
-        data.put(278608643L, 0);
-        data.put(278609760L, 0);
-        data.put(278609863L, 0);
-        data.put(278609934L, 0);
-        data.put(279151954L, 2);
-        data.put(279152444L, 0);
-        data.put(302095403L, 0);
-        data.put(302097273L, 0);
-        data.put(339044224L, 1);
-        data.put(358447541L, 2);
-        data.put(358448394L, 1);
-        data.put(370880739L, 15);
-        data.put(370880758L, 0);
-        data.put(370880761L, 8);
-        data.put(370888100L, 1);
-        data.put(370888101L, 0);
-        data.put(370892861L, 1);
-        data.put(370893396L, 8);
-        data.put(370893397L, 3);
-        data.put(370894980L, 0);
-        data.put(370897167L, 0);
-        data.put(370898426L, 0);
-        data.put(370912817L, 0);
-        data.put(370913758L, 1);
-        data.put(370913779L, 0);
-        data.put(370914027L, 0);
-        data.put(370924677L, 0);
-        data.put(370924957L, 0);
-        data.put(370927297L, 8);
-        data.put(371037281L, 1);
-        data.put(371188320L, 3);
-        data.put(371188750L, 0);
-        data.put(371188756L, 0);
-        data.put(371197453L, 0);
-        data.put(371206270L, 4);
-        data.put(371206271L, 1);
-        data.put(371206274L, 0);
-        data.put(371207282L, 0);
-        data.put(371209940L, 0);
-        data.put(371218803L, 0);
-        data.put(371225088L, 0);
-        data.put(371239962L, 0);
-        data.put(371337150L, 0);
-        data.put(371337165L, 0);
-        data.put(371337175L, 0);
-        data.put(371337197L, 0);
-        data.put(371337226L, 0);
-        data.put(371337227L, 0);
-        data.put(371337239L, 0);
-        data.put(371337241L, 0);
-        data.put(371337250L, 0);
-        data.put(371337269L, 0);
-        data.put(373772209L, 0);
-        data.put(373778409L, 0);
-        data.put(373780963L, 0);
-        data.put(373850916L, 0);
-        data.put(373880031L, 34);
-        data.put(373903786L, 2);
-        data.put(374451674L, 0);
-        data.put(374463910L, 0);
-        data.put(374482644L, 0);
-        data.put(374494595L, 0);
-        data.put(387180916L, 4);
-        data.put(387184869L, 11);
-        data.put(390519635L, 16);
-        data.put(402475097L, 0);
-        data.put(402480678L, 0);
-        data.put(406006393L, 0);
-        data.put(406048768L, 6);
-        data.put(427804196L, 0);
-        data.put(427804211L, 0);
-        data.put(427840965L, 0);
-        data.put(427840984L, 0);
-        data.put(427840998L, 0);
-        data.put(427841011L, 1);
-        data.put(427841023L, 0);
-        data.put(427841034L, 0);
-        data.put(427841050L, 0);
-        data.put(427841053L, 0);
-        data.put(427841062L, 0);
-        data.put(427841071L, 0);
-        data.put(427841073L, 0);
-        data.put(427842069L, 0);
-        data.put(427842070L, 1);
-        data.put(427845226L, 0);
-        data.put(427845234L, 1);
-        data.put(449581627L, 5);
-        data.put(470209120L, 6);
-        data.put(470209122L, 0);
-        data.put(482807376L, 0);
-        data.put(486867405L, 0);
-        data.put(486867432L, 0);
-        data.put(486867459L, 1);
-        data.put(486867490L, 0);
-        data.put(486867513L, 4);
-        data.put(486867534L, 0);
-        data.put(486867548L, 0);
-        data.put(486868830L, 11);
-        data.put(486868873L, 1);
-        data.put(486869282L, 1);
-        data.put(496707000L, 0);
-        data.put(496707003L, 0);
-        data.put(561035330L, 1);
-        data.put(561035333L, 1);
-        data.put(561035334L, 1);
-        data.put(561035335L, 0);
-        data.put(561035338L, 0);
-        data.put(561035342L, 0);
-        data.put(561035343L, 1);
-        data.put(561035344L, 0);
-        data.put(561035345L, 0);
-        data.put(561035346L, 0);
-        data.put(561035347L, 0);
-        data.put(561035348L, 0);
-        data.put(561035349L, 0);
-        data.put(561035350L, 0);
-        data.put(561035351L, 0);
-        data.put(561035353L, 0);
-        data.put(561035354L, 0);
-        data.put(561035355L, 0);
-        data.put(561035356L, 0);
-        data.put(561035357L, 1);
-        data.put(561035358L, 0);
-        data.put(561035359L, 0);
-        data.put(561035360L, 0);
-        data.put(561035361L, 0);
-        data.put(561035362L, 0);
-        data.put(561035363L, 0);
-        data.put(561035364L, 0);
-        data.put(561035365L, 0);
-        data.put(561035366L, 0);
-        data.put(561035367L, 0);
-        data.put(561035368L, 0);
-        data.put(561035369L, 0);
-        data.put(561035370L, 0);
-        data.put(561035371L, 0);
-        data.put(561035372L, 0);
-        data.put(561035373L, 0);
-        data.put(561035374L, 0);
-        data.put(561035375L, 0);
-        data.put(561035376L, 0);
-        data.put(561035377L, 0);
-        data.put(561035378L, 0);
-        data.put(561035379L, 0);
-        data.put(561035380L, 0);
-        data.put(561035381L, 0);
-        data.put(561035382L, 0);
-        data.put(561042188L, 8);
-        data.put(561042190L, 18);
-        data.put(561042191L, 21);
-        data.put(561042192L, 13);
-        data.put(561042193L, 19);
-        data.put(561042194L, 9);
-        data.put(561042195L, 13);
-        data.put(561042197L, 8);
-        data.put(561042198L, 8);
-        data.put(561042199L, 30);
-        data.put(561042200L, 2);
-        data.put(561042201L, 5);
-        data.put(587812578L, 0);
-        data.put(587812665L, 0);
-        data.put(587861515L, 0);
-        data.put(587933855L, 0);
-        data.put(587933945L, 0);
-        data.put(587934073L, 0);
-        data.put(587934079L, 0);
-        data.put(587934139L, 0);
-        data.put(587934172L, 0);
-        data.put(587934263L, 0);
-        data.put(587934268L, 0);
-        data.put(587934311L, 0);
-        data.put(587934347L, 0);
-        data.put(587934436L, 0);
-        data.put(587987721L, 0);
-        data.put(587988061L, 0);
-        data.put(588455697L, 0);
-        data.put(588455698L, 0);
-        data.put(588455700L, 0);
-        data.put(588455701L, 0);
-        data.put(588455738L, 0);
-        data.put(588455742L, 0);
-        data.put(588455743L, 0);
-        data.put(588455857L, 1);
-        data.put(588455858L, 0);
-        data.put(588545728L, 0);
-        data.put(588546798L, 0);
-        data.put(588546882L, 5);
-        data.put(588546891L, 3);
-        data.put(588593059L, 0);
-        data.put(588593353L, 5);
-        data.put(588593611L, 0);
-        data.put(589099734L, 0);
-        data.put(589099881L, 0);
-        data.put(589100164L, 11);
-        data.put(589100228L, 0);
-        data.put(589100267L, 3);
-        data.put(589100791L, 0);
-        data.put(589298105L, 2);
-        data.put(589298178L, 5);
-        data.put(589298326L, 1);
-        data.put(589298584L, 0);
-        data.put(589298803L, 18);
-        data.put(589520065L, 0);
-        data.put(589927878L, 0);
-        data.put(589927879L, 0);
-        data.put(589927903L, 0);
-        data.put(589927921L, 0);
-        data.put(589927943L, 0);
-        data.put(589927965L, 0);
-        data.put(589927967L, 0);
-        data.put(589927991L, 1);
-        data.put(589927993L, 0);
-        data.put(589927996L, 0);
-        data.put(589928003L, 0);
-        data.put(589928020L, 0);
-        data.put(589928028L, 0);
-        data.put(589928029L, 0);
-        data.put(589928030L, 1);
-        data.put(589928033L, 0);
-        data.put(589928034L, 0);
-        data.put(589928035L, 0);
-        data.put(589928037L, 0);
-        data.put(589928038L, 0);
-        data.put(589928039L, 0);
-        data.put(589928040L, 0);
-        data.put(589928041L, 0);
-        data.put(589928042L, 1);
-        data.put(589928047L, 0);
-        data.put(589929417L, 5);
-        data.put(591454081L, 1);
-        data.put(592405093L, 0);
-        data.put(592405108L, 0);
-        data.put(592484776L, 0);
-        data.put(592509222L, 0);
-        data.put(593300940L, 3);
-        data.put(593816275L, 0);
-        data.put(593839894L, 0);
-        data.put(593854257L, 0);
-        data.put(593886226L, 2);
-        data.put(593886253L, 3);
-        data.put(593926788L, 0);
-        data.put(593988920L, 0);
-        data.put(595105472L, 0);
-        data.put(595105496L, 3);
-        data.put(595105499L, 3);
-        data.put(595105531L, 0);
-        data.put(595105538L, 0);
-        data.put(595105581L, 0);
-        data.put(595105589L, 1);
-        data.put(595245843L, 0);
-        data.put(595245859L, 12);
-        data.put(595245860L, 0);
-        data.put(595245883L, 0);
-        data.put(595245889L, 0);
-        data.put(595245918L, 1);
-        data.put(595245920L, 5);
-        data.put(595245925L, 2);
-        data.put(595254571L, 1);
-        data.put(595295501L, 0);
-        data.put(595314027L, 0);
-        data.put(595314028L, 0);
-        data.put(595314036L, 0);
-        data.put(595314040L, 0);
-        data.put(595314101L, 7);
-        data.put(595314103L, 2);
-        data.put(595314104L, 1);
-        data.put(595314119L, 0);
-        data.put(595314120L, 0);
-        data.put(595314125L, 0);
-        data.put(595320307L, 0);
-        data.put(595352889L, 0);
-        data.put(595352897L, 0);
-        data.put(595352904L, 0);
-        data.put(595352906L, 0);
-        data.put(595352907L, 0);
-        data.put(595352935L, 0);
-        data.put(595407648L, 3);
-        data.put(595436395L, 0);
-        data.put(595441949L, 0);
-        data.put(595441950L, 0);
-        data.put(595441960L, 0);
-        data.put(595448603L, 0);
-        data.put(595448697L, 0);
-        data.put(595480989L, 0);
-        data.put(595481001L, 0);
-        data.put(595484175L, 0);
-        data.put(595703198L, 1);
-        data.put(595703226L, 2);
-        data.put(595729838L, 0);
-        data.put(595729841L, 0);
-        data.put(595729852L, 0);
-        data.put(595729853L, 0);
-        data.put(596775808L, 0);
-        data.put(596775819L, 0);
-        data.put(596775825L, 0);
-        data.put(596775840L, 65);
-        data.put(596775867L, 28);
-        data.put(596775870L, 7);
-        data.put(596775876L, 13);
-        data.put(596775882L, 18);
-        data.put(596775900L, 6);
-        data.put(596775907L, 12);
-        data.put(596775914L, 3);
-        data.put(596775919L, 5);
-        data.put(596775930L, 16);
-        data.put(596775935L, 10);
-        data.put(596775941L, 10);
-        data.put(596775946L, 5);
-        data.put(596775951L, 2);
-        data.put(596775963L, 14);
-        data.put(596775973L, 7);
-        data.put(596775979L, 7);
-        data.put(596775985L, 11);
-        data.put(596775998L, 10);
-        data.put(596776009L, 2);
-        data.put(596776017L, 10);
-        data.put(596776021L, 7);
-        data.put(596776027L, 8);
-        data.put(596776032L, 7);
-        data.put(596776041L, 14);
-        data.put(596776046L, 20);
-        data.put(596776052L, 23);
-        data.put(596776057L, 32);
-        data.put(596776063L, 11);
-        data.put(596776074L, 8);
-        data.put(596776078L, 19);
-        data.put(596776083L, 16);
-        data.put(596776089L, 16);
-        data.put(596776095L, 11);
-        data.put(596776103L, 17);
-        data.put(596776115L, 20);
-        data.put(596776120L, 15);
-        data.put(596776127L, 14);
-        data.put(596776132L, 10);
-        data.put(596776144L, 25);
-        data.put(596776150L, 22);
-        data.put(596776156L, 14);
-        data.put(596776163L, 29);
-        data.put(596776164L, 17);
-        data.put(596776165L, 4);
-        data.put(596776166L, 0);
-        data.put(596776167L, 3);
-        data.put(596776173L, 33);
-        data.put(596776177L, 25);
-        data.put(596776201L, 0);
-        data.put(596776224L, 0);
-        data.put(596776231L, 1);
-        data.put(596776260L, 30);
-        data.put(596776314L, 0);
-        data.put(596776325L, 0);
-        data.put(596776349L, 0);
-        data.put(596776386L, 0);
-        data.put(596776413L, 0);
-        data.put(596776442L, 0);
-        data.put(596776474L, 0);
-        data.put(596776497L, 1);
-        data.put(596776534L, 0);
-        data.put(596776546L, 0);
-        data.put(596776578L, 0);
-        data.put(596776594L, 0);
-        data.put(596776613L, 0);
-        data.put(596776624L, 0);
-        data.put(596776654L, 4);
-        data.put(596776656L, 0);
-        data.put(596776659L, 1);
-        data.put(596788016L, 12);
-        data.put(596799866L, 23);
-        data.put(596799891L, 5);
-        data.put(596800103L, 0);
-        data.put(607911351L, 0);
-        data.put(627905367L, 0);
-        data.put(673008453L, 1);
-        data.put(685164634L, 0);
-        data.put(685164636L, 5);
-        data.put(748726602L, 0);
-        data.put(761293063L, 0);
-        data.put(761293064L, 0);
-        data.put(761293078L, 0);
-        data.put(761293090L, 0);
-        data.put(761329683L, 0);
-        data.put(764744759L, 0);
-        data.put(765367023L, 0);
-        data.put(805771586L, 0);
-        data.put(889298452L, 1);
-        data.put(1061531429L, 6);
-        data.put(1061531447L, 10);
-        data.put(1061531448L, 7);
-        data.put(1061531454L, 5);
-        data.put(1061531491L, 10);
-        data.put(1061531496L, 4);
-        data.put(1061531500L, 14);
-        data.put(1061531504L, 1);
-        data.put(1061531509L, 10);
-        data.put(1061531525L, 8);
-        data.put(1061531527L, 21);
-        data.put(1061531550L, 1);
-        data.put(1061531566L, 7);
-        data.put(1061531575L, 0);
-        data.put(1061531593L, 1);
-        data.put(1061531596L, 4);
-        data.put(1061531597L, 3);
-        data.put(1061531603L, 1);
-        data.put(1061531608L, 8);
-        data.put(1061531631L, 1);
-        data.put(1061531634L, 4);
-        data.put(1061531637L, 8);
-        data.put(1061531645L, 5);
-        data.put(1061531654L, 3);
-        data.put(1061531682L, 1);
-        data.put(1061531683L, 1);
-        data.put(1061531685L, 15);
-        data.put(1061531695L, 6);
-        data.put(1061531707L, 8);
-        data.put(1061531717L, 1);
-        data.put(1061531727L, 4);
-        data.put(1061531730L, 2);
-        data.put(1061531731L, 2);
-        data.put(1061531736L, 3);
-        data.put(1061531757L, 3);
-        data.put(1061531768L, 4);
-        data.put(1061531777L, 11);
-        data.put(1061531787L, 4);
-        data.put(1061531790L, 7);
-        data.put(1061531802L, 2);
-        data.put(1061531803L, 7);
-        data.put(1061531807L, 4);
-        data.put(1061531810L, 3);
-        data.put(1061531815L, 0);
-        data.put(1061531818L, 1);
-        data.put(1061531839L, 6);
-        data.put(1061531847L, 3);
-        data.put(1202018697L, 0);
-        data.put(1203709420L, 0);
-        data.put(1205714871L, 0);
-        data.put(1205714926L, 0);
-        data.put(1228990859L, 1);
-        data.put(1241742563L, 2);
-        data.put(1241742627L, 12);
-        data.put(1241742743L, 12);
-        data.put(1251958257L, 0);
-        data.put(1272562931L, 0);
-        data.put(1331391393L, 1);
-        data.put(1332860726L, 0);
-        data.put(1332860731L, 0);
-        data.put(1504153604L, 0);
-        data.put(1504153626L, 7);
-        data.put(1506445711L, 2);
-        data.put(1506445746L, 2);
-        data.put(1506445762L, 2);
-        data.put(1506445789L, 0);
-        data.put(1506445797L, 0);
-        data.put(1506445808L, 0);
-        data.put(1506445821L, 1);
-        data.put(1506445822L, 0);
-        data.put(1506591534L, 2);
-        data.put(1506591536L, 0);
-        data.put(1506599377L, 0);
-        data.put(1506599378L, 0);
-        data.put(1506902240L, 0);
-        data.put(1533280147L, 0);
-        data.put(1538237248L, 0);
-        data.put(1538237325L, 0);
-        data.put(1538237434L, 1);
-        data.put(1544809872L, 0);
-        data.put(1544809885L, 0);
-        data.put(1544809886L, 0);
-        data.put(1632878885L, 0);
-        data.put(1632878962L, 1);
-        data.put(1632878994L, 4);
-        data.put(1672106382L, 0);
-        data.put(1672106385L, 0);
-        data.put(1692433907L, 1);
-        data.put(1692433911L, 0);
-        data.put(1692433914L, 0);
-        data.put(1692433916L, 11);
-        data.put(1692433918L, 2);
-        data.put(1692433919L, 5);
-        data.put(1692433920L, 7);
-        data.put(1692433924L, 1);
-        data.put(1692433928L, 3);
-        data.put(1692433932L, 0);
-        data.put(1692433935L, 0);
-        data.put(1692433938L, 3);
-        data.put(1692433939L, 0);
-        data.put(1692433940L, 2);
-        data.put(1692433941L, 1);
-        data.put(1692433942L, 2);
-        data.put(1692450029L, 9);
-        data.put(1701844618L, 0);
-        data.put(1701844698L, 7);
-        data.put(1705982030L, 0);
-        data.put(1733614298L, 6);
-        data.put(1762221470L, 0);
-        data.put(1763608189L, 0);
-        data.put(1763748995L, 0);
-        data.put(1763749977L, 0);
-        data.put(1763787328L, 0);
-        data.put(1764387321L, 0);
-        data.put(1764387324L, 0);
-        data.put(1764387325L, 0);
-        data.put(1764387326L, 0);
-        data.put(1764387328L, 0);
-        data.put(1764400286L, 0);
-        data.put(1764400288L, 0);
-        data.put(1764400292L, 0);
-        data.put(1764400297L, 0);
-        data.put(1764400298L, 0);
-        data.put(1764400300L, 0);
-        data.put(1764400304L, 0);
-        data.put(1764400306L, 0);
-        data.put(1764400310L, 0);
-        data.put(1764400318L, 0);
-        data.put(1764405361L, 0);
-        data.put(1764405362L, 0);
-        data.put(1764405363L, 0);
-        data.put(1764424345L, 0);
-        data.put(1764626357L, 0);
-        data.put(1764626360L, 0);
-        data.put(1764626362L, 0);
-        data.put(1764626363L, 0);
-        data.put(1764647101L, 0);
-        data.put(1764647103L, 0);
-        data.put(1769485254L, 0);
-        data.put(1769708232L, 0);
-        data.put(1769708236L, 0);
-        data.put(1772136801L, 1);
-        data.put(1772136810L, 0);
-        data.put(1773055860L, 0);
-        data.put(1773055865L, 0);
-        data.put(1773060097L, 1);
-        data.put(1773060099L, 0);
-        data.put(1773063787L, 0);
-        data.put(1773063789L, 0);
-        data.put(1773066054L, 0);
-        data.put(1773067304L, 0);
-        data.put(1773076509L, 1);
-        data.put(1773076511L, 2);
-        data.put(1773076513L, 1);
-        data.put(1773076778L, 0);
-        data.put(1773078006L, 1);
-        data.put(1773082408L, 3);
-        data.put(1773082410L, 3);
-        data.put(1773084391L, 3);
-        data.put(1773084402L, 16);
-        data.put(1773084405L, 5);
-        data.put(1773084407L, 4);
-        data.put(1773084410L, 2);
-        data.put(1773121034L, 0);
-        data.put(1775201764L, 9);
-        data.put(1775260897L, 0);
-        data.put(1778676708L, 2);
-        data.put(1795811317L, 0);
-        data.put(1807940789L, 0);
-        data.put(1815133244L, 15);
-        data.put(1825841700L, 0);
-        data.put(1825841742L, 11);
-        data.put(1825841743L, 3);
-        data.put(1825841754L, 32);
-        data.put(1829177258L, 0);
-        data.put(1905863520L, 1);
-        data.put(1918039864L, 0);
-        data.put(1918039869L, 2);
-        data.put(1918039876L, 1);
-        data.put(1918039877L, 1);
-        data.put(1918039880L, 3);
-        data.put(1918039896L, 0);
-        data.put(1918039897L, 4);
-        data.put(1918039898L, 0);
-        data.put(1918039901L, 4);
-        data.put(1918039904L, 0);
-        data.put(1919595910L, 1);
-        data.put(1919595911L, 4);
-        data.put(1919595912L, 0);
-        data.put(1919595914L, 0);
-        data.put(1919595915L, 10);
-        data.put(1919595917L, 0);
-        data.put(1919595918L, 2);
-        data.put(1919595921L, 1);
-        data.put(1919595922L, 4);
-        data.put(1919595923L, 0);
-        data.put(1919595924L, 0);
-        data.put(1919595925L, 3);
-        data.put(1919595926L, 1);
-        data.put(1919595927L, 1);
-        data.put(1919595928L, 2);
-        data.put(1919595929L, 1);
-        data.put(1921369840L, 0);
-        data.put(1989931095L, 0);
-        data.put(1996323622L, 4);
-        data.put(2029349871L, 2);
-        data.put(2029349908L, 0);
-        data.put(2061592973L, 2);
-        data.put(2075592658L, 0);
-        data.put(2075596386L, 0);
-        data.put(2093008357L, 0);
-        data.put(2099150501L, 1);
-        data.put(2140994070L, 0);
-        data.put(2140997997L, 0);
-        data.put(2140997998L, 0);
-        data.put(2141002590L, 0);
-        data.put(2141002593L, 0);
-        data.put(2141026491L, 1);
-        data.put(2141026492L, 1);
-        data.put(2141026493L, 1);
-        data.put(2141026494L, 0);
-        data.put(2141026495L, 0);
-        data.put(2141026496L, 0);
-        data.put(2141026497L, 0);
-        data.put(2141026498L, 0);
-        data.put(2141026499L, 0);
-        data.put(2141026500L, 0);
-        data.put(2141026501L, 0);
-        data.put(2141026502L, 1);
-        data.put(2141026503L, 1);
-        data.put(2141026504L, 0);
-        data.put(2141026505L, 0);
-        data.put(2141026506L, 1);
-        data.put(2141026507L, 0);
-        data.put(2141026508L, 0);
-        data.put(2141026509L, 0);
-        data.put(2141026510L, 0);
-        data.put(2141026511L, 1);
-        data.put(2141026513L, 0);
-        data.put(2141026514L, 0);
-        data.put(2141026515L, 0);
-        data.put(2141026516L, 0);
-        data.put(2141026518L, 0);
-        data.put(2141026520L, 0);
-        data.put(2141026521L, 0);
-        data.put(2141026522L, 0);
-        data.put(2141026523L, 0);
-        data.put(2141026524L, 0);
-        data.put(2141026525L, 0);
-        data.put(2141026532L, 0);
-        data.put(2141026534L, 0);
-        data.put(2141026536L, 0);
-        data.put(2141026538L, 0);
-        data.put(2141026540L, 0);
-        data.put(2141026542L, 0);
-        data.put(2141026544L, 0);
-        data.put(2141026546L, 0);
-        data.put(2141026548L, 0);
-        data.put(2141026551L, 0);
-        data.put(2302133933L, 5);
-        data.put(2324482224L, 3);
-        data.put(2383895312L, 0);
-        data.put(2395270098L, 0);
-        data.put(2481877067L, 0);
-        data.put(2481877070L, 0);
-        data.put(2499757467L, 0);
-        data.put(2499757469L, 0);
-        data.put(2499803009L, 0);
-        data.put(2499827795L, 2);
-        data.put(2504882466L, 0);
-        data.put(2504882471L, 0);
-        data.put(2504882506L, 0);
-        data.put(2512378850L, 0);
-        data.put(2567558915L, 0);
-        data.put(2711029280L, 45);
-        data.put(2799368116L, 0);
-        data.put(2821304136L, 1);
-        data.put(2821304137L, 2);
-        data.put(2821304138L, 3);
-        data.put(2821304143L, 1);
-        data.put(2821304145L, 3);
-        data.put(2824895141L, 1);
-        data.put(2837768961L, 0);
-        data.put(2974462027L, 0);
-        data.put(3099326116L, 0);
-        data.put(3099326117L, 0);
-        data.put(3099326118L, 2);
-        data.put(3099326119L, 0);
-        data.put(3099326120L, 1);
-        data.put(3099326121L, 1);
-        data.put(3099326122L, 0);
-        data.put(3099326124L, 2);
-        data.put(3099326126L, 0);
-        data.put(3099326127L, 3);
-        data.put(3099326128L, 2);
-        data.put(3099327930L, 0);
-        data.put(3099327931L, 0);
-        data.put(3099327935L, 0);
-        data.put(3099327937L, 0);
-        data.put(3099327940L, 0);
-        data.put(3099327944L, 2);
-        data.put(3099327945L, 2);
-        data.put(3099327948L, 0);
-        data.put(3099327950L, 2);
-        data.put(3099327951L, 0);
-        data.put(3099327952L, 1);
-        data.put(3099327955L, 3);
-        data.put(3099327957L, 0);
-        data.put(3099327961L, 0);
-        data.put(3099327962L, 1);
-        data.put(3099327964L, 2);
-        data.put(3099327965L, 0);
-        data.put(3099327966L, 2);
-        data.put(3099327968L, 1);
-        data.put(3099327970L, 0);
-        data.put(3099327972L, 2);
-        data.put(3099327974L, 1);
-        data.put(3099327975L, 1);
-        data.put(3099327976L, 0);
-        data.put(3212472790L, 1);
-        data.put(3212472843L, 0);
-        data.put(3212472963L, 1);
-        data.put(3212472978L, 1);
-        data.put(3270030707L, 0);
-        data.put(3270031002L, 1);
-        data.put(3270031028L, 0);
-        data.put(3270031029L, 0);
-        data.put(3270031030L, 0);
-        data.put(3270031031L, 0);
-        data.put(3275488116L, 0);
-        data.put(3350498747L, 0);
-        data.put(3430331121L, 0);
-        data.put(3430331122L, 0);
-        data.put(3480679963L, 1);
-        data.put(3533937800L, 1);
-        data.put(3551738975L, 0);
-        data.put(3570003194L, 0);
-        data.put(3579426871L, 0);
-        data.put(3579426874L, 0);
-        data.put(3579432156L, 4);
-        data.put(3579432159L, 0);
-        data.put(3579432160L, 1);
-        data.put(3579432161L, 2);
-        data.put(3579432162L, 0);
-        data.put(3584752508L, 1);
-        data.put(3624790934L, 0);
-        data.put(3630249566L, 0);
-        data.put(3631837584L, 0);
-        data.put(3631837585L, 0);
-        data.put(3639382767L, 4);
-        data.put(3639382768L, 7);
-        data.put(3639382769L, 5);
-        data.put(3670609093L, 0);
-        data.put(3718637426L, 0);
-        data.put(3718672443L, 4);
-        data.put(3734911590L, 0);
-        data.put(3772840882L, 6);
-        data.put(3783071109L, 7);
-        data.put(3783071112L, 2);
-        data.put(3785522931L, 0);
-        data.put(3785532381L, 4);
-        data.put(3785532382L, 0);
-        data.put(3786728678L, 0);
-        data.put(3786728679L, 3);
-        data.put(3786876206L, 14);
-        data.put(3786901738L, 58);
-        data.put(3786901743L, 18);
-        data.put(3788379733L, 1);
-        data.put(3790255302L, 0);
-        data.put(3799572065L, 4);
-        data.put(3831856757L, 11);
-        data.put(3858909357L, 0);
-        data.put(3884569924L, 0);
-        data.put(3884569931L, 3);
-        data.put(3891963915L, 2);
-        data.put(3892037906L, 3);
-        data.put(3904954788L, 0);
-        data.put(3904954792L, 0);
-        data.put(3914862593L, 1);
-        data.put(3931519753L, 1);
-        data.put(3931524258L, 0);
-        data.put(3931524260L, 0);
-        data.put(3931524261L, 1);
-        data.put(3931534870L, 0);
-        data.put(3931534871L, 0);
-        data.put(3931534872L, 1);
-        data.put(4015190382L, 5);
-        data.put(4015192929L, 8);
-        data.put(4016646206L, 13);
-        data.put(4016646214L, 0);
-        data.put(4081416473L, 10);
-        data.put(4121338429L, 0);
-        data.put(4133206254L, 0);
-        data.put(4137021568L, 0);
-        data.put(4138911201L, 12);
-        data.put(4139510037L, 0);
-        data.put(4142105811L, 0);
-        data.put(4142105812L, 2);
-        data.put(4142105813L, 0);
-        data.put(4142105822L, 0);
-        data.put(4143765783L, 0);
-        data.put(4143851142L, 3);
-        data.put(4143851144L, 1);
-        data.put(4143859865L, 0);
-        data.put(4143859873L, 1);
-        data.put(4143875757L, 2);
-        data.put(4145424858L, 9);
-        data.put(4145735059L, 0);
-        data.put(4149936235L, 1);
-        data.put(4149936245L, 0);
-        data.put(4158673495L, 0);
-        data.put(4158680481L, 0);
-        data.put(4158749895L, 0);
-        data.put(4158807592L, 0);
-        data.put(4163883691L, 11);
-        data.put(4163940359L, 0);
-        data.put(4202908174L, 0);
-        data.put(4205440426L, 0);
-        data.put(4205440429L, 0);
-        data.put(4205565533L, 9);
-        data.put(4207143418L, 0);
-        data.put(4207143421L, 0);
-        data.put(4207143428L, 0);
-        data.put(4207675399L, 0);
-        data.put(4207862995L, 9);
-        data.put(4207862996L, 13);
-        data.put(4207862997L, 6);
-        data.put(4207862998L, 5);
-        data.put(4207863943L, 0);
-        data.put(4207962275L, 1);
-        data.put(4215913809L, 0);
-        data.put(4235734223L, 0);
-        data.put(4235734225L, 0);
-        data.put(4274141356L, 0);
-        data.put(4288677093L, 17);
-        data.put(4300940094L, 0);
-        data.put(4320028826L, 0);
-        data.put(4321677346L, 2);
-        data.put(4321748237L, 25);
-        data.put(4321748238L, 0);
-        data.put(4347534767L, 36);
-        data.put(4347534783L, 5);
-        data.put(4347550065L, 21);
-        data.put(4347550071L, 0);
-        data.put(4347550074L, 0);
-        data.put(4375208206L, 0);
-        data.put(4420411218L, 0);
-        data.put(4443775464L, 35);
-        data.put(4443775465L, 207);
-        data.put(4461990857L, 294);
-        data.put(4477147269L, 0);
-        data.put(4477147270L, 1);
-        data.put(4478001045L, 5);
-        data.put(4487582555L, 0);
-        data.put(4487582556L, 0);
-        data.put(4487582557L, 0);
-        data.put(4491359481L, 5);
-        data.put(4492821528L, 4);
-        data.put(4493020097L, 0);
-        data.put(4515465264L, 0);
-        data.put(4557482266L, 3);
-        data.put(4557495130L, 13);
-        data.put(4557517549L, 3);
-        data.put(4557517550L, 4);
-        data.put(4557517552L, 3);
-        data.put(4557517554L, 1);
-        data.put(4557517555L, 3);
-        data.put(4557539295L, 0);
-        data.put(4562863353L, 1);
-        data.put(4597668020L, 11);
-        data.put(4597668023L, 5);
-        data.put(4597668026L, 13);
-        data.put(4597668028L, 10);
-        data.put(4597668029L, 11);
-        data.put(4597668030L, 10);
-        data.put(4597668031L, 11);
-        data.put(4597668032L, 9);
-        data.put(4597668033L, 7);
-        data.put(4597668035L, 5);
-        data.put(4597668036L, 11);
-        data.put(4597668038L, 15);
-        data.put(4597668039L, 19);
-        data.put(4597668040L, 18);
-        data.put(4597668041L, 24);
-        data.put(4597668042L, 8);
-        data.put(4597668043L, 21);
-        data.put(4597668044L, 6);
-        data.put(4602414021L, 0);
-        data.put(4616536348L, 0);
-        data.put(4616536351L, 1);
-        data.put(4616536352L, 0);
-        data.put(4629486879L, 0);
-        data.put(4679523598L, 0);
-        data.put(4682935360L, 4);
-        data.put(4682935365L, 4);
-        data.put(4685453634L, 0);
-        data.put(4685453636L, 2);
-        data.put(4685462237L, 1);
-        data.put(4685462240L, 2);
-        data.put(4708064890L, 5);
-        data.put(4754091366L, 0);
-        data.put(4778174564L, 1);
-        data.put(4779073677L, 0);
-        data.put(4779073679L, 1);
-        data.put(4779073680L, 2);
-        data.put(4785165288L, 2);
-        data.put(4814440062L, 0);
-        data.put(4841945992L, 0);
-        data.put(4841945993L, 0);
-        data.put(4841945995L, 1);
-        data.put(4862610026L, 14);
-        data.put(4872623863L, 0);
-        data.put(4878831008L, 2);
-        data.put(4886250352L, 1);
-        data.put(4888388399L, 1);
-        data.put(4899886546L, 0);
-        data.put(4899886584L, 0);
-        data.put(4950763054L, 0);
-        data.put(4950763055L, 0);
-        data.put(4954493915L, 0);
-        data.put(4954493920L, 0);
-        data.put(5004570627L, 0);
-        data.put(5004570630L, 2);
-        data.put(5004570631L, 0);
-        data.put(5004570632L, 0);
-        data.put(5004570633L, 0);
-        data.put(5004570634L, 0);
-        data.put(5004570644L, 0);
-        data.put(5004570651L, 0);
-        data.put(5004570653L, 0);
-        data.put(5048446874L, 0);
-        data.put(5048446875L, 0);
-        data.put(5051485223L, 0);
-        data.put(5051485226L, 0);
-        data.put(5051485234L, 0);
-        data.put(5051485235L, 0);
-        data.put(5071822871L, 0);
-        data.put(5117963654L, 0);
-        data.put(5131026388L, 27);
-        data.put(5137743341L, 0);
-        data.put(5137747688L, 0);
-        data.put(5137978709L, 6);
-        data.put(5145323793L, 0);
-        data.put(5145531517L, 1);
-        data.put(5159433792L, 2);
-        data.put(5161246301L, 2);
-        data.put(5161246307L, 0);
-        data.put(5173480571L, 0);
-        data.put(5173480572L, 0);
-        data.put(5174867983L, 0);
-        data.put(5216470727L, 6);
-        data.put(5333189421L, 0);
-        data.put(5333189422L, 0);
-        data.put(5333189423L, 0);
-        data.put(5333189424L, 0);
-        data.put(5333189426L, 0);
-        data.put(5333189427L, 0);
-        data.put(5333189428L, 0);
-        data.put(5354421378L, 0);
-        data.put(5354421379L, 0);
-        data.put(5378284711L, 0);
-        data.put(5378686574L, 0);
-        data.put(5407894891L, 3);
-        data.put(5481972125L, 0);
-        data.put(5482291262L, 0);
-        data.put(5542680310L, 5);
-        data.put(5542680312L, 2);
-        data.put(5542680313L, 4);
-        data.put(5550244687L, 3);
-        data.put(5550244688L, 0);
-        data.put(5550244689L, 1);
-        data.put(5749215967L, 0);
-        data.put(5763775589L, 1);
-        data.put(5779545445L, 1);
-        data.put(5798966629L, 3);
-        data.put(5799117240L, 7);
-        data.put(5799605401L, 0);
-        data.put(5812723033L, 3);
-        data.put(5812723035L, 15);
-        data.put(5812723036L, 1);
-        data.put(5837088104L, 0);
-        data.put(5837088105L, 1);
-        data.put(5838916777L, 2);
-        data.put(5849918502L, 16);
-        data.put(5849918504L, 9);
-        data.put(5852272391L, 12);
-        data.put(5916527828L, 0);
-        data.put(5959713761L, 0);
-        data.put(5993830853L, 2);
-        data.put(6123654602L, 0);
-        data.put(6166333257L, 1);
-        data.put(6166412783L, 0);
-        data.put(6166412784L, 0);
-        data.put(6173564360L, 2);
-        data.put(6176483595L, 10);
-        data.put(6176628861L, 0);
-        data.put(6177439749L, 30);
-        data.put(6177439750L, 5);
-        data.put(6177439752L, 8);
-        data.put(6177439759L, 43);
-        data.put(6181480033L, 0);
-        data.put(6185447546L, 1);
-        data.put(6188803960L, 10);
-        data.put(6198320765L, 0);
-        data.put(6210448840L, 5);
-        data.put(6210448846L, 1);
-        data.put(6210448855L, 0);
-        data.put(6210448857L, 0);
-        data.put(6210448862L, 3);
-        data.put(6210448866L, 5);
-        data.put(6211332483L, 1);
-        data.put(6211334202L, 15);
-        data.put(6213204061L, 2);
-        data.put(6223571521L, 1);
-        data.put(6223571522L, 1);
-        data.put(6223571523L, 1);
-        data.put(6223571524L, 1);
-        data.put(6223969260L, 4);
-        data.put(6262915547L, 0);
-        data.put(6262915548L, 3);
-        data.put(6279091713L, 4);
-        data.put(6289180298L, 4);
-        data.put(6293735694L, 0);
+    public Intersection getRandomIntersection(Random random) {
+        int r = random.nextInt(sum + 1);
+        return intersections.get(ids[find(r)]);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,193 @@
+package UserExamples;
+
+import COMSETsystem.CityMap;
+import COMSETsystem.Configuration;
+import COMSETsystem.LocationOnRoad;
+import DataParsing.CSVNewYorkParser;
+import DataParsing.MapWithData;
+import DataParsing.Resource;
+import MapCreation.CompiledMap;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The historical demand of the intersections that Weighting starts from: the number of pickups on the roads
+ * that start at each intersection. It is read from a CSV file with the header "intersection_id,count" and one
+ * line per intersection with a non-zero count. By default the file is weighting-prior.csv next to this class,
+ * made for the Manhattan map; the system property comset.weighting_prior_file gives another file, e.g., for
+ * another city.
+ *
+ * The main method makes such a file from a compiled map and a TLC trip record dataset:
+ *
+ *   java UserExamples.WeightingPrior map.cmap dataset.csv prior.csv [divisor]
+ *
+ * where the counts are divided by divisor (1 by default), e.g., to make the prior of a single day from a
+ * dataset of several days.
+ */
+public class WeightingPrior {
+
+    static final String RESOURCE = "weighting-prior.csv";
+
+    static final String HEADER = "intersection_id,count";
+
+    // the ids of the intersections with a non-zero count, in ascending order, and their counts
+    private final long[] ids;
+    private final int[] counts;
+
+    private static WeightingPrior defaultPrior;
+
+    WeightingPrior(long[] ids, int[] counts) {
+        this.ids = ids;
+        this.counts = counts;
+    }
+
+    /**
+     * @return the prior of the file given by the system property comset.weighting_prior_file, or of
+     * weighting-prior.csv by default; it is read once
+     */
+    static synchronized WeightingPrior get() {
+        if (defaultPrior == null) {
+            String file = System.getProperty("comset.weighting_prior_file");
+            try (InputStream in = file != null ? new FileInputStream(file)
+                    : WeightingPrior.class.getResourceAsStream(RESOURCE)) {
+                if (in == null) {
+                    throw new FileNotFoundException(RESOURCE);
+                }
+                defaultPrior = read(in);
+            } catch (IOException e) {
+                throw new RuntimeException("cannot load the weighting prior " + (file != null ? file : RESOURCE), e);
+            }
+        }
+        return defaultPrior;
+    }
+
+    /**
+     * Read a prior written by write().
+     *
+     * @param in the prior file
+     * @return the prior
+     * @throws IOException if the file cannot be read or is not a prior
+     */
+    static WeightingPrior read(InputStream in) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(1 << 15);
+        byte[] chunk = new byte[1 << 15];
+        for (int n; (n = in.read(chunk)) != -1; ) {
+            buffer.write(chunk, 0, n);
+        }
+        byte[] bytes = buffer.toByteArray();
+        int position = HEADER.length();
+        if (bytes.length <= position || !new String(bytes, 0, position, StandardCharsets.US_ASCII).equals(HEADER)
+                || bytes[position] != '\n' && bytes[position] != '\r') {
+            throw new IOException("not a weighting prior");
+        }
+
+        // parse the lines by hand; the file is read once, by code that has not been compiled yet
+        long[] ids = new long[1024];
+        int[] counts = new int[1024];
+        int size = 0;
+        long[] line = new long[2];
+        int field = 0;
+        boolean digits = false;
+        // the end of the file ends the last line
+        for (position++; position <= bytes.length; position++) {
+            byte b = position < bytes.length ? bytes[position] : (byte) '\n';
+            if (b == '\r') {
+                continue;
+            }
+            if (b >= '0' && b <= '9' && line[field] <= (Long.MAX_VALUE - 9) / 10) {
+                line[field] = 10 * line[field] + (b - '0');
+                digits = true;
+            } else if (b == ',' && field == 0 && digits) {
+                field = 1;
+                digits = false;
+            } else if (b == '\n' && field == 1 && digits && line[1] <= Integer.MAX_VALUE) {
+                if (size == ids.length) {
+                    ids = Arrays.copyOf(ids, 2 * size);
+                    counts = Arrays.copyOf(counts, 2 * size);
+                }
+                if (size > 0 && line[0] <= ids[size - 1]) {
+                    throw new IOException("the intersections of a weighting prior are not in ascending order: "
+                            + line[0]);
+                }
+                ids[size] = line[0];
+                counts[size] = (int) line[1];
+                size++;
+                line[0] = line[1] = 0;
+                field = 0;
+                digits = false;
+            } else if (!(b == '\n' && field == 0 && !digits)) {
+                throw new IOException("malformed line " + (size + 2) + " of a weighting prior");
+            }
+        }
+        return new WeightingPrior(Arrays.copyOf(ids, size), Arrays.copyOf(counts, size));
+    }
+
+    void write(Writer out) throws IOException {
+        out.write(HEADER + "\n");
+        for (int i = 0; i < ids.length; i++) {
+            out.write(ids[i] + "," + counts[i] + "\n");
+        }
+    }
+
+    /**
+     * @param intersectionIds ids of intersections
+     * @return the counts of the intersections, in the same order; 0 for the intersections not in the prior
+     */
+    int[] counts(long[] intersectionIds) {
+        int[] result = new int[intersectionIds.length];
+        for (int i = 0; i < intersectionIds.length; i++) {
+            int index = Arrays.binarySearch(ids, intersectionIds[i]);
+            result[i] = index >= 0 ? counts[index] : 0;
+        }
+        return result;
+    }
+
+    /**
+     * Count the pickups of a dataset at the start intersections of the roads they are matched to.
+     *
+     * @param map the map
+     * @param datasetFile a TLC trip record dataset
+     * @param divisor the counts are divided by it
+     * @return the prior
+     */
+    static WeightingPrior fromDataset(CityMap map, String datasetFile, int divisor) {
+        MapWithData mapWithData = new MapWithData(map, datasetFile, 0);
+        CSVNewYorkParser parser = new CSVNewYorkParser(datasetFile, map.computeZoneId());
+        Map<Long, Integer> pickups = new TreeMap<>();
+        for (Resource resource : parser.parse(Configuration.timeResolution)) {
+            LocationOnRoad pickup = mapWithData.mapMatch(resource.getPickupLon(), resource.getPickupLat());
+            pickups.merge(pickup.road.from.id, 1, Integer::sum);
+        }
+        long[] ids = new long[pickups.size()];
+        int[] counts = new int[pickups.size()];
+        int size = 0;
+        for (Map.Entry<Long, Integer> entry : pickups.entrySet()) {
+            if (entry.getValue() / divisor > 0) {
+                ids[size] = entry.getKey();
+                counts[size] = entry.getValue() / divisor;
+                size++;
+            }
+        }
+        return new WeightingPrior(Arrays.copyOf(ids, size), Arrays.copyOf(counts, size));
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3 || args.length > 4) {
+            System.out.println("Usage: java UserExamples.WeightingPrior map" + CompiledMap.FILE_EXTENSION
+                    + " dataset.csv prior.csv [divisor]");
+            System.exit(1);
+        }
+        CityMap map = CompiledMap.read(new File(args[0]), false);
+        int divisor = args.length == 4 ? Integer.parseInt(args[3]) : 1;
+        WeightingPrior prior = fromDataset(map, args[1], divisor);
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(args[2]),
+                StandardCharsets.US_ASCII))) {
+            prior.write(out);
+        }
+        System.out.println("Wrote the counts of " + prior.ids.length + " intersections to " + args[2]);
+    }
+}
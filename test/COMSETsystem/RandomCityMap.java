@@ -0,0 +1,33 @@
+package COMSETsystem;
+
+import MapCreation.SyntheticCity;
+
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A random planar synthetic map with its travel times computed, and a seeded random generator of locations on
+ * it, for tests that compare an index with a scan of all the candidates.
+ */
+public class RandomCityMap {
+
+    public final CityMap map;
+    public final List<Road> roads;
+    public final Random random;
+
+    public RandomCityMap() {
+        map = new SyntheticCity(40.75, -73.99, ZoneId.of("America/New_York"), 7).randomPlanar(400, 120);
+        map.calcTravelTimes();
+        roads = map.roads();
+        random = new Random(8);
+    }
+
+    /**
+     * @return a location drawn uniformly among the roads, and uniformly along the road
+     */
+    public LocationOnRoad randomLocation() {
+        Road road = roads.get(random.nextInt(roads.size()));
+        return new LocationOnRoad(road, random.nextDouble() * road.length);
+    }
+}
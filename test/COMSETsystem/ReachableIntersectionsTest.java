@@ -0,0 +1,71 @@
+package COMSETsystem;
+
+import MapCreation.SyntheticCity;
+import org.junit.Test;
+
+import java.time.ZoneId;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class ReachableIntersectionsTest {
+
+    private static CityMap makeMap() {
+        CityMap map = new SyntheticCity(40.75, -73.99, ZoneId.of("America/New_York"), 1).grid(12, 12, 100);
+        map.calcTravelTimes();
+        return map;
+    }
+
+    @Test
+    public void testIntersectionsReaching_sameAsPathTable() {
+        CityMap map = makeMap();
+        Intersection[] intersections = map.intersections().values().toArray(new Intersection[0]);
+        Random random = new Random(6);
+        // one buffer for all the queries
+        ReachableIntersections reachable = new ReachableIntersections();
+        for (int q = 0; q < 50; q++) {
+            Intersection destination = intersections[random.nextInt(intersections.length)];
+            double maxTravelTime = random.nextDouble() * map.travelTimeBetween(intersections[0],
+                    intersections[intersections.length - 1]);
+            map.intersectionsReaching(destination, maxTravelTime, reachable);
+
+            int expectedSize = 0;
+            for (Intersection intersection : intersections) {
+                double expected = map.travelTimeBetween(intersection, destination);
+                if (expected <= maxTravelTime - 1e-3) {
+                    expectedSize++;
+                    assertEquals(expected, reachable.travelTime(intersection), 1e-3);
+                } else if (expected > maxTravelTime + 1e-3) {
+                    assertEquals(Double.POSITIVE_INFINITY, reachable.travelTime(intersection), 0.0);
+                }
+            }
+            assertTrue(reachable.size() >= expectedSize);
+            for (int i = 0; i < reachable.size(); i++) {
+                assertEquals(reachable.travelTime(i), reachable.travelTime(reachable.get(i)), 0.0);
+                assertTrue(reachable.travelTime(i) <= maxTravelTime);
+            }
+        }
+    }
+
+    @Test
+    public void testNext_ascendingTravelTime() {
+        CityMap map = makeMap();
+        Intersection[] intersections = map.intersections().values().toArray(new Intersection[0]);
+        ReachableIntersections reachable = new ReachableIntersections();
+        map.startIntersectionsReaching(intersections[40], Double.POSITIVE_INFINITY, reachable);
+        assertEquals(0, reachable.size());
+        assertEquals(Double.POSITIVE_INFINITY, reachable.travelTime(intersections[40]), 0.0);
+
+        assertTrue(reachable.next());
+        assertSame(intersections[40], reachable.get(0));
+        assertEquals(0.0, reachable.travelTime(0), 0.0);
+        while (reachable.next()) {
+            int i = reachable.size() - 1;
+            assertTrue(reachable.travelTime(i - 1) <= reachable.travelTime(i));
+        }
+        assertEquals(intersections.length, reachable.size());
+
+        map.intersectionsReaching(intersections[40], -1, reachable);
+        assertEquals(0, reachable.size());
+    }
+}
@@ -0,0 +1,52 @@
+package COMSETsystem;
+
+import MapCreation.SyntheticCity;
+import org.junit.Test;
+
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class RouteTest {
+
+    @Test
+    public void testPoll_inOrder() {
+        SimpleMap simpleMap = new SimpleMap();
+        Route route = new Route(Arrays.asList(simpleMap.intersection1, simpleMap.intersection2,
+                simpleMap.intersection3));
+        assertEquals(3, route.size());
+        assertSame(simpleMap.intersection1, route.peek());
+        assertSame(simpleMap.intersection1, route.poll());
+        assertEquals(Arrays.asList(simpleMap.intersection2, simpleMap.intersection3), route.toLinkedList());
+        assertSame(simpleMap.intersection2, route.poll());
+        assertSame(simpleMap.intersection3, route.poll());
+        assertTrue(route.isEmpty());
+        assertNull(route.peek());
+        assertNull(route.poll());
+    }
+
+    @Test
+    public void testShortestTravelTimeRoute_sameAsPath() {
+        CityMap map = new SyntheticCity(40.75, -73.99, ZoneId.of("America/New_York"), 1).grid(12, 12, 100);
+        map.calcTravelTimes();
+        Intersection[] intersections = map.intersections().values().toArray(new Intersection[0]);
+        Random random = new Random(7);
+        // the same route is refilled, partly consumed or not
+        Route route = new Route();
+        for (int q = 0; q < 200; q++) {
+            Intersection source = intersections[random.nextInt(intersections.length)];
+            Intersection destination = intersections[random.nextInt(intersections.length)];
+            LinkedList<Intersection> path = map.shortestTravelTimePath(source, destination);
+            assertSame(source, path.getFirst());
+            assertSame(destination, path.getLast());
+            assertSame(route, map.shortestTravelTimeRoute(source, destination, route));
+            assertEquals(path, route.toLinkedList());
+            for (int k = random.nextInt(path.size() + 1); k > 0; k--) {
+                assertSame(path.poll(), route.poll());
+            }
+        }
+    }
+}
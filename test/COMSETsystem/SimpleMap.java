@@ -47,6 +47,16 @@ public class SimpleMap {
         return new LocationOnRoad(road, road.length * fraction);
     }
 
+    /**
+     * Fill a route in place, as CityMap.shortestTravelTimeRoute does.
+     */
+    public static void fillRoute(Route route, Intersection... intersections) {
+        route.clear();
+        for (int i = intersections.length - 1; i >= 0; i--) {
+            route.addFirst(intersections[i]);
+        }
+    }
+
 
     public SimpleMap(){
         vertex1 = makeVertex(100.0, 100.0, 1);
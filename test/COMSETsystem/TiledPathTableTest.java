@@ -0,0 +1,90 @@
+package COMSETsystem;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class TiledPathTableTest {
+
+    private CityMap map;
+    private CityMap tiledMap;
+    private Intersection[] intersections;
+    private Intersection[] tiledIntersections;
+
+    @Before
+    public void setUp() {
+        map = new RandomCityMap().map;
+        tiledMap = map.makeCopy();
+        tiledMap.calcTiledTravelTimes(400, 2);
+        intersections = map.intersections().values().toArray(new Intersection[0]);
+        tiledIntersections = tiledMap.intersections().values().toArray(new Intersection[0]);
+    }
+
+    @Test
+    public void testCalcTiledTravelTimes_partitionsTheMap() {
+        TiledPathTable tiles = tiledMap.tiledPathTable();
+        assertTrue(tiles.numberOfTiles() > 10);
+        assertTrue(tiles.numberOfBorderIntersections() < intersections.length);
+        assertTrue(tiles.numberOfResidentTiles() <= 2);
+    }
+
+    @Test
+    public void testTravelTimeBetween_sameAsPathTable() {
+        for (int s = 0; s < intersections.length; s++) {
+            for (int d = 0; d < intersections.length; d++) {
+                assertEquals(map.travelTimeBetween(intersections[s], intersections[d]),
+                        tiledMap.travelTimeBetween(tiledIntersections[s], tiledIntersections[d]), 1e-3);
+            }
+        }
+    }
+
+    @Test
+    public void testShortestTravelTimeRoute_shortestPath() {
+        Random random = new Random(3);
+        // one route for all the queries
+        Route route = new Route();
+        for (int q = 0; q < 2000; q++) {
+            int s = random.nextInt(intersections.length);
+            int d = q % 100 == 0 ? s : random.nextInt(intersections.length);
+            tiledMap.shortestTravelTimeRoute(tiledIntersections[s], tiledIntersections[d], route);
+
+            Intersection previous = route.poll();
+            assertSame(tiledIntersections[s], previous);
+            double travelTime = 0;
+            while (!route.isEmpty()) {
+                Intersection next = route.poll();
+                travelTime += previous.roadTo(next).travelTime;
+                previous = next;
+            }
+            assertSame(tiledIntersections[d], previous);
+            assertEquals(map.travelTimeBetween(intersections[s], intersections[d]), travelTime, 1e-3);
+        }
+    }
+
+    @Test
+    public void testTravelTimeBetween_tilesComputedAgainAfterEviction() {
+        TiledPathTable tiles = tiledMap.tiledPathTable();
+        Intersection source = tiledIntersections[0];
+        Intersection destination = tiledIntersections[tiledIntersections.length - 1];
+        tiledMap.travelTimeBetween(source, destination);
+        long computations = tiles.tileComputations();
+        // both tiles are in memory
+        tiledMap.travelTimeBetween(source, destination);
+        assertEquals(computations, tiles.tileComputations());
+
+        // the queries inside other tiles evict them
+        for (Intersection intersection : tiledIntersections) {
+            int tile = tiles.tileOf(intersection.pathTableIndex);
+            if (tile != tiles.tileOf(source.pathTableIndex) && tile != tiles.tileOf(destination.pathTableIndex)) {
+                tiledMap.travelTimeBetween(intersection, intersection);
+            }
+        }
+        assertEquals(2, tiles.numberOfResidentTiles());
+        long before = tiles.tileComputations();
+        tiledMap.travelTimeBetween(source, destination);
+        assertEquals(before + 2, tiles.tileComputations());
+    }
+}
@@ -0,0 +1,120 @@
+package COMSETsystem;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class TrafficPatternTest {
+
+    private static final long RESOLUTION = 1000000L;
+    private static final long STEP = 60 * RESOLUTION;
+    private static final long FIRST_EPOCH_BEGIN_TIME = 1464782400L * RESOLUTION;
+    private static final int NUMBER_OF_EPOCHS = 840;
+
+    private final Random random = new Random(30);
+    private final double[] speedFactors = new double[NUMBER_OF_EPOCHS];
+    private TrafficPattern trafficPattern;
+
+    @Before
+    public void setUp() {
+        trafficPattern = new TrafficPattern(STEP);
+        for (int i = 0; i < NUMBER_OF_EPOCHS; i++) {
+            speedFactors[i] = 0.1 + 0.9 * random.nextDouble();
+            trafficPattern.addTrafficPatternItem(FIRST_EPOCH_BEGIN_TIME + i * STEP, speedFactors[i]);
+        }
+    }
+
+    private double lastEpochBeginTime() {
+        return FIRST_EPOCH_BEGIN_TIME + (NUMBER_OF_EPOCHS - 1) * STEP;
+    }
+
+    /**
+     * Step-by-step reference: travel one epoch at a time until the distance is covered.
+     */
+    private double referenceForwardTravelTime(double time, double unadjustedSpeed, double distance) {
+        double totalDistance = 0.0;
+        double totalTime = 0.0;
+        double currentTime = time;
+        while (true) {
+            if (currentTime >= lastEpochBeginTime()) {
+                return totalTime + (distance - totalDistance) / (unadjustedSpeed * speedFactors[NUMBER_OF_EPOCHS - 1]);
+            }
+            double stepTime;
+            double speedFactor;
+            if (currentTime < FIRST_EPOCH_BEGIN_TIME) {
+                stepTime = FIRST_EPOCH_BEGIN_TIME - currentTime;
+                speedFactor = speedFactors[0];
+            } else {
+                int index = (int) ((currentTime - FIRST_EPOCH_BEGIN_TIME) / STEP);
+                stepTime = FIRST_EPOCH_BEGIN_TIME + (index + 1) * STEP - currentTime;
+                speedFactor = speedFactors[index];
+            }
+            double stepDistance = unadjustedSpeed * speedFactor * stepTime;
+            if (totalDistance + stepDistance < distance) {
+                totalDistance += stepDistance;
+                totalTime += stepTime;
+                currentTime += stepTime;
+            } else {
+                return totalTime + (distance - totalDistance) / (unadjustedSpeed * speedFactor);
+            }
+        }
+    }
+
+    private double randomTime() {
+        // from an hour before the first epoch to an hour after the last epoch
+        double span = (NUMBER_OF_EPOCHS + 120) * STEP;
+        return FIRST_EPOCH_BEGIN_TIME - 60 * STEP + Math.floor(random.nextDouble() * span);
+    }
+
+    @Test
+    public void testDynamicForwardTravelTime_matchesStepByStep() {
+        for (int i = 0; i < 10000; i++) {
+            double time = randomTime();
+            double speed = (5 + 20 * random.nextDouble()) / RESOLUTION; // meters per simulated time unit
+            double distance = random.nextDouble() * 20000;
+            double expected = referenceForwardTravelTime(time, speed, distance);
+            double actual = trafficPattern.dynamicForwardTravelTime(time, speed, distance);
+            assertEquals(expected, actual, 1e-6 * Math.max(1.0, expected));
+        }
+    }
+
+    @Test
+    public void testDynamicForwardTravelTime_zeroDistance() {
+        assertEquals(0.0, trafficPattern.dynamicForwardTravelTime(randomTime(), 10.0 / RESOLUTION, 0.0), 0.0);
+    }
+
+    @Test
+    public void testDynamicTravelDistance_consistentWithForwardTravelTime() {
+        for (int i = 0; i < 10000; i++) {
+            double time = randomTime();
+            double speed = (5 + 20 * random.nextDouble()) / RESOLUTION;
+            double maxDistance = random.nextDouble() * 5000;
+            double travelTime = random.nextDouble() * 1200 * RESOLUTION;
+            double[] distanceTimePair = trafficPattern.dynamicTravelDistance(time, speed, travelTime, maxDistance);
+            double distance = distanceTimePair[0];
+            double traveledTime = distanceTimePair[1];
+
+            assertTrue(distance <= maxDistance);
+            if (distance < maxDistance) {
+                // travel time used out before reaching maxDistance
+                assertEquals(travelTime, traveledTime, 0.0);
+                assertEquals(travelTime, referenceForwardTravelTime(time, speed, distance), 1e-6 * Math.max(1.0, travelTime));
+            } else {
+                // maxDistance reached first
+                assertTrue(traveledTime <= travelTime);
+                assertEquals(referenceForwardTravelTime(time, speed, maxDistance), traveledTime, 1e-6 * Math.max(1.0, traveledTime));
+            }
+        }
+    }
+
+    @Test
+    public void testGetSpeedFactor() {
+        assertEquals(speedFactors[0], trafficPattern.getSpeedFactor(FIRST_EPOCH_BEGIN_TIME - STEP), 0.0);
+        assertEquals(speedFactors[5], trafficPattern.getSpeedFactor(FIRST_EPOCH_BEGIN_TIME + 5 * STEP + 1), 0.0);
+        assertEquals(speedFactors[NUMBER_OF_EPOCHS - 1],
+                trafficPattern.getSpeedFactor(FIRST_EPOCH_BEGIN_TIME + NUMBER_OF_EPOCHS * STEP * 2), 0.0);
+    }
+}
@@ -0,0 +1,121 @@
+package DataParsing;
+
+import COMSETsystem.Link;
+import COMSETsystem.Vertex;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.awt.geom.Point2D;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class KdTreeTest {
+
+    private static final int NUMBER_OF_LINKS = 2000;
+    private static final double AREA_SIZE = 5000.0; // meters
+
+    private final ArrayList<Link> links = new ArrayList<>();
+    private final KdTree kdTree = new KdTree();
+    private final Random random = new Random(26);
+
+    @Before
+    public void setUp() {
+        // short random street segments scattered over the area
+        for (int i = 0; i < NUMBER_OF_LINKS; i++) {
+            double x = random.nextDouble() * AREA_SIZE;
+            double y = random.nextDouble() * AREA_SIZE;
+            double dx = (random.nextDouble() - 0.5) * 200;
+            double dy = (random.nextDouble() - 0.5) * 200;
+            Vertex from = new Vertex(0, 0, x, y, 2 * i);
+            Vertex to = new Vertex(0, 0, x + dx, y + dy, 2 * i + 1);
+            Link link = new Link(from, to, Math.hypot(dx, dy), 10);
+            links.add(link);
+            kdTree.insert(link);
+        }
+    }
+
+    private double[] sortedBruteForceDistancesSq(Point2D p) {
+        double[] distancesSq = new double[links.size()];
+        for (int i = 0; i < links.size(); i++) {
+            distancesSq[i] = links.get(i).distanceSq(p);
+        }
+        Arrays.sort(distancesSq);
+        return distancesSq;
+    }
+
+    @Test
+    public void testKNearest_matchesBruteForce() {
+        LinkCandidates result = new LinkCandidates(4);
+        for (int q = 0; q < 200; q++) {
+            Point2D p = new Point2D.Double(random.nextDouble() * AREA_SIZE, random.nextDouble() * AREA_SIZE);
+            int k = 1 + random.nextInt(20);
+            kdTree.kNearest(p, k, result);
+
+            double[] expected = sortedBruteForceDistancesSq(p);
+            assertEquals(k, result.size());
+            for (int i = 0; i < k; i++) {
+                assertEquals(expected[i], result.distanceSq(i), 1e-9);
+                assertEquals(result.get(i).distanceSq(p), result.distanceSq(i), 0.0);
+            }
+        }
+    }
+
+    @Test
+    public void testKNearest_firstIsNearest() {
+        LinkCandidates result = new LinkCandidates(1);
+        for (int q = 0; q < 200; q++) {
+            Point2D p = new Point2D.Double(random.nextDouble() * AREA_SIZE, random.nextDouble() * AREA_SIZE);
+            kdTree.kNearest(p, 3, result);
+            assertEquals(kdTree.nearest(p).distanceSq(p), result.distanceSq(0), 0.0);
+        }
+    }
+
+    @Test
+    public void testKNearest_kLargerThanSize() {
+        KdTree smallTree = new KdTree();
+        for (int i = 0; i < 5; i++) {
+            smallTree.insert(links.get(i));
+        }
+        LinkCandidates result = new LinkCandidates(1);
+        smallTree.kNearest(new Point2D.Double(0, 0), 10, result);
+        assertEquals(5, result.size());
+        for (int i = 1; i < result.size(); i++) {
+            assertTrue(result.distanceSq(i - 1) <= result.distanceSq(i));
+        }
+    }
+
+    @Test
+    public void testWithinRadius_matchesBruteForce() {
+        LinkCandidates result = new LinkCandidates(1);
+        for (int q = 0; q < 200; q++) {
+            Point2D p = new Point2D.Double(random.nextDouble() * AREA_SIZE, random.nextDouble() * AREA_SIZE);
+            double r = random.nextDouble() * 300;
+            kdTree.withinRadius(p, r, result);
+
+            int expectedCount = 0;
+            for (Link link : links) {
+                if (link.distanceSq(p) <= r * r) {
+                    expectedCount++;
+                }
+            }
+            assertEquals(expectedCount, result.size());
+            for (int i = 0; i < result.size(); i++) {
+                assertTrue(result.distanceSq(i) <= r * r);
+            }
+        }
+    }
+
+    @Test
+    public void testQueries_emptyTree() {
+        KdTree emptyTree = new KdTree();
+        LinkCandidates result = new LinkCandidates(2);
+        result.add(links.get(0), 0.0);
+        emptyTree.kNearest(new Point2D.Double(0, 0), 3, result);
+        assertTrue(result.isEmpty());
+        emptyTree.withinRadius(new Point2D.Double(0, 0), 100, result);
+        assertTrue(result.isEmpty());
+    }
+}
@@ -0,0 +1,55 @@
+package DataParsing;
+
+import COMSETsystem.LocationOnRoad;
+import COMSETsystem.SimpleMap;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class MapMatchCacheTest {
+
+    private final SimpleMap testMap = new SimpleMap();
+
+    @Test
+    public void testGet_missThenHit() {
+        MapMatchCache cache = new MapMatchCache(4);
+        assertNull(cache.get(-73.9911, 40.7506));
+        cache.put(-73.9911, 40.7506, testMap.roadFrom1to2, 250.0);
+
+        LocationOnRoad match = cache.get(-73.9911, 40.7506);
+        assertNotNull(match);
+        assertEquals(testMap.roadFrom1to2, match.road);
+        assertEquals(250.0,
+                LocationOnRoad.createFromRoadStart(testMap.roadFrom1to2).getDisplacementOnRoad(match), 0.0);
+        assertEquals(1, cache.hits());
+        assertEquals(1, cache.misses());
+        assertEquals(0.5, cache.hitRate(), 0.0);
+    }
+
+    @Test
+    public void testGet_nearbyPointWithSameKeyIsNotAHit() {
+        MapMatchCache cache = new MapMatchCache(4);
+        double longitude = -73.9911;
+        double latitude = 40.7506;
+        double nearbyLatitude = Math.nextUp(latitude);
+        assertEquals(MapMatchCache.key(longitude, latitude), MapMatchCache.key(longitude, nearbyLatitude));
+
+        cache.put(longitude, latitude, testMap.roadFrom1to2, 250.0);
+        assertNull(cache.get(longitude, nearbyLatitude));
+    }
+
+    @Test
+    public void testPut_growsAndKeepsAllEntries() {
+        MapMatchCache cache = new MapMatchCache(1);
+        for (int i = 0; i < 10000; i++) {
+            cache.put(-74.0 + i * 1e-5, 40.7 + i * 1e-5, testMap.roadFrom2to3, i);
+        }
+        assertEquals(10000, cache.size());
+        for (int i = 0; i < 10000; i++) {
+            LocationOnRoad match = cache.get(-74.0 + i * 1e-5, 40.7 + i * 1e-5);
+            assertNotNull(match);
+            assertEquals(i, LocationOnRoad.createFromRoadStart(testMap.roadFrom2to3).getDisplacementOnRoad(match), 0.0);
+        }
+        assertEquals(1.0, cache.hitRate(), 0.0);
+    }
+}
@@ -0,0 +1,121 @@
+package DataParsing;
+
+import COMSETsystem.CityMap;
+import COMSETsystem.LocationOnRoad;
+import COMSETsystem.SimpleMap;
+import COMSETsystem.TrafficPattern;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class MapWithDataTest {
+
+    private static final long RESOLUTION = 1000000L;
+    private static final long EPOCH = 900 * RESOLUTION;
+    private static final long STEP = 60 * RESOLUTION;
+    private static final long START = 1464782400L * RESOLUTION;
+
+    @Mock
+    CityMap mockMap;
+
+    private final SimpleMap testMap = new SimpleMap();
+    private final Map<LocationOnRoad, Long> simulatedTravelTimes = new IdentityHashMap<>();
+
+    private ArrayList<Resource> makeResources(Random random, int count, long span) {
+        ArrayList<Resource> resources = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            long pickupTime = START + (long) (random.nextDouble() * span);
+            // a few records have their dropoff before their pickup, as in the TLC data
+            long tripTime = (long) ((random.nextDouble() * 2400 - 30) * RESOLUTION);
+            Resource resource = new Resource(40.75, -73.99, 40.76, -73.98, pickupTime, pickupTime + tripTime);
+            LocationOnRoad pickup = SimpleMap.makeLocationFromRoad(testMap.roadFrom1to2, random.nextDouble());
+            LocationOnRoad dropoff = SimpleMap.makeLocationFromRoad(testMap.roadFrom3to4, random.nextDouble());
+            resource.setPickupLocation(pickup);
+            resource.setDropoffLocation(dropoff);
+            simulatedTravelTimes.put(pickup, (long) (random.nextDouble() * 900 * RESOLUTION));
+            resources.add(resource);
+        }
+        return resources;
+    }
+
+    /**
+     * The window-by-window construction that rebuilds the list of trips of every window.
+     */
+    private ArrayList<double[]> referencePattern(MapWithData mapWD, ArrayList<Resource> resources) {
+        resources.sort(Comparator.comparingLong(TimestampAbstract::getTime));
+        ArrayList<double[]> pattern = new ArrayList<>();
+        long epochBeginTime = resources.get(0).getPickupTime();
+        int beginResourceIndex = 0;
+        double lastKnownSpeedFactor = 0.3;
+        while (true) {
+            ArrayList<Resource> epochResources = new ArrayList<>();
+            long epochEndTime = epochBeginTime + EPOCH;
+            int resourceIndex = beginResourceIndex;
+            while (resourceIndex < resources.size() && resources.get(resourceIndex).getPickupTime() < epochEndTime) {
+                if (resources.get(resourceIndex).getDropoffTime() < epochEndTime) {
+                    epochResources.add(resources.get(resourceIndex));
+                }
+                resourceIndex += 1;
+            }
+            double speedFactor = epochResources.isEmpty() ? -1.0 : mapWD.getSpeedFactor(epochResources);
+            if (speedFactor < 0.0) {
+                speedFactor = lastKnownSpeedFactor;
+            } else {
+                speedFactor = Math.min(speedFactor, 1.0);
+                lastKnownSpeedFactor = speedFactor;
+            }
+            pattern.add(new double[]{epochBeginTime, speedFactor});
+
+            epochBeginTime += STEP;
+            while (beginResourceIndex < resources.size() && resources.get(beginResourceIndex).getPickupTime() < epochBeginTime) {
+                beginResourceIndex += 1;
+            }
+            if (resourceIndex == resources.size()) {
+                break;
+            }
+        }
+        return pattern;
+    }
+
+    private void checkAgainstReference(ArrayList<Resource> resources) {
+        when(mockMap.travelTimeBetween(any(LocationOnRoad.class), any(LocationOnRoad.class)))
+                .thenAnswer(invocation -> simulatedTravelTimes.get(invocation.getArgument(0)));
+        MapWithData mapWD = new MapWithData(mockMap, "unused.csv", 1);
+
+        ArrayList<double[]> expected = referencePattern(mapWD, new ArrayList<>(resources));
+        TrafficPattern trafficPattern = mapWD.buildSlidingTrafficPattern(resources, EPOCH, STEP, true);
+
+        for (double[] item : expected) {
+            assertEquals(item[1], trafficPattern.getSpeedFactor((long) item[0]), 0.0);
+        }
+        // the last window is the same, so times past it get the same speed factor
+        double[] last = expected.get(expected.size() - 1);
+        assertEquals(last[1], trafficPattern.getSpeedFactor((long) last[0] + 10 * STEP), 0.0);
+    }
+
+    @Test
+    public void testBuildSlidingTrafficPattern_denseTrips() {
+        checkAgainstReference(makeResources(new Random(29), 3000, 3 * 3600 * RESOLUTION));
+    }
+
+    @Test
+    public void testBuildSlidingTrafficPattern_sparseTripsWithGaps() {
+        checkAgainstReference(makeResources(new Random(290), 40, 10 * 3600 * RESOLUTION));
+    }
+
+    @Test
+    public void testBuildSlidingTrafficPattern_singleTrip() {
+        checkAgainstReference(makeResources(new Random(2900), 1, RESOLUTION));
+    }
+}
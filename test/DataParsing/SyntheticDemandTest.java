@@ -0,0 +1,62 @@
+package DataParsing;
+
+import COMSETsystem.CityMap;
+import MapCreation.SyntheticCity;
+import org.junit.Test;
+
+import java.time.ZoneId;
+import java.util.ArrayList;
+
+import static org.junit.Assert.*;
+
+public class SyntheticDemandTest {
+
+    private static final long RESOLUTION = 1000000L;
+    private static final long START = 1464782400L;
+
+    private final CityMap map = new SyntheticCity(40.75, -73.99, ZoneId.of("America/New_York"), 1).grid(20, 20, 100);
+
+    @Test
+    public void testGenerate_poisson() {
+        SyntheticDemand demand = new SyntheticDemand(map, 5);
+        ArrayList<Resource> resources = demand.generate(START, 2 * 3600, 3000, RESOLUTION);
+        // 6000 expected; the standard deviation is about 77
+        assertTrue(Math.abs(resources.size() - 6000) < 400);
+        long previous = START * RESOLUTION;
+        for (Resource resource : resources) {
+            assertTrue(resource.getPickupTime() >= previous);
+            assertTrue(resource.getPickupTime() < (START + 2 * 3600) * RESOLUTION);
+            assertTrue(resource.getDropoffTime() >= resource.getPickupTime());
+            assertEquals(0, resource.getPickupTime() % RESOLUTION);
+            previous = resource.getPickupTime();
+        }
+    }
+
+    @Test
+    public void testGenerate_hotspot() {
+        SyntheticDemand demand = new SyntheticDemand(map, 5);
+        demand.addHotspot(-73.99, 40.75, 100, 4);
+        ArrayList<Resource> resources = demand.generate(START, 3600, 2000, RESOLUTION);
+        int nearHotspot = 0;
+        for (Resource resource : resources) {
+            double x = map.projector().xFromLon(resource.getPickupLon());
+            double y = map.projector().yFromLat(resource.getPickupLat());
+            if (Math.hypot(x, y) < 300) {
+                nearHotspot++;
+            }
+        }
+        // 80% of the pickups come from the hotspot, nearly all within three standard deviations
+        assertTrue(nearHotspot > 0.75 * resources.size());
+    }
+
+    @Test
+    public void testGenerate_deterministic() {
+        ArrayList<Resource> first = new SyntheticDemand(map, 7).generate(START, 600, 1000, RESOLUTION);
+        ArrayList<Resource> second = new SyntheticDemand(map, 7).generate(START, 600, 1000, RESOLUTION);
+        assertEquals(first.size(), second.size());
+        for (int i = 0; i < first.size(); i++) {
+            assertEquals(first.get(i).getPickupTime(), second.get(i).getPickupTime());
+            assertEquals(first.get(i).getDropoffLat(), second.get(i).getDropoffLat(), 0.0);
+        }
+    }
+}
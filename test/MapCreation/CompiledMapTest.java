@@ -0,0 +1,269 @@
+package MapCreation;
+
+import COMSETsystem.CityMap;
+import COMSETsystem.Intersection;
+import COMSETsystem.Link;
+import COMSETsystem.Road;
+import COMSETsystem.Vertex;
+import DataParsing.GeoProjector;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.Assert.*;
+
+public class CompiledMapTest {
+
+    private static final double SPACING = 100.0; // meters between grid intersections
+
+    private final GeoProjector projector = new GeoProjector(40.75, -73.99);
+    private final List<double[]> boundingPolygon = Arrays.asList(
+            new double[]{-74.0, 40.7}, new double[]{-73.9, 40.7}, new double[]{-73.9, 40.8}, new double[]{-74.0, 40.7});
+
+    private CityMap map;
+    private File file;
+
+    private long nextId = 1;
+
+    private Vertex addVertex(Map<Long, Vertex> vertices, double x, double y) {
+        double[] latLon = projector.toLatLon(x, y);
+        double[] xy = projector.fromLatLon(latLon[0], latLon[1]);
+        Vertex vertex = new Vertex(latLon[1], latLon[0], xy[0], xy[1], nextId++);
+        vertices.put(vertex.id, vertex);
+        return vertex;
+    }
+
+    private static void addLink(Vertex from, Vertex to, double speed) {
+        from.addEdge(to, from.distanceTo(to), speed);
+    }
+
+    /**
+     * A grid of two-way streets, every other one of which has a bend in the middle of each block,
+     * plus a few one-way avenues.
+     */
+    @Before
+    public void setUp() throws IOException {
+        int size = 6;
+        Map<Long, Vertex> vertices = new TreeMap<>();
+        Vertex[][] grid = new Vertex[size][size];
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                grid[i][j] = addVertex(vertices, i * SPACING, j * SPACING);
+            }
+        }
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                if (j + 1 < size) {
+                    if (i % 2 == 0) {
+                        Vertex bend = addVertex(vertices, i * SPACING + 10, j * SPACING + 50);
+                        addLink(grid[i][j], bend, 10);
+                        addLink(bend, grid[i][j + 1], 10);
+                        addLink(grid[i][j + 1], bend, 10);
+                        addLink(bend, grid[i][j], 10);
+                    } else {
+                        addLink(grid[i][j], grid[i][j + 1], 12);
+                        addLink(grid[i][j + 1], grid[i][j], 12);
+                    }
+                }
+                if (i + 1 < size) {
+                    addLink(grid[i][j], grid[i + 1][j], 8);
+                    if (j % 2 == 0) {
+                        addLink(grid[i + 1][j], grid[i][j], 8);
+                    }
+                }
+            }
+        }
+        MapCreator creator = new MapCreator(vertices, projector);
+        creator.clearAndGroup();
+        creator.createIntersections();
+        creator.createRoads();
+        map = creator.outputCityMap();
+
+        file = File.createTempFile("compiled", CompiledMap.FILE_EXTENSION);
+        CompiledMap.write(map, boundingPolygon, "map.json", "polygon.kml", file);
+    }
+
+    @After
+    public void tearDown() {
+        file.delete();
+    }
+
+    private void assertSameMap(CityMap expected, CityMap actual) {
+        assertEquals(expected.projector().referenceLatitude(), actual.projector().referenceLatitude(), 0.0);
+        assertEquals(expected.projector().referenceLongitude(), actual.projector().referenceLongitude(), 0.0);
+
+        assertEquals(expected.intersections().keySet(), actual.intersections().keySet());
+        for (Intersection intersection : expected.intersections().values()) {
+            Intersection copy = actual.intersections().get(intersection.id);
+            assertEquals(intersection.pathTableIndex, copy.pathTableIndex);
+            assertEquals(intersection.longitude, copy.longitude, 0.0);
+            assertEquals(intersection.latitude, copy.latitude, 0.0);
+            assertEquals(intersection.xy, copy.xy);
+            assertSame(copy, copy.vertex.intersection);
+            assertEquals(intersection.roadsMapFrom.size(), copy.roadsMapFrom.size());
+            assertEquals(intersection.roadsMapTo.size(), copy.roadsMapTo.size());
+        }
+
+        assertEquals(expected.roads().size(), actual.roads().size());
+        Iterator<Road> copies = actual.roads().iterator();
+        for (Road road : expected.roads()) {
+            Road copy = copies.next();
+            assertEquals(road.id, copy.id);
+            assertEquals(road.from.id, copy.from.id);
+            assertEquals(road.to.id, copy.to.id);
+            assertEquals(road.length, copy.length, 0.0);
+            assertEquals(road.travelTime, copy.travelTime, 0.0);
+            assertEquals(road.speed, copy.speed, 0.0);
+            assertSame(copy, copy.from.roadsMapFrom.get(copy.to));
+            assertEquals(road.links.size(), copy.links.size());
+            for (int l = 0; l < road.links.size(); l++) {
+                Link link = road.links.get(l);
+                Link linkCopy = copy.links.get(l);
+                assertEquals(link.id, linkCopy.id);
+                assertEquals(link.from.id, linkCopy.from.id);
+                assertEquals(link.to.id, linkCopy.to.id);
+                assertEquals(link.length, linkCopy.length, 0.0);
+                assertEquals(link.travelTime, linkCopy.travelTime, 0.0);
+                assertEquals(link.beginTime, linkCopy.beginTime, 0.0);
+                assertSame(copy, linkCopy.road);
+            }
+        }
+
+        assertEquals(expected.kdTree().size(), actual.kdTree().size());
+        Random random = new Random(34);
+        for (int q = 0; q < 500; q++) {
+            double x = (random.nextDouble() * 1.2 - 0.1) * 5 * SPACING;
+            double y = (random.nextDouble() * 1.2 - 0.1) * 5 * SPACING;
+            assertEquals(expected.getNearestLinkXY(x, y).id, actual.getNearestLinkXY(x, y).id);
+        }
+    }
+
+    @Test
+    public void testRead_sequential() throws IOException {
+        assertSameMap(map, CompiledMap.read(file, false));
+        assertEquals(boundingPolygon.size(), MapCreator.boundingPolygon.size());
+        assertArrayEquals(boundingPolygon.get(2), MapCreator.boundingPolygon.get(2), 0.0);
+    }
+
+    @Test
+    public void testRead_zoneId() throws IOException {
+        assertEquals(ZoneId.of("America/New_York"), map.computeZoneId());
+        // the time zone is stored in the file
+        CityMap copy = CompiledMap.read(file, false);
+        assertEquals(ZoneId.of("America/New_York"), copy.computeZoneId());
+        copy.setZoneId(ZoneId.of("UTC"));
+        assertEquals(ZoneId.of("UTC"), copy.computeZoneId());
+        assertEquals(ZoneId.of("UTC"), copy.makeCopy().computeZoneId());
+    }
+
+    @Test
+    public void testRead_memoryMapped() throws IOException {
+        assertSameMap(map, CompiledMap.read(file, true));
+    }
+
+    @Test
+    public void testRead_newLinksAndRoadsGetNewIds() throws IOException {
+        CityMap copy = CompiledMap.read(file, false);
+        long maxLinkId = -1;
+        for (Road road : copy.roads()) {
+            for (Link link : road.links) {
+                maxLinkId = Math.max(maxLinkId, link.id);
+            }
+        }
+        Road road = copy.roads().get(0);
+        assertTrue(new Link(road.links.get(0).from, road.links.get(0).to, 1, 1).id > maxLinkId);
+    }
+
+    @Test
+    public void testIsUpToDate() throws IOException {
+        File json = File.createTempFile("map", ".json");
+        File kml = File.createTempFile("polygon", ".kml");
+        try {
+            CompiledMap.write(map, boundingPolygon, json.getPath(), kml.getPath(), file);
+            assertTrue(file.setLastModified(json.lastModified() + 10000));
+            assertTrue(CompiledMap.isUpToDate(file, json.getPath(), kml.getPath()));
+            assertFalse(CompiledMap.isUpToDate(file, "other.json", kml.getPath()));
+
+            // the map file changed after the map was compiled
+            assertTrue(json.setLastModified(file.lastModified() + 10000));
+            assertFalse(CompiledMap.isUpToDate(file, json.getPath(), kml.getPath()));
+        } finally {
+            json.delete();
+            kml.delete();
+        }
+    }
+
+    @Test
+    public void testCompact_keepsGeometry() throws IOException {
+        CityMap compacted = CompiledMap.read(file, false);
+        compacted.compact();
+        assertTrue(compacted.isCompacted());
+        assertFalse(map.isCompacted());
+        for (Intersection intersection : compacted.intersections().values()) {
+            assertNull(intersection.vertex);
+        }
+
+        Iterator<Road> roads = compacted.roads().iterator();
+        for (Road road : map.roads()) {
+            Road compactedRoad = roads.next();
+            assertEquals(2 * (road.links.size() + 1), compactedRoad.coordinates.length);
+            for (int l = 0; l < road.links.size(); l++) {
+                Link link = road.links.get(l);
+                Link compactedLink = compactedRoad.links.get(l);
+                assertNull(compactedLink.from);
+                assertEquals(l, compactedLink.index);
+                assertEquals(link.from.getX(), compactedLink.fromX(), 0.0);
+                assertEquals(link.from.getY(), compactedLink.fromY(), 0.0);
+                assertEquals(link.to.getX(), compactedLink.toX(), 0.0);
+                assertEquals(link.to.getY(), compactedLink.toY(), 0.0);
+            }
+        }
+
+        CityMap copy = compacted.makeCopy();
+        assertTrue(copy.isCompacted());
+        Random random = new Random(35);
+        for (int q = 0; q < 200; q++) {
+            double x = (random.nextDouble() * 1.2 - 0.1) * 5 * SPACING;
+            double y = (random.nextDouble() * 1.2 - 0.1) * 5 * SPACING;
+            Link expected = map.getNearestLinkXY(x, y);
+            assertEquals(expected.id, compacted.getNearestLinkXY(x, y).id);
+            assertEquals(expected.distanceSq(x, y), compacted.getNearestLinkXY(x, y).distanceSq(x, y), 0.0);
+            assertEquals(expected.id, copy.getNearestLinkXY(x, y).id);
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testWrite_compacted() throws IOException {
+        CityMap compacted = CompiledMap.read(file, false);
+        compacted.compact();
+        CompiledMap.write(compacted, boundingPolygon, "map.json", "polygon.kml", file);
+    }
+
+    @Test(expected = IOException.class)
+    public void testRead_unsupportedVersion() throws IOException {
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw")) {
+            randomAccessFile.seek(4);
+            randomAccessFile.writeInt(CompiledMap.VERSION + 1);
+        }
+        CompiledMap.read(file, false);
+    }
+
+    @Test(expected = IOException.class)
+    public void testRead_truncated() throws IOException {
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw")) {
+            randomAccessFile.setLength(randomAccessFile.length() / 2);
+        }
+        CompiledMap.read(file, false);
+    }
+}
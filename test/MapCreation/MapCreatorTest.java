@@ -0,0 +1,343 @@
+package MapCreation;
+
+import COMSETsystem.Intersection;
+import COMSETsystem.Link;
+import COMSETsystem.Road;
+import COMSETsystem.Vertex;
+import DataParsing.GeoProjector;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import static org.junit.Assert.*;
+
+public class MapCreatorTest {
+
+    private static final double REF_LAT = 40.75;
+    private static final double REF_LON = -73.99;
+    private static final double SPACING = 100.0; // meters between grid vertices
+
+    private final GeoProjector projector = new GeoProjector(REF_LAT, REF_LON);
+
+    private long nextId = 1;
+
+    private Vertex addVertex(Map<Long, Vertex> vertices, double x, double y) {
+        double[] latLon = projector.toLatLon(x, y);
+        double[] xy = projector.fromLatLon(latLon[0], latLon[1]);
+        Vertex vertex = new Vertex(latLon[1], latLon[0], xy[0], xy[1], nextId++);
+        vertices.put(vertex.id, vertex);
+        return vertex;
+    }
+
+    private static void addTwoWay(Vertex v1, Vertex v2) {
+        v1.addEdge(v2, v1.distanceTo(v2), 10);
+        v2.addEdge(v1, v1.distanceTo(v2), 10);
+    }
+
+    /**
+     * A two-way grid where every horizontal street segment is split by two vertices only a few
+     * meters apart, so that each such pair is grouped and nothing else is.
+     */
+    private Map<Long, Vertex> splitGrid(int size) {
+        nextId = 1;
+        Map<Long, Vertex> vertices = new TreeMap<>();
+        Vertex[][] grid = new Vertex[size][size];
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                grid[i][j] = addVertex(vertices, i * SPACING, j * SPACING);
+            }
+        }
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                if (j + 1 < size) {
+                    addTwoWay(grid[i][j], grid[i][j + 1]);
+                }
+                if (i + 1 < size) {
+                    Vertex c = addVertex(vertices, i * SPACING + 47, j * SPACING);
+                    Vertex d = addVertex(vertices, i * SPACING + 53, j * SPACING);
+                    addTwoWay(grid[i][j], c);
+                    addTwoWay(c, d);
+                    addTwoWay(d, grid[i + 1][j]);
+                }
+            }
+        }
+        return vertices;
+    }
+
+    private static String position(Vertex vertex) {
+        return String.format("%.3f,%.3f", vertex.getX(), vertex.getY());
+    }
+
+    private static TreeSet<String> links(Map<Long, Vertex> vertices) {
+        TreeSet<String> links = new TreeSet<>();
+        for (Vertex vertex : vertices.values()) {
+            for (Link link : vertex.getLinksFrom()) {
+                links.add(position(link.from) + "->" + position(link.to) + String.format(" %.3f", link.length));
+            }
+        }
+        return links;
+    }
+
+    @Test
+    public void testGroupVertices_matchesIterativeGrouping() {
+        MapCreator unionFind = new MapCreator(splitGrid(6), projector);
+        unionFind.groupVertices(25);
+
+        MapCreator iterative = new MapCreator(splitGrid(6), projector);
+        int previousNumberVertices = iterative.vertices.size();
+        int newNumberVertices = -2;
+        while (previousNumberVertices != newNumberVertices) {
+            iterative.groupVerticesIteration(25);
+            previousNumberVertices = newNumberVertices;
+            newNumberVertices = iterative.vertices.size();
+        }
+
+        // 36 grid vertices plus one merged vertex per split segment
+        assertEquals(36 + 30, unionFind.vertices.size());
+        assertEquals(iterative.vertices.size(), unionFind.vertices.size());
+        assertEquals(links(iterative.vertices), links(unionFind.vertices));
+    }
+
+    @Test
+    public void testGroupVertices_chain() {
+        nextId = 1;
+        Map<Long, Vertex> vertices = new TreeMap<>();
+        Vertex a = addVertex(vertices, 0, 0);
+        Vertex b = addVertex(vertices, 10, 0);
+        Vertex c = addVertex(vertices, 20, 0);
+        Vertex far = addVertex(vertices, 500, 0);
+        addTwoWay(a, b);
+        addTwoWay(b, c);
+        addTwoWay(c, far);
+        far.addEdge(a, far.distanceTo(a), 5);
+
+        MapCreator creator = new MapCreator(vertices, projector);
+        creator.groupVertices(25);
+
+        assertEquals(2, creator.vertices.size());
+        assertTrue(creator.vertices.containsKey(far.id));
+        Vertex merged = null;
+        for (Vertex vertex : creator.vertices.values()) {
+            if (vertex.id != far.id) {
+                merged = vertex;
+            }
+        }
+        assertNotNull(merged);
+        assertTrue(merged.id > far.id);
+        assertEquals(10, merged.getX(), 1e-6);
+        assertEquals(1, merged.getLinksFrom().size());
+        assertEquals(1, merged.getLinksTo().size());
+        assertEquals(490, merged.getLinksFrom().iterator().next().length, 1e-6);
+        // the old vertices are disconnected
+        assertTrue(a.getLinksFrom().isEmpty());
+        assertTrue(far.linksMapFrom.containsKey(merged));
+        assertFalse(far.linksMapFrom.containsKey(a));
+    }
+
+    /**
+     * The recursive pruning that fixMap used before it kept the largest strongly connected component.
+     */
+    private static void referenceFixMap(Map<Long, Vertex> vertices) {
+        boolean check = true;
+        while (check) {
+            check = false;
+            Object[] ids = vertices.keySet().toArray();
+            for (Object idObj : ids) {
+                long id = (long) idObj;
+                Vertex vertex = vertices.get(id);
+                if (vertex.getAdjacentFrom().isEmpty()) {
+                    vertex.cutVertex();
+                    vertices.remove(id);
+                    check = true;
+                }
+            }
+            Set<Long> reached = new TreeSet<>();
+            Vertex firstVertex = vertices.get(vertices.keySet().iterator().next());
+            referenceCheckNeighbors(firstVertex, reached);
+            if (reached.size() != vertices.keySet().size()) {
+                ids = vertices.keySet().toArray();
+                for (Object idObj : ids) {
+                    long id = (long) idObj;
+                    if (!reached.contains(id)) {
+                        vertices.get(id).cutVertex();
+                        vertices.remove(id);
+                        check = true;
+                    }
+                }
+            }
+        }
+    }
+
+    private static void referenceCheckNeighbors(Vertex inter, Set<Long> reached) {
+        for (Vertex neighbor : inter.getAdjacentFrom()) {
+            if (!reached.contains(neighbor.id)) {
+                reached.add(neighbor.id);
+                referenceCheckNeighbors(neighbor, reached);
+            }
+        }
+    }
+
+    /**
+     * A two-way grid (a single strongly connected component) with one-way spurs leading into it,
+     * one-way dead ends leading out of it, and a small detached cycle.
+     */
+    private Map<Long, Vertex> gridWithAppendages(int size, long seed) {
+        nextId = 1;
+        Random random = new Random(seed);
+        Map<Long, Vertex> vertices = new TreeMap<>();
+        Vertex[][] grid = new Vertex[size][size];
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                grid[i][j] = addVertex(vertices, i * SPACING, j * SPACING);
+            }
+        }
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                if (j + 1 < size) {
+                    addTwoWay(grid[i][j], grid[i][j + 1]);
+                }
+                if (i + 1 < size) {
+                    addTwoWay(grid[i][j], grid[i + 1][j]);
+                }
+            }
+        }
+        for (int k = 0; k < size; k++) {
+            Vertex anchor = grid[random.nextInt(size)][random.nextInt(size)];
+            Vertex previous = anchor;
+            for (int l = 0; l < 3; l++) {
+                Vertex spur = addVertex(vertices, anchor.getX() + 10 * (l + 1), anchor.getY() + 30);
+                if (k % 2 == 0) {
+                    spur.addEdge(previous, spur.distanceTo(previous), 10);
+                } else {
+                    previous.addEdge(spur, spur.distanceTo(previous), 10);
+                }
+                previous = spur;
+            }
+        }
+        Vertex c1 = addVertex(vertices, -1000, -1000);
+        Vertex c2 = addVertex(vertices, -1100, -1000);
+        addTwoWay(c1, c2);
+        return vertices;
+    }
+
+    @Test
+    public void testFixMap_matchesReference() {
+        for (long seed = 0; seed < 5; seed++) {
+            MapCreator creator = new MapCreator(gridWithAppendages(8, seed), projector);
+            creator.fixMap();
+
+            Map<Long, Vertex> reference = gridWithAppendages(8, seed);
+            referenceFixMap(reference);
+
+            // the grid is all that is left
+            assertEquals(64, creator.vertices.size());
+            assertEquals(reference.keySet(), creator.vertices.keySet());
+            assertEquals(links(reference), links(creator.vertices));
+        }
+    }
+
+    @Test
+    public void testFixMap_keepsLargestComponent() {
+        Map<Long, Vertex> vertices = gridWithAppendages(4, 1);
+        // a detached cycle containing the vertex with the smallest id
+        nextId = 0;
+        Vertex small1 = addVertex(vertices, -2000, 0);
+        nextId = -1;
+        Vertex small2 = addVertex(vertices, -2100, 0);
+        addTwoWay(small1, small2);
+
+        MapCreator creator = new MapCreator(vertices, projector);
+        creator.fixMap();
+        assertEquals(16, creator.vertices.size());
+        assertFalse(creator.vertices.containsKey(small1.id));
+        assertTrue(small1.getLinksFrom().isEmpty());
+    }
+
+    @Test
+    public void testFixMap_longCycle() {
+        // deep enough to overflow the stack of a recursive search
+        nextId = 1;
+        Map<Long, Vertex> vertices = new TreeMap<>();
+        List<Vertex> cycle = new ArrayList<>();
+        for (int i = 0; i < 100000; i++) {
+            cycle.add(addVertex(vertices, i, 0));
+        }
+        for (int i = 0; i < cycle.size(); i++) {
+            Vertex from = cycle.get(i);
+            Vertex to = cycle.get((i + 1) % cycle.size());
+            from.addEdge(to, 1, 10);
+        }
+        Vertex tail = addVertex(vertices, 0, 10);
+        cycle.get(500).addEdge(tail, 10, 10);
+
+        MapCreator creator = new MapCreator(vertices, projector);
+        creator.fixMap();
+        assertEquals(100000, creator.vertices.size());
+        assertFalse(creator.vertices.containsKey(tail.id));
+    }
+
+    @Test
+    public void testStronglyConnectedComponents() {
+        // 0 -> 1 -> 2 -> 0, 2 -> 3, 3 -> 4 -> 3, 5
+        int[] successorStarts = {0, 1, 2, 4, 5, 6, 6};
+        int[] successors = {1, 2, 0, 3, 4, 3};
+        int[] component = MapCreator.stronglyConnectedComponents(successorStarts, successors);
+        assertEquals(component[0], component[1]);
+        assertEquals(component[0], component[2]);
+        assertEquals(component[3], component[4]);
+        assertTrue(component[0] != component[3]);
+        assertTrue(component[0] != component[5]);
+        assertTrue(component[3] != component[5]);
+        // components are completed in reverse topological order
+        assertTrue(component[3] < component[0]);
+    }
+    private MapCreator createdMap(boolean parallel) {
+        // crop the grid to a polygon covering most of it
+        List<double[]> polygon = new ArrayList<>();
+        for (double[] corner : new double[][]{{-50, -50}, {950, -50}, {950, 650}, {-50, 950}}) {
+            double[] latLon = projector.toLatLon(corner[0], corner[1]);
+            polygon.add(new double[]{latLon[1], latLon[0]});
+        }
+        MapCreator.boundingPolygon = polygon;
+
+        MapCreator creator = new MapCreator(gridWithAppendages(12, 3), projector);
+        creator.setParallel(parallel);
+        creator.createMap();
+        return creator;
+    }
+
+    private static List<String> roads(MapCreator creator) {
+        List<String> roads = new ArrayList<>();
+        for (Intersection intersection : creator.intersections.values()) {
+            for (Road road : intersection.getRoadsFrom()) {
+                StringBuilder description = new StringBuilder(road.from.id + "->" + road.to.id + " " + road.travelTime + ":");
+                for (Link link : road.links) {
+                    description.append(" ").append(link.from.id).append("-").append(link.to.id);
+                }
+                roads.add(description.toString());
+            }
+        }
+        return roads;
+    }
+
+    @Test
+    public void testCreateMap_parallelIsDeterministic() {
+        MapCreator sequential = createdMap(false);
+        MapCreator parallel = createdMap(true);
+
+        assertTrue(sequential.intersections.size() > 50);
+        assertEquals(sequential.vertices.keySet(), parallel.vertices.keySet());
+        assertEquals(sequential.intersections.keySet(), parallel.intersections.keySet());
+        assertEquals(roads(sequential), roads(parallel));
+
+        assertEquals(Arrays.asList("crop", "clear and group", "create intersections", "create roads", "output"),
+                new ArrayList<>(parallel.stageTimes().keySet()));
+    }
+}
@@ -0,0 +1,105 @@
+package MapCreation;
+
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class OSMJSONReaderTest {
+
+    private static final String OSM_JSON = "{\n" +
+            "  \"version\": 0.6,\n" +
+            "  \"generator\": \"Overpass API\",\n" +
+            "  \"osm3s\": {\"timestamp_osm_base\": \"2020-01-01T00:00:00Z\", \"copyright\": \"ODbL\"},\n" +
+            "  \"elements\": [\n" +
+            "    {\"type\": \"way\", \"id\": 7, \"nodes\": [1, 2, 3],\n" +
+            "     \"tags\": {\"highway\": \"residential\", \"oneway\": \"yes\", \"name\": \"A Street\"}},\n" +
+            "    {\"type\": \"node\", \"id\": 1, \"lat\": 40.75, \"lon\": -73.99},\n" +
+            "    {\"type\": \"node\", \"id\": 2, \"lat\": 40.751, \"lon\": -73.991, \"tags\": {\"highway\": \"traffic_signals\"}},\n" +
+            "    {\"type\": \"node\", \"id\": 3, \"lat\": 41, \"lon\": -74},\n" +
+            "    {\"type\": \"relation\", \"id\": 9, \"members\": [{\"type\": \"way\", \"ref\": 7}]},\n" +
+            "    {\"type\": \"way\", \"id\": 8, \"nodes\": [3, 1], \"tags\": {\"maxspeed\": \"25 mph\"}}\n" +
+            "  ]\n" +
+            "}\n";
+
+    private static class RecordingHandler implements OSMJSONReader.ElementHandler {
+        final List<String> events = new ArrayList<>();
+
+        @Override
+        public void node(long id, double latitude, double longitude) {
+            events.add("node " + id + " " + latitude + " " + longitude);
+        }
+
+        @Override
+        public void way(long id, long[] nodeIds, int numberOfNodes, Map<String, String> tags) {
+            events.add("way " + id + " " + Arrays.toString(Arrays.copyOf(nodeIds, numberOfNodes)) + " " + tags);
+        }
+    }
+
+    @Test
+    public void testRead_reportsElementsInOrder() throws Exception {
+        RecordingHandler handler = new RecordingHandler();
+        OSMJSONReader.read(new StringReader(OSM_JSON), handler);
+
+        Map<String, String> tags7 = new HashMap<>();
+        tags7.put("highway", "residential");
+        tags7.put("oneway", "yes");
+        tags7.put("name", "A Street");
+        Map<String, String> tags8 = new HashMap<>();
+        tags8.put("maxspeed", "25 mph");
+
+        assertEquals(Arrays.asList(
+                "way 7 [1, 2, 3] " + tags7,
+                "node 1 40.75 -73.99",
+                "node 2 40.751 -73.991",
+                "node 3 41.0 -74.0",
+                "way 8 [3, 1] " + tags8), handler.events);
+    }
+
+    @Test
+    public void testRead_longWay() throws Exception {
+        StringBuilder json = new StringBuilder("{\"elements\": [{\"type\": \"way\", \"id\": 1, \"nodes\": [");
+        for (int i = 0; i < 1000; i++) {
+            json.append(i == 0 ? "" : ",").append(i);
+        }
+        json.append("], \"tags\": {}}]}");
+
+        final int[] count = new int[1];
+        OSMJSONReader.read(new StringReader(json.toString()), new OSMJSONReader.ElementHandler() {
+            @Override
+            public void node(long id, double latitude, double longitude) {
+                fail("no node expected");
+            }
+
+            @Override
+            public void way(long id, long[] nodeIds, int numberOfNodes, Map<String, String> tags) {
+                assertEquals(1000, numberOfNodes);
+                for (int i = 0; i < numberOfNodes; i++) {
+                    assertEquals(i, nodeIds[i]);
+                }
+                assertTrue(tags.isEmpty());
+                count[0]++;
+            }
+        });
+        assertEquals(1, count[0]);
+    }
+
+    @Test
+    public void testMaxSpeed() {
+        Map<String, String> tags = new HashMap<>();
+        tags.put("highway", "primary");
+        assertEquals(MapCreator.speedPrimary, MapCreator.maxSpeed(tags), 0.0);
+        tags.put("maxspeed", "30 mph");
+        assertEquals(30 * MapCreator.kilometersPerMile, MapCreator.maxSpeed(tags), 1e-9);
+        tags.put("maxspeed", "50");
+        assertEquals(50, MapCreator.maxSpeed(tags), 0.0);
+        tags.clear();
+        assertEquals(MapCreator.speedDefault, MapCreator.maxSpeed(tags), 0.0);
+    }
+}
@@ -0,0 +1,98 @@
+package MapCreation;
+
+import COMSETsystem.CityMap;
+import COMSETsystem.Configuration;
+import COMSETsystem.Intersection;
+import COMSETsystem.Road;
+import org.junit.Test;
+
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class SyntheticCityTest {
+
+    private static final ZoneId NEW_YORK = ZoneId.of("America/New_York");
+
+    private static double simulatedSpeed(int speedLimit) {
+        return speedLimit * 1000.0 / 3600 / Configuration.timeResolution;
+    }
+
+    private static void assertStronglyConnected(CityMap map) {
+        map.calcTravelTimes();
+        for (Intersection source : map.intersections().values()) {
+            for (Intersection destination : map.intersections().values()) {
+                assertTrue(map.travelTimeBetween(source, destination) < Double.POSITIVE_INFINITY);
+            }
+        }
+    }
+
+    private static List<Long> roadIds(CityMap map) {
+        List<Long> ids = new ArrayList<>();
+        for (Road road : map.roads()) {
+            ids.add(road.from.id);
+            ids.add(road.to.id);
+        }
+        return ids;
+    }
+
+    @Test
+    public void testGrid() {
+        CityMap map = new SyntheticCity(40.75, -73.99, NEW_YORK, 1).grid(10, 12, 100);
+        // the corners only continue the border streets
+        assertEquals(10 * 12 - 4, map.intersections().size());
+        assertEquals(NEW_YORK, map.computeZoneId());
+        assertStronglyConnected(map);
+
+        double minSpeed = Double.POSITIVE_INFINITY;
+        double maxSpeed = 0;
+        for (Road road : map.roads()) {
+            minSpeed = Math.min(minSpeed, road.speed);
+            maxSpeed = Math.max(maxSpeed, road.speed);
+        }
+        assertEquals(simulatedSpeed(MapCreator.speedResidential), minSpeed, 1e-15);
+        assertEquals(simulatedSpeed(MapCreator.speedPrimary), maxSpeed, 1e-15);
+    }
+
+    @Test
+    public void testRadial() {
+        CityMap map = new SyntheticCity(48.85, 2.35, ZoneId.of("Europe/Paris"), 1).radial(12, 100);
+        int expected = 1;
+        int ringSize = 8;
+        for (int r = 1; r <= 12; r++) {
+            if (2 * Math.PI * r / ringSize > 2) {
+                ringSize *= 2;
+            }
+            expected += ringSize;
+        }
+        assertEquals(expected, map.intersections().size());
+        assertStronglyConnected(map);
+    }
+
+    @Test
+    public void testRandomPlanar() {
+        CityMap map = new SyntheticCity(40.75, -73.99, NEW_YORK, 3).randomPlanar(400, 100);
+        assertTrue(map.intersections().size() > 300);
+        assertTrue(map.intersections().size() <= 400);
+        assertStronglyConnected(map);
+
+        // deterministic for a seed
+        CityMap again = new SyntheticCity(40.75, -73.99, NEW_YORK, 3).randomPlanar(400, 100);
+        assertEquals(map.intersections().keySet(), again.intersections().keySet());
+        assertEquals(roadIds(map), roadIds(again));
+        CityMap other = new SyntheticCity(40.75, -73.99, NEW_YORK, 4).randomPlanar(400, 100);
+        assertFalse(roadIds(map).equals(roadIds(other)));
+    }
+
+    @Test
+    public void testNearestLink() {
+        CityMap map = new SyntheticCity(40.75, -73.99, NEW_YORK, 1).grid(20, 20, 100);
+        // an intersection lies on the links that start or end at it
+        Intersection intersection = map.intersections().values().iterator().next();
+        double x = intersection.getX();
+        double y = intersection.getY();
+        assertEquals(0.0, map.getNearestLinkXY(x, y).distanceSq(x, y), 1e-9);
+    }
+}
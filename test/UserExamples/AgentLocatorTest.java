@@ -0,0 +1,129 @@
+package UserExamples;
+
+import COMSETsystem.CityMap;
+import COMSETsystem.LocationOnRoad;
+import COMSETsystem.RandomCityMap;
+import COMSETsystem.Road;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class AgentLocatorTest {
+
+    private RandomCityMap city;
+    private CityMap map;
+    private List<Road> roads;
+    private Random random;
+
+    private final Map<Long, LocationOnRoad> locations = new HashMap<>();
+
+    @Before
+    public void setUp() {
+        city = new RandomCityMap();
+        map = city.map;
+        roads = city.roads;
+        random = city.random;
+    }
+
+    private long cost(long agentId, LocationOnRoad target, double multiplier) {
+        return (long) (multiplier * map.travelTimeBetween(locations.get(agentId), target));
+    }
+
+    /**
+     * The agent of least cost, and the smallest id among ties, by scanning all the agents.
+     */
+    private long[] scan(LocationOnRoad target, double multiplier, long maximumCost) {
+        long bestAgent = -1;
+        long bestCost = maximumCost;
+        for (long agentId = 0; agentId < 1000; agentId++) {
+            if (!locations.containsKey(agentId)) continue;
+            long cost = cost(agentId, target, multiplier);
+            if (cost < bestCost) {
+                bestCost = cost;
+                bestAgent = agentId;
+            }
+        }
+        return new long[] {bestAgent, bestCost};
+    }
+
+    private void assertSameAsScan(AgentLocator locator, double multiplier, long maximumCost) {
+        for (int q = 0; q < 300; q++) {
+            // some targets are on the road of an agent
+            LocationOnRoad target = q % 5 == 0
+                    ? new LocationOnRoad(locations.get(0L).road, random.nextDouble() * locations.get(0L).road.length)
+                    : city.randomLocation();
+            long[] expected = scan(target, multiplier, maximumCost);
+            AgentLocator.Nearest nearest = locator.nearest(target, multiplier, maximumCost,
+                    agentId -> cost(agentId, target, multiplier));
+            if (expected[0] == -1) {
+                assertNull(nearest);
+            } else {
+                assertEquals(expected[0], nearest.agentId);
+                assertEquals(expected[1], nearest.cost);
+            }
+        }
+    }
+
+    @Test
+    public void testNearest_sameAsScan() {
+        AgentLocator locator = new AgentLocator(map);
+        for (long agentId = 0; agentId < 1000; agentId++) {
+            locations.put(agentId, city.randomLocation());
+            locator.put(agentId, locations.get(agentId).road);
+        }
+        assertSameAsScan(locator, 1.0, Long.MAX_VALUE);
+        assertSameAsScan(locator, 3.75, Long.MAX_VALUE);
+
+        // agents move and leave
+        for (long agentId = 0; agentId < 1000; agentId++) {
+            if (agentId % 3 == 0) {
+                locations.remove(agentId);
+                locator.remove(agentId);
+            } else if (agentId % 3 == 1) {
+                locations.put(agentId, city.randomLocation());
+                locator.put(agentId, locations.get(agentId).road);
+            }
+        }
+        assertEquals(locations.size(), locator.size());
+        locations.put(0L, city.randomLocation());
+        locator.put(0L, locations.get(0L).road);
+        assertSameAsScan(locator, 8.0, Long.MAX_VALUE);
+    }
+
+    @Test
+    public void testNearest_fewAgentsAndMaximumCost() {
+        AgentLocator locator = new AgentLocator(map);
+        assertNull(locator.nearest(city.randomLocation(), 1.0, Long.MAX_VALUE, agentId -> 0));
+        for (long agentId = 0; agentId < 5; agentId++) {
+            locations.put(agentId, city.randomLocation());
+            locator.put(agentId, locations.get(agentId).road);
+        }
+        assertSameAsScan(locator, 1.0, Long.MAX_VALUE);
+        assertSameAsScan(locator, 1.0, 120);
+    }
+
+    @Test
+    public void testNearest_tiesAndExcludedAgents() {
+        AgentLocator locator = new AgentLocator(map);
+        Road road = roads.get(0);
+        for (long agentId = 10; agentId > 0; agentId--) {
+            locator.put(agentId, road);
+        }
+        // the agents are on the road of the target, so that a constant cost is consistent with their lower bound
+        LocationOnRoad target = new LocationOnRoad(road, road.length / 2);
+        AgentLocator.Nearest nearest = locator.nearest(target, 1.0, Long.MAX_VALUE, agentId -> 42);
+        assertEquals(1, nearest.agentId);
+        assertEquals(42, nearest.cost);
+
+        // agents that cannot be assigned or do not cost less than the maximum are not found
+        nearest = locator.nearest(target, 1.0, Long.MAX_VALUE, agentId -> agentId < 4 ? Long.MAX_VALUE : 42);
+        assertEquals(4, nearest.agentId);
+        assertNull(locator.nearest(target, 1.0, 42, agentId -> 42));
+    }
+}
@@ -0,0 +1,72 @@
+package UserExamples;
+
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class AgentStoreTest {
+
+    @Test
+    public void testAdd_denseIndexes() {
+        AgentStore agents = new AgentStore();
+        Random random = new Random(3);
+        List<Long> ids = new ArrayList<>();
+        for (int k = 0; k < 1000; k++) {
+            // sparse ids, as the simulator numbers agents and resources together
+            long id = k * 7L + random.nextInt(7) + (k % 3 == 0 ? -5000000000L : 0);
+            ids.add(id);
+            assertEquals(AgentStore.NONE, agents.indexOf(id));
+            assertEquals(k, agents.add(id));
+            agents.setLastAppearTime(k, id * 2);
+        }
+        assertEquals(1000, agents.size());
+        for (int k = 0; k < ids.size(); k++) {
+            long id = ids.get(k);
+            assertEquals(k, agents.indexOf(id));
+            assertEquals(k, agents.add(id));
+            assertEquals(id, agents.id(k));
+            // the columns survive the growth of the store
+            assertEquals(id * 2, agents.lastAppearTime(k));
+            assertFalse(agents.isPickingUp(k));
+            assertNull(agents.resource(k));
+            assertTrue(agents.route(k).isEmpty());
+        }
+        assertEquals(1000, agents.size());
+    }
+
+    @Test
+    public void testRandom_seededWithId() {
+        AgentStore agents = new AgentStore();
+        int agent = agents.add(42);
+        Random random = agents.random(agent);
+        assertSame(random, agents.random(agent));
+        assertEquals(new Random(42).nextInt(), random.nextInt());
+    }
+
+    @Test
+    public void testIndexSet_sameAsHashSet() {
+        AgentStore.IndexSet set = new AgentStore.IndexSet();
+        Set<Integer> expected = new HashSet<>();
+        Random random = new Random(5);
+        for (int q = 0; q < 10000; q++) {
+            int index = random.nextInt(300);
+            if (random.nextBoolean()) {
+                set.add(index);
+                expected.add(index);
+            } else {
+                set.remove(index);
+                expected.remove(index);
+            }
+            assertEquals(expected.contains(index), set.contains(index));
+            assertEquals(expected.size(), set.size());
+        }
+        Set<Integer> members = new HashSet<>();
+        for (int position = 0; position < set.size(); position++) {
+            members.add(set.get(position));
+        }
+        assertEquals(expected, members);
+        assertFalse(set.contains(1000));
+    }
+}
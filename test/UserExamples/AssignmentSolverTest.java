@@ -0,0 +1,96 @@
+package UserExamples;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class AssignmentSolverTest {
+
+    /**
+     * The least total cost over all the assignments, by enumerating them.
+     */
+    private static long bruteForce(long[][] cost, int row, boolean[] usedColumns) {
+        int n = cost.length;
+        int m = cost[0].length;
+        if (row == n) {
+            return 0;
+        }
+        long best = Long.MAX_VALUE;
+        // with more rows than columns, some rows stay unassigned
+        int assignedRows = 0;
+        for (boolean used : usedColumns) {
+            if (used) assignedRows++;
+        }
+        if (n - row > m - assignedRows) {
+            best = bruteForce(cost, row + 1, usedColumns);
+        }
+        for (int j = 0; j < m; j++) {
+            if (!usedColumns[j]) {
+                usedColumns[j] = true;
+                long rest = bruteForce(cost, row + 1, usedColumns);
+                usedColumns[j] = false;
+                if (rest != Long.MAX_VALUE) {
+                    best = Math.min(best, cost[row][j] + rest);
+                }
+            }
+        }
+        return best;
+    }
+
+    private static long totalCost(long[][] cost, int[] assignment) {
+        int m = cost[0].length;
+        boolean[] usedColumns = new boolean[m];
+        long total = 0;
+        int assignedRows = 0;
+        for (int i = 0; i < cost.length; i++) {
+            if (assignment[i] != -1) {
+                assertFalse("column assigned twice", usedColumns[assignment[i]]);
+                usedColumns[assignment[i]] = true;
+                total += cost[i][assignment[i]];
+                assignedRows++;
+            }
+        }
+        assertEquals(Math.min(cost.length, m), assignedRows);
+        return total;
+    }
+
+    @Test
+    public void testSolve_leastTotalCost() {
+        Random random = new Random(9);
+        for (int trial = 0; trial < 300; trial++) {
+            int n = 1 + random.nextInt(6);
+            int m = 1 + random.nextInt(6);
+            long[][] cost = new long[n][m];
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j < m; j++) {
+                    // few distinct costs, so that there are ties
+                    cost[i][j] = random.nextInt(trial % 2 == 0 ? 5 : 1000000);
+                }
+            }
+            int[] assignment = AssignmentSolver.solve(cost);
+            assertEquals(n, assignment.length);
+            assertEquals(bruteForce(cost, 0, new boolean[m]), totalCost(cost, assignment));
+        }
+    }
+
+    @Test
+    public void testSolve_empty() {
+        assertEquals(0, AssignmentSolver.solve(new long[0][]).length);
+        assertArrayEquals(new int[] {-1, -1}, AssignmentSolver.solve(new long[2][0]));
+    }
+
+    @Test
+    public void testSolve_infeasiblePairsAvoided() {
+        // with a cost above the sum of any feasible assignment, as many rows as possible get a feasible column,
+        // and among those assignments the one of least feasible cost is chosen
+        long infeasible = 1000;
+        long[][] cost = {
+                {1, infeasible, infeasible},
+                {2, 3, infeasible},
+                {infeasible, 50, infeasible},
+        };
+        assertArrayEquals(new int[] {0, 1, 2}, AssignmentSolver.solve(cost));
+    }
+}
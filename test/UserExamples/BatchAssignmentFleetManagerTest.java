@@ -0,0 +1,66 @@
+package UserExamples;
+
+import COMSETsystem.*;
+import MapCreation.SyntheticCity;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class BatchAssignmentFleetManagerTest {
+
+    private static final long SECOND = Configuration.timeResolution;
+
+    private BatchAssignmentFleetManager fleetManager;
+    private LocationOnRoad location;
+    private long start;
+
+    @Before
+    public void setUp() {
+        ZoneId zoneId = ZoneId.of("America/New_York");
+        CityMap map = new SyntheticCity(40.75, -73.99, zoneId, 7).grid(5, 5, 200);
+        map.calcTravelTimes();
+        Intersection intersection = map.intersections().values().iterator().next();
+        location = LocationOnRoad.createFromRoadStart(intersection.roadsMapFrom.values().iterator().next());
+        start = ZonedDateTime.of(2016, 6, 1, 8, 0, 0, 0, zoneId).toEpochSecond() * SECOND;
+
+        fleetManager = spy(new BatchAssignmentFleetManager(map, 30));
+        // the agents stay where they were last seen
+        doAnswer(invocation -> invocation.getArgument(1))
+                .when(fleetManager).getCurrentLocation(anyLong(), any(LocationOnRoad.class), anyLong());
+    }
+
+    /**
+     * Test that the agent of an expired resource is not assigned in the call that notifies the expiration, which
+     * the simulator would undo when it aborts the expired resource, but in the next call.
+     */
+    @Test
+    public void testOnResourceAvailabilityChange_expiredResourceAgentAssignedLater() {
+        fleetManager.onAgentIntroduced(1, location, start);
+        Resource first = new Resource(10, start + 60 * SECOND, -1, location, location);
+        AgentAction action = fleetManager.onResourceAvailabilityChange(first, FleetManager.ResourceState.AVAILABLE,
+                location, start);
+        assertEquals(AgentAction.Type.ASSIGN, action.getType());
+
+        // no batch before the end of the window
+        Resource second = new Resource(11, start + 600 * SECOND, -1, location, location);
+        action = fleetManager.onResourceAvailabilityChange(second, FleetManager.ResourceState.AVAILABLE,
+                location, start + SECOND);
+        assertEquals(AgentAction.Type.NONE, action.getType());
+
+        // The expiration frees the agent and a batch matches it with the second resource, the only one waiting.
+        Resource expired = new Resource(10, start + 60 * SECOND, 1, location, location);
+        action = fleetManager.onResourceAvailabilityChange(expired, FleetManager.ResourceState.EXPIRED,
+                location, start + 60 * SECOND);
+        assertEquals(AgentAction.Type.NONE, action.getType());
+
+        Resource third = new Resource(12, start + 600 * SECOND, -1, location, location);
+        action = fleetManager.onResourceAvailabilityChange(third, FleetManager.ResourceState.AVAILABLE,
+                location, start + 61 * SECOND);
+        assertEquals(AgentAction.Type.ASSIGN, action.getType());
+    }
+}
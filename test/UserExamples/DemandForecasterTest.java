@@ -0,0 +1,108 @@
+package UserExamples;
+
+import COMSETsystem.CityMap;
+import COMSETsystem.Configuration;
+import COMSETsystem.Intersection;
+import MapCreation.SyntheticCity;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Iterator;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class DemandForecasterTest {
+
+    private static final long SECOND = Configuration.timeResolution;
+
+    private CityMap map;
+    private Intersection a, b, c;
+    // 8:00 in the time zone of the map
+    private long start;
+
+    @Before
+    public void setUp() {
+        ZoneId zoneId = ZoneId.of("America/New_York");
+        map = new SyntheticCity(40.75, -73.99, zoneId, 7).grid(10, 10, 200);
+        Iterator<Intersection> intersections = map.intersections().values().iterator();
+        a = intersections.next();
+        b = intersections.next();
+        c = intersections.next();
+        start = ZonedDateTime.of(2016, 6, 1, 8, 0, 0, 0, zoneId).toEpochSecond() * SECOND;
+    }
+
+    @Test
+    public void testRate_steadyArrivals() {
+        DemandForecaster forecaster = new DemandForecaster(map, 1800, 1);
+        assertNull(forecaster.sample(start, new Random(1)));
+        for (long time = start; time < start + 7200 * SECOND; time += 10 * SECOND) {
+            forecaster.addArrival(a, time);
+            if ((time - start) % (30 * SECOND) == 0) {
+                forecaster.addArrival(b, time);
+            }
+        }
+        long now = start + 7200 * SECOND;
+        assertEquals(0.1, forecaster.rate(a, now), 0.005);
+        assertEquals(1.0 / 30, forecaster.rate(b, now), 0.002);
+        assertEquals(0, forecaster.rate(c, now), 0);
+        assertEquals(0.1 + 1.0 / 30, forecaster.totalRate(now), 0.007);
+
+        // the draws follow the rates
+        Random random = new Random(2);
+        int drawsOfA = 0;
+        for (int q = 0; q < 10000; q++) {
+            Intersection drawn = forecaster.sample(now, random);
+            assertTrue(drawn == a || drawn == b);
+            if (drawn == a) {
+                drawsOfA++;
+            }
+        }
+        assertEquals(0.75, drawsOfA / 10000.0, 0.02);
+    }
+
+    @Test
+    public void testRate_oldArrivalsDecay() {
+        DemandForecaster forecaster = new DemandForecaster(map, 600, 1);
+        long time = start;
+        for (; time < start + 3600 * SECOND; time += 10 * SECOND) {
+            forecaster.addArrival(a, time);
+        }
+        // the demand moves from a to b
+        for (; time < start + 3 * 3600 * SECOND; time += 10 * SECOND) {
+            forecaster.addArrival(b, time);
+        }
+        // twelve half-lives later, a weighs 2^-12 as much as before
+        assertEquals(0, forecaster.rate(a, time), 0.0001);
+        assertEquals(0.1, forecaster.rate(b, time), 0.001);
+
+        // a long pause scales the counts down without losing the rates
+        time += 1000 * 600 * SECOND;
+        forecaster.addArrival(c, time);
+        assertEquals(0, forecaster.rate(b, time), 1e-12);
+        assertTrue(forecaster.rate(c, time + 60 * SECOND) > 0);
+        assertFalse(Double.isNaN(forecaster.totalRate(time + 60 * SECOND)));
+    }
+
+    @Test
+    public void testRate_timeOfDay() {
+        DemandForecaster forecaster = new DemandForecaster(map, 7 * 24 * 3600, 24);
+        // on two days, a gets the demand from 8:00 to 9:00 and b from 9:00 to 10:00
+        for (long day = 0; day < 2; day++) {
+            long dayStart = start + day * 24 * 3600 * SECOND;
+            for (long time = dayStart; time < dayStart + 7200 * SECOND; time += 20 * SECOND) {
+                forecaster.addArrival(time < dayStart + 3600 * SECOND ? a : b, time);
+            }
+        }
+        // at 8:00 and 9:00 on the next day, two hours have been spent in each bucket
+        long nextDay = start + 2 * 24 * 3600 * SECOND;
+        assertEquals(0.05, forecaster.rate(a, nextDay), 0.001);
+        assertEquals(0, forecaster.rate(b, nextDay), 0);
+        assertEquals(0.05, forecaster.rate(b, nextDay + 3600 * SECOND), 0.001);
+        assertSame(b, forecaster.sample(nextDay + 3600 * SECOND, new Random(3)));
+        // no demand was seen at 11:00, so the draws follow the whole day
+        assertNotNull(forecaster.sample(nextDay + 3 * 3600 * SECOND, new Random(3)));
+    }
+}
@@ -38,15 +38,17 @@ public class FleetManagerTest {
         RandomDestinationFleetManager spyFleetManager = spy(new RandomDestinationFleetManager(mockMap));
         LocationOnRoad currentLoc = new LocationOnRoad(testMap.roadFrom1to2, testMap.roadFrom1to2.travelTime);
         Intersection[] intersections  = {testMap.intersection3, testMap.intersection4};
-        doReturn(new LinkedList<>(Arrays.asList(intersections)))
-                .when(spyFleetManager).getRandomRoute(1, currentLoc);
+        doAnswer(invocation -> {
+            SimpleMap.fillRoute(invocation.getArgument(2), intersections);
+            return null;
+        }).when(spyFleetManager).getRandomRoute(eq(1L), eq(currentLoc), any(Route.class));
 
         Intersection intersection = spyFleetManager.onReachIntersection(1, 1000, currentLoc);
-        verify(spyFleetManager, times(1)).getRandomRoute(1, currentLoc);
+        verify(spyFleetManager, times(1)).getRandomRoute(eq(1L), eq(currentLoc), any(Route.class));
         assertEquals(testMap.intersection3, intersection);
 
         // Check that a route has been created
-        assertTrue(spyFleetManager.agentRoutes.containsKey(1L));
+        assertEquals(testMap.intersection4, spyFleetManager.agents.route(spyFleetManager.agents.indexOf(1L)).peek());
     }
 
     /**
@@ -58,15 +60,15 @@ public class FleetManagerTest {
         RandomDestinationFleetManager spyFleetManager = spy(new RandomDestinationFleetManager(mockMap));
         LocationOnRoad currentLoc = new LocationOnRoad(testMap.roadFrom1to2, testMap.roadFrom1to2.travelTime);
         Intersection[] intersections  = {testMap.intersection3, testMap.intersection4, testMap.intersection5};
-        spyFleetManager.agentRoutes.put(1L, new LinkedList<>(Arrays.asList(intersections)));
+        spyFleetManager.agents.setRoute(spyFleetManager.agents.add(1L), new Route(Arrays.asList(intersections)));
 
         Intersection intersection = spyFleetManager.onReachIntersection(1L, 1000, currentLoc);
 
         assertEquals(testMap.intersection3, intersection);
-        verify(spyFleetManager, times(0)).planRoute(anyLong(), any(LocationOnRoad.class));
+        verify(spyFleetManager, times(0)).planRoute(anyLong(), any(LocationOnRoad.class), any(Route.class));
         // Check the remaining part of the route has the left over part of the route
         // Argument to containsKey and get must have long type        assertTrue(spyFleetManager.agentRoutes.containsKey(1L));
-        assertEquals(testMap.intersection4, spyFleetManager.agentRoutes.get(1L).getFirst());
+        assertEquals(testMap.intersection4, spyFleetManager.agents.route(spyFleetManager.agents.indexOf(1L)).peek());
     }
 
     /**
@@ -83,15 +85,18 @@ public class FleetManagerTest {
         // setup mockResource
         mockResource.pickupLoc = SimpleMap.makeLocationFromRoad(testMap.roadFrom1to2, 0.5);
         mockResource.dropOffLoc = SimpleMap.makeLocationFromRoad(testMap.roadFrom3to4, 0.75);
-        doReturn(new LinkedList<>(Arrays.asList(intersections))).when(spyFleetManager)
-                .planRouteToTarget(mockResource.pickupLoc, mockResource.dropOffLoc);
+        doAnswer(invocation -> {
+            SimpleMap.fillRoute(invocation.getArgument(2), intersections);
+            return null;
+        }).when(spyFleetManager).planRouteToTarget(eq(mockResource.pickupLoc), eq(mockResource.dropOffLoc),
+                any(Route.class));
 
         Intersection intersection = spyFleetManager.onReachIntersectionWithResource(
                 1, 1000, currentLoc, mockResource);
         assertEquals(testMap.intersection3, intersection);
 
         // Check that a route has been created
-        assertTrue(spyFleetManager.agentRoutes.containsKey(1L));
+        assertEquals(testMap.intersection4, spyFleetManager.agents.route(spyFleetManager.agents.indexOf(1L)).peek());
     }
 
     /**
@@ -103,16 +108,16 @@ public class FleetManagerTest {
         RandomDestinationFleetManager spyFleetManager = spy(new RandomDestinationFleetManager(mockMap));
         LocationOnRoad currentLoc = new LocationOnRoad(testMap.roadFrom1to2, testMap.roadFrom1to2.travelTime);
         Intersection[] intersections  = {testMap.intersection3, testMap.intersection4, testMap.intersection5};
-        spyFleetManager.agentRoutes.put(1L, new LinkedList<>(Arrays.asList(intersections)));
+        spyFleetManager.agents.setRoute(spyFleetManager.agents.add(1L), new Route(Arrays.asList(intersections)));
 
         Intersection intersection = spyFleetManager.onReachIntersectionWithResource(
                 1L, 1000, currentLoc, mockResource);
 
         assertEquals(testMap.intersection3, intersection);
-        verify(spyFleetManager, times(0)).planRoute(anyLong(), any(LocationOnRoad.class));
+        verify(spyFleetManager, times(0)).planRoute(anyLong(), any(LocationOnRoad.class), any(Route.class));
         // Check the remaining part of the route has the left over part of the route
         // Argument to containsKey and get must have long type        assertTrue(spyFleetManager.agentRoutes.containsKey(1L));
-        assertEquals(testMap.intersection4, spyFleetManager.agentRoutes.get(1L).getFirst());
+        assertEquals(testMap.intersection4, spyFleetManager.agents.route(spyFleetManager.agents.indexOf(1L)).peek());
     }
 
     @Test
@@ -0,0 +1,143 @@
+package UserExamples;
+
+import COMSETsystem.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class RandomDestinationFleetManagerTest {
+
+    private static final long SECOND = Configuration.timeResolution;
+
+    private RandomCityMap city;
+    private RandomDestinationFleetManager fleetManager;
+
+    // the location of each available agent, in ascending id order
+    private final Map<Long, LocationOnRoad> locations = new TreeMap<>();
+
+    @Before
+    public void setUp() {
+        city = new RandomCityMap();
+        fleetManager = spy(new RandomDestinationFleetManager(city.map));
+        // the agents stay where they were last seen
+        doAnswer(invocation -> invocation.getArgument(1))
+                .when(fleetManager).getCurrentLocation(anyLong(), any(LocationOnRoad.class), anyLong());
+    }
+
+    private void introduce(long agentId, LocationOnRoad location) {
+        locations.put(agentId, location);
+        fleetManager.onAgentIntroduced(agentId, location, 0);
+    }
+
+    /**
+     * @return the earliest arrival time of an agent at a pickup, by scanning all the agents
+     */
+    private long earliestArrival(LocationOnRoad pickupLoc, long time) {
+        long earliest = Long.MAX_VALUE;
+        for (LocationOnRoad location : locations.values()) {
+            earliest = Math.min(earliest, time + city.map.travelTimeBetween(location, pickupLoc));
+        }
+        return earliest;
+    }
+
+    /**
+     * The agent that reaches the resource the earliest, and the smallest id among ties, by scanning all the
+     * agents as getNearestAvailableAgent did before it searched from the pickup.
+     */
+    private Long scan(Resource resource, long time) {
+        Long bestAgent = null;
+        long earliest = Long.MAX_VALUE;
+        for (Map.Entry<Long, LocationOnRoad> agent : locations.entrySet()) {
+            long arriveTime = time + city.map.travelTimeBetween(agent.getValue(), resource.pickupLoc);
+            if (arriveTime < earliest) {
+                earliest = arriveTime;
+                bestAgent = agent.getKey();
+            }
+        }
+        return earliest <= resource.expirationTime ? bestAgent : null;
+    }
+
+    private void assertSameAsScan(int queries) {
+        long time = 1000 * SECOND;
+        Long[] agentIds = locations.keySet().toArray(new Long[0]);
+        for (int q = 0; q < queries; q++) {
+            LocationOnRoad pickupLoc;
+            if (q % 4 == 0) {
+                // on the road of an agent, ahead of or behind it
+                Road road = locations.get(agentIds[city.random.nextInt(agentIds.length)]).road;
+                pickupLoc = new LocationOnRoad(road, city.random.nextDouble() * road.length);
+            } else {
+                pickupLoc = city.randomLocation();
+            }
+            long expirationTime;
+            if (q % 4 == 1) {
+                // just reachable by the earliest agent, or just not
+                expirationTime = earliestArrival(pickupLoc, time) - (q % 8 == 1 ? 0 : 1);
+            } else {
+                expirationTime = time + (30 + city.random.nextInt(600)) * SECOND;
+            }
+            Resource resource = new Resource(q, expirationTime, -1, pickupLoc, city.randomLocation());
+            assertEquals("resource " + q, scan(resource, time), fleetManager.getNearestAvailableAgent(resource, time));
+        }
+    }
+
+    @Test
+    public void testGetNearestAvailableAgent_sameAsScan() {
+        for (long agentId = 0; agentId < 500; agentId++) {
+            introduce(agentId, city.randomLocation());
+        }
+        assertSameAsScan(1000);
+    }
+
+    @Test
+    public void testGetNearestAvailableAgent_agentsAtIntersections() {
+        // Agents at the end of their road have no travel time left on it, so they arrive exactly when the
+        // search bounds assume.
+        for (long agentId = 0; agentId < 200; agentId++) {
+            Road road = city.roads.get(city.random.nextInt(city.roads.size()));
+            introduce(agentId, agentId % 2 == 0 ? new LocationOnRoad(road, road.length)
+                    : LocationOnRoad.createFromRoadStart(road));
+        }
+        assertSameAsScan(2000);
+    }
+
+    @Test
+    public void testGetNearestAvailableAgent_fewAgents() {
+        // The search reaches more intersections than there are agents and falls back to the full scan.
+        for (long agentId = 0; agentId < 3; agentId++) {
+            introduce(agentId, city.randomLocation());
+        }
+        assertSameAsScan(300);
+    }
+
+    @Test
+    public void testGetNearestAvailableAgent_ties() {
+        // groups of agents at the same locations, introduced in descending id order
+        LocationOnRoad[] groupLocations = new LocationOnRoad[100];
+        for (int group = 0; group < groupLocations.length; group++) {
+            groupLocations[group] = city.randomLocation();
+        }
+        for (long agentId = 299; agentId >= 0; agentId--) {
+            introduce(agentId, groupLocations[(int) (agentId % 100)]);
+        }
+        assertSameAsScan(1000);
+
+        // all the agents are equally far from a pickup on the road they are on
+        locations.clear();
+        RandomDestinationFleetManager fleetManager = spy(new RandomDestinationFleetManager(city.map));
+        doAnswer(invocation -> invocation.getArgument(1))
+                .when(fleetManager).getCurrentLocation(anyLong(), any(LocationOnRoad.class), anyLong());
+        Road road = city.roads.get(0);
+        for (long agentId = 9; agentId >= 5; agentId--) {
+            fleetManager.onAgentIntroduced(agentId, LocationOnRoad.createFromRoadStart(road), 0);
+        }
+        Resource resource = new Resource(0, 1000 * SECOND, -1, new LocationOnRoad(road, road.length / 2),
+                city.randomLocation());
+        assertEquals(Long.valueOf(5), fleetManager.getNearestAvailableAgent(resource, 0));
+    }
+}
@@ -0,0 +1,123 @@
+package UserExamples;
+
+import COMSETsystem.CityMap;
+import COMSETsystem.Configuration;
+import COMSETsystem.LocationOnRoad;
+import COMSETsystem.RandomCityMap;
+import COMSETsystem.Resource;
+import COMSETsystem.Road;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.Assert.*;
+
+public class ResourceLocatorTest {
+
+    private RandomCityMap city;
+    private CityMap map;
+    private List<Road> roads;
+    private Random random;
+
+    private final Map<Long, Resource> waiting = new TreeMap<>();
+
+    private static final long SECOND = Configuration.timeResolution;
+
+    @Before
+    public void setUp() {
+        city = new RandomCityMap();
+        map = city.map;
+        roads = city.roads;
+        random = city.random;
+    }
+
+    private Resource resource(long id, long expirationTime) {
+        return new Resource(id, expirationTime, -1, city.randomLocation(), city.randomLocation());
+    }
+
+    /**
+     * The resource reachable the earliest, by scanning the resources in ascending id order.
+     */
+    private Resource scan(LocationOnRoad source, long time, double multiplier) {
+        Resource best = null;
+        long earliest = Long.MAX_VALUE;
+        for (Resource resource : waiting.values()) {
+            long arriveTime = time + (long) (multiplier * map.travelTimeBetween(source, resource.pickupLoc));
+            if (arriveTime <= resource.expirationTime && arriveTime < earliest) {
+                earliest = arriveTime;
+                best = resource;
+            }
+        }
+        return best;
+    }
+
+    @Test
+    public void testEarliestReachable_sameAsScan() {
+        ResourceLocator locator = new ResourceLocator(map);
+        long time = 0;
+        for (long id = 0; id < 3000; id++) {
+            Resource resource = resource(id, time + (60 + random.nextInt(1200)) * SECOND);
+            waiting.put(id, resource);
+            locator.add(resource);
+            if (id % 10 == 0) {
+                time += 5 * SECOND;
+                // some sources are on the road of a resource
+                LocationOnRoad source = id % 30 == 0
+                        ? new LocationOnRoad(resource.pickupLoc.road, random.nextDouble() * resource.pickupLoc.road.length)
+                        : city.randomLocation();
+                double multiplier = id % 20 == 0 ? 1.0 : 3.75;
+                Resource expected = scan(source, time, multiplier);
+                assertSame(expected, locator.earliestReachable(source, time, multiplier));
+                if (expected != null) {
+                    waiting.remove(expected.id);
+                    locator.remove(expected);
+                }
+            }
+            // resources expire; the locator may have dropped them already
+            if (id % 7 == 0) {
+                for (Resource expired : waiting.values().toArray(new Resource[0])) {
+                    if (expired.expirationTime < time) {
+                        waiting.remove(expired.id);
+                        locator.remove(expired);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testEarliestReachable_expiredResourcesDropped() {
+        ResourceLocator locator = new ResourceLocator(map);
+        LocationOnRoad source = city.randomLocation();
+        assertNull(locator.earliestReachable(source, 0, 1.0));
+        for (long id = 0; id < 100; id++) {
+            locator.add(resource(id, 1000 * SECOND));
+        }
+        assertEquals(100, locator.size());
+        assertNull(locator.earliestReachable(source, 1001 * SECOND, 1.0));
+        assertEquals(0, locator.size());
+
+        // removing a dropped resource does nothing
+        Resource resource = resource(100, 5000 * SECOND);
+        locator.add(resource);
+        locator.remove(resource);
+        locator.remove(resource);
+        assertEquals(0, locator.size());
+    }
+
+    @Test
+    public void testEarliestReachable_ties() {
+        ResourceLocator locator = new ResourceLocator(map);
+        Road road = roads.get(0);
+        LocationOnRoad pickup = new LocationOnRoad(road, road.length / 2);
+        for (long id = 10; id > 0; id--) {
+            locator.add(new Resource(id, 1000 * SECOND, -1, pickup, city.randomLocation()));
+        }
+        Resource resource = locator.earliestReachable(new LocationOnRoad(road, 0), 0, 1.0);
+        assertEquals(1, resource.id);
+    }
+}
@@ -0,0 +1,139 @@
+package UserExamples;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class TransportationSolverTest {
+
+    private static final long NO_ROUTE = TransportationSolver.NO_ROUTE;
+
+    /**
+     * Check that a flow is within the supplies, demands and routes, and return its number of units and its cost.
+     */
+    private static long[] unitsAndCost(int[] supply, int[] demand, long[][] cost, int[][] flow) {
+        long units = 0;
+        long total = 0;
+        int[] received = new int[demand.length];
+        for (int i = 0; i < supply.length; i++) {
+            int sent = 0;
+            for (int j = 0; j < demand.length; j++) {
+                assertTrue(flow[i][j] >= 0);
+                if (flow[i][j] > 0) {
+                    assertFalse("the pair has no route", cost[i][j] == NO_ROUTE);
+                    total += flow[i][j] * cost[i][j];
+                }
+                sent += flow[i][j];
+                received[j] += flow[i][j];
+            }
+            assertTrue(sent <= supply[i]);
+            units += sent;
+        }
+        for (int j = 0; j < demand.length; j++) {
+            assertTrue(received[j] <= demand[j]);
+        }
+        return new long[] {units, total};
+    }
+
+    /**
+     * The most units and least cost, by splitting the sources and sinks into units and solving the assignment
+     * problem; a pair without route costs more than any assignment of pairs with routes.
+     */
+    private static long[] byAssignment(int[] supply, int[] demand, long[][] cost) {
+        int[] rows = new int[sum(supply)];
+        int[] columns = new int[sum(demand)];
+        for (int i = 0, k = 0; i < supply.length; i++) {
+            for (int u = 0; u < supply[i]; u++) {
+                rows[k++] = i;
+            }
+        }
+        for (int j = 0, k = 0; j < demand.length; j++) {
+            for (int u = 0; u < demand[j]; u++) {
+                columns[k++] = j;
+            }
+        }
+        if (rows.length == 0 || columns.length == 0) {
+            return new long[] {0, 0};
+        }
+        long maxCost = 0;
+        for (long[] row : cost) {
+            for (long c : row) {
+                if (c != NO_ROUTE) {
+                    maxCost = Math.max(maxCost, c);
+                }
+            }
+        }
+        int pairs = Math.min(rows.length, columns.length);
+        long noRouteCost = (pairs + 1) * (maxCost + 1);
+        long[][] unitCost = new long[rows.length][columns.length];
+        for (int r = 0; r < rows.length; r++) {
+            for (int c = 0; c < columns.length; c++) {
+                long pairCost = cost[rows[r]][columns[c]];
+                unitCost[r][c] = pairCost == NO_ROUTE ? noRouteCost : pairCost;
+            }
+        }
+        int[] assignment = AssignmentSolver.solve(unitCost);
+        long total = 0;
+        for (int r = 0; r < rows.length; r++) {
+            if (assignment[r] != -1) {
+                total += unitCost[r][assignment[r]];
+            }
+        }
+        return new long[] {pairs - total / noRouteCost, total % noRouteCost};
+    }
+
+    private static int sum(int[] values) {
+        int sum = 0;
+        for (int value : values) {
+            sum += value;
+        }
+        return sum;
+    }
+
+    @Test
+    public void testSolve_mostUnitsLeastCost() {
+        Random random = new Random(4);
+        for (int trial = 0; trial < 300; trial++) {
+            int n = 1 + random.nextInt(5);
+            int m = 1 + random.nextInt(5);
+            int[] supply = new int[n];
+            int[] demand = new int[m];
+            for (int i = 0; i < n; i++) {
+                supply[i] = random.nextInt(5);
+            }
+            for (int j = 0; j < m; j++) {
+                demand[j] = random.nextInt(5);
+            }
+            long[][] cost = new long[n][m];
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j < m; j++) {
+                    // few distinct costs, so that there are ties
+                    cost[i][j] = random.nextInt(4) == 0 ? NO_ROUTE : random.nextInt(trial % 2 == 0 ? 5 : 1000000);
+                }
+            }
+            int[][] flow = TransportationSolver.solve(supply, demand, cost);
+            assertArrayEquals(byAssignment(supply, demand, cost), unitsAndCost(supply, demand, cost, flow));
+        }
+    }
+
+    @Test
+    public void testSolve_empty() {
+        assertEquals(0, TransportationSolver.solve(new int[0], new int[] {3}, new long[0][]).length);
+        int[][] flow = TransportationSolver.solve(new int[] {2}, new int[0], new long[1][0]);
+        assertEquals(0, flow[0].length);
+    }
+
+    @Test
+    public void testSolve_reroutesEarlierUnits() {
+        // the cheapest pair (0, 0) must be given up so that sink 1 can be served
+        long[][] cost = {
+                {1, 10},
+                {2, NO_ROUTE},
+        };
+        int[][] flow = TransportationSolver.solve(new int[] {1, 1}, new int[] {1, 1}, cost);
+        assertArrayEquals(new int[] {0, 1}, flow[0]);
+        assertArrayEquals(new int[] {1, 0}, flow[1]);
+    }
+}
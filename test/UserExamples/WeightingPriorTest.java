@@ -0,0 +1,54 @@
+package UserExamples;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+public class WeightingPriorTest {
+
+    private static WeightingPrior read(String text) throws IOException {
+        return WeightingPrior.read(new ByteArrayInputStream(text.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    @Test
+    public void testRead_writtenPrior() throws IOException {
+        WeightingPrior prior = new WeightingPrior(new long[] {3, 42421728L, 6293735694L}, new int[] {1, 10, 294});
+        StringWriter out = new StringWriter();
+        prior.write(out);
+        assertEquals("intersection_id,count\n3,1\n42421728,10\n6293735694,294\n", out.toString());
+
+        WeightingPrior read = read(out.toString());
+        assertArrayEquals(new int[] {0, 294, 1, 10, 0}, read.counts(new long[] {2, 6293735694L, 3, 42421728L, 7}));
+        // Windows line endings and a missing last line ending are accepted
+        assertArrayEquals(new int[] {5, 6}, read("intersection_id,count\r\n1,5\r\n2,6").counts(new long[] {1, 2}));
+    }
+
+    @Test
+    public void testRead_malformedPriors() {
+        String[] malformed = {
+                "id,count\n1,5\n",
+                "intersection_id,count\n1;5\n",
+                "intersection_id,count\n1,\n",
+                "intersection_id,count\n2,5\n1,5\n",
+                "intersection_id,count\n1,99999999999\n",
+        };
+        for (String text : malformed) {
+            try {
+                read(text);
+                fail("read " + text);
+            } catch (IOException expected) {
+            }
+        }
+    }
+
+    @Test
+    public void testGet_bundledPrior() {
+        // the busiest intersections of the Manhattan prior
+        assertArrayEquals(new int[] {294, 207, 0}, WeightingPrior.get().counts(new long[] {4461990857L, 4443775465L, 0}));
+    }
+}
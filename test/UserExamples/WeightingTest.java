@@ -0,0 +1,94 @@
+package UserExamples;
+
+import COMSETsystem.CityMap;
+import COMSETsystem.Intersection;
+import MapCreation.SyntheticCity;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class WeightingTest {
+
+    private Map<Long, Intersection> intersections;
+    private long[] ids;
+
+    @Before
+    public void setUp() {
+        CityMap map = new SyntheticCity(40.75, -73.99, ZoneId.of("America/New_York"), 7).randomPlanar(300, 120);
+        intersections = map.intersections();
+        ids = intersections.keySet().stream().mapToLong(Long::longValue).toArray();
+    }
+
+    /**
+     * The intersection drawn for a random number by scanning the prefix sums of the weights.
+     */
+    private Intersection scan(int[] weights, int r) {
+        int prefixSum = 0;
+        for (int i = 0; i < weights.length; i++) {
+            prefixSum += weights[i];
+            if (r <= prefixSum) {
+                return intersections.get(ids[i]);
+            }
+        }
+        return null;
+    }
+
+    private void assertSameAsScan(Weighting weighting, int[] weights) {
+        int sum = 0;
+        for (int weight : weights) {
+            sum += weight;
+        }
+        for (int q = 0; q < 2000; q++) {
+            long seed = q;
+            Intersection expected = scan(weights, new Random(seed).nextInt(sum + 1));
+            assertSame(expected, weighting.getRandomIntersection(new Random(seed)));
+        }
+    }
+
+    @Test
+    public void testGetRandomIntersection_sameAsScan() {
+        Random random = new Random(4);
+        Map<Long, Integer> data = new HashMap<>();
+        int[] weights = new int[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            // some intersections are never drawn
+            int count = random.nextInt(4) == 0 ? 0 : random.nextInt(20);
+            data.put(ids[i], count);
+            weights[i] = count * 100 + 1;
+        }
+        Weighting weighting = new Weighting(intersections, data);
+        assertSameAsScan(weighting, weights);
+
+        for (int k = 0; k < 100; k++) {
+            int i = random.nextInt(ids.length);
+            int weight = random.nextInt(50) - weights[i] / 2;
+            weighting.addWeight(ids[i], weight);
+            weights[i] += weight;
+        }
+        weighting.addWeight(ids[0], -weights[0]);
+        weights[0] = 0;
+        assertSameAsScan(weighting, weights);
+    }
+
+    @Test
+    public void testUpdate_heavierDemandReplacesOldWeights() {
+        Weighting weighting = new Weighting(intersections, new HashMap<>());
+        Map<Long, Integer> data = new HashMap<>();
+        data.put(ids[7], 1000);
+        // the new weights outweigh the old ones, whose coefficient would be negative
+        weighting.update(data);
+        int drawn = 0;
+        for (int q = 0; q < 1000; q++) {
+            if (weighting.getRandomIntersection() == intersections.get(ids[7])) {
+                drawn++;
+            }
+        }
+        assertTrue(drawn > 900);
+    }
+}